@@ -5,7 +5,7 @@ import { useParams, useRouter } from 'next/navigation'
 import { useSelector } from 'react-redux'
 import type { RootState } from '@/store/store'
 import { groupApi, imageUploadApi } from '@/services/api'
-import type { GroupChatMessageDTO, GroupChatRoomDTO, GroupDetailDTO, GroupMemberDTO } from '@/types/api'
+import type { ChatReactionUpdate, ChatReadEvent, GroupChatMessageDTO, GroupChatRoomDTO, GroupDetailDTO, GroupMemberDTO } from '@/types/api'
 import Header from '@/components/Header'
 import LoginModal from '@/components/LoginModal'
 import ImageCropModal from '@/components/ImageCropModal'
@@ -14,6 +14,9 @@ import { ko } from 'date-fns/locale'
 import { getUsernameFromToken } from '@/utils/jwt'
 import { useWebSocket } from '@/hooks/useWebSocket'
 
+// 채팅 기록 한 번에 불러오는 메시지 수
+const CHAT_PAGE_SIZE = 100
+
 export default function ChatRoomPage() {
   const params = useParams()
   const router = useRouter()
@@ -50,6 +53,11 @@ export default function ChatRoomPage() {
   useEffect(() => {
     currentUsernameRef.current = currentUsername
   }, [currentUsername])
+  const [hasOlderMessages, setHasOlderMessages] = useState(false)
+  const hasOlderMessagesRef = useRef(false)
+  const loadingOlderRef = useRef(false)
+  const messagesRef = useRef<GroupChatMessageDTO[]>([])
+  const loadOlderMessagesRef = useRef<(() => void) | null>(null)
   const [showMembers, setShowMembers] = useState(false)
   const [members, setMembers] = useState<GroupMemberDTO[]>([])
   const [reactingMessageId, setReactingMessageId] = useState<number | null>(null) // 반응 추가 중인 메시지 ID
@@ -85,9 +93,11 @@ export default function ChatRoomPage() {
     stopTyping,
     markAsRead,
     typingUsers,
+    roomMembers,
   } = useWebSocket({
     groupId,
     roomId,
+    isAdminRoom: !!chatRooms.find(room => room.id === roomId)?.isAdminRoom,
     enabled: isAuthenticated && !!groupId && !!roomId,
     onMessage: useCallback((message: GroupChatMessageDTO) => {
       console.log('onMessage 콜백 호출:', message)
@@ -190,11 +200,19 @@ export default function ChatRoomPage() {
     onTyping: useCallback((data: { username: string; isTyping: boolean }) => {
       // 타이핑 상태는 훅에서 자동 관리됨
     }, []),
-    onRead: useCallback((data: { messageId: number; username: string; readCount: number }) => {
-      // 읽음 수 업데이트
-      setMessages(prev => prev.map(msg => 
-        msg.id === data.messageId 
-          ? { ...msg, readCount: data.readCount }
+    onRead: useCallback((data: ChatReadEvent) => {
+      // 읽음 위치가 전진한 구간의 메시지 읽음 수 +1 (읽은 사람 본인 메시지 제외)
+      setMessages(prev => prev.map(msg =>
+        msg.id > data.previousLastReadMessageId && msg.id <= data.lastReadMessageId && msg.username !== data.username
+          ? { ...msg, readCount: (msg.readCount || 0) + 1 }
+          : msg
+      ))
+    }, []),
+    onReactions: useCallback((data: ChatReactionUpdate) => {
+      // 반응 수 업데이트 (내 반응 목록은 토글한 쪽에서 갱신)
+      setMessages(prev => prev.map(msg =>
+        msg.id === data.messageId
+          ? { ...msg, reactions: data.reactions }
           : msg
       ))
     }, []),
@@ -207,6 +225,25 @@ export default function ChatRoomPage() {
     }
   }, [groupId, roomId])
 
+  useEffect(() => {
+    messagesRef.current = messages
+  }, [messages])
+
+  useEffect(() => {
+    hasOlderMessagesRef.current = hasOlderMessages
+  }, [hasOlderMessages])
+
+  // 재연결되면 끊긴 동안 놓친 메시지 따라잡기 (첫 연결은 초기 로드가 담당)
+  const wasConnectedRef = useRef(false)
+  useEffect(() => {
+    if (isConnected && wasConnectedRef.current) {
+      fetchMissedMessages()
+    }
+    if (isConnected) {
+      wasConnectedRef.current = true
+    }
+  }, [isConnected])
+
   const fetchGroupDetail = async () => {
     try {
       const response = await groupApi.getGroupDetail(groupId)
@@ -239,6 +276,11 @@ export default function ChatRoomPage() {
       const isAtBottom = distanceFromBottom < 50 // 50px 여유로 줄임
       setIsScrolledToBottom(isAtBottom)
       
+      // 맨 위 근처까지 올리면 이전 메시지 불러오기
+      if (scrollTop < 50) {
+        loadOlderMessagesRef.current?.()
+      }
+      
       // 사용자가 스크롤 중임을 표시
       setIsUserScrolling(true)
       
@@ -314,13 +356,14 @@ export default function ChatRoomPage() {
 
   const fetchMessages = async () => {
     try {
-      const response = await groupApi.getChatMessages(groupId, roomId, 0, 100)
+      const response = await groupApi.getChatMessages(groupId, roomId, { size: CHAT_PAGE_SIZE })
       if (response.success && response.data) {
         // 최신 메시지가 아래에 오도록 역순 정렬
         const reversedMessages = [...response.data].reverse()
         console.log('Messages:', reversedMessages)
         console.log('First message isAdmin:', reversedMessages[0]?.isAdmin)
         setMessages(reversedMessages)
+        setHasOlderMessages(response.data.length === CHAT_PAGE_SIZE)
         // 초기 로드 플래그 설정
         setInitialLoad(true)
       }
@@ -331,6 +374,55 @@ export default function ChatRoomPage() {
     }
   }
 
+  // 이전 메시지 불러오기 (가장 오래된 메시지 id 기준, 스크롤 위치 유지)
+  const loadOlderMessages = async () => {
+    const oldest = messagesRef.current[0]
+    if (!oldest || loadingOlderRef.current || !hasOlderMessagesRef.current) return
+    loadingOlderRef.current = true
+    const container = messagesContainerRef.current
+    const previousScrollHeight = container?.scrollHeight ?? 0
+    try {
+      const response = await groupApi.getChatMessages(groupId, roomId, { beforeId: oldest.id, size: CHAT_PAGE_SIZE })
+      if (response.success && response.data) {
+        const older = [...response.data].reverse()
+        setHasOlderMessages(response.data.length === CHAT_PAGE_SIZE)
+        setMessages(prev => [...older.filter(m => !prev.some(p => p.id === m.id)), ...prev])
+        requestAnimationFrame(() => {
+          if (container) {
+            container.scrollTop += container.scrollHeight - previousScrollHeight
+          }
+        })
+      }
+    } catch (error) {
+      console.error('이전 메시지 조회 실패:', error)
+    } finally {
+      loadingOlderRef.current = false
+    }
+  }
+
+  // 스크롤 핸들러(useCallback)에서 항상 최신 groupId/roomId 로 호출되도록 ref 로 전달
+  loadOlderMessagesRef.current = loadOlderMessages
+
+  // 재연결 시 끊긴 동안 놓친 메시지 불러오기 (가장 최근 메시지 id 이후)
+  const fetchMissedMessages = async () => {
+    const latest = messagesRef.current[messagesRef.current.length - 1]
+    if (!latest) return
+    try {
+      const response = await groupApi.getChatMessages(groupId, roomId, { afterId: latest.id, size: CHAT_PAGE_SIZE })
+      if (response.success && response.data && response.data.length > 0) {
+        if (response.data.length === CHAT_PAGE_SIZE) {
+          // 놓친 메시지가 한 페이지보다 많으면 최신 메시지부터 다시 로드
+          fetchMessages()
+          return
+        }
+        const missed = [...response.data].reverse()
+        setMessages(prev => [...prev, ...missed.filter(m => !prev.some(p => p.id === m.id))])
+      }
+    } catch (error) {
+      console.error('놓친 메시지 조회 실패:', error)
+    }
+  }
+
   // 멤버 목록 조회
   const fetchMembers = async () => {
     try {
@@ -651,16 +743,15 @@ export default function ChatRoomPage() {
     try {
       const response = await groupApi.toggleReaction(groupId, roomId, messageId, emoji)
       if (response.success) {
-        // 해당 메시지의 반응 정보만 업데이트
-        const messageResponse = await groupApi.getChatMessages(groupId, roomId, 0, 100)
-        if (messageResponse.success && messageResponse.data) {
-          const updatedMessage = messageResponse.data.find(m => m.id === messageId)
-          if (updatedMessage) {
-            setMessages(prev => prev.map(m => 
-              m.id === messageId ? updatedMessage : m
-            ))
+        // 내 반응 목록만 갱신 (반응 수는 /updates 구독으로 들어옴)
+        setMessages(prev => prev.map(m => {
+          if (m.id !== messageId) return m
+          const mine = m.myReactions || []
+          return {
+            ...m,
+            myReactions: mine.includes(emoji) ? mine.filter(e => e !== emoji) : [...mine, emoji],
           }
-        }
+        }))
         setReactingMessageId(null) // 반응 모달 닫기
         closeContextMenu()
       }
@@ -1008,6 +1099,11 @@ export default function ChatRoomPage() {
                             관리자 전용
                           </span>
                         )}
+                        {roomMembers.length > 0 && (
+                          <span className="text-xs text-green-700 bg-green-50 px-2 py-1 rounded" title={roomMembers.join(', ')}>
+                            {roomMembers.length}명 접속 중
+                          </span>
+                        )}
                         {isAuthenticated && (
                           <button
                             onClick={() => {
@@ -551,6 +551,11 @@ export default function GroupDetailPage() {
                             관리자
                           </span>
                         )}
+                        {!!room.unreadCount && room.unreadCount > 0 && (
+                          <span className="text-xs bg-blue-600 text-white px-2 py-0.5 rounded-full">
+                            {room.unreadCount > 99 ? '99+' : room.unreadCount}
+                          </span>
+                        )}
                       </div>
                       {room.description && (
                         <p className="text-sm text-gray-500 truncate">
@@ -497,7 +497,7 @@ export default function GroupPostDetailPage() {
             </article>
 
             {/* 댓글 섹션 */}
-            <CommentList postId={postId} postAuthorUsername={post.username} />
+            <CommentList postId={postId} targetType="GROUP_POST" postAuthorUsername={post.username} />
           </>
         ) : (
           <div className="text-center text-gray-500">게시글을 찾을 수 없습니다.</div>
@@ -2,9 +2,11 @@
 
 import { useState } from 'react'
 import { commentApi } from '@/services/api'
+import type { CommentTargetType } from '@/types/api'
 
 interface CommentFormProps {
   postId: number
+  targetType?: CommentTargetType
   parentCommentId?: number | null
   onCommentCreated: () => void
   placeholder?: string
@@ -13,6 +15,7 @@ interface CommentFormProps {
 
 export default function CommentForm({
   postId,
+  targetType = 'POST',
   parentCommentId,
   onCommentCreated,
   placeholder = '댓글을 입력하세요...',
@@ -34,6 +37,7 @@ export default function CommentForm({
       const response = await commentApi.createComment({
         body: body.trim(),
         postId,
+        targetType,
         parentCommentId: parentCommentId || null,
       })
 
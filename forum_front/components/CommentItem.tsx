@@ -1,7 +1,7 @@
 'use client'
 
 import { useState } from 'react'
-import type { CommentDTO } from '@/types/api'
+import type { CommentDTO, CommentDeltaDTO, CommentTargetType } from '@/types/api'
 import CommentForm from './CommentForm'
 import { formatDistanceToNow } from 'date-fns'
 import { ko } from 'date-fns/locale'
@@ -44,10 +44,11 @@ interface CommentItemProps {
   currentUsername: string | null
   isAuthenticated: boolean
   postId: number
-  onCommentUpdated: (comment: CommentDTO) => void
+  targetType: CommentTargetType
+  onCommentUpdated: (delta: CommentDeltaDTO) => void
   onCommentDeleted: (commentId: number) => void
-  onLikeToggled: (comment: CommentDTO) => void
-  onPinToggled: (comment: CommentDTO) => void
+  onLikeToggled: (delta: CommentDeltaDTO) => void
+  onPinToggled: (delta: CommentDeltaDTO) => void
   onReplyCreated: () => void
   depth?: number
 }
@@ -58,6 +59,7 @@ export default function CommentItem({
   currentUsername,
   isAuthenticated,
   postId,
+  targetType,
   onCommentUpdated,
   onCommentDeleted,
   onLikeToggled,
@@ -287,6 +289,7 @@ export default function CommentItem({
         <div className="mt-3 ml-4">
           <CommentForm
             postId={postId}
+            targetType={targetType}
             parentCommentId={comment.id}
             onCommentCreated={handleReplyCreated}
             placeholder={`${comment.username}님에게 답글 달기...`}
@@ -306,6 +309,7 @@ export default function CommentItem({
               currentUsername={currentUsername}
               isAuthenticated={isAuthenticated}
               postId={postId}
+              targetType={targetType}
               onCommentUpdated={onCommentUpdated}
               onCommentDeleted={onCommentDeleted}
               onLikeToggled={onLikeToggled}
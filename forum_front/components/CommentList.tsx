@@ -4,7 +4,7 @@ import { useState, useEffect } from 'react'
 import { useSelector } from 'react-redux'
 import type { RootState } from '@/store/store'
 import { commentApi } from '@/services/api'
-import type { CommentDTO } from '@/types/api'
+import type { CommentDTO, CommentDeltaDTO, CommentTargetType } from '@/types/api'
 import CommentItem from './CommentItem'
 import CommentForm from './CommentForm'
 import LoginModal from './LoginModal'
@@ -12,10 +12,11 @@ import { getUsernameFromToken } from '@/utils/jwt'
 
 interface CommentListProps {
   postId: number
+  targetType?: CommentTargetType
   postAuthorUsername?: string
 }
 
-export default function CommentList({ postId, postAuthorUsername }: CommentListProps) {
+export default function CommentList({ postId, targetType = 'POST', postAuthorUsername }: CommentListProps) {
   const [comments, setComments] = useState<CommentDTO[]>([])
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState<string | null>(null)
@@ -25,13 +26,13 @@ export default function CommentList({ postId, postAuthorUsername }: CommentListP
 
   useEffect(() => {
     fetchComments()
-  }, [postId])
+  }, [postId, targetType])
 
   const fetchComments = async () => {
     try {
       setLoading(true)
       setError(null)
-      const response = await commentApi.getComments(postId)
+      const response = await commentApi.getComments(postId, targetType)
       if (response.success && response.data) {
         setComments(response.data)
       }
@@ -47,36 +48,36 @@ export default function CommentList({ postId, postAuthorUsername }: CommentListP
     fetchComments()
   }
 
-  const handleCommentUpdated = (updatedComment: CommentDTO) => {
-    setComments((prev) => updateCommentInTree(prev, updatedComment))
+  const handleCommentUpdated = (delta: CommentDeltaDTO) => {
+    setComments((prev) => updateCommentInTree(prev, delta))
   }
 
   const handleCommentDeleted = (commentId: number) => {
     setComments((prev) => removeCommentFromTree(prev, commentId))
   }
 
-  const handleLikeToggled = (updatedComment: CommentDTO) => {
-    setComments((prev) => updateCommentInTree(prev, updatedComment))
+  const handleLikeToggled = (delta: CommentDeltaDTO) => {
+    setComments((prev) => updateCommentInTree(prev, delta))
   }
 
-  const handlePinToggled = (updatedComment: CommentDTO) => {
+  const handlePinToggled = (delta: CommentDeltaDTO) => {
     setComments((prev) => {
       // 고정된 댓글을 맨 위로 이동
-      const updated = updateCommentInTree(prev, updatedComment)
+      const updated = updateCommentInTree(prev, delta)
       return sortCommentsByPinned(updated)
     })
   }
 
-  // 트리 구조에서 댓글 업데이트
-  const updateCommentInTree = (comments: CommentDTO[], updated: CommentDTO): CommentDTO[] => {
+  // 트리 구조에서 댓글 업데이트 (응답은 바뀐 필드만 오므로 기존 댓글에 덮어씀)
+  const updateCommentInTree = (comments: CommentDTO[], delta: CommentDeltaDTO): CommentDTO[] => {
     return comments.map((comment) => {
-      if (comment.id === updated.id) {
-        return { ...updated, replies: comment.replies }
+      if (comment.id === delta.id) {
+        return { ...comment, ...delta }
       }
       if (comment.replies.length > 0) {
         return {
           ...comment,
-          replies: updateCommentInTree(comment.replies, updated),
+          replies: updateCommentInTree(comment.replies, delta),
         }
       }
       return comment
@@ -128,6 +129,7 @@ export default function CommentList({ postId, postAuthorUsername }: CommentListP
       {isAuthenticated ? (
         <CommentForm
           postId={postId}
+          targetType={targetType}
           onCommentCreated={handleCommentCreated}
           placeholder="댓글을 입력하세요..."
         />
@@ -166,6 +168,7 @@ export default function CommentList({ postId, postAuthorUsername }: CommentListP
               currentUsername={currentUsername}
               isAuthenticated={isAuthenticated}
               postId={postId}
+              targetType={targetType}
               onCommentUpdated={handleCommentUpdated}
               onCommentDeleted={handleCommentDeleted}
               onLikeToggled={handleLikeToggled}
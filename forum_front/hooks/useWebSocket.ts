@@ -1,26 +1,33 @@
 import { useEffect, useRef, useState, useCallback } from 'react'
 import { Client, IMessage } from '@stomp/stompjs'
 import SockJS from 'sockjs-client'
+import type { ChatReactionUpdate, ChatReadEvent, ChatRoomUpdatesDTO, PresenceDiffDTO } from '@/types/api'
+import { groupApi } from '@/services/api'
 
 interface UseWebSocketOptions {
   groupId: number
   roomId: number
+  isAdminRoom?: boolean
   onMessage?: (message: any) => void
   onTyping?: (data: { username: string; isTyping: boolean }) => void
-  onRead?: (data: { messageId: number; username: string; readCount: number }) => void
+  onRead?: (data: ChatReadEvent) => void
+  onReactions?: (data: ChatReactionUpdate) => void
   enabled?: boolean
 }
 
 export function useWebSocket({
   groupId,
   roomId,
+  isAdminRoom = false,
   onMessage,
   onTyping,
   onRead,
+  onReactions,
   enabled = true,
 }: UseWebSocketOptions) {
   const [isConnected, setIsConnected] = useState(false)
   const [typingUsers, setTypingUsers] = useState<Set<string>>(new Set())
+  const [roomMembers, setRoomMembers] = useState<Set<string>>(new Set())
   const clientRef = useRef<Client | null>(null)
   const typingTimeoutRef = useRef<Map<string, NodeJS.Timeout>>(new Map())
   const subscriptionsRef = useRef<any[]>([])
@@ -29,13 +36,15 @@ export function useWebSocket({
   const onMessageRef = useRef(onMessage)
   const onTypingRef = useRef(onTyping)
   const onReadRef = useRef(onRead)
+  const onReactionsRef = useRef(onReactions)
   
   // 콜백 함수 업데이트
   useEffect(() => {
     onMessageRef.current = onMessage
     onTypingRef.current = onTyping
     onReadRef.current = onRead
-  }, [onMessage, onTyping, onRead])
+    onReactionsRef.current = onReactions
+  }, [onMessage, onTyping, onRead, onReactions])
 
   // 토큰 가져오기
   const getToken = useCallback(() => {
@@ -161,22 +170,51 @@ export function useWebSocket({
         )
         subscriptionsRef.current.push(typingSubscription)
 
-        // 읽음 표시 구독
-        const readSubscription = clientRef.current.subscribe(
-          `/topic/chat/${groupId}/${roomId}/read`,
+        // 읽음/반응 변경 구독 (서버가 채팅방별로 짧은 구간씩 모아서 보냄)
+        const updatesSubscription = clientRef.current.subscribe(
+          `/topic/chat/${groupId}/${roomId}/updates`,
           (message: IMessage) => {
             try {
-              const data = JSON.parse(message.body)
-              onReadRef.current?.(data)
+              const data: ChatRoomUpdatesDTO = JSON.parse(message.body)
+              data.reads?.forEach(read => onReadRef.current?.(read))
+              data.reactions?.forEach(reaction => onReactionsRef.current?.(reaction))
             } catch (error) {
-              console.error('읽음 데이터 파싱 오류:', error)
+              console.error('읽음/반응 데이터 파싱 오류:', error)
             }
           }
         )
-        subscriptionsRef.current.push(readSubscription)
+        subscriptionsRef.current.push(updatesSubscription)
+
+        // 접속 현황: 변화분만 오므로 구독 후 현재 목록을 한 번 받아 둠 (관리자방 입장/퇴장은 관리자 전용 토픽으로만 옴)
+        const presenceSubscription = clientRef.current.subscribe(
+          isAdminRoom ? `/topic/group/${groupId}/presence/admin` : `/topic/group/${groupId}/presence`,
+          (message: IMessage) => {
+            try {
+              const data: PresenceDiffDTO = JSON.parse(message.body)
+              if (data.roomId !== roomId) return
+              setRoomMembers(prev => {
+                const next = new Set(prev)
+                data.joined?.forEach(username => next.add(username))
+                data.left?.forEach(username => next.delete(username))
+                return next
+              })
+            } catch (error) {
+              console.error('접속 현황 데이터 파싱 오류:', error)
+            }
+          }
+        )
+        subscriptionsRef.current.push(presenceSubscription)
+        groupApi.getRoomPresence(groupId, roomId)
+          .then(response => {
+            if (response.success && response.data) {
+              setRoomMembers(new Set(response.data))
+            }
+          })
+          .catch(error => console.error('접속 현황 조회 오류:', error))
       },
       onDisconnect: () => {
         setIsConnected(false)
+        setRoomMembers(new Set())
         console.log('WebSocket 연결 종료')
         // 구독 정리
         subscriptionsRef.current = []
@@ -226,7 +264,7 @@ export function useWebSocket({
         clientRef.current = null
       }
     }
-  }, [groupId, roomId, enabled, getToken]) // 콜백 함수 의존성 제거
+  }, [groupId, roomId, isAdminRoom, enabled, getToken]) // 콜백 함수 의존성 제거
 
   const sendMessage = useCallback((message: string, replyToMessageId?: number) => {
     if (!clientRef.current) {
@@ -294,5 +332,6 @@ export function useWebSocket({
     stopTyping,
     markAsRead,
     typingUsers: Array.from(typingUsers),
+    roomMembers: Array.from(roomMembers),
   }
 }
@@ -10,6 +10,8 @@ import type {
   CreatePost,
   PatchPost,
   CommentDTO,
+  CommentDeltaDTO,
+  CommentTargetType,
   CreateCommentDTO,
   UpdateCommentDTO,
 } from '@/types/api'
@@ -331,9 +333,9 @@ export const followApi = {
 
 // Comment API
 export const commentApi = {
-  getComments: async (postId: number): Promise<ApiResponse<CommentDTO[]>> => {
+  getComments: async (postId: number, targetType: CommentTargetType = 'POST'): Promise<ApiResponse<CommentDTO[]>> => {
     const response = await apiClient.get<ApiResponse<CommentDTO[]>>('/comment', {
-      params: { postId },
+      params: { postId, targetType },
     })
     return response.data
   },
@@ -343,8 +345,8 @@ export const commentApi = {
     return response.data
   },
 
-  updateComment: async (id: number, data: UpdateCommentDTO): Promise<ApiResponse<CommentDTO>> => {
-    const response = await apiClient.patch<ApiResponse<CommentDTO>>(`/comment/${id}`, data)
+  updateComment: async (id: number, data: UpdateCommentDTO): Promise<ApiResponse<CommentDeltaDTO>> => {
+    const response = await apiClient.patch<ApiResponse<CommentDeltaDTO>>(`/comment/${id}`, data)
     return response.data
   },
 
@@ -353,13 +355,13 @@ export const commentApi = {
     return response.data
   },
 
-  toggleLike: async (id: number): Promise<ApiResponse<CommentDTO>> => {
-    const response = await apiClient.post<ApiResponse<CommentDTO>>(`/comment/${id}/like`)
+  toggleLike: async (id: number): Promise<ApiResponse<CommentDeltaDTO>> => {
+    const response = await apiClient.post<ApiResponse<CommentDeltaDTO>>(`/comment/${id}/like`)
     return response.data
   },
 
-  togglePin: async (id: number): Promise<ApiResponse<CommentDTO>> => {
-    const response = await apiClient.post<ApiResponse<CommentDTO>>(`/comment/${id}/pin`)
+  togglePin: async (id: number): Promise<ApiResponse<CommentDeltaDTO>> => {
+    const response = await apiClient.post<ApiResponse<CommentDeltaDTO>>(`/comment/${id}/pin`)
     return response.data
   },
 }
@@ -437,6 +439,16 @@ export const groupApi = {
     return response.data
   },
 
+  getPresence: async (groupId: number): Promise<ApiResponse<import('@/types/api').GroupPresenceDTO>> => {
+    const response = await apiClient.get<ApiResponse<import('@/types/api').GroupPresenceDTO>>(`/group/${groupId}/presence`)
+    return response.data
+  },
+
+  getRoomPresence: async (groupId: number, roomId: number): Promise<ApiResponse<string[]>> => {
+    const response = await apiClient.get<ApiResponse<string[]>>(`/group/${groupId}/chat-rooms/${roomId}/presence`)
+    return response.data
+  },
+
   createChatRoom: async (groupId: number, data: import('@/types/api').CreateGroupChatRoomDTO): Promise<ApiResponse<number>> => {
     const response = await apiClient.post<ApiResponse<number>>(`/group/${groupId}/chat-rooms`, data)
     return response.data
@@ -489,9 +501,11 @@ export const groupApi = {
     return response.data
   },
 
-  getChatMessages: async (groupId: number, roomId: number, page: number = 0, size: number = 50): Promise<ApiResponse<import('@/types/api').GroupChatMessageDTO[]>> => {
+  // 최신순 keyset 페이지: beforeId 이전(과거 기록) 또는 afterId 이후(재접속 후 놓친 메시지)
+  getChatMessages: async (groupId: number, roomId: number, options: { beforeId?: number; afterId?: number; size?: number } = {}): Promise<ApiResponse<import('@/types/api').GroupChatMessageDTO[]>> => {
+    const { beforeId, afterId, size = 50 } = options
     const response = await apiClient.get<ApiResponse<import('@/types/api').GroupChatMessageDTO[]>>(`/group/${groupId}/chat-rooms/${roomId}/messages`, {
-      params: { page, size },
+      params: { beforeId, afterId, size },
     })
     return response.data
   },
@@ -77,12 +77,16 @@ export interface PatchPost {
   isPublic?: boolean  // 모임 외부 노출 여부 (모임 게시글인 경우만 사용)
 }
 
+// 댓글이 달린 게시글 종류 (일반 게시글 / 모임 게시글)
+export type CommentTargetType = 'POST' | 'GROUP_POST'
+
 export interface CommentDTO {
   id: number
   body: string
   username: string
   userId: number
   postId: number
+  targetType: CommentTargetType
   parentCommentId: number | null
   isPinned: boolean
   likeCount: number
@@ -92,10 +96,21 @@ export interface CommentDTO {
   replies: CommentDTO[]
 }
 
+// 댓글 수정/좋아요/고정 응답 (바뀔 수 있는 필드만)
+export interface CommentDeltaDTO {
+  id: number
+  body: string
+  likeCount: number
+  isLiked: boolean
+  isPinned: boolean
+  updateDateTime: string
+}
+
 export interface CreateCommentDTO {
   body: string
   postId: number
   parentCommentId?: number | null
+  targetType?: CommentTargetType
 }
 
 export interface UpdateCommentDTO {
@@ -231,6 +246,7 @@ export interface GroupChatRoomDTO {
   profileImageUrl?: string
   isAdminRoom: boolean
   createdTime: string
+  unreadCount?: number  // 안 읽은 메시지 수 (내 메시지 제외, 최대 100 = 99+)
 }
 
 export interface CreateGroupChatRoomDTO {
@@ -253,7 +269,7 @@ export interface GroupChatMessageDTO {
   profileImageUrl?: string
   isAdmin: boolean
   createdTime: string
-  readCount?: number
+  readCount?: number  // 작성자 외에 이 메시지까지 읽은 사람 수
   replyToMessageId?: number  // 답장한 메시지 ID
   replyToMessage?: {  // 답장한 메시지 정보
     id: number
@@ -267,6 +283,38 @@ export interface GroupChatMessageDTO {
   myReactions?: string[]  // 현재 사용자가 추가한 반응 목록
 }
 
+// 읽음 위치 전진 알림: (previousLastReadMessageId, lastReadMessageId] 구간 메시지의 읽음 수가 1씩 늘어남
+export interface ChatReadEvent {
+  username: string
+  previousLastReadMessageId: number
+  lastReadMessageId: number
+}
+
+// 반응이 바뀐 메시지의 현재 반응 수
+export interface ChatReactionUpdate {
+  messageId: number
+  reactions: ReactionInfo[]
+}
+
+// /topic/chat/{groupId}/{roomId}/updates 프레임 (채팅방별로 모은 읽음/반응 변경)
+export interface ChatRoomUpdatesDTO {
+  reads: ChatReadEvent[]
+  reactions: ChatReactionUpdate[]
+}
+
+// 모임 접속 현황 (GET /group/{groupId}/presence)
+export interface GroupPresenceDTO {
+  onlineUsernames: string[]
+  rooms: { roomId: number; usernames: string[] }[]
+}
+
+// /topic/group/{groupId}/presence 변화분 (roomId 가 null 이면 모임 접속/종료, 관리자방은 /presence/admin 으로만 옴)
+export interface PresenceDiffDTO {
+  roomId: number | null
+  joined: string[]
+  left: string[]
+}
+
 export interface ReactionInfo {
   emoji: string
   count: number
@@ -0,0 +1,25 @@
+-- 채팅 기록 keyset 페이지네이션용 인덱스
+--
+-- 채팅 메시지 목록은 "WHERE chat_room_id = ? AND is_deleted = false AND id < ? ORDER BY id DESC LIMIT n"
+-- (재접속 후 따라잡기는 id > ? ORDER BY id ASC) 로 조회합니다.
+-- InnoDB 보조 인덱스는 끝에 PK(id)를 포함하므로 (chat_room_id, is_deleted) 인덱스로 채팅방 안의 id 순서를 그대로 읽을 수 있습니다.
+--
+-- 사용 방법:
+-- 1. MySQL에 접속
+-- 2. 데이터베이스 선택: USE your_database_name;
+-- 3. 아래 스크립트 실행 (여러 번 실행해도 안전)
+
+SET @dbname = DATABASE();
+
+-- group_chat_messages (chat_room_id, is_deleted)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_chat_messages' AND INDEX_NAME = 'idx_group_chat_messages_room_id'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_group_chat_messages_room_id ON group_chat_messages (chat_room_id, is_deleted)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
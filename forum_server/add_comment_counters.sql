@@ -0,0 +1,86 @@
+-- 댓글 관련 비정규화 카운터 컬럼 추가
+--
+-- posts / group_posts.comment_count : 삭제되지 않은 댓글 수 (목록 응답용)
+-- comments.like_count               : comment_likes 기준 좋아요 수
+-- comments.reply_count              : 삭제되지 않은 직속 답글 수
+--
+-- 값은 CommentService 의 createComment / deleteComment / toggleLike 에서 같은 트랜잭션으로 증감되고,
+-- CommentCountReconciler 가 주기적으로 원본 테이블 기준으로 보정합니다.
+--
+-- 사용 방법:
+-- 1. MySQL에 접속
+-- 2. 데이터베이스 선택: USE your_database_name;
+-- 3. 아래 스크립트 실행 (여러 번 실행해도 안전)
+
+SET @dbname = DATABASE();
+
+-- posts.comment_count
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'posts' AND COLUMN_NAME = 'comment_count'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE posts ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- group_posts.comment_count
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_posts' AND COLUMN_NAME = 'comment_count'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE group_posts ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- comments.like_count
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'like_count'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE comments ADD COLUMN like_count BIGINT NOT NULL DEFAULT 0'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- comments.reply_count
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'reply_count'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE comments ADD COLUMN reply_count BIGINT NOT NULL DEFAULT 0'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- 기존 데이터 채우기
+UPDATE posts p
+SET p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id AND c.is_deleted = false);
+
+UPDATE group_posts gp
+SET gp.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.group_post_id = gp.id AND c.is_deleted = false);
+
+-- MySQL은 UPDATE 대상 테이블을 서브쿼리에서 직접 읽을 수 없으므로 파생 테이블로 조인
+UPDATE comments c
+LEFT JOIN (SELECT cl.comment_id, COUNT(*) AS cnt FROM comment_likes cl GROUP BY cl.comment_id) likes
+  ON likes.comment_id = c.id
+SET c.like_count = COALESCE(likes.cnt, 0);
+
+UPDATE comments c
+LEFT JOIN (SELECT r.parent_comment_id, COUNT(*) AS cnt FROM comments r
+           WHERE r.parent_comment_id IS NOT NULL AND r.is_deleted = false GROUP BY r.parent_comment_id) replies
+  ON replies.parent_comment_id = c.id
+SET c.reply_count = COALESCE(replies.cnt, 0);
@@ -0,0 +1,69 @@
+-- comments 에 명시적인 댓글 대상 (target_type, target_id) 추가
+--
+-- 기존 조회는 (post_id = ? OR group_post_id = ?) 라서 하나의 인덱스로 처리되지 않고,
+-- posts 와 group_posts 의 id 가 겹치면 서로의 댓글이 섞였습니다.
+-- target_type 은 'POST' 또는 'GROUP_POST', target_id 는 해당 테이블의 id 입니다.
+-- post_id / group_post_id 외래키는 그대로 두고 (검색 색인, 권한 확인용) 함께 채웁니다.
+--
+-- 사용 방법:
+-- 1. MySQL에 접속
+-- 2. 데이터베이스 선택: USE your_database_name;
+-- 3. 아래 스크립트 실행 (여러 번 실행해도 안전)
+-- 4. 스크립트 실행 후 새 버전 서버 배포 (이전 버전 서버는 target 컬럼을 채우지 않음)
+
+SET @dbname = DATABASE();
+
+-- comments.target_type (채우기 전이므로 NULL 허용으로 추가)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'target_type'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE comments ADD COLUMN target_type VARCHAR(20) NULL'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- comments.target_id
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'comments' AND COLUMN_NAME = 'target_id'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE comments ADD COLUMN target_id BIGINT NULL'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- 기존 데이터 채우기 (post_id 가 있으면 일반 게시글, 아니면 모임 게시글)
+UPDATE comments
+SET target_type = 'POST', target_id = post_id
+WHERE post_id IS NOT NULL AND target_id IS NULL;
+
+UPDATE comments
+SET target_type = 'GROUP_POST', target_id = group_post_id
+WHERE post_id IS NULL AND group_post_id IS NOT NULL AND target_id IS NULL;
+
+-- 대상이 없는 댓글 확인 (0건이어야 아래 NOT NULL 변경이 성공합니다)
+SELECT COUNT(*) AS comments_without_target FROM comments WHERE target_type IS NULL OR target_id IS NULL;
+
+ALTER TABLE comments
+  MODIFY COLUMN target_type VARCHAR(20) NOT NULL,
+  MODIFY COLUMN target_id BIGINT NOT NULL;
+
+-- 대상별 댓글 조회 / 최상위 댓글 커서 페이지용 인덱스
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'comments' AND INDEX_NAME = 'idx_comments_target'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_comments_target ON comments (target_type, target_id, parent_comment_id, is_deleted, is_pinned, create_datetime)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
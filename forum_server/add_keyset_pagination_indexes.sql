@@ -0,0 +1,88 @@
+-- 게시글 목록 커서(keyset) 페이지네이션용 인덱스
+--
+-- 커서 모드는 (정렬 키, id) 기준으로 "WHERE (key < ? OR (key = ? AND id < ?)) ORDER BY key DESC, id DESC LIMIT n" 을 실행합니다.
+-- InnoDB 보조 인덱스는 끝에 PK(id)를 포함하므로 (is_deleted, key) 인덱스로 (key, id) 순서를 그대로 읽을 수 있습니다.
+--
+-- 사용 방법:
+-- 1. add_like_count_to_posts.sql 을 먼저 실행 (like_count 컬럼 필요)
+-- 2. 아래 스크립트 실행 (여러 번 실행해도 안전)
+
+SET @dbname = DATABASE();
+
+-- posts (is_deleted, create_datetime)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'posts' AND INDEX_NAME = 'idx_posts_created_time'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_posts_created_time ON posts (is_deleted, create_datetime)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
+
+-- posts (is_deleted, views)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'posts' AND INDEX_NAME = 'idx_posts_views'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_posts_views ON posts (is_deleted, views)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
+
+-- posts (is_deleted, like_count)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'posts' AND INDEX_NAME = 'idx_posts_like_count_id'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_posts_like_count_id ON posts (is_deleted, like_count)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
+
+-- group_posts (is_deleted, create_datetime)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_posts' AND INDEX_NAME = 'idx_group_posts_created_time'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_group_posts_created_time ON group_posts (is_deleted, create_datetime)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
+
+-- group_posts (is_deleted, views)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_posts' AND INDEX_NAME = 'idx_group_posts_views'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_group_posts_views ON group_posts (is_deleted, views)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
+
+-- group_posts (is_deleted, like_count)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_posts' AND INDEX_NAME = 'idx_group_posts_like_count_id'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_group_posts_like_count_id ON group_posts (is_deleted, like_count)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
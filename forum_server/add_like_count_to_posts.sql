@@ -0,0 +1,70 @@
+-- posts / group_posts 에 비정규화된 like_count 컬럼 추가
+--
+-- 좋아요순 정렬 시 행마다 실행되던 (SELECT COUNT(pl) FROM PostLike ...) 상관 서브쿼리를 대체합니다.
+-- 값은 PostService.toggleLike 에서 같은 트랜잭션으로 증감되고,
+-- LikeCountReconciler 가 주기적으로 post_likes 기준으로 보정합니다.
+--
+-- 사용 방법:
+-- 1. MySQL에 접속
+-- 2. 데이터베이스 선택: USE your_database_name;
+-- 3. 아래 스크립트 실행 (여러 번 실행해도 안전)
+
+SET @dbname = DATABASE();
+
+-- posts.like_count
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'posts' AND COLUMN_NAME = 'like_count'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE posts ADD COLUMN like_count BIGINT NOT NULL DEFAULT 0'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- group_posts.like_count
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_posts' AND COLUMN_NAME = 'like_count'
+  ) > 0,
+  'SELECT 1',
+  'ALTER TABLE group_posts ADD COLUMN like_count BIGINT NOT NULL DEFAULT 0'
+));
+PREPARE alterIfNotExists FROM @preparedStatement;
+EXECUTE alterIfNotExists;
+DEALLOCATE PREPARE alterIfNotExists;
+
+-- 기존 데이터 채우기
+UPDATE posts p
+SET p.like_count = (SELECT COUNT(*) FROM post_likes pl WHERE pl.post_id = p.id);
+
+UPDATE group_posts gp
+SET gp.like_count = (SELECT COUNT(*) FROM post_likes pl WHERE pl.group_post_id = gp.id);
+
+-- ORDER BY like_count DESC, create_datetime DESC 용 인덱스
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'posts' AND INDEX_NAME = 'idx_posts_like_count'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_posts_like_count ON posts (is_deleted, like_count, create_datetime)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
+
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_posts' AND INDEX_NAME = 'idx_group_posts_like_count'
+  ) > 0,
+  'SELECT 1',
+  'CREATE INDEX idx_group_posts_like_count ON group_posts (is_deleted, like_count, create_datetime)'
+));
+PREPARE createIfNotExists FROM @preparedStatement;
+EXECUTE createIfNotExists;
+DEALLOCATE PREPARE createIfNotExists;
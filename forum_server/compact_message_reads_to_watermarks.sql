@@ -0,0 +1,70 @@
+-- 채팅 읽음 처리를 메시지별 행(message_reads)에서 채팅방별 읽음 위치(chat_read_watermarks)로 변경
+--
+-- message_reads 는 사용자 × 메시지만큼 쌓이고, 읽을 때마다 group_chat_messages.read_count 를
+-- 읽고-쓰기 해서 인기 채팅방에서는 같은 메시지 행에 경합이 생겼습니다.
+-- 이제 (채팅방, 사용자)마다 마지막으로 읽은 메시지 id 하나만 저장하고,
+-- 메시지 읽음 수 / 안 읽은 메시지 수는 이 값에서 계산합니다.
+--
+-- 기존 message_reads 는 (채팅방, 사용자)별 가장 큰 message_id 로 압축합니다.
+-- (중간 메시지만 건너뛰고 읽은 기록은 그 이후까지 읽은 것으로 합쳐집니다)
+--
+-- 사용 방법:
+-- 1. MySQL에 접속
+-- 2. 데이터베이스 선택: USE your_database_name;
+-- 3. 아래 스크립트 실행 (여러 번 실행해도 안전)
+-- 4. 스크립트 실행 후 새 버전 서버 배포 (새 버전은 read_count 컬럼과 message_reads 테이블을 쓰지 않음)
+
+SET @dbname = DATABASE();
+
+-- 채팅방별 읽음 위치 테이블
+CREATE TABLE IF NOT EXISTS chat_read_watermarks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    room_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    last_read_message_id BIGINT NOT NULL,
+    update_datetime DATETIME(6) NULL,
+    UNIQUE KEY uk_chat_read_watermarks_room_user (room_id, user_id),
+    INDEX idx_chat_read_watermarks_room_last_read (room_id, last_read_message_id),
+    INDEX idx_chat_read_watermarks_user (user_id),
+    FOREIGN KEY (room_id) REFERENCES group_chat_rooms(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- message_reads 압축 (테이블이 남아 있을 때만, 이미 있는 읽음 위치보다 작으면 그대로)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'message_reads'
+  ) > 0,
+  'INSERT INTO chat_read_watermarks (room_id, user_id, last_read_message_id, update_datetime)
+   SELECT m.chat_room_id, mr.user_id, MAX(mr.message_id), MAX(mr.read_at)
+   FROM message_reads mr
+   JOIN group_chat_messages m ON m.id = mr.message_id
+   GROUP BY m.chat_room_id, mr.user_id
+   ON DUPLICATE KEY UPDATE
+     update_datetime = CASE WHEN VALUES(last_read_message_id) > last_read_message_id THEN VALUES(update_datetime) ELSE update_datetime END,
+     last_read_message_id = GREATEST(last_read_message_id, VALUES(last_read_message_id))',
+  'SELECT 1'
+));
+PREPARE compactIfExists FROM @preparedStatement;
+EXECUTE compactIfExists;
+DEALLOCATE PREPARE compactIfExists;
+
+-- 압축 결과 확인 (읽음 위치 행 수)
+SELECT COUNT(*) AS watermark_rows FROM chat_read_watermarks;
+
+-- message_reads 삭제 (압축이 끝났으므로 더 이상 필요 없음)
+DROP TABLE IF EXISTS message_reads;
+
+-- group_chat_messages.read_count 삭제 (읽음 수는 읽음 위치에서 계산)
+SET @preparedStatement = (SELECT IF(
+  (
+    SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS
+    WHERE TABLE_SCHEMA = @dbname AND TABLE_NAME = 'group_chat_messages' AND COLUMN_NAME = 'read_count'
+  ) > 0,
+  'ALTER TABLE group_chat_messages DROP COLUMN read_count',
+  'SELECT 1'
+));
+PREPARE dropIfExists FROM @preparedStatement;
+EXECUTE dropIfExists;
+DEALLOCATE PREPARE dropIfExists;
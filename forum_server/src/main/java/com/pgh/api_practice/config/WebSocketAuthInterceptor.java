@@ -2,6 +2,7 @@ package com.pgh.api_practice.config;
 
 import com.pgh.api_practice.global.TokenProvider;
 import com.pgh.api_practice.service.CustomUserDetailsService;
+import com.pgh.api_practice.service.GroupMembershipCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.Message;
@@ -15,14 +16,22 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
+    // 채팅방 메시지/타이핑/읽음·반응 토픽
+    private static final Pattern ROOM_TOPIC = Pattern.compile("^/topic/chat/(\\d+)/(\\d+)(/typing|/updates)?$");
+    // 모임 접속 현황 토픽 (/admin 은 관리자방 입장/퇴장)
+    private static final Pattern PRESENCE_TOPIC = Pattern.compile("^/topic/group/(\\d+)/presence(/admin)?$");
+
     private final TokenProvider tokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final GroupMembershipCache groupMembershipCache;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -75,8 +84,38 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
             } else {
                 log.info("구독: username={}, destination={}", principal.getName(), accessor.getDestination());
             }
+            // 모임 토픽은 멤버만 (관리자방과 관리자 접속 현황은 관리자만), 거부한 구독은 브로커에 넘기지 않음
+            if (!canSubscribe(accessor.getDestination(), principal != null ? principal.getName() : null)) {
+                log.warn("구독 거부: username={}, destination={}",
+                        principal != null ? principal.getName() : null, accessor.getDestination());
+                return null;
+            }
         }
         
         return message;
     }
+
+    private boolean canSubscribe(String destination, String username) {
+        if (destination == null) {
+            return true;
+        }
+        Matcher room = ROOM_TOPIC.matcher(destination);
+        if (room.matches()) {
+            long roomId = Long.parseLong(room.group(2));
+            return username != null && groupMembershipCache.get(Long.parseLong(room.group(1)))
+                    .flatMap(membership -> membership.member(username)
+                            .flatMap(member -> membership.adminRoom(roomId)
+                                    .map(adminRoom -> !adminRoom || member.admin())))
+                    .orElse(false);
+        }
+        Matcher presence = PRESENCE_TOPIC.matcher(destination);
+        if (presence.matches()) {
+            boolean adminOnly = presence.group(2) != null;
+            return username != null && groupMembershipCache.get(Long.parseLong(presence.group(1)))
+                    .flatMap(membership -> membership.member(username))
+                    .map(member -> !adminOnly || member.admin())
+                    .orElse(false);
+        }
+        return true;
+    }
 }
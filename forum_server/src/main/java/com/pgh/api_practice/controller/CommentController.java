@@ -1,6 +1,7 @@
 package com.pgh.api_practice.controller;
 
 import com.pgh.api_practice.dto.*;
+import com.pgh.api_practice.entity.Comment;
 import com.pgh.api_practice.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -18,14 +19,49 @@ public class CommentController {
 
     /**
      * 게시글의 댓글 목록 조회
-     * GET /comment?postId=1
+     * GET /comment?postId=1&targetType=POST (모임 게시글은 targetType=GROUP_POST)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CommentDTO>>> getComments(@RequestParam Long postId) {
-        List<CommentDTO> comments = commentService.getCommentsByPostId(postId);
+    public ResponseEntity<ApiResponse<List<CommentDTO>>> getComments(
+            @RequestParam Long postId,
+            @RequestParam(required = false) Comment.TargetType targetType
+    ) {
+        List<CommentDTO> comments = commentService.getCommentsByPostId(postId, targetType);
+        return ResponseEntity.ok(ApiResponse.ok(comments, "댓글 목록 조회 성공"));
+    }
+
+    /**
+     * 게시글의 댓글 목록 조회 (커서 페이지네이션)
+     * GET /comment?postId=1&targetType=POST&cursor=&size=20&replies=3
+     * 첫 페이지는 cursor를 빈 값으로, 이후에는 응답의 nextCursor를 그대로 전달
+     * 댓글마다 처음 replies 개 답글만 포함하고, 나머지는 repliesCursor 로 /comment/{id}/replies 에서 조회
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDTO<CommentDTO>>> getCommentsByCursor(
+            @RequestParam Long postId,
+            @RequestParam(required = false) Comment.TargetType targetType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "3") int replies
+    ) {
+        CursorPageDTO<CommentDTO> comments = commentService.getCommentPage(postId, targetType, cursor, size, replies);
         return ResponseEntity.ok(ApiResponse.ok(comments, "댓글 목록 조회 성공"));
     }
 
+    /**
+     * 댓글의 답글 목록 조회 (커서 페이지네이션)
+     * GET /comment/{id}/replies?cursor=&size=20
+     */
+    @GetMapping("/{id}/replies")
+    public ResponseEntity<ApiResponse<CursorPageDTO<CommentDTO>>> getReplies(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPageDTO<CommentDTO> replies = commentService.getReplyPage(id, cursor, size);
+        return ResponseEntity.ok(ApiResponse.ok(replies, "답글 목록 조회 성공"));
+    }
+
     /**
      * 댓글 생성
      * POST /comment
@@ -39,13 +75,14 @@ public class CommentController {
     /**
      * 댓글 수정
      * PATCH /comment/{id}
+     * 응답은 바뀐 필드만 (id, body, likeCount, isLiked, isPinned, updateDateTime)
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<ApiResponse<CommentDTO>> updateComment(
+    public ResponseEntity<ApiResponse<CommentDeltaDTO>> updateComment(
             @PathVariable Long id,
             @Valid @RequestBody UpdateCommentDTO dto
     ) {
-        CommentDTO comment = commentService.updateComment(id, dto);
+        CommentDeltaDTO comment = commentService.updateComment(id, dto);
         return ResponseEntity.ok(ApiResponse.ok(comment, "댓글 수정 성공"));
     }
 
@@ -62,20 +99,22 @@ public class CommentController {
     /**
      * 댓글 좋아요/취소
      * POST /comment/{id}/like
+     * 응답은 바뀐 필드만 (id, body, likeCount, isLiked, isPinned, updateDateTime)
      */
     @PostMapping("/{id}/like")
-    public ResponseEntity<ApiResponse<CommentDTO>> toggleLike(@PathVariable Long id) {
-        CommentDTO comment = commentService.toggleLike(id);
+    public ResponseEntity<ApiResponse<CommentDeltaDTO>> toggleLike(@PathVariable Long id) {
+        CommentDeltaDTO comment = commentService.toggleLike(id);
         return ResponseEntity.ok(ApiResponse.ok(comment, "좋아요 처리 성공"));
     }
 
     /**
      * 댓글 고정/고정 해제 (게시글 작성자만 가능)
      * POST /comment/{id}/pin
+     * 응답은 바뀐 필드만 (id, body, likeCount, isLiked, isPinned, updateDateTime)
      */
     @PostMapping("/{id}/pin")
-    public ResponseEntity<ApiResponse<CommentDTO>> togglePin(@PathVariable Long id) {
-        CommentDTO comment = commentService.togglePin(id);
+    public ResponseEntity<ApiResponse<CommentDeltaDTO>> togglePin(@PathVariable Long id) {
+        CommentDeltaDTO comment = commentService.togglePin(id);
         return ResponseEntity.ok(ApiResponse.ok(comment, "댓글 고정 처리 성공"));
     }
 }
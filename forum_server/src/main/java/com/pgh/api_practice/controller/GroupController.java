@@ -119,6 +119,22 @@ public class GroupController {
         return ResponseEntity.ok(ApiResponse.ok(rooms, "채팅방 목록 조회 성공"));
     }
 
+    /** 모임 접속 현황 조회 (이후 변화는 /topic/group/{groupId}/presence 구독) */
+    @GetMapping("/{groupId}/presence")
+    public ResponseEntity<ApiResponse<GroupPresenceDTO>> getPresence(@PathVariable Long groupId) {
+        GroupPresenceDTO presence = groupService.getPresence(groupId);
+        return ResponseEntity.ok(ApiResponse.ok(presence, "접속 현황 조회 성공"));
+    }
+
+    /** 채팅방 접속 멤버 조회 */
+    @GetMapping("/{groupId}/chat-rooms/{roomId}/presence")
+    public ResponseEntity<ApiResponse<List<String>>> getRoomPresence(
+            @PathVariable Long groupId,
+            @PathVariable Long roomId) {
+        List<String> usernames = groupService.getRoomPresence(groupId, roomId);
+        return ResponseEntity.ok(ApiResponse.ok(usernames, "채팅방 접속 현황 조회 성공"));
+    }
+
     /** 채팅방 생성 */
     @PostMapping("/{groupId}/chat-rooms")
     public ResponseEntity<ApiResponse<Long>> createChatRoom(
@@ -203,14 +219,15 @@ public class GroupController {
         return ResponseEntity.ok(ApiResponse.ok(messageId, "메시지가 전송되었습니다."));
     }
 
-    /** 채팅 메시지 목록 조회 */
+    /** 채팅 메시지 목록 조회 (최신순, 이전 기록은 beforeId=가장 오래된 메시지 id, 놓친 메시지는 afterId=가장 최근 메시지 id) */
     @GetMapping("/{groupId}/chat-rooms/{roomId}/messages")
     public ResponseEntity<ApiResponse<List<GroupChatMessageDTO>>> getChatMessages(
             @PathVariable Long groupId,
             @PathVariable Long roomId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false) Long afterId,
             @RequestParam(defaultValue = "50") int size) {
-        List<GroupChatMessageDTO> messages = groupService.getChatMessages(groupId, roomId, page, size);
+        List<GroupChatMessageDTO> messages = groupService.getChatMessages(groupId, roomId, beforeId, afterId, size);
         return ResponseEntity.ok(ApiResponse.ok(messages, "채팅 메시지 목록 조회 성공"));
     }
 
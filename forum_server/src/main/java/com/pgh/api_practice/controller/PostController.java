@@ -1,6 +1,7 @@
 package com.pgh.api_practice.controller;
 
 import com.pgh.api_practice.dto.*;
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
 import com.pgh.api_practice.service.PostService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -19,29 +21,51 @@ public class PostController {
     private final PostService postService;
 
     /** ✅ 내 게시글 목록 조회 */
-    // GET http://localhost:8081/post/my-post?sortType=RESENT&tag=react
+    // GET http://localhost:8081/post/my-post?sortType=RESENT&tags=react,java&mode=all
     @GetMapping("/my-post")
     public ResponseEntity<ApiResponse<Page<PostListDTO>>> getMyPostList(
             Pageable pageable,
             @RequestParam(defaultValue = "RESENT") String sortType,
-            @RequestParam(required = false) String tag
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "all") String mode
     ) {
         Page<PostListDTO> list;
-        if (tag != null && !tag.trim().isEmpty()) {
-            list = postService.getMyPostListByTag(pageable, tag.trim().toLowerCase(), sortType);
+        List<String> tagFilter = toTagFilter(tag, tags);
+        if (!tagFilter.isEmpty()) {
+            list = postService.getMyPostListByTags(pageable, tagFilter, mode, sortType);
         } else {
             list = postService.getMyPostList(pageable, sortType);
         }
         return ResponseEntity.ok(ApiResponse.ok(list, "내 게시글 조회 성공"));
     }
 
+    /** ✅ 내 게시글 목록 조회 (커서 페이지네이션) */
+    // GET http://localhost:8081/post/my-post?cursor=&size=20&sortType=RESENT
+    @GetMapping(value = "/my-post", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDTO<PostListDTO>>> getMyPostListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "RESENT") String sortType,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) List<String> tags
+    ) {
+        if (!toTagFilter(tag, tags).isEmpty()) {
+            throw new ApplicationBadRequestException("태그 필터는 커서 페이지네이션을 지원하지 않습니다.");
+        }
+        CursorPageDTO<PostListDTO> list = postService.getMyPostListByCursor(cursor, size, sortType);
+        return ResponseEntity.ok(ApiResponse.ok(list, "내 게시글 조회 성공"));
+    }
+
     /** ✅ 전체 게시글 목록 조회 */
-    // GET http://localhost:8081/post?sortType=HITS&tag=react&search=키워드&groupFilter=ALL
+    // GET http://localhost:8081/post?sortType=HITS&tags=java,spring&mode=any&search=키워드&groupFilter=ALL
     @GetMapping
     public ResponseEntity<ApiResponse<Page<PostListDTO>>> getPostList(
             Pageable pageable,
             @RequestParam(defaultValue = "RESENT") String sortType,
             @RequestParam(required = false) String tag,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "all") String mode,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String groupFilter
     ) {
@@ -53,15 +77,36 @@ public class PostController {
             return ResponseEntity.ok(ApiResponse.ok(list, "검색 결과 조회 성공"));
         }
         
-        // 태그 필터링
-        if (tag != null && !tag.trim().isEmpty()) {
-            list = postService.getPostListByTag(pageable, tag.trim().toLowerCase(), sortType, groupFilter);
+        // 태그 필터링 (tag 는 단일 태그용 기존 파라미터)
+        List<String> tagFilter = toTagFilter(tag, tags);
+        if (!tagFilter.isEmpty()) {
+            list = postService.getPostListByTags(pageable, tagFilter, mode, sortType, groupFilter);
         } else {
             list = postService.getPostList(pageable, sortType, groupFilter);
         }
         return ResponseEntity.ok(ApiResponse.ok(list, "전체 게시글 조회 성공"));
     }
 
+    /** ✅ 전체 게시글 목록 조회 (커서 페이지네이션) */
+    // GET http://localhost:8081/post?cursor=&size=20&sortType=HITS&groupFilter=ALL
+    // 첫 페이지는 cursor를 빈 값으로, 이후에는 응답의 nextCursor를 그대로 전달
+    @GetMapping(params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDTO<PostListDTO>>> getPostListByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "RESENT") String sortType,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String groupFilter
+    ) {
+        if (!toTagFilter(tag, tags).isEmpty() || (search != null && !search.trim().isEmpty())) {
+            throw new ApplicationBadRequestException("태그/검색 조회는 커서 페이지네이션을 지원하지 않습니다.");
+        }
+        CursorPageDTO<PostListDTO> list = postService.getPostListByCursor(cursor, size, sortType, groupFilter);
+        return ResponseEntity.ok(ApiResponse.ok(list, "전체 게시글 조회 성공"));
+    }
+
     /** ✅ 글 등록 */
     // POST http://localhost:8081/post
     @PostMapping
@@ -70,6 +115,17 @@ public class PostController {
         return ResponseEntity.status(201).body(ApiResponse.ok("등록 성공"));
     }
 
+    /** ✅ 검색어 자동완성 (게시글 제목, 태그, 사용자) */
+    // GET http://localhost:8081/post/suggest?q=스프&limit=5
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<SuggestDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        SuggestDTO suggestions = postService.suggest(q, limit);
+        return ResponseEntity.ok(ApiResponse.ok(suggestions, "자동완성 조회 성공"));
+    }
+
     /** ✅ 단건 조회 */
     // GET http://localhost:8081/post/{id}
     @GetMapping("/{id}")
@@ -125,6 +181,19 @@ public class PostController {
         return ResponseEntity.ok(ApiResponse.ok(list, "사용자 게시글 조회 성공"));
     }
     
+    /** ✅ 특정 사용자의 게시글 목록 조회 (커서 페이지네이션) */
+    // GET http://localhost:8081/post/user/{username}?cursor=&size=20&sortType=RESENT
+    @GetMapping(value = "/user/{username}", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDTO<PostListDTO>>> getUserPostListByCursor(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "RESENT") String sortType
+    ) {
+        CursorPageDTO<PostListDTO> list = postService.getUserPostListByCursor(username, cursor, size, sortType);
+        return ResponseEntity.ok(ApiResponse.ok(list, "사용자 게시글 조회 성공"));
+    }
+    
     /** ✅ 특정 사용자의 게시글 수 조회 */
     // GET http://localhost:8081/post/user/{username}/count
     @GetMapping("/user/{username}/count")
@@ -145,4 +214,30 @@ public class PostController {
         Page<PostListDTO> list = postService.getGroupPostList(groupId, pageable, sortType, isPublic);
         return ResponseEntity.ok(ApiResponse.ok(list, "모임 게시글 조회 성공"));
     }
+    
+    /** ✅ 모임별 게시글 목록 조회 (커서 페이지네이션) */
+    // GET http://localhost:8081/post/group/{groupId}?cursor=&size=20&sortType=RESENT&isPublic=true
+    @GetMapping(value = "/group/{groupId}", params = "cursor")
+    public ResponseEntity<ApiResponse<CursorPageDTO<PostListDTO>>> getGroupPostListByCursor(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "RESENT") String sortType,
+            @RequestParam(required = false) Boolean isPublic
+    ) {
+        CursorPageDTO<PostListDTO> list = postService.getGroupPostListByCursor(groupId, cursor, size, sortType, isPublic);
+        return ResponseEntity.ok(ApiResponse.ok(list, "모임 게시글 조회 성공"));
+    }
+
+    /** tag(단일) 와 tags(쉼표 구분) 파라미터를 합친 태그 목록 (빈 값 제외) */
+    private static List<String> toTagFilter(String tag, List<String> tags) {
+        List<String> tagFilter = new ArrayList<>();
+        if (tag != null && !tag.isBlank()) {
+            tagFilter.add(tag);
+        }
+        if (tags != null) {
+            tags.stream().filter(name -> name != null && !name.isBlank()).forEach(tagFilter::add);
+        }
+        return tagFilter;
+    }
 }
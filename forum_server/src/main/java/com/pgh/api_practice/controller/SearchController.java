@@ -0,0 +1,33 @@
+package com.pgh.api_practice.controller;
+
+import com.pgh.api_practice.dto.ApiResponse;
+import com.pgh.api_practice.dto.SearchResultDTO;
+import com.pgh.api_practice.service.SearchService;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/search")
+@AllArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /** ✅ 통합 검색 (게시글, 모임 게시글, 댓글) */
+    // GET http://localhost:8081/search?q=키워드&types=POST,COMMENT&page=0&size=20
+    // 결과의 type 으로 링크 대상 구분 (댓글은 parentType/parentId 게시글로 이동)
+    @GetMapping
+    public ResponseEntity<ApiResponse<Page<SearchResultDTO>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            Pageable pageable
+    ) {
+        Page<SearchResultDTO> results = searchService.search(q, types, pageable);
+        return ResponseEntity.ok(ApiResponse.ok(results, "통합 검색 성공"));
+    }
+}
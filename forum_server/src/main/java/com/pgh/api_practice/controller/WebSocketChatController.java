@@ -1,6 +1,9 @@
 package com.pgh.api_practice.controller;
 
 import com.pgh.api_practice.dto.GroupChatMessageDTO;
+import com.pgh.api_practice.service.ChatBroadcastAggregator;
+import com.pgh.api_practice.service.ChatPresenceRegistry;
+import com.pgh.api_practice.service.ChatReadService;
 import com.pgh.api_practice.service.WebSocketChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +24,9 @@ public class WebSocketChatController {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final WebSocketChatService chatService;
+    private final ChatReadService chatReadService;
+    private final ChatBroadcastAggregator broadcastAggregator;
+    private final ChatPresenceRegistry presenceRegistry;
 
     // 메시지 전송
     @MessageMapping("/chat/{groupId}/{roomId}/send")
@@ -80,6 +86,8 @@ public class WebSocketChatController {
                 // 해당 채팅방의 모든 구독자에게 메시지 전송
                 messagingTemplate.convertAndSend(topic, messageDTO);
                 log.info("convertAndSend 호출 완료: topic={}", topic);
+                // 메시지를 보냈으면 입력 중 표시 종료
+                presenceRegistry.stopTyping(groupId, roomId, principal.getName());
             } catch (Exception e) {
                 log.error("convertAndSend 오류: {}", e.getMessage(), e);
                 throw e;
@@ -103,22 +111,16 @@ public class WebSocketChatController {
         }
     }
 
-    // 타이핑 인디케이터 시작
+    // 타이핑 인디케이터 시작 (계속 입력 중이면 일정 간격으로만 알림, 멈추면 서버에서 만료)
     @MessageMapping("/chat/{groupId}/{roomId}/typing/start")
     public void startTyping(
             @DestinationVariable Long groupId,
             @DestinationVariable Long roomId,
             Principal principal) {
         
-        Map<String, Object> typingData = new HashMap<>();
-        typingData.put("username", principal.getName());
-        typingData.put("isTyping", true);
-        
-        // 본인을 제외한 다른 사용자에게만 전송
-        messagingTemplate.convertAndSend(
-            "/topic/chat/" + groupId + "/" + roomId + "/typing",
-            typingData
-        );
+        if (principal != null) {
+            presenceRegistry.startTyping(groupId, roomId, principal.getName());
+        }
     }
 
     // 타이핑 인디케이터 종료
@@ -128,14 +130,9 @@ public class WebSocketChatController {
             @DestinationVariable Long roomId,
             Principal principal) {
         
-        Map<String, Object> typingData = new HashMap<>();
-        typingData.put("username", principal.getName());
-        typingData.put("isTyping", false);
-        
-        messagingTemplate.convertAndSend(
-            "/topic/chat/" + groupId + "/" + roomId + "/typing",
-            typingData
-        );
+        if (principal != null) {
+            presenceRegistry.stopTyping(groupId, roomId, principal.getName());
+        }
     }
 
     // 메시지 읽음 처리
@@ -159,22 +156,9 @@ public class WebSocketChatController {
                 messageId = Long.parseLong(messageIdObj.toString());
             }
             
-            // 읽음 상태 저장
-            chatService.markMessageAsRead(messageId, principal.getName());
-            
-            // 읽음 수 조회
-            int readCount = chatService.getReadCount(messageId);
-            
-            // 읽음 상태 업데이트 전송
-            Map<String, Object> readData = new HashMap<>();
-            readData.put("messageId", messageId);
-            readData.put("username", principal.getName());
-            readData.put("readCount", readCount);
-            
-            messagingTemplate.convertAndSend(
-                "/topic/chat/" + groupId + "/" + roomId + "/read",
-                readData
-            );
+            // 읽음 위치 전진 (이미 그 이후까지 읽었으면 알릴 것 없음), 알림은 채팅방별로 모아 /updates 로 전송
+            chatReadService.markAsRead(groupId, roomId, messageId, principal.getName())
+                    .ifPresent(advance -> broadcastAggregator.submitRead(groupId, roomId, advance));
         } catch (Exception e) {
             log.error("읽음 처리 오류: {}", e.getMessage(), e);
         }
@@ -0,0 +1,41 @@
+package com.pgh.api_practice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 채팅방 읽음/반응 변경 묶음 (/topic/chat/{groupId}/{roomId}/updates).
+ * 짧은 구간 동안 모은 변경을 채팅방마다 한 번에 보낸다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChatRoomUpdatesDTO {
+    private List<ReadInfo> reads;  // 사용자별 읽음 위치 전진 (구간 동안 합친 결과)
+    private List<ReactionUpdate> reactions;  // 반응이 바뀐 메시지의 현재 반응 수
+
+    /** (previousLastReadMessageId, lastReadMessageId] 구간 메시지의 읽음 수가 1씩 늘어남 */
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class ReadInfo {
+        private String username;
+        private long previousLastReadMessageId;
+        private long lastReadMessageId;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class ReactionUpdate {
+        private Long messageId;
+        private List<GroupChatMessageDTO.ReactionInfo> reactions;
+    }
+}
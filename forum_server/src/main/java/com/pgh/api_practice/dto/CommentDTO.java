@@ -1,5 +1,6 @@
 package com.pgh.api_practice.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import java.time.LocalDateTime;
@@ -16,12 +17,17 @@ public class CommentDTO {
     private String username;
     private Long userId;
     private Long postId;
+    private String targetType;    // POST 또는 GROUP_POST (postId 가 어느 게시글의 id 인지)
     private Long parentCommentId; // null이면 최상위 댓글
+    @JsonProperty("isPinned")
     private boolean isPinned;
     private long likeCount;
-    private boolean isLiked; // 현재 사용자가 좋아요를 눌렀는지 여부
+    @JsonProperty("isLiked")
+    private boolean isLiked; // 현재 사용자가 좋아요를 눌렀는지 여부 (CommentDeltaDTO 와 같은 이름으로 직렬화)
     private LocalDateTime createDateTime;
     private LocalDateTime updateDateTime;
-    private List<CommentDTO> replies; // 대댓글 목록
+    private List<CommentDTO> replies; // 대댓글 목록 (커서 조회에서는 처음 몇 개만)
+    private long replyCount;          // 삭제되지 않은 대댓글 수
+    private String repliesCursor;     // 나머지 대댓글 조회용 커서 (GET /comment/{id}/replies, 더 없으면 null)
 }
 
@@ -0,0 +1,28 @@
+package com.pgh.api_practice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 댓글 수정/좋아요/고정 응답: 바뀔 수 있는 필드만 담는다.
+ * 클라이언트는 id 로 기존 댓글을 찾아 덮어쓴다 (작성자, 답글 등은 그대로 유지).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CommentDeltaDTO {
+    private Long id;
+    private String body;
+    private long likeCount;
+    private LocalDateTime updateDateTime;
+
+    @JsonProperty("isLiked")
+    private boolean isLiked;
+
+    @JsonProperty("isPinned")
+    private boolean isPinned;
+}
@@ -1,5 +1,6 @@
 package com.pgh.api_practice.dto;
 
+import com.pgh.api_practice.entity.Comment;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -17,5 +18,7 @@ public class CreateCommentDTO {
     private Long postId;
 
     private Long parentCommentId; // null이면 최상위 댓글, 값이 있으면 대댓글
+
+    private Comment.TargetType targetType; // POST 또는 GROUP_POST (생략하면 posts 에서 먼저 찾음)
 }
 
@@ -0,0 +1,17 @@
+package com.pgh.api_practice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** 커서(keyset) 페이지네이션 응답: 전체 개수 없이 다음 커서만 제공 */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;  // 마지막 페이지면 null
+    private boolean hasNext;
+}
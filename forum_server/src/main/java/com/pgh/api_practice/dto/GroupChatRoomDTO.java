@@ -15,4 +15,5 @@ public class GroupChatRoomDTO {
     private String profileImageUrl;
     private boolean isAdminRoom;
     private LocalDateTime createdTime;
+    private long unreadCount;  // 현재 사용자가 안 읽은 메시지 수 (내 메시지 제외, 최대 100 = 99+)
 }
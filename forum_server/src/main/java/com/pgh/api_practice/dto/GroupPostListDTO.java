@@ -18,4 +18,6 @@ public class GroupPostListDTO {
     private LocalDateTime createDateTime;
     private LocalDateTime updateDateTime;
     private String profileImageUrl;
+    private long likeCount;
+    private long commentCount;
 }
@@ -0,0 +1,26 @@
+package com.pgh.api_practice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/** 모임 접속 현황: 모임에 접속 중인 멤버와 채팅방별 접속 멤버 (username) */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GroupPresenceDTO {
+    private List<String> onlineUsernames;
+    private List<RoomPresence> rooms;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class RoomPresence {
+        private Long roomId;
+        private List<String> usernames;
+    }
+}
@@ -20,6 +20,7 @@ public class PostListDTO {
     private LocalDateTime updateDateTime;
     private String profileImageUrl;
     private long likeCount;
+    private long commentCount;
     private List<String> tags;
     private Long groupId;
     private String groupName;
@@ -0,0 +1,27 @@
+package com.pgh.api_practice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 조회용 프로젝션 (posts / group_posts 공통).
+ * JPQL 생성자 표현식으로 필요한 컬럼만 조회하며, 본문(TEXT)은 포함하지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostSummaryDTO {
+    private Long id;
+    private String title;
+    private String username;
+    private int views;
+    private LocalDateTime createdTime;
+    private LocalDateTime updatedTime;
+    private String profileImageUrl;
+    private long likeCount;
+    private long commentCount;
+    private Long groupId;
+    private String groupName;
+    private boolean isPublic;
+}
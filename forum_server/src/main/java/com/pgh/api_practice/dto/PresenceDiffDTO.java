@@ -0,0 +1,20 @@
+package com.pgh.api_practice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 모임 접속 변화 (/topic/group/{groupId}/presence, 관리자방 입장/퇴장은 /topic/group/{groupId}/presence/admin).
+ * roomId 가 null 이면 모임 접속/종료, 아니면 해당 채팅방 입장/퇴장이다. 바뀐 사람만 담는다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PresenceDiffDTO {
+    private Long roomId;
+    private List<String> joined;
+    private List<String> left;
+}
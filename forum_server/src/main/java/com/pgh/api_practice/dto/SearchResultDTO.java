@@ -0,0 +1,21 @@
+package com.pgh.api_practice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class SearchResultDTO {
+    private String type;            // POST, GROUP_POST, COMMENT
+    private long id;
+    private String title;           // 댓글이면 달린 게시글 제목
+    private String snippet;         // 본문 앞부분
+    private String username;
+    private String nickname;
+    private Long groupId;           // 모임 글/모임 글의 댓글이면 모임 id
+    private String parentType;      // 댓글이 달린 게시글 종류 (POST, GROUP_POST)
+    private Long parentId;          // 댓글이 달린 게시글 id
+    private LocalDateTime createDateTime;
+}
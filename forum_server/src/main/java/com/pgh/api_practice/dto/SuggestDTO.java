@@ -0,0 +1,22 @@
+package com.pgh.api_practice.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class SuggestDTO {
+    private List<Item> posts;   // 게시글 제목 (value = 게시글 id)
+    private List<Item> tags;    // 태그 (value = 태그 이름)
+    private List<Item> users;   // 사용자 (text = 닉네임, value = username)
+
+    @Getter
+    @Builder
+    public static class Item {
+        private String text;
+        private String value;
+        private long weight;    // 조회수 / 태그 사용 횟수 / 팔로워 수
+    }
+}
@@ -0,0 +1,43 @@
+package com.pgh.api_practice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 채팅방별 읽음 위치: (채팅방, 사용자)마다 마지막으로 읽은 메시지 id 하나.
+ * 메시지 읽음 수와 안 읽은 메시지 수는 이 값에서 계산한다.
+ * 값은 커지기만 하며 ChatReadWatermarkRepository.advance 로만 쓴다.
+ */
+@Entity
+@Table(name = "chat_read_watermarks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_chat_read_watermarks_room_user", columnNames = {"room_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_chat_read_watermarks_room_last_read", columnList = "room_id, last_read_message_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatReadWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private GroupChatRoom chatRoom;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private Users user;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private long lastReadMessageId;
+
+    @Column(name = "update_datetime")
+    private LocalDateTime updatedTime;
+}
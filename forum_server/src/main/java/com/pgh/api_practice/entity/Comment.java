@@ -9,7 +9,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+    // 게시글별 댓글/최상위 댓글 페이지 조회용 (대상 + 부모 + 삭제 여부 + 고정/작성 순)
+    @Index(name = "idx_comments_target", columnList = "target_type, target_id, parent_comment_id, is_deleted, is_pinned, create_datetime")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,6 +21,9 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class Comment {
 
+    /** 댓글이 달린 대상 종류 (target_id 가 posts / group_posts 중 어느 테이블의 id 인지) */
+    public enum TargetType { POST, GROUP_POST }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -33,6 +39,14 @@ public class Comment {
     @JoinColumn(name = "group_post_id")
     private GroupPost groupPost;  // 모임 게시글 (nullable)
 
+    // 조회는 (target_type, target_id) 로: posts 와 group_posts 의 id 가 겹쳐도 섞이지 않음
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 20)
+    private TargetType targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private Users user;
@@ -51,6 +65,16 @@ public class Comment {
     @Column(name = "is_pinned", nullable = false)
     private boolean isPinned = false;
 
+    @Builder.Default
+    // 원자적 UPDATE(addLikeCount)로만 변경되므로 엔티티 저장 시 덮어쓰지 않도록 updatable = false
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private long likeCount = 0;  // 좋아요 수 (comment_likes 기준 비정규화)
+
+    @Builder.Default
+    // 원자적 UPDATE(addReplyCount)로만 변경되므로 엔티티 저장 시 덮어쓰지 않도록 updatable = false
+    @Column(name = "reply_count", nullable = false, updatable = false)
+    private long replyCount = 0;  // 삭제되지 않은 직속 답글 수 (비정규화)
+
     @Column(name = "create_datetime")
     @CreatedDate
     private LocalDateTime createdTime;
@@ -9,7 +9,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "group_posts")
+@Table(name = "group_posts", indexes = {
+    @Index(name = "idx_group_posts_like_count", columnList = "is_deleted, like_count, create_datetime"),
+    @Index(name = "idx_group_posts_created_time", columnList = "is_deleted, create_datetime"),
+    @Index(name = "idx_group_posts_views", columnList = "is_deleted, views"),
+    @Index(name = "idx_group_posts_like_count_id", columnList = "is_deleted, like_count")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -36,10 +41,21 @@ public class GroupPost {
     @JoinColumn(name = "user_id", nullable = false)
     private Users user;
 
+    // 조회수는 ViewCountBuffer 의 일괄 UPDATE 로만 변경되므로 엔티티 저장 시 덮어쓰지 않도록 updatable = false
     @Builder.Default
-    @Column(name = "views")
+    @Column(name = "views", updatable = false)
     private int views = 0;
 
+    @Builder.Default
+    // 원자적 UPDATE(addLikeCount)로만 변경되므로 엔티티 저장 시 덮어쓰지 않도록 updatable = false
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private long likeCount = 0;  // 좋아요 수 (post_likes 기준 비정규화, 정렬용)
+
+    @Builder.Default
+    // 원자적 UPDATE(addCommentCount)로만 변경되므로 엔티티 저장 시 덮어쓰지 않도록 updatable = false
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount = 0;  // 댓글 수 (삭제되지 않은 댓글 기준 비정규화, 목록용)
+
     @Builder.Default
     @Column(name = "is_deleted", nullable = false)
     private boolean isDeleted = false;
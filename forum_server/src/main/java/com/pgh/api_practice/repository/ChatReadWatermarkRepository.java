@@ -0,0 +1,51 @@
+package com.pgh.api_practice.repository;
+
+import com.pgh.api_practice.entity.ChatReadWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChatReadWatermarkRepository extends JpaRepository<ChatReadWatermark, Long> {
+
+    @Query("SELECT w.lastReadMessageId FROM ChatReadWatermark w WHERE w.chatRoom.id = :roomId AND w.user.id = :userId")
+    Optional<Long> findLastReadMessageId(@Param("roomId") Long roomId, @Param("userId") Long userId);
+
+    // 읽음 위치 전진 (없으면 생성, 기존 값보다 작으면 그대로): 한 문장이라 동시 요청에도 값이 줄지 않음
+    @Modifying
+    @Query(value = "INSERT INTO chat_read_watermarks (room_id, user_id, last_read_message_id, update_datetime) " +
+                   "VALUES (:roomId, :userId, :messageId, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "update_datetime = CASE WHEN VALUES(last_read_message_id) > last_read_message_id THEN NOW() ELSE update_datetime END, " +
+                   "last_read_message_id = GREATEST(last_read_message_id, VALUES(last_read_message_id))",
+           nativeQuery = true)
+    int advance(@Param("roomId") Long roomId, @Param("userId") Long userId, @Param("messageId") Long messageId);
+
+    // 채팅방에서 minMessageId 이후까지 읽은 사용자: [userId, lastReadMessageId] (메시지 읽음 수 계산용)
+    @Query("SELECT w.user.id, w.lastReadMessageId FROM ChatReadWatermark w " +
+           "WHERE w.chatRoom.id = :roomId AND w.lastReadMessageId >= :minMessageId")
+    List<Object[]> findReadersFrom(@Param("roomId") Long roomId, @Param("minMessageId") Long minMessageId);
+
+    // 채팅방별 안 읽은 메시지 수 (내 메시지 제외, 방마다 cap 개까지만 셈): [roomId, count] (없는 방은 0)
+    // 읽음 위치는 방마다 한 번 조인하고, 메시지는 (chat_room_id, is_deleted, id) 인덱스에서 읽음 위치 다음부터 읽는다:
+    // cap 번째 메시지가 있으면 cap, 없으면 그보다 적은 나머지만 COUNT (어느 쪽이든 방마다 최대 cap 행)
+    // LATERAL(MySQL 8.0.14+) 대신 상관 서브쿼리 + LIMIT 만 써서 8.0 이전 버전과 H2 에서도 실행된다
+    @Query(value = "SELECT r.id, CASE WHEN (" +
+                   "SELECT m.id FROM group_chat_messages m " +
+                   "WHERE m.chat_room_id = r.id AND m.is_deleted = FALSE " +
+                   "AND m.id > COALESCE(w.last_read_message_id, 0) AND m.user_id <> :userId " +
+                   "ORDER BY m.id LIMIT 1 OFFSET :capOffset) IS NOT NULL THEN :cap ELSE (" +
+                   "SELECT COUNT(*) FROM group_chat_messages m " +
+                   "WHERE m.chat_room_id = r.id AND m.is_deleted = FALSE " +
+                   "AND m.id > COALESCE(w.last_read_message_id, 0) AND m.user_id <> :userId) END " +
+                   "FROM group_chat_rooms r " +
+                   "LEFT JOIN chat_read_watermarks w ON w.room_id = r.id AND w.user_id = :userId " +
+                   "WHERE r.id IN (:roomIds)",
+           nativeQuery = true)
+    List<Object[]> countUnreadGroupByRoomId(@Param("userId") Long userId, @Param("roomIds") Collection<Long> roomIds,
+                                            @Param("cap") int cap, @Param("capOffset") int capOffset);
+}
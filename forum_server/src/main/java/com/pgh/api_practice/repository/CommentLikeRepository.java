@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CommentLikeRepository extends JpaRepository<CommentLike, Long> {
@@ -18,5 +20,13 @@ public interface CommentLikeRepository extends JpaRepository<CommentLike, Long>
 
     // 사용자가 특정 댓글에 좋아요를 눌렀는지 확인
     boolean existsByCommentIdAndUserId(Long commentId, Long userId);
+
+    // 댓글별 좋아요 개수 (like_count 보정용): [commentId, count]
+    @Query("SELECT cl.comment.id, COUNT(cl) FROM CommentLike cl WHERE cl.comment.id IN :commentIds GROUP BY cl.comment.id")
+    List<Object[]> countGroupByCommentIdIn(@Param("commentIds") Collection<Long> commentIds);
+
+    // 댓글 중 사용자가 좋아요를 누른 댓글 id (댓글 트리 조립용)
+    @Query("SELECT cl.comment.id FROM CommentLike cl WHERE cl.user.id = :userId AND cl.comment.id IN :commentIds")
+    List<Long> findLikedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
 }
 
@@ -1,29 +1,84 @@
 package com.pgh.api_practice.repository;
 
 import com.pgh.api_practice.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    // 게시글의 댓글 목록 조회 (posts와 group_posts 모두 지원, 삭제되지 않은 것만, 고정된 댓글 우선, 그 다음 생성일시 순)
-    @Query("SELECT c FROM Comment c WHERE (c.post.id = :postId OR c.groupPost.id = :postId) AND c.isDeleted = false AND c.parentComment IS NULL ORDER BY c.isPinned DESC, c.createdTime ASC")
-    List<Comment> findAllByPostIdOrGroupPostIdAndNotDeletedAndNoParent(@Param("postId") Long postId);
+    // 대상 게시글의 모든 댓글을 작성자와 함께 조회 (대댓글 포함, 트리는 서비스에서 조립, idx_comments_target 사용)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.targetType = :targetType AND c.targetId = :targetId AND c.isDeleted = false")
+    List<Comment> findAllByTargetAndNotDeleted(@Param("targetType") Comment.TargetType targetType, @Param("targetId") Long targetId);
 
-    // 부모 댓글의 대댓글 목록 조회
-    @Query("SELECT c FROM Comment c WHERE c.parentComment.id = :parentId AND c.isDeleted = false ORDER BY c.createdTime ASC")
-    List<Comment> findAllByParentCommentIdAndNotDeleted(@Param("parentId") Long parentId);
+    // 최상위 댓글 커서 페이지: 고정 댓글 먼저, 그다음 작성 순 (after 위치 다음부터, idx_comments_target 순서 그대로)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.targetType = :targetType AND c.targetId = :targetId AND c.parentComment IS NULL AND c.isDeleted = false " +
+           "AND ((:afterPinned = true AND c.isPinned = false) OR (c.isPinned = :afterPinned AND (c.createdTime > :afterTime OR (c.createdTime = :afterTime AND c.id > :afterId)))) " +
+           "ORDER BY c.isPinned DESC, c.createdTime ASC, c.id ASC")
+    List<Comment> findTopLevelPage(@Param("targetType") Comment.TargetType targetType, @Param("targetId") Long targetId,
+                                   @Param("afterPinned") boolean afterPinned, @Param("afterTime") LocalDateTime afterTime,
+                                   @Param("afterId") long afterId, Pageable pageable);
 
-    // 게시글의 모든 댓글 조회 (대댓글 포함, posts와 group_posts 모두 지원)
-    @Query("SELECT c FROM Comment c WHERE (c.post.id = :postId OR c.groupPost.id = :postId) AND c.isDeleted = false")
-    List<Comment> findAllByPostIdOrGroupPostIdAndNotDeleted(@Param("postId") Long postId);
+    // 답글 커서 페이지: 작성 순 (after 위치 다음부터)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.parentComment.id = :parentId AND c.isDeleted = false " +
+           "AND (c.createdTime > :afterTime OR (c.createdTime = :afterTime AND c.id > :afterId)) ORDER BY c.createdTime ASC, c.id ASC")
+    List<Comment> findReplyPage(@Param("parentId") Long parentId, @Param("afterTime") LocalDateTime afterTime,
+                                @Param("afterId") long afterId, Pageable pageable);
+
+    // 댓글마다 처음 limit 개 답글 id (작성 순, 부모별 한 번에)
+    @Query(value = "SELECT ranked.id FROM (SELECT c.id, ROW_NUMBER() OVER (PARTITION BY c.parent_comment_id ORDER BY c.create_datetime, c.id) AS rn " +
+                   "FROM comments c WHERE c.parent_comment_id IN (:parentIds) AND c.is_deleted = false) ranked WHERE ranked.rn <= :limit",
+           nativeQuery = true)
+    List<Long> findFirstReplyIds(@Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+
+    // 댓글별 답글 수 (reply_count 보정용): [parentId, count]
+    @Query("SELECT c.parentComment.id, COUNT(c) FROM Comment c WHERE c.parentComment.id IN :parentIds AND c.isDeleted = false GROUP BY c.parentComment.id")
+    List<Object[]> countRepliesGroupByParentIdIn(@Param("parentIds") Collection<Long> parentIds);
+
+    // 대상 게시글별 댓글 수 (comment_count 보정용): [targetId, count]
+    @Query("SELECT c.targetId, COUNT(c) FROM Comment c WHERE c.targetType = :targetType AND c.targetId IN :targetIds AND c.isDeleted = false GROUP BY c.targetId")
+    List<Object[]> countGroupByTargetIdIn(@Param("targetType") Comment.TargetType targetType, @Param("targetIds") Collection<Long> targetIds);
+
+    // 좋아요/취소 시 같은 트랜잭션에서 like_count 증감
+    @Modifying
+    @Query("UPDATE Comment c SET c.likeCount = c.likeCount + :delta WHERE c.id = :id")
+    void addLikeCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // 답글 작성/삭제 시 같은 트랜잭션에서 부모 댓글의 reply_count 증감
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :id")
+    void addReplyCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // like_count / reply_count 보정용: id 순으로 [id, likeCount, replyCount] 청크 조회
+    @Query("SELECT c.id, c.likeCount, c.replyCount FROM Comment c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findCounterChunk(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    // 읽은 뒤 다른 트랜잭션이 증감했다면 덮어쓰지 않도록 기존 값 조건 포함
+    @Query("UPDATE Comment c SET c.likeCount = :likeCount WHERE c.id = :id AND c.likeCount = :expected")
+    int updateLikeCount(@Param("id") Long id, @Param("expected") long expected, @Param("likeCount") long likeCount);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = :replyCount WHERE c.id = :id AND c.replyCount = :expected")
+    int updateReplyCount(@Param("id") Long id, @Param("expected") long expected, @Param("replyCount") long replyCount);
+
+    // id 목록의 댓글을 작성자와 함께 조회
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.id IN :ids")
+    List<Comment> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
 
     // 댓글과 작성자, 게시글 정보를 함께 조회 (posts와 group_posts 모두 지원)
     @Query("SELECT c FROM Comment c LEFT JOIN FETCH c.user LEFT JOIN FETCH c.post LEFT JOIN FETCH c.groupPost WHERE c.id = :id")
     Optional<Comment> findByIdWithUserAndPost(@Param("id") Long id);
+
+    // 통합 검색 결과 조립용 (작성자/달린 게시글 함께 조회, 순서는 호출 측에서 맞춤)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user LEFT JOIN FETCH c.post LEFT JOIN FETCH c.groupPost WHERE c.id IN :ids AND c.isDeleted = false")
+    List<Comment> findSearchResultsByIdIn(@Param("ids") Collection<Long> ids);
 }
 
@@ -25,4 +25,8 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     // 팔로잉 목록 (내가 팔로우하는 사람들)
     @Query("SELECT f.following FROM Follow f WHERE f.follower.id = :userId ORDER BY f.createDateTime DESC")
     java.util.List<com.pgh.api_practice.entity.Users> findFollowingByUserId(@Param("userId") Long userId);
+    
+    // 자동완성 가중치용: [userId, 팔로워 수]
+    @Query("SELECT f.following.id, COUNT(f.id) FROM Follow f GROUP BY f.following.id")
+    java.util.List<Object[]> countFollowersGroupByUser();
 }
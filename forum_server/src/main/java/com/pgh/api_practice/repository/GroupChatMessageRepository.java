@@ -12,6 +12,20 @@ import java.util.List;
 public interface GroupChatMessageRepository extends JpaRepository<GroupChatMessage, Long> {
     Page<GroupChatMessage> findByChatRoomIdAndIsDeletedFalseOrderByCreatedTimeDesc(Long chatRoomId, Pageable pageable);
     
-    @Query("SELECT gcm FROM GroupChatMessage gcm WHERE gcm.chatRoom.id = :chatRoomId AND gcm.isDeleted = false ORDER BY gcm.createdTime DESC")
-    List<GroupChatMessage> findRecentMessages(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
+    // 채팅 기록 keyset 페이지 (id 기준, 작성자/답장 대상까지 한 번에 로드)
+    // beforeId 보다 이전 메시지, 최신순
+    @Query("SELECT gcm FROM GroupChatMessage gcm JOIN FETCH gcm.user " +
+           "LEFT JOIN FETCH gcm.replyToMessage r LEFT JOIN FETCH r.user " +
+           "WHERE gcm.chatRoom.id = :chatRoomId AND gcm.isDeleted = false AND gcm.id < :beforeId " +
+           "ORDER BY gcm.id DESC")
+    List<GroupChatMessage> findPageBefore(@Param("chatRoomId") Long chatRoomId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // afterId 보다 이후 메시지, 오래된순 (재접속 후 놓친 메시지 따라잡기)
+    @Query("SELECT gcm FROM GroupChatMessage gcm JOIN FETCH gcm.user " +
+           "LEFT JOIN FETCH gcm.replyToMessage r LEFT JOIN FETCH r.user " +
+           "WHERE gcm.chatRoom.id = :chatRoomId AND gcm.isDeleted = false AND gcm.id > :afterId " +
+           "ORDER BY gcm.id ASC")
+    List<GroupChatMessage> findPageAfter(@Param("chatRoomId") Long chatRoomId, @Param("afterId") Long afterId, Pageable pageable);
+
+    boolean existsByIdAndChatRoomId(Long id, Long chatRoomId);
 }
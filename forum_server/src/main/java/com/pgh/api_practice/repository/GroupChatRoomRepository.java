@@ -2,6 +2,8 @@ package com.pgh.api_practice.repository;
 
 import com.pgh.api_practice.entity.GroupChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +11,8 @@ import java.util.Optional;
 public interface GroupChatRoomRepository extends JpaRepository<GroupChatRoom, Long> {
     Optional<GroupChatRoom> findByIdAndIsDeletedFalse(Long id);
     List<GroupChatRoom> findByGroupIdAndIsDeletedFalseOrderByCreatedTimeAsc(Long groupId);
+
+    // 모임의 삭제되지 않은 채팅방 [id, isAdminRoom] (멤버십 캐시용)
+    @Query("SELECT r.id, r.isAdminRoom FROM GroupChatRoom r WHERE r.group.id = :groupId AND r.isDeleted = false")
+    List<Object[]> findRoomFlagsByGroupId(@Param("groupId") Long groupId);
 }
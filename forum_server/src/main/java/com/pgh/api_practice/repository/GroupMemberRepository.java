@@ -15,8 +15,17 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
     List<GroupMember> findByGroupId(@Param("groupId") Long groupId);
     List<GroupMember> findByUserId(Long userId);
     
+    // 가입한 모임 id (통합 검색 권한 필터용)
+    @Query("SELECT gm.group.id FROM GroupMember gm WHERE gm.user.id = :userId")
+    List<Long> findGroupIdsByUserId(@Param("userId") Long userId);
+    
     @Query("SELECT COUNT(gm) FROM GroupMember gm WHERE gm.group.id = :groupId")
     long countByGroupId(@Param("groupId") Long groupId);
     
+    // 모임 멤버 [userId, username, nickname, profileImageUrl, isAdmin, displayName] (멤버십 캐시용)
+    @Query("SELECT u.id, u.username, u.nickname, u.profileImageUrl, gm.isAdmin, gm.displayName " +
+           "FROM GroupMember gm JOIN gm.user u WHERE gm.group.id = :groupId")
+    List<Object[]> findMembershipRowsByGroupId(@Param("groupId") Long groupId);
+    
     void deleteByGroupIdAndUserId(Long groupId, Long userId);
 }
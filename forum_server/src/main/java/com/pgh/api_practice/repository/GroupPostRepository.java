@@ -1,17 +1,24 @@
 package com.pgh.api_practice.repository;
 
+import com.pgh.api_practice.dto.PostSummaryDTO;
 import com.pgh.api_practice.entity.GroupPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface GroupPostRepository extends JpaRepository<GroupPost, Long> {
     Optional<GroupPost> findByIdAndIsDeletedFalse(Long id);
+    // 목록 DTO가 작성자를 사용하므로 한 번에 조인 조회
+    @EntityGraph(attributePaths = "user")
     Page<GroupPost> findByGroupIdAndIsDeletedFalseOrderByCreatedTimeDesc(Long groupId, Pageable pageable);
     
     // isPublic 필터링 포함
@@ -22,7 +29,77 @@ public interface GroupPostRepository extends JpaRepository<GroupPost, Long> {
     @Query("SELECT gp FROM GroupPost gp WHERE gp.isDeleted = false AND gp.isPublic = true ORDER BY gp.createdTime DESC")
     Page<GroupPost> findByIsPublicAndIsDeletedFalseOrderByCreatedTimeDesc(Pageable pageable);
     
+    // 조회수 일괄 반영 (ViewCountBuffer 에서 증가분이 같은 행끼리 묶어 호출, updatedTime은 변경하지 않음)
     @Modifying
-    @Query("UPDATE GroupPost gp SET gp.views = gp.views + 1 WHERE gp.id = :id")
-    void incrementViews(@Param("id") Long id);
+    @Query("UPDATE GroupPost gp SET gp.views = gp.views + :delta WHERE gp.id IN :ids")
+    void addViews(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+    
+    // 좋아요 수 증감 (원자적 UPDATE)
+    @Modifying
+    @Query("UPDATE GroupPost gp SET gp.likeCount = gp.likeCount + :delta WHERE gp.id = :id")
+    void addLikeCount(@Param("id") Long id, @Param("delta") long delta);
+    
+    // like_count 보정용: id 순으로 [id, likeCount] 청크 조회
+    @Query("SELECT gp.id, gp.likeCount FROM GroupPost gp WHERE gp.id > :afterId ORDER BY gp.id")
+    List<Object[]> findLikeCountChunk(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Modifying
+    // 읽은 뒤 다른 트랜잭션이 증감했다면 덮어쓰지 않도록 기존 값 조건 포함
+    @Query("UPDATE GroupPost gp SET gp.likeCount = :likeCount WHERE gp.id = :id AND gp.likeCount = :expected")
+    int updateLikeCount(@Param("id") Long id, @Param("expected") long expected, @Param("likeCount") long likeCount);
+    
+    // 댓글 작성/삭제 시 같은 트랜잭션에서 comment_count 증감
+    @Modifying
+    @Query("UPDATE GroupPost gp SET gp.commentCount = gp.commentCount + :delta WHERE gp.id = :id")
+    void addCommentCount(@Param("id") Long id, @Param("delta") long delta);
+    
+    // comment_count 보정용: id 순으로 [id, commentCount] 청크 조회
+    @Query("SELECT gp.id, gp.commentCount FROM GroupPost gp WHERE gp.id > :afterId ORDER BY gp.id")
+    List<Object[]> findCommentCountChunk(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE GroupPost gp SET gp.commentCount = :commentCount WHERE gp.id = :id AND gp.commentCount = :expected")
+    int updateCommentCount(@Param("id") Long id, @Param("expected") long expected, @Param("commentCount") long commentCount);
+    
+    // 목록 프로젝션: id 목록으로 조회 (리더보드 페이지 조립용, 순서는 호출 측에서 맞춤, 삭제된 게시물은 빠짐)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.id IN :ids AND gp.isDeleted = false")
+    List<PostSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 통합 피드 병합용 청크 조회 (정렬은 Pageable의 Sort로 지정, List 반환이라 count 쿼리 없음)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND gp.isPublic = true")
+    List<PostSummaryDTO> findPublicFeedChunk(Pageable pageable);
+    
+    @Query("SELECT COUNT(gp) FROM GroupPost gp WHERE gp.isDeleted = false AND gp.isPublic = true")
+    long countPublicFeed();
+    
+    // 모임별 피드 병합용 청크 조회 (isPublic이 null이면 공개/비공개 모두)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR gp.isPublic = :isPublic)")
+    List<PostSummaryDTO> findGroupFeedChunk(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, Pageable pageable);
+    
+    @Query("SELECT COUNT(gp) FROM GroupPost gp WHERE gp.isDeleted = false AND gp.group.id = :groupId AND (:isPublic IS NULL OR gp.isPublic = :isPublic)")
+    long countGroupFeed(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic);
+    
+    // 커서 페이지네이션: 전체 피드 (키, id) 기준 다음 행 조회, count 쿼리 없음
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND gp.isPublic = true AND (gp.createdTime < :afterTime OR (gp.createdTime = :afterTime AND gp.id < :afterId)) ORDER BY gp.createdTime DESC, gp.id DESC")
+    List<PostSummaryDTO> findPublicFeedAfterCreatedTime(@Param("afterTime") LocalDateTime afterTime, @Param("afterId") long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND gp.isPublic = true AND (gp.views < :afterViews OR (gp.views = :afterViews AND gp.id < :afterId)) ORDER BY gp.views DESC, gp.id DESC")
+    List<PostSummaryDTO> findPublicFeedAfterViews(@Param("afterViews") int afterViews, @Param("afterId") long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND gp.isPublic = true AND (gp.likeCount < :afterLikeCount OR (gp.likeCount = :afterLikeCount AND gp.id < :afterId)) ORDER BY gp.likeCount DESC, gp.id DESC")
+    List<PostSummaryDTO> findPublicFeedAfterLikeCount(@Param("afterLikeCount") long afterLikeCount, @Param("afterId") long afterId, Pageable pageable);
+    
+    // 커서 페이지네이션: 모임 피드 (키, id) 기준 다음 행 조회, count 쿼리 없음
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR gp.isPublic = :isPublic) AND (gp.createdTime < :afterTime OR (gp.createdTime = :afterTime AND gp.id < :afterId)) ORDER BY gp.createdTime DESC, gp.id DESC")
+    List<PostSummaryDTO> findGroupFeedAfterCreatedTime(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, @Param("afterTime") LocalDateTime afterTime, @Param("afterId") long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR gp.isPublic = :isPublic) AND (gp.views < :afterViews OR (gp.views = :afterViews AND gp.id < :afterId)) ORDER BY gp.views DESC, gp.id DESC")
+    List<PostSummaryDTO> findGroupFeedAfterViews(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, @Param("afterViews") int afterViews, @Param("afterId") long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(gp.id, gp.title, u.username, gp.views, gp.createdTime, gp.updatedTime, gp.profileImageUrl, gp.likeCount, gp.commentCount, g.id, g.name, gp.isPublic) FROM GroupPost gp JOIN gp.user u JOIN gp.group g WHERE gp.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR gp.isPublic = :isPublic) AND (gp.likeCount < :afterLikeCount OR (gp.likeCount = :afterLikeCount AND gp.id < :afterId)) ORDER BY gp.likeCount DESC, gp.id DESC")
+    List<PostSummaryDTO> findGroupFeedAfterLikeCount(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, @Param("afterLikeCount") long afterLikeCount, @Param("afterId") long afterId, Pageable pageable);
+
+    // 통합 검색 결과 조립용 (작성자/모임 함께 조회, 순서는 호출 측에서 맞춤)
+    @Query("SELECT gp FROM GroupPost gp JOIN FETCH gp.user JOIN FETCH gp.group WHERE gp.id IN :ids AND gp.isDeleted = false")
+    List<GroupPost> findSearchResultsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -4,6 +4,8 @@ import com.pgh.api_practice.entity.Group;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,4 +21,8 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     
     // ID 리스트로 모임 조회
     Page<Group> findByIdInAndIsDeletedFalseOrderByCreatedTimeDesc(List<Long> ids, Pageable pageable);
+
+    // 삭제되지 않은 모임의 주인 id (멤버십 캐시용)
+    @Query("SELECT g.owner.id FROM Group g WHERE g.id = :groupId AND g.isDeleted = false")
+    Optional<Long> findOwnerIdByIdAndIsDeletedFalse(@Param("groupId") Long groupId);
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,11 +15,15 @@ public interface MessageReactionRepository extends JpaRepository<MessageReaction
     
     boolean existsByMessageIdAndUserIdAndEmoji(Long messageId, Long userId, String emoji);
     
-    @Query("SELECT mr.emoji, COUNT(mr) FROM MessageReaction mr WHERE mr.message.id = :messageId GROUP BY mr.emoji")
-    List<Object[]> countByMessageIdGroupByEmoji(@Param("messageId") Long messageId);
+    // 메시지 여러 개의 이모지별 반응 수 (먼저 달린 이모지 순): [messageId, emoji, count]
+    @Query("SELECT mr.message.id, mr.emoji, COUNT(mr) FROM MessageReaction mr WHERE mr.message.id IN :messageIds " +
+           "GROUP BY mr.message.id, mr.emoji ORDER BY mr.message.id, MIN(mr.id)")
+    List<Object[]> countByMessageIdInGroupByEmoji(@Param("messageIds") Collection<Long> messageIds);
     
-    @Query("SELECT mr.emoji FROM MessageReaction mr WHERE mr.message.id = :messageId AND mr.user.id = :userId")
-    List<String> findEmojisByMessageIdAndUserId(@Param("messageId") Long messageId, @Param("userId") Long userId);
+    // 메시지 여러 개에 사용자가 단 반응 (단 순서): [messageId, emoji]
+    @Query("SELECT mr.message.id, mr.emoji FROM MessageReaction mr WHERE mr.message.id IN :messageIds AND mr.user.id = :userId " +
+           "ORDER BY mr.id")
+    List<Object[]> findEmojisByMessageIdInAndUserId(@Param("messageIds") Collection<Long> messageIds, @Param("userId") Long userId);
     
     void deleteByMessageIdAndUserIdAndEmoji(Long messageId, Long userId, String emoji);
 }
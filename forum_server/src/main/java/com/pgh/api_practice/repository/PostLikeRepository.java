@@ -5,6 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
@@ -26,4 +28,12 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     
     @Query("SELECT COUNT(pl) FROM PostLike pl WHERE pl.groupPost.id = :groupPostId")
     long countByGroupPostId(@Param("groupPostId") Long groupPostId);
+    
+    // 목록 페이지 일괄 조회용: [postId, count]
+    @Query("SELECT pl.post.id, COUNT(pl) FROM PostLike pl WHERE pl.post.id IN :postIds GROUP BY pl.post.id")
+    List<Object[]> countGroupByPostIdIn(@Param("postIds") Collection<Long> postIds);
+    
+    // 목록 페이지 일괄 조회용: [groupPostId, count]
+    @Query("SELECT pl.groupPost.id, COUNT(pl) FROM PostLike pl WHERE pl.groupPost.id IN :groupPostIds GROUP BY pl.groupPost.id")
+    List<Object[]> countGroupByGroupPostIdIn(@Param("groupPostIds") Collection<Long> groupPostIds);
 }
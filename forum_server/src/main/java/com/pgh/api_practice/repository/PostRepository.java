@@ -1,5 +1,6 @@
 package com.pgh.api_practice.repository;
 
+import com.pgh.api_practice.dto.PostSummaryDTO;
 import com.pgh.api_practice.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,80 +10,134 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    Page<Post> findAllByIsDeletedFalseOrderByCreatedTimeDesc(Pageable pageable);
-    Page<Post> findAllByIsDeletedFalseOrderByViewsDesc(Pageable pageable);
-    
-    // 모임 외부 노출 게시글만 조회 (group이 null이거나 isPublic이 true)
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND (p.group IS NULL OR p.isPublic = true) ORDER BY p.createdTime DESC")
-    Page<Post> findAllPublicPostsOrderByCreatedTimeDesc(Pageable pageable);
-    
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND (p.group IS NULL OR p.isPublic = true) ORDER BY p.views DESC")
-    Page<Post> findAllPublicPostsOrderByViewsDesc(Pageable pageable);
-    
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND (p.group IS NULL OR p.isPublic = true) ORDER BY (SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = p.id) DESC, p.createdTime DESC")
-    Page<Post> findAllPublicPostsOrderByLikesDesc(Pageable pageable);
+    long countByUserIdAndIsDeletedFalse(Long userId);
 
-    Page<Post> findAllByUserIdAndIsDeletedFalseOrderByCreatedTimeDesc(Long userId, Pageable pageable);
-    Page<Post> findAllByUserIdAndIsDeletedFalseOrderByViewsDesc(Long userId, Pageable pageable);
-    
-    // 좋아요 순서로 정렬 (서브쿼리 사용)
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false ORDER BY (SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = p.id) DESC, p.createdTime DESC")
-    Page<Post> findAllByIsDeletedFalseOrderByLikesDesc(Pageable pageable);
-    
-    @Query("SELECT p FROM Post p WHERE p.user.id = :userId AND p.isDeleted = false ORDER BY (SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = p.id) DESC, p.createdTime DESC")
-    Page<Post> findAllByUserIdAndIsDeletedFalseOrderByLikesDesc(@Param("userId") Long userId, Pageable pageable);
+    // 상세 캐시 적중 시 조회수만 조회
+    @Query("SELECT p.views FROM Post p WHERE p.id = :id AND p.isDeleted = false")
+    Optional<Integer> findViewsById(@Param("id") Long id);
+
+    // 조회수 일괄 반영 (ViewCountBuffer 에서 증가분이 같은 행끼리 묶어 호출, updatedTime은 변경하지 않음)
+    @Modifying
+    @Query("UPDATE Post p SET p.views = p.views + :delta WHERE p.id IN :ids")
+    void addViews(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    // 좋아요 수 증감 (원자적 UPDATE, updatedTime은 변경하지 않음)
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :id")
+    void addLikeCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // like_count 보정용: id 순으로 [id, likeCount] 청크 조회
+    @Query("SELECT p.id, p.likeCount FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findLikeCountChunk(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    // 읽은 뒤 다른 트랜잭션이 증감했다면 덮어쓰지 않도록 기존 값 조건 포함
+    @Query("UPDATE Post p SET p.likeCount = :likeCount WHERE p.id = :id AND p.likeCount = :expected")
+    int updateLikeCount(@Param("id") Long id, @Param("expected") long expected, @Param("likeCount") long likeCount);
+
+    // 댓글 작성/삭제 시 같은 트랜잭션에서 comment_count 증감
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
+    void addCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // comment_count 보정용: id 순으로 [id, commentCount] 청크 조회
+    @Query("SELECT p.id, p.commentCount FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findCommentCountChunk(@Param("afterId") Long afterId, Pageable pageable);
 
-    // 조회수 증가 (updatedTime은 변경하지 않음)
     @Modifying
-    @Query("UPDATE Post p SET p.views = p.views + 1 WHERE p.id = :id")
-    void incrementViews(@Param("id") Long id);
+    @Query("UPDATE Post p SET p.commentCount = :commentCount WHERE p.id = :id AND p.commentCount = :expected")
+    int updateCommentCount(@Param("id") Long id, @Param("expected") long expected, @Param("commentCount") long commentCount);
 
     // 수정 시간 업데이트 (명시적으로)
     @Modifying
     @Query("UPDATE Post p SET p.updatedTime = :updateTime WHERE p.id = :id")
     void updateModifiedTime(@Param("id") Long id, @Param("updateTime") LocalDateTime updateTime);
     
-    // 태그 필터링을 위한 메서드들
-    @Query("SELECT p FROM Post p WHERE p.id IN :ids AND p.isDeleted = false ORDER BY p.createdTime DESC")
-    Page<Post> findAllByIdInAndIsDeletedFalseOrderByCreatedTimeDesc(@Param("ids") List<Long> ids, Pageable pageable);
+    // 태그 필터링: 태그 색인 결과 id 로 페이지 조회 (정렬은 Pageable의 Sort로 지정)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.id IN :ids AND p.isDeleted = false")
+    List<PostSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
+    
+    // 태그 필터링: 후보가 많거나 색인 준비 전일 때 DB에서 직접 (minMatches = 태그 수면 AND, 1이면 OR)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND ((:includeGeneral = true AND p.group IS NULL) OR (:includeGroup = true AND p.group IS NOT NULL AND p.isPublic = true)) AND p.id IN (SELECT pt.post.id FROM PostTag pt WHERE pt.tag.name IN :tagNames GROUP BY pt.post.id HAVING COUNT(pt.id) >= :minMatches)")
+    List<PostSummaryDTO> findPublicByTags(@Param("tagNames") Collection<String> tagNames, @Param("minMatches") long minMatches, @Param("includeGeneral") boolean includeGeneral, @Param("includeGroup") boolean includeGroup, Pageable pageable);
+    
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.isDeleted = false AND ((:includeGeneral = true AND p.group IS NULL) OR (:includeGroup = true AND p.group IS NOT NULL AND p.isPublic = true)) AND p.id IN (SELECT pt.post.id FROM PostTag pt WHERE pt.tag.name IN :tagNames GROUP BY pt.post.id HAVING COUNT(pt.id) >= :minMatches)")
+    long countPublicByTags(@Param("tagNames") Collection<String> tagNames, @Param("minMatches") long minMatches, @Param("includeGeneral") boolean includeGeneral, @Param("includeGroup") boolean includeGroup);
+    
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.user.id = :userId AND p.isDeleted = false AND p.id IN (SELECT pt.post.id FROM PostTag pt WHERE pt.tag.name IN :tagNames GROUP BY pt.post.id HAVING COUNT(pt.id) >= :minMatches)")
+    List<PostSummaryDTO> findUserPostsByTags(@Param("userId") Long userId, @Param("tagNames") Collection<String> tagNames, @Param("minMatches") long minMatches, Pageable pageable);
+    
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId AND p.isDeleted = false AND p.id IN (SELECT pt.post.id FROM PostTag pt WHERE pt.tag.name IN :tagNames GROUP BY pt.post.id HAVING COUNT(pt.id) >= :minMatches)")
+    long countUserPostsByTags(@Param("userId") Long userId, @Param("tagNames") Collection<String> tagNames, @Param("minMatches") long minMatches);
+    
+    // 태그 색인 재구성용 청크: [id, userId, groupId, isPublic]
+    @Query("SELECT p.id, p.user.id, p.group.id, p.isPublic FROM Post p WHERE p.isDeleted = false AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findTagIndexChunk(@Param("afterId") long afterId, Pageable pageable);
+    
+    // 자동완성 적재용 청크: [id, title, views] (전체 피드 노출 게시글만)
+    @Query("SELECT p.id, p.title, p.views FROM Post p WHERE p.isDeleted = false AND (p.group IS NULL OR p.isPublic = true) AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findSuggestChunk(@Param("afterId") long afterId, Pageable pageable);
+    
+    // 목록 프로젝션: 사용자 게시글 (정렬은 Pageable의 Sort로 지정)
+    @Query(value = "SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.user.id = :userId AND p.isDeleted = false",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE p.user.id = :userId AND p.isDeleted = false")
+    Page<PostSummaryDTO> findUserPostSummaries(@Param("userId") Long userId, Pageable pageable);
+    
+    // 통합 검색 결과 조립용 (작성자/모임 함께 조회, 순서는 호출 측에서 맞춤)
+    @Query("SELECT p FROM Post p JOIN FETCH p.user LEFT JOIN FETCH p.group WHERE p.id IN :ids AND p.isDeleted = false")
+    List<Post> findSearchResultsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 목록 프로젝션: id 목록으로 조회 (리더보드 페이지 조립용, 순서는 호출 측에서 맞춤, 삭제된 게시글은 빠짐)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.id IN :ids AND p.isDeleted = false")
+    List<PostSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 통합 피드 병합용 청크 조회 (정렬은 Pageable의 Sort로 지정, List 반환이라 count 쿼리 없음)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND ((:includeGeneral = true AND p.group IS NULL) OR (:includeGroup = true AND p.group IS NOT NULL AND p.isPublic = true))")
+    List<PostSummaryDTO> findPublicFeedChunk(@Param("includeGeneral") boolean includeGeneral, @Param("includeGroup") boolean includeGroup, Pageable pageable);
+    
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.isDeleted = false AND ((:includeGeneral = true AND p.group IS NULL) OR (:includeGroup = true AND p.group IS NOT NULL AND p.isPublic = true))")
+    long countPublicFeed(@Param("includeGeneral") boolean includeGeneral, @Param("includeGroup") boolean includeGroup);
     
-    @Query("SELECT p FROM Post p WHERE p.id IN :ids AND p.isDeleted = false ORDER BY p.views DESC")
-    Page<Post> findAllByIdInAndIsDeletedFalseOrderByViewsDesc(@Param("ids") List<Long> ids, Pageable pageable);
+    // 모임별 피드 병합용 청크 조회 (isPublic이 null이면 공개/비공개 모두)
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR p.isPublic = :isPublic)")
+    List<PostSummaryDTO> findGroupFeedChunk(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.id IN :ids AND p.isDeleted = false ORDER BY (SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = p.id) DESC, p.createdTime DESC")
-    Page<Post> findAllByIdInAndIsDeletedFalseOrderByLikesDesc(@Param("ids") List<Long> ids, Pageable pageable);
+    @Query("SELECT COUNT(p) FROM Post p WHERE p.isDeleted = false AND p.group.id = :groupId AND (:isPublic IS NULL OR p.isPublic = :isPublic)")
+    long countGroupFeed(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic);
     
-    // 검색 기능: 제목과 본문에서 검색 (모임 외부 노출 게시글만)
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND (p.group IS NULL OR p.isPublic = true) AND (p.title LIKE %:keyword% OR p.body LIKE %:keyword%) ORDER BY p.createdTime DESC")
-    Page<Post> searchPostsByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    // 커서 페이지네이션: 전체 피드 (키, id) 기준 다음 행 조회, count 쿼리 없음
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND ((:includeGeneral = true AND p.group IS NULL) OR (:includeGroup = true AND p.group IS NOT NULL AND p.isPublic = true)) AND (p.createdTime < :afterTime OR (p.createdTime = :afterTime AND p.id < :afterId)) ORDER BY p.createdTime DESC, p.id DESC")
+    List<PostSummaryDTO> findPublicFeedAfterCreatedTime(@Param("includeGeneral") boolean includeGeneral, @Param("includeGroup") boolean includeGroup, @Param("afterTime") LocalDateTime afterTime, @Param("afterId") long afterId, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND (p.group IS NULL OR p.isPublic = true) AND (p.title LIKE %:keyword% OR p.body LIKE %:keyword%) ORDER BY p.views DESC")
-    Page<Post> searchPostsByKeywordOrderByViews(@Param("keyword") String keyword, Pageable pageable);
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND ((:includeGeneral = true AND p.group IS NULL) OR (:includeGroup = true AND p.group IS NOT NULL AND p.isPublic = true)) AND (p.views < :afterViews OR (p.views = :afterViews AND p.id < :afterId)) ORDER BY p.views DESC, p.id DESC")
+    List<PostSummaryDTO> findPublicFeedAfterViews(@Param("includeGeneral") boolean includeGeneral, @Param("includeGroup") boolean includeGroup, @Param("afterViews") int afterViews, @Param("afterId") long afterId, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND (p.group IS NULL OR p.isPublic = true) AND (p.title LIKE %:keyword% OR p.body LIKE %:keyword%) ORDER BY (SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = p.id) DESC, p.createdTime DESC")
-    Page<Post> searchPostsByKeywordOrderByLikes(@Param("keyword") String keyword, Pageable pageable);
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND ((:includeGeneral = true AND p.group IS NULL) OR (:includeGroup = true AND p.group IS NOT NULL AND p.isPublic = true)) AND (p.likeCount < :afterLikeCount OR (p.likeCount = :afterLikeCount AND p.id < :afterId)) ORDER BY p.likeCount DESC, p.id DESC")
+    List<PostSummaryDTO> findPublicFeedAfterLikeCount(@Param("includeGeneral") boolean includeGeneral, @Param("includeGroup") boolean includeGroup, @Param("afterLikeCount") long afterLikeCount, @Param("afterId") long afterId, Pageable pageable);
     
-    // 모임별 게시글 조회 (모임 멤버는 모든 게시글 조회 가능, 외부는 공개 게시글만)
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND p.group.id = :groupId ORDER BY p.createdTime DESC")
-    Page<Post> findByGroupIdOrderByCreatedTimeDesc(@Param("groupId") Long groupId, Pageable pageable);
+    // 커서 페이지네이션: 사용자 게시글 (키, id) 기준 다음 행 조회, count 쿼리 없음
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.user.id = :userId AND p.isDeleted = false AND (p.createdTime < :afterTime OR (p.createdTime = :afterTime AND p.id < :afterId)) ORDER BY p.createdTime DESC, p.id DESC")
+    List<PostSummaryDTO> findUserPostsAfterCreatedTime(@Param("userId") Long userId, @Param("afterTime") LocalDateTime afterTime, @Param("afterId") long afterId, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND p.group.id = :groupId ORDER BY p.views DESC")
-    Page<Post> findByGroupIdOrderByViewsDesc(@Param("groupId") Long groupId, Pageable pageable);
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.user.id = :userId AND p.isDeleted = false AND (p.views < :afterViews OR (p.views = :afterViews AND p.id < :afterId)) ORDER BY p.views DESC, p.id DESC")
+    List<PostSummaryDTO> findUserPostsAfterViews(@Param("userId") Long userId, @Param("afterViews") int afterViews, @Param("afterId") long afterId, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND p.group.id = :groupId ORDER BY (SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = p.id) DESC, p.createdTime DESC")
-    Page<Post> findByGroupIdOrderByLikesDesc(@Param("groupId") Long groupId, Pageable pageable);
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.user.id = :userId AND p.isDeleted = false AND (p.likeCount < :afterLikeCount OR (p.likeCount = :afterLikeCount AND p.id < :afterId)) ORDER BY p.likeCount DESC, p.id DESC")
+    List<PostSummaryDTO> findUserPostsAfterLikeCount(@Param("userId") Long userId, @Param("afterLikeCount") long afterLikeCount, @Param("afterId") long afterId, Pageable pageable);
     
-    // 모임별 게시글 조회 (isPublic 필터링 포함)
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND p.group.id = :groupId AND p.isPublic = :isPublic ORDER BY p.createdTime DESC")
-    Page<Post> findByGroupIdAndIsPublicOrderByCreatedTimeDesc(@Param("groupId") Long groupId, @Param("isPublic") boolean isPublic, Pageable pageable);
+    // 커서 페이지네이션: 모임 피드 (키, id) 기준 다음 행 조회, count 쿼리 없음
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR p.isPublic = :isPublic) AND (p.createdTime < :afterTime OR (p.createdTime = :afterTime AND p.id < :afterId)) ORDER BY p.createdTime DESC, p.id DESC")
+    List<PostSummaryDTO> findGroupFeedAfterCreatedTime(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, @Param("afterTime") LocalDateTime afterTime, @Param("afterId") long afterId, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND p.group.id = :groupId AND p.isPublic = :isPublic ORDER BY p.views DESC")
-    Page<Post> findByGroupIdAndIsPublicOrderByViewsDesc(@Param("groupId") Long groupId, @Param("isPublic") boolean isPublic, Pageable pageable);
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR p.isPublic = :isPublic) AND (p.views < :afterViews OR (p.views = :afterViews AND p.id < :afterId)) ORDER BY p.views DESC, p.id DESC")
+    List<PostSummaryDTO> findGroupFeedAfterViews(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, @Param("afterViews") int afterViews, @Param("afterId") long afterId, Pageable pageable);
     
-    @Query("SELECT p FROM Post p WHERE p.isDeleted = false AND p.group.id = :groupId AND p.isPublic = :isPublic ORDER BY (SELECT COUNT(pl) FROM PostLike pl WHERE pl.post.id = p.id) DESC, p.createdTime DESC")
-    Page<Post> findByGroupIdAndIsPublicOrderByLikesDesc(@Param("groupId") Long groupId, @Param("isPublic") boolean isPublic, Pageable pageable);
+    @Query("SELECT new com.pgh.api_practice.dto.PostSummaryDTO(p.id, p.title, u.username, p.views, p.createdTime, p.updatedTime, p.profileImageUrl, p.likeCount, p.commentCount, g.id, g.name, p.isPublic) FROM Post p JOIN p.user u LEFT JOIN p.group g WHERE p.isDeleted = false AND g.id = :groupId AND (:isPublic IS NULL OR p.isPublic = :isPublic) AND (p.likeCount < :afterLikeCount OR (p.likeCount = :afterLikeCount AND p.id < :afterId)) ORDER BY p.likeCount DESC, p.id DESC")
+    List<PostSummaryDTO> findGroupFeedAfterLikeCount(@Param("groupId") Long groupId, @Param("isPublic") Boolean isPublic, @Param("afterLikeCount") long afterLikeCount, @Param("afterId") long afterId, Pageable pageable);
 }
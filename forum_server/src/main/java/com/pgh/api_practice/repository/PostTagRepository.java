@@ -1,22 +1,35 @@
 package com.pgh.api_practice.repository;
 
 import com.pgh.api_practice.entity.PostTag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PostTagRepository extends JpaRepository<PostTag, Long> {
     List<PostTag> findByPostId(Long postId);
     void deleteByPostId(Long postId);
     
-    @Query("SELECT pt.post.id FROM PostTag pt WHERE pt.tag.name = :tagName AND pt.post.isDeleted = false")
-    List<Long> findPostIdsByTagName(@Param("tagName") String tagName);
+    // 수정 시 태그 diff 용
+    @Query("SELECT pt.tag.id FROM PostTag pt WHERE pt.post.id = :postId")
+    List<Long> findTagIdsByPostId(@Param("postId") Long postId);
     
-    @Query("SELECT pt.post.id FROM PostTag pt WHERE pt.tag.name = :tagName AND pt.post.user.id = :userId AND pt.post.isDeleted = false")
-    List<Long> findPostIdsByTagNameAndUserId(@Param("tagName") String tagName, @Param("userId") Long userId);
+    @Modifying
+    @Query("DELETE FROM PostTag pt WHERE pt.post.id = :postId AND pt.tag.id IN :tagIds")
+    void deleteByPostIdAndTagIdIn(@Param("postId") Long postId, @Param("tagIds") Collection<Long> tagIds);
     
     @Query("SELECT DISTINCT pt.tag.name FROM PostTag pt WHERE pt.post.user.id = :userId AND pt.post.isDeleted = false ORDER BY pt.tag.name")
     List<String> findDistinctTagNamesByUserId(@Param("userId") Long userId);
+    
+    // 목록 페이지 일괄 조회용: [postId, tagName]
+    @Query("SELECT pt.post.id, t.name FROM PostTag pt JOIN pt.tag t WHERE pt.post.id IN :postIds ORDER BY pt.id")
+    List<Object[]> findTagNamesByPostIdIn(@Param("postIds") Collection<Long> postIds);
+    
+    // 태그 색인 재구성용 청크: [postTagId, postId, tagName]
+    @Query("SELECT pt.id, pt.post.id, t.name FROM PostTag pt JOIN pt.tag t WHERE pt.id > :afterId ORDER BY pt.id")
+    List<Object[]> findTagIndexChunk(@Param("afterId") long afterId, Pageable pageable);
 }
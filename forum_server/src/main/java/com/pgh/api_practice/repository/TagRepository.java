@@ -2,10 +2,25 @@ package com.pgh.api_practice.repository;
 
 import com.pgh.api_practice.entity.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByName(String name);
     boolean existsByName(String name);
+
+    // 태그 사전 적재용: [id, name]
+    @Query("SELECT t.id, t.name FROM Tag t")
+    List<Object[]> findAllIdAndName();
+
+    @Query("SELECT t.id, t.name FROM Tag t WHERE t.name IN :names")
+    List<Object[]> findIdAndNameByNameIn(@Param("names") Collection<String> names);
+    
+    // 자동완성 적재용: [name, 사용 횟수] (삭제되지 않은 게시글 기준)
+    @Query("SELECT t.name, COUNT(pt.id) FROM PostTag pt JOIN pt.tag t WHERE pt.post.isDeleted = false GROUP BY t.name")
+    List<Object[]> findUsageCounts();
 }
@@ -1,9 +1,17 @@
 package com.pgh.api_practice.repository;
 
 import com.pgh.api_practice.entity.Users;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<Users, Long> {
     Optional<Users> findByUsername(String username);
+
+    // 자동완성 적재용 청크: [id, username, nickname]
+    @Query("SELECT u.id, u.username, u.nickname FROM Users u WHERE u.isDeleted = false AND u.id > :afterId ORDER BY u.id")
+    List<Object[]> findSuggestChunk(@Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,35 @@
+package com.pgh.api_practice.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 커밋 후 실행.
+ * 트랜잭션(동기화)이 없을 때 바로 실행할지 건너뛸지는 호출하는 쪽이 정한다.
+ * - RUN_NOW: 커밋된 변경을 반영하는 경우 (색인/알림 등, 트랜잭션 밖에서 호출되면 이미 커밋된 상태)
+ * - SKIP: 캐시 무효화처럼 호출 시점에 이미 한 번 실행했고, 커밋 후 "한 번 더" 가 필요한 경우
+ */
+public final class AfterCommit {
+
+    /** 트랜잭션이 없을 때의 처리 */
+    public enum NoTransaction {
+        RUN_NOW,
+        SKIP
+    }
+
+    private AfterCommit() {
+    }
+
+    public static void run(NoTransaction noTransaction, Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else if (noTransaction == NoTransaction.RUN_NOW) {
+            action.run();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import com.pgh.api_practice.exception.ResourceNotFoundException;
 import com.pgh.api_practice.exception.UserAlreadyExistException;
 import com.pgh.api_practice.global.TokenProvider;
 import com.pgh.api_practice.repository.AuthRepository;
+import com.pgh.api_practice.repository.FollowRepository;
 import com.pgh.api_practice.repository.RefreshTokenRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -36,6 +37,9 @@ public class AuthService {
     private final TokenProvider tokenProvider;
     private final AuthenticationManager authenticationManager;
     private final RefreshTokenRepository refreshTokenRepository;
+    private final FollowRepository followRepository;
+    private final SuggestIndex suggestIndex;
+    private final GroupMembershipCache groupMembershipCache;
 
     // 회원가입
     public void register(RegisterRequestDTO dto) {
@@ -61,7 +65,8 @@ public class AuthService {
                 .password(passwordEncoder.encode(dto.getPassword())) // 비밀번호 인코딩
                 .build();
 
-        authRepository.save(user);
+        Users saved = authRepository.save(user);
+        suggestIndex.putUser(saved.getId(), saved.getUsername(), saved.getNickname(), 0);
     }
 
     // 로그인
@@ -175,11 +180,14 @@ public class AuthService {
                 throw new UserAlreadyExistException("이미 사용 중인 닉네임입니다.");
             }
             user.setNickname(dto.getNickname());
+            suggestIndex.putUser(user.getId(), user.getUsername(), user.getNickname(), followRepository.countByFollowingId(user.getId()));
             modified = true;
         }
         
         if (modified) {
             authRepository.save(user);
+            // 채팅 메시지 작성자 표시(닉네임, 프로필 이미지)가 멤버십 캐시에 있음
+            groupMembershipCache.invalidateUser(user.getId());
         }
     }
 
@@ -204,6 +212,7 @@ public class AuthService {
         Users user = getCurrentUser();
         user.setDeleted(true);
         authRepository.save(user);
+        suggestIndex.removeUser(user.getId());
         
         // 모든 리프레시 토큰 삭제
         // (선택적 - 보안을 위해)
@@ -0,0 +1,204 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.ChatRoomUpdatesDTO;
+import com.pgh.api_practice.dto.GroupChatMessageDTO;
+import com.pgh.api_practice.repository.MessageReactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅방 읽음/반응 알림 묶음 전송.
+ * 읽음 위치 전진과 반응 변경을 채팅방별로 모아 두고, window-ms 마다 채팅방당 프레임 하나로 보낸다.
+ * 같은 사용자의 읽음 전진은 구간 하나로, 같은 메시지의 반응 변경은 하나로 합치며
+ * 반응 수는 보낼 때 채팅방마다 한 번에 다시 읽는다 (순서가 엇갈린 변경도 최신 값으로 나감).
+ */
+@Slf4j
+@Component
+public class ChatBroadcastAggregator {
+
+    /** 처리 현황 (coalescingRatio = 받은 알림 수 / 보낸 프레임 수) */
+    public record Stats(int pendingRooms, int pendingEvents, long received, long published, long frames,
+                        double coalescingRatio) {
+    }
+
+    private record RoomKey(long groupId, long roomId) {
+    }
+
+    /** 채팅방 하나에 쌓인 변경 (buffers.compute 안에서만 수정) */
+    private static final class RoomBuffer {
+        // username -> [previousLastReadMessageId, lastReadMessageId]
+        private final Map<String, long[]> reads = new LinkedHashMap<>();
+        private final Set<Long> reactionMessageIds = new LinkedHashSet<>();
+        private int events;
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MessageReactionRepository reactionRepository;
+    private final long windowMs;
+
+    private final ConcurrentHashMap<RoomKey, RoomBuffer> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public ChatBroadcastAggregator(SimpMessagingTemplate messagingTemplate,
+                                   MessageReactionRepository reactionRepository,
+                                   @Value("${app.chat-broadcast.window-ms:200}") long windowMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.reactionRepository = reactionRepository;
+        this.windowMs = windowMs;
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "chat-broadcast");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** 종료 시 남은 변경을 모두 전송 */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+    }
+
+    /** 읽음 위치 전진 알림 (같은 구간의 같은 사용자 전진은 하나로 합침) */
+    public void submitRead(long groupId, long roomId, ChatReadService.ReadAdvance advance) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> {
+            pendingEvents.incrementAndGet();
+            received.increment();
+            buffers.compute(new RoomKey(groupId, roomId), (key, buffer) -> {
+                RoomBuffer target = buffer != null ? buffer : new RoomBuffer();
+                target.reads.merge(advance.username(),
+                        new long[]{advance.previousLastReadMessageId(), advance.lastReadMessageId()},
+                        (current, next) -> new long[]{Math.min(current[0], next[0]), Math.max(current[1], next[1])});
+                target.events++;
+                return target;
+            });
+        });
+    }
+
+    /** 메시지 반응 변경 알림 (커밋 후 반영, 반응 수는 보낼 때 읽음) */
+    public void submitReaction(long groupId, long roomId, long messageId) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> {
+            pendingEvents.incrementAndGet();
+            received.increment();
+            buffers.compute(new RoomKey(groupId, roomId), (key, buffer) -> {
+                RoomBuffer target = buffer != null ? buffer : new RoomBuffer();
+                target.reactionMessageIds.add(messageId);
+                target.events++;
+                return target;
+            });
+        });
+    }
+
+    public Stats stats() {
+        long receivedCount = received.sum();
+        long frameCount = frames.sum();
+        return new Stats(buffers.size(), pendingEvents.get(), receivedCount, published.sum(), frameCount,
+                frameCount > 0 ? (double) receivedCount / frameCount : 0);
+    }
+
+    @Scheduled(initialDelayString = "${app.chat-broadcast.stats-log-interval-ms:300000}",
+               fixedDelayString = "${app.chat-broadcast.stats-log-interval-ms:300000}")
+    public void logStats() {
+        Stats stats = stats();
+        if (stats.received() > 0) {
+            log.info("채팅 읽음/반응 알림: 대기 {}건 ({}개 방), 받은 알림 {}, 합친 뒤 {}, 프레임 {} (프레임당 {}건)",
+                    stats.pendingEvents(), stats.pendingRooms(), stats.received(), stats.published(), stats.frames(),
+                    Math.round(stats.coalescingRatio() * 10) / 10.0);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(windowMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("채팅 읽음/반응 알림 전송 중 오류", e);
+            }
+        }
+    }
+
+    /** 쌓인 채팅방마다 프레임 하나씩 전송 */
+    private void flush() {
+        for (RoomKey key : buffers.keySet()) {
+            RoomBuffer buffer = buffers.remove(key);
+            if (buffer == null) {
+                continue;
+            }
+            pendingEvents.addAndGet(-buffer.events);
+
+            List<ChatRoomUpdatesDTO.ReadInfo> reads = new ArrayList<>(buffer.reads.size());
+            buffer.reads.forEach((username, range) -> reads.add(ChatRoomUpdatesDTO.ReadInfo.builder()
+                    .username(username)
+                    .previousLastReadMessageId(range[0])
+                    .lastReadMessageId(range[1])
+                    .build()));
+            List<ChatRoomUpdatesDTO.ReactionUpdate> reactions = loadReactions(buffer.reactionMessageIds);
+
+            try {
+                messagingTemplate.convertAndSend("/topic/chat/" + key.groupId() + "/" + key.roomId() + "/updates",
+                        ChatRoomUpdatesDTO.builder().reads(reads).reactions(reactions).build());
+                published.add(reads.size() + reactions.size());
+                frames.increment();
+            } catch (RuntimeException e) {
+                log.warn("채팅 읽음/반응 알림 전송 실패: groupId={}, roomId={}", key.groupId(), key.roomId(), e);
+            }
+        }
+    }
+
+    /** 반응이 바뀐 메시지들의 현재 반응 수 (한 번에 조회, 반응이 모두 빠진 메시지는 빈 목록) */
+    private List<ChatRoomUpdatesDTO.ReactionUpdate> loadReactions(Set<Long> messageIds) {
+        if (messageIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<GroupChatMessageDTO.ReactionInfo>> byMessage = new LinkedHashMap<>();
+        messageIds.forEach(id -> byMessage.put(id, new ArrayList<>()));
+        try {
+            for (Object[] row : reactionRepository.countByMessageIdInGroupByEmoji(messageIds)) {
+                byMessage.get((Long) row[0]).add(GroupChatMessageDTO.ReactionInfo.builder()
+                        .emoji((String) row[1])
+                        .count(((Number) row[2]).intValue())
+                        .build());
+            }
+        } catch (RuntimeException e) {
+            log.warn("반응 수 조회 실패 (이번 프레임에서 반응 변경은 생략): {}", e.getMessage());
+            return List.of();
+        }
+        List<ChatRoomUpdatesDTO.ReactionUpdate> updates = new ArrayList<>(byMessage.size());
+        byMessage.forEach((messageId, reactions) -> updates.add(ChatRoomUpdatesDTO.ReactionUpdate.builder()
+                .messageId(messageId)
+                .reactions(reactions)
+                .build()));
+        return updates;
+    }
+}
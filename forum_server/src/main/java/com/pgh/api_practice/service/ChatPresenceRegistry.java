@@ -0,0 +1,410 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.GroupPresenceDTO;
+import com.pgh.api_practice.dto.PresenceDiffDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.AbstractSubProtocolEvent;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 모임/채팅방 접속 현황과 타이핑 상태 (메모리, 모임 id 기준 샤드별 잠금).
+ * STOMP 세션의 연결/구독/구독 해제/종료 이벤트로 갱신한다.
+ * 채팅방 메시지 토픽(/topic/chat/{groupId}/{roomId})을 구독하면 그 방과 모임에, 모임 접속 현황 토픽을 구독하면 모임에 접속한 것으로 본다.
+ * 접속/종료, 입장/퇴장이 실제로 바뀐 경우에만 /topic/group/{groupId}/presence 로 변화분을 보낸다.
+ * 관리자방 입장/퇴장은 관리자만 구독할 수 있는 /topic/group/{groupId}/presence/admin 으로만 보낸다 (구독 권한은 WebSocketAuthInterceptor).
+ *
+ * 타이핑은 서버에서 만료(typing-ttl-ms)시키고, 계속 입력 중이면 typing-refresh-ms 마다 한 번만 다시 알린다.
+ */
+@Slf4j
+@Component
+public class ChatPresenceRegistry {
+
+    private static final int SHARDS = 16;
+    private static final Pattern ROOM_TOPIC = Pattern.compile("^/topic/chat/(\\d+)/(\\d+)$");
+    private static final Pattern GROUP_TOPIC = Pattern.compile("^/topic/group/(\\d+)/presence$");
+
+    /** 구독 하나가 가리키는 위치 (roomId 가 null 이면 모임 접속 현황 구독, adminRoom 은 구독 시점의 관리자방 여부) */
+    private record Location(long groupId, Long roomId, boolean adminRoom) {
+    }
+
+    /** STOMP 세션 하나: 구독 id -> 위치 (세션 객체로 동기화) */
+    private static final class Session {
+        private final String username;
+        private final Map<String, Location> subscriptions = new HashMap<>();
+
+        private Session(String username) {
+            this.username = username;
+        }
+    }
+
+    private static final class Typing {
+        private long expiresAt;
+        private long lastBroadcastAt;
+    }
+
+    /** 모임 하나의 접속/타이핑 상태 (샤드 잠금 안에서만 수정) */
+    private static final class GroupState {
+        // username -> 모임 안 구독 수 (채팅방 + 접속 현황 토픽)
+        private final Map<String, Integer> online = new HashMap<>();
+        // roomId -> username -> 채팅방 구독 수
+        private final Map<Long, Map<String, Integer>> rooms = new HashMap<>();
+        // roomId -> username -> 타이핑 상태
+        private final Map<Long, Map<String, Typing>> typing = new HashMap<>();
+
+        private boolean isEmpty() {
+            return online.isEmpty() && rooms.isEmpty() && typing.isEmpty();
+        }
+    }
+
+    private static final class Shard {
+        private final Map<Long, GroupState> groups = new HashMap<>();
+    }
+
+    /** 잠금 밖에서 보낼 알림 */
+    private record Outgoing(String destination, Object payload) {
+    }
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final GroupMembershipCache membershipCache;
+    private final long typingTtlMs;
+    private final long typingRefreshMs;
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public ChatPresenceRegistry(SimpMessagingTemplate messagingTemplate,
+                                GroupMembershipCache membershipCache,
+                                @Value("${app.presence.typing-ttl-ms:5000}") long typingTtlMs,
+                                @Value("${app.presence.typing-refresh-ms:2000}") long typingRefreshMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.membershipCache = membershipCache;
+        this.typingTtlMs = typingTtlMs;
+        this.typingRefreshMs = typingRefreshMs;
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = sessionId(event);
+        if (user != null && sessionId != null) {
+            sessions.putIfAbsent(sessionId, new Session(user.getName()));
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        Principal user = event.getUser();
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String sessionId = accessor.getSessionId();
+        String subscriptionId = accessor.getSubscriptionId();
+        if (user == null || sessionId == null || subscriptionId == null) {
+            return;
+        }
+        Optional<Location> location = parse(accessor.getDestination())
+                .flatMap(parsed -> visible(parsed, user.getName()));
+        if (location.isEmpty()) {
+            return;
+        }
+
+        Session session = sessions.computeIfAbsent(sessionId, id -> new Session(user.getName()));
+        synchronized (session) {
+            if (session.subscriptions.putIfAbsent(subscriptionId, location.get()) != null) {
+                return;
+            }
+        }
+        join(location.get(), session.username);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Session session = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (session == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Location location;
+        synchronized (session) {
+            location = session.subscriptions.remove(accessor.getSubscriptionId());
+        }
+        if (location != null) {
+            leave(location, session.username);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Session session = sessions.remove(event.getSessionId());
+        if (session == null) {
+            return;
+        }
+        List<Location> locations;
+        synchronized (session) {
+            locations = new ArrayList<>(session.subscriptions.values());
+            session.subscriptions.clear();
+        }
+        locations.forEach(location -> leave(location, session.username));
+    }
+
+    /** 타이핑 시작/계속: 처음이거나 마지막 알림 후 typing-refresh-ms 가 지났을 때만 알림 */
+    public void startTyping(long groupId, long roomId, String username) {
+        if (visible(new Location(groupId, roomId, false), username).isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        boolean broadcast;
+        Shard shard = shard(groupId);
+        synchronized (shard) {
+            Typing typing = shard.groups.computeIfAbsent(groupId, id -> new GroupState())
+                    .typing.computeIfAbsent(roomId, id -> new HashMap<>())
+                    .computeIfAbsent(username, name -> new Typing());
+            broadcast = typing.lastBroadcastAt == 0 || now - typing.lastBroadcastAt >= typingRefreshMs;
+            typing.expiresAt = now + typingTtlMs;
+            if (broadcast) {
+                typing.lastBroadcastAt = now;
+            }
+        }
+        if (broadcast) {
+            sendTyping(groupId, roomId, username, true);
+        }
+    }
+
+    /** 타이핑 종료 (입력 중이 아니었으면 알리지 않음) */
+    public void stopTyping(long groupId, long roomId, String username) {
+        boolean removed;
+        Shard shard = shard(groupId);
+        synchronized (shard) {
+            removed = removeTyping(shard, groupId, roomId, username);
+        }
+        if (removed) {
+            sendTyping(groupId, roomId, username, false);
+        }
+    }
+
+    /** 만료된 타이핑 상태 정리 (종료 알림 없이 멈춘 클라이언트) */
+    @Scheduled(fixedDelayString = "${app.presence.typing-sweep-interval-ms:1000}")
+    public void expireTyping() {
+        long now = System.currentTimeMillis();
+        for (Shard shard : shards) {
+            List<Outgoing> outgoing = new ArrayList<>();
+            synchronized (shard) {
+                Iterator<Map.Entry<Long, GroupState>> groups = shard.groups.entrySet().iterator();
+                while (groups.hasNext()) {
+                    Map.Entry<Long, GroupState> group = groups.next();
+                    Iterator<Map.Entry<Long, Map<String, Typing>>> rooms = group.getValue().typing.entrySet().iterator();
+                    while (rooms.hasNext()) {
+                        Map.Entry<Long, Map<String, Typing>> room = rooms.next();
+                        Iterator<Map.Entry<String, Typing>> typists = room.getValue().entrySet().iterator();
+                        while (typists.hasNext()) {
+                            Map.Entry<String, Typing> typist = typists.next();
+                            if (typist.getValue().expiresAt <= now) {
+                                typists.remove();
+                                outgoing.add(typingMessage(group.getKey(), room.getKey(), typist.getKey(), false));
+                            }
+                        }
+                        if (room.getValue().isEmpty()) {
+                            rooms.remove();
+                        }
+                    }
+                    if (group.getValue().isEmpty()) {
+                        groups.remove();
+                    }
+                }
+            }
+            outgoing.forEach(this::send);
+        }
+    }
+
+    /** 모임 접속 멤버와 채팅방별 접속 멤버 */
+    public GroupPresenceDTO getPresence(long groupId) {
+        Shard shard = shard(groupId);
+        synchronized (shard) {
+            GroupState state = shard.groups.get(groupId);
+            if (state == null) {
+                return GroupPresenceDTO.builder().onlineUsernames(List.of()).rooms(List.of()).build();
+            }
+            List<GroupPresenceDTO.RoomPresence> rooms = new ArrayList<>(state.rooms.size());
+            state.rooms.forEach((roomId, usernames) -> rooms.add(GroupPresenceDTO.RoomPresence.builder()
+                    .roomId(roomId)
+                    .usernames(sorted(usernames.keySet()))
+                    .build()));
+            rooms.sort((a, b) -> Long.compare(a.getRoomId(), b.getRoomId()));
+            return GroupPresenceDTO.builder()
+                    .onlineUsernames(sorted(state.online.keySet()))
+                    .rooms(rooms)
+                    .build();
+        }
+    }
+
+    /** 채팅방 접속 멤버 */
+    public List<String> getRoomPresence(long groupId, long roomId) {
+        Shard shard = shard(groupId);
+        synchronized (shard) {
+            GroupState state = shard.groups.get(groupId);
+            Map<String, Integer> usernames = state != null ? state.rooms.get(roomId) : null;
+            return usernames != null ? sorted(usernames.keySet()) : List.of();
+        }
+    }
+
+    private void join(Location location, String username) {
+        List<Outgoing> outgoing = new ArrayList<>(2);
+        Shard shard = shard(location.groupId());
+        synchronized (shard) {
+            GroupState state = shard.groups.computeIfAbsent(location.groupId(), id -> new GroupState());
+            if (state.online.merge(username, 1, Integer::sum) == 1) {
+                outgoing.add(diff(location.groupId(), null, false, username, true));
+            }
+            if (location.roomId() != null
+                    && state.rooms.computeIfAbsent(location.roomId(), id -> new HashMap<>()).merge(username, 1, Integer::sum) == 1) {
+                outgoing.add(diff(location.groupId(), location.roomId(), location.adminRoom(), username, true));
+            }
+        }
+        outgoing.forEach(this::send);
+    }
+
+    private void leave(Location location, String username) {
+        List<Outgoing> outgoing = new ArrayList<>(3);
+        Shard shard = shard(location.groupId());
+        synchronized (shard) {
+            GroupState state = shard.groups.get(location.groupId());
+            if (state == null) {
+                return;
+            }
+            if (location.roomId() != null && decrement(state.rooms, location.roomId(), username)) {
+                outgoing.add(diff(location.groupId(), location.roomId(), location.adminRoom(), username, false));
+                // 방을 나가면 입력 중 표시도 끝
+                if (removeTyping(shard, location.groupId(), location.roomId(), username)) {
+                    outgoing.add(typingMessage(location.groupId(), location.roomId(), username, false));
+                }
+            }
+            Integer remaining = state.online.computeIfPresent(username, (name, count) -> count > 1 ? count - 1 : null);
+            if (remaining == null) {
+                outgoing.add(diff(location.groupId(), null, false, username, false));
+            }
+            if (state.isEmpty()) {
+                shard.groups.remove(location.groupId());
+            }
+        }
+        outgoing.forEach(this::send);
+    }
+
+    /** 채팅방 구독 수 감소, 마지막 구독이 빠졌으면 true */
+    private static boolean decrement(Map<Long, Map<String, Integer>> rooms, long roomId, String username) {
+        Map<String, Integer> usernames = rooms.get(roomId);
+        if (usernames == null) {
+            return false;
+        }
+        Integer remaining = usernames.computeIfPresent(username, (name, count) -> count > 1 ? count - 1 : null);
+        if (usernames.isEmpty()) {
+            rooms.remove(roomId);
+        }
+        return remaining == null;
+    }
+
+    /** 샤드 잠금 안에서 호출 */
+    private static boolean removeTyping(Shard shard, long groupId, long roomId, String username) {
+        GroupState state = shard.groups.get(groupId);
+        Map<String, Typing> typists = state != null ? state.typing.get(roomId) : null;
+        if (typists == null || typists.remove(username) == null) {
+            return false;
+        }
+        if (typists.isEmpty()) {
+            state.typing.remove(roomId);
+        }
+        return true;
+    }
+
+    /** 모임 멤버만 접속으로 셈 (관리자방은 관리자만), 볼 수 있으면 관리자방 여부를 채운 위치 */
+    private Optional<Location> visible(Location location, String username) {
+        return membershipCache.get(location.groupId())
+                .flatMap(membership -> membership.member(username)
+                        .flatMap(member -> {
+                            if (location.roomId() == null) {
+                                return Optional.of(location);
+                            }
+                            return membership.adminRoom(location.roomId())
+                                    .filter(adminRoom -> !adminRoom || member.admin())
+                                    .map(adminRoom -> new Location(location.groupId(), location.roomId(), adminRoom));
+                        }));
+    }
+
+    private static Optional<Location> parse(String destination) {
+        if (destination == null) {
+            return Optional.empty();
+        }
+        Matcher room = ROOM_TOPIC.matcher(destination);
+        if (room.matches()) {
+            return Optional.of(new Location(Long.parseLong(room.group(1)), Long.parseLong(room.group(2)), false));
+        }
+        Matcher group = GROUP_TOPIC.matcher(destination);
+        if (group.matches()) {
+            return Optional.of(new Location(Long.parseLong(group.group(1)), null, false));
+        }
+        return Optional.empty();
+    }
+
+    private static Outgoing diff(long groupId, Long roomId, boolean adminRoom, String username, boolean joined) {
+        String destination = "/topic/group/" + groupId + "/presence" + (adminRoom ? "/admin" : "");
+        return new Outgoing(destination, PresenceDiffDTO.builder()
+                .roomId(roomId)
+                .joined(joined ? List.of(username) : List.of())
+                .left(joined ? List.of() : List.of(username))
+                .build());
+    }
+
+    private static Outgoing typingMessage(long groupId, long roomId, String username, boolean isTyping) {
+        Map<String, Object> typingData = new HashMap<>();
+        typingData.put("username", username);
+        typingData.put("isTyping", isTyping);
+        return new Outgoing("/topic/chat/" + groupId + "/" + roomId + "/typing", typingData);
+    }
+
+    private void sendTyping(long groupId, long roomId, String username, boolean isTyping) {
+        send(typingMessage(groupId, roomId, username, isTyping));
+    }
+
+    private void send(Outgoing outgoing) {
+        try {
+            messagingTemplate.convertAndSend(outgoing.destination(), outgoing.payload());
+        } catch (RuntimeException e) {
+            log.warn("접속/타이핑 알림 전송 실패: {}", outgoing.destination(), e);
+        }
+    }
+
+    private Shard shard(long groupId) {
+        return shards[(int) (groupId & (SHARDS - 1))];
+    }
+
+    private static String sessionId(AbstractSubProtocolEvent event) {
+        return StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+    }
+
+    private static List<String> sorted(Collection<String> usernames) {
+        List<String> list = new ArrayList<>(usernames);
+        list.sort(null);
+        return list;
+    }
+}
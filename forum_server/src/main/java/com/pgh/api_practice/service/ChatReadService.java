@@ -0,0 +1,124 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.entity.GroupChatMessage;
+import com.pgh.api_practice.exception.ApplicationUnauthorizedException;
+import com.pgh.api_practice.exception.ResourceNotFoundException;
+import com.pgh.api_practice.repository.ChatReadWatermarkRepository;
+import com.pgh.api_practice.repository.GroupChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 채팅 읽음 처리.
+ * (채팅방, 사용자)마다 마지막으로 읽은 메시지 id 하나만 저장하고,
+ * 메시지 읽음 수(그 메시지 이후까지 읽은 사용자 수)와 채팅방별 안 읽은 메시지 수는 이 값에서 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatReadService {
+
+    /** 읽음 위치가 previous 에서 lastRead 로 전진함 (그 사이 메시지의 읽음 수가 1씩 늘어남) */
+    public record ReadAdvance(String username, long previousLastReadMessageId, long lastReadMessageId) {
+    }
+
+    /** 채팅방별 안 읽은 메시지 수 상한 (화면에는 99+ 로 표시) */
+    public static final int UNREAD_COUNT_CAP = 100;
+
+    private final ChatReadWatermarkRepository watermarkRepository;
+    private final GroupChatMessageRepository messageRepository;
+    private final GroupMembershipCache membershipCache;
+
+    /** 메시지까지 읽음 처리, 읽음 위치가 이미 그 이후면 아무것도 쓰지 않고 empty */
+    @Transactional
+    public Optional<ReadAdvance> markAsRead(Long groupId, Long roomId, Long messageId, String username) {
+        GroupMembershipCache.Snapshot membership = membershipCache.get(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("모임을 찾을 수 없습니다."));
+        boolean isAdminRoom = membership.adminRoom(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("채팅방을 찾을 수 없습니다."));
+        GroupMembershipCache.Member reader = membership.member(username)
+                .orElseThrow(() -> new ApplicationUnauthorizedException("모임 멤버만 읽음 처리할 수 있습니다."));
+        if (isAdminRoom && !reader.admin()) {
+            throw new ApplicationUnauthorizedException("관리자만 관리자방을 볼 수 있습니다.");
+        }
+
+        long previous = watermarkRepository.findLastReadMessageId(roomId, reader.userId()).orElse(0L);
+        if (previous >= messageId) {
+            return Optional.empty();
+        }
+        if (!messageRepository.existsByIdAndChatRoomId(messageId, roomId)) {
+            throw new ResourceNotFoundException("메시지를 찾을 수 없습니다.");
+        }
+        watermarkRepository.advance(roomId, reader.userId(), messageId);
+        return Optional.of(new ReadAdvance(reader.username(), previous, messageId));
+    }
+
+    /** 메시지별 읽음 수 (작성자 본인 제외): 채팅방의 읽음 위치를 한 번 읽어 계산 */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> readCounts(Long roomId, List<GroupChatMessage> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+        long minId = messages.stream().mapToLong(GroupChatMessage::getId).min().getAsLong();
+        List<Object[]> rows = watermarkRepository.findReadersFrom(roomId, minId);
+
+        long[] lastReads = new long[rows.size()];
+        Map<Long, Long> lastReadByUser = new HashMap<>(rows.size() * 2);
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            lastReads[i] = (Long) row[1];
+            lastReadByUser.put((Long) row[0], (Long) row[1]);
+        }
+        Arrays.sort(lastReads);
+
+        Map<Long, Integer> counts = new HashMap<>(messages.size() * 2);
+        for (GroupChatMessage message : messages) {
+            long id = message.getId();
+            int readers = lastReads.length - lowerBound(lastReads, id);
+            Long authorLastRead = lastReadByUser.get(message.getUser().getId());
+            if (authorLastRead != null && authorLastRead >= id) {
+                readers--;
+            }
+            counts.put(id, readers);
+        }
+        return counts;
+    }
+
+    /** 채팅방별 안 읽은 메시지 수 (내 메시지 제외, 최대 UNREAD_COUNT_CAP, 안 읽은 메시지가 없는 방은 빠짐) */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> unreadCounts(Long userId, Collection<Long> roomIds) {
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : watermarkRepository.countUnreadGroupByRoomId(userId, roomIds, UNREAD_COUNT_CAP, UNREAD_COUNT_CAP - 1)) {
+            long count = ((Number) row[1]).longValue();
+            if (count > 0) {
+                counts.put(((Number) row[0]).longValue(), count);
+            }
+        }
+        return counts;
+    }
+
+    /** sorted 에서 value 이상인 첫 위치 */
+    private static int lowerBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,100 @@
+package com.pgh.api_practice.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비정규화 카운터 보정 작업의 공통 루프 (LikeCountReconciler, CommentCountReconciler).
+ * [id, 저장된 값...] 행을 id 순으로 chunkSize 개씩 읽고, 청크마다 별도 트랜잭션에서 어긋난 행만 고친다.
+ */
+final class ChunkedReconciler {
+
+    /** afterId 다음 [id, 저장된 값...] 행을 id 순으로 */
+    interface ChunkReader {
+        List<Object[]> read(long afterId, Pageable chunk);
+    }
+
+    /** 청크 하나 보정, 수정된 행 수 반환 (ids 는 rows 의 id 순서 그대로) */
+    interface ChunkFixer {
+        int fix(List<Object[]> rows, List<Long> ids);
+    }
+
+    /** 저장된 값이 expected 일 때만 고치는 조건부 UPDATE (수정된 행 수 반환) */
+    interface CountUpdate {
+        int apply(Long id, long stored, long expected);
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    ChunkedReconciler(PlatformTransactionManager transactionManager, int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /** 처음부터 끝까지 청크 단위로 보정, 수정된 행 수 합계 반환 */
+    int run(ChunkReader reader, ChunkFixer fixer) {
+        int fixed = 0;
+        long afterId = 0L;
+        while (true) {
+            final long cursor = afterId;
+            ChunkResult result = transactionTemplate.execute(status -> {
+                List<Object[]> rows = reader.read(cursor, PageRequest.of(0, chunkSize));
+                if (rows.isEmpty()) {
+                    return null;
+                }
+                List<Long> ids = idsOf(rows);
+                return new ChunkResult(ids.get(ids.size() - 1), fixer.fix(rows, ids), rows.size());
+            });
+            if (result == null) {
+                return fixed;
+            }
+            fixed += result.updated();
+            afterId = result.lastId();
+            if (result.size() < chunkSize) {
+                return fixed;
+            }
+        }
+    }
+
+    /** rows 의 column 번째 값이 actual(없으면 0)과 다른 행만 update, 수정된 행 수 반환 */
+    static int fixCounts(List<Object[]> rows, int column, Map<Long, Long> actual, CountUpdate update) {
+        int updated = 0;
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            long stored = (Long) row[column];
+            long expected = actual.getOrDefault(id, 0L);
+            if (stored != expected) {
+                updated += update.apply(id, stored, expected);
+            }
+        }
+        return updated;
+    }
+
+    /** [id, count] 집계 행 → id 별 개수 */
+    static Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private static List<Long> idsOf(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        return ids;
+    }
+
+    private record ChunkResult(long lastId, int updated, int size) {
+    }
+}
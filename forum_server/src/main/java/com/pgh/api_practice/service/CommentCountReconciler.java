@@ -0,0 +1,81 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.entity.Comment;
+import com.pgh.api_practice.repository.CommentLikeRepository;
+import com.pgh.api_practice.repository.CommentRepository;
+import com.pgh.api_practice.repository.GroupPostRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 댓글 관련 비정규화 카운터를 원본 테이블 기준으로 보정하는 백그라운드 작업.
+ * posts / group_posts 의 comment_count 는 삭제되지 않은 댓글 수, comments 의 like_count 는 comment_likes,
+ * reply_count 는 삭제되지 않은 직속 답글 수가 기준이다.
+ * id 순으로 청크 단위로 읽고, 청크마다 별도 트랜잭션에서 어긋난 행만 UPDATE 한다 (ChunkedReconciler).
+ */
+@Slf4j
+@Component
+public class CommentCountReconciler {
+
+    private final PostRepository postRepository;
+    private final GroupPostRepository groupPostRepository;
+    private final CommentRepository commentRepository;
+    private final CommentLikeRepository commentLikeRepository;
+    private final ChunkedReconciler chunks;
+
+    public CommentCountReconciler(PostRepository postRepository,
+                                  GroupPostRepository groupPostRepository,
+                                  CommentRepository commentRepository,
+                                  CommentLikeRepository commentLikeRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.comment-count.reconcile-chunk-size:500}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.groupPostRepository = groupPostRepository;
+        this.commentRepository = commentRepository;
+        this.commentLikeRepository = commentLikeRepository;
+        this.chunks = new ChunkedReconciler(transactionManager, chunkSize);
+    }
+
+    @Scheduled(initialDelayString = "${app.comment-count.reconcile-initial-delay-ms:90000}",
+               fixedDelayString = "${app.comment-count.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            int fixedPosts = reconcilePosts();
+            int fixedGroupPosts = reconcileGroupPosts();
+            int fixedComments = reconcileComments();
+            if (fixedPosts > 0 || fixedGroupPosts > 0 || fixedComments > 0) {
+                log.info("댓글 카운터 보정 완료 - posts: {}건, group_posts: {}건, comments: {}건",
+                        fixedPosts, fixedGroupPosts, fixedComments);
+            }
+        } catch (Exception e) {
+            log.error("댓글 카운터 보정 실패", e);
+        }
+    }
+
+    /** posts.comment_count 보정, 수정된 행 수 반환 */
+    public int reconcilePosts() {
+        return chunks.run(postRepository::findCommentCountChunk, (rows, ids) -> ChunkedReconciler.fixCounts(rows, 1,
+                ChunkedReconciler.toCountMap(commentRepository.countGroupByTargetIdIn(Comment.TargetType.POST, ids)),
+                postRepository::updateCommentCount));
+    }
+
+    /** group_posts.comment_count 보정, 수정된 행 수 반환 */
+    public int reconcileGroupPosts() {
+        return chunks.run(groupPostRepository::findCommentCountChunk, (rows, ids) -> ChunkedReconciler.fixCounts(rows, 1,
+                ChunkedReconciler.toCountMap(commentRepository.countGroupByTargetIdIn(Comment.TargetType.GROUP_POST, ids)),
+                groupPostRepository::updateCommentCount));
+    }
+
+    /** comments.like_count / reply_count 보정, 수정된 행 수 반환 (둘 다 어긋난 행은 2로 셈) */
+    public int reconcileComments() {
+        return chunks.run(commentRepository::findCounterChunk, (rows, ids) ->
+                ChunkedReconciler.fixCounts(rows, 1, ChunkedReconciler.toCountMap(commentLikeRepository.countGroupByCommentIdIn(ids)),
+                        commentRepository::updateLikeCount)
+                + ChunkedReconciler.fixCounts(rows, 2, ChunkedReconciler.toCountMap(commentRepository.countRepliesGroupByParentIdIn(ids)),
+                        commentRepository::updateReplyCount));
+    }
+}
@@ -0,0 +1,57 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.entity.Comment;
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 댓글 커서(keyset) 페이지네이션.
+ * 최상위 댓글은 (고정 여부, 작성 시각, id), 답글은 (작성 시각, id) 위치를 담은 불투명 문자열이다.
+ * 최상위 댓글 커서와 답글 커서는 접두어로 구분해 서로 바꿔 쓰지 못하게 한다.
+ */
+final class CommentCursor {
+
+    private static final String TOP_LEVEL = "c1";
+    private static final String REPLY = "r1";
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /** 마지막으로 내려준 댓글 위치 (START 는 처음부터: 고정 댓글부터 시작) */
+    record Position(boolean pinned, LocalDateTime createdTime, long id) {
+
+        static final Position START = new Position(true, MIN_TIME, 0);
+    }
+
+    private CommentCursor() {
+    }
+
+    /** 빈 커서는 첫 페이지 */
+    static Position decode(String token, boolean topLevel) {
+        if (token == null || token.isBlank()) {
+            return Position.START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !(topLevel ? TOP_LEVEL : REPLY).equals(parts[0])) {
+                throw new IllegalArgumentException("bad cursor");
+            }
+            return new Position(Boolean.parseBoolean(parts[1]), LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new ApplicationBadRequestException("잘못된 커서입니다.");
+        }
+    }
+
+    /** comment 다음부터 이어서 조회하는 커서 */
+    static String encode(Comment comment, boolean topLevel) {
+        LocalDateTime createdTime = comment.getCreatedTime() != null ? comment.getCreatedTime() : MIN_TIME;
+        return encode(new Position(topLevel && comment.isPinned(), createdTime, comment.getId()), topLevel);
+    }
+
+    static String encode(Position position, boolean topLevel) {
+        String raw = (topLevel ? TOP_LEVEL : REPLY) + "|" + position.pinned() + "|" + position.createdTime() + "|" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
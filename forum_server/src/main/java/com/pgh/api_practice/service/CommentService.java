@@ -1,6 +1,8 @@
 package com.pgh.api_practice.service;
 
 import com.pgh.api_practice.dto.CommentDTO;
+import com.pgh.api_practice.dto.CommentDeltaDTO;
+import com.pgh.api_practice.dto.CursorPageDTO;
 import com.pgh.api_practice.dto.CreateCommentDTO;
 import com.pgh.api_practice.dto.UpdateCommentDTO;
 import com.pgh.api_practice.entity.Comment;
@@ -16,23 +18,43 @@ import com.pgh.api_practice.repository.GroupPostRepository;
 import com.pgh.api_practice.repository.PostRepository;
 import com.pgh.api_practice.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class CommentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_REPLY_PREVIEW_SIZE = 10;
+
+    // 댓글 정렬 (작성 시각이 같으면 id 순)
+    private static final Comparator<Comment> OLDEST_FIRST = Comparator
+            .comparing(Comment::getCreatedTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Comment::getId);
+    private static final Comparator<Comment> PINNED_FIRST = Comparator
+            .comparing(Comment::isPinned).reversed()
+            .thenComparing(OLDEST_FIRST);
+
     private final CommentRepository commentRepository;
     private final CommentLikeRepository commentLikeRepository;
     private final PostRepository postRepository;
     private final GroupPostRepository groupPostRepository;
     private final UserRepository userRepository;
+    private final IndexingPipeline indexingPipeline;
 
     /**
      * 현재 인증된 사용자 정보 가져오기 (인증 필수)
@@ -60,81 +82,218 @@ public class CommentService {
 
     /**
      * 댓글 목록 조회 (대댓글 포함) - posts와 group_posts 모두 지원
+     * 댓글 수와 관계없이 쿼리 2번 (댓글+작성자, 내 좋아요)
      */
     @Transactional(readOnly = true)
-    public List<CommentDTO> getCommentsByPostId(Long postId) {
+    public List<CommentDTO> getCommentsByPostId(Long postId, Comment.TargetType targetType) {
         // 인증되지 않은 사용자도 댓글을 볼 수 있음
         Users currentUser = getCurrentUserOrNull();
 
-        // 최상위 댓글 목록 조회 (posts와 group_posts 모두)
-        List<Comment> topLevelComments = commentRepository.findAllByPostIdOrGroupPostIdAndNotDeletedAndNoParent(postId);
+        List<Comment> comments = commentRepository.findAllByTargetAndNotDeleted(resolveTargetType(postId, targetType), postId);
+        Map<Long, CommentDTO> tree = assembleTree(comments, currentUser);
 
-        // effectively final로 만들기 위해 final 변수에 복사
-        final Users finalCurrentUser = currentUser;
-        return topLevelComments.stream()
-                .map(comment -> convertToDTO(comment, finalCurrentUser))
+        // 최상위 댓글: 고정 댓글 먼저, 그다음 작성 순
+        return comments.stream()
+                .filter(comment -> comment.getParentComment() == null)
+                .sorted(PINNED_FIRST)
+                .map(comment -> tree.get(comment.getId()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Comment 엔티티를 CommentDTO로 변환 (대댓글 포함)
+     * 댓글 목록을 메모리에서 트리로 조립 (id -> 대댓글이 채워진 DTO)
+     * 좋아요/답글 수는 댓글 행의 비정규화 컬럼을 쓰고, 현재 사용자의 좋아요 여부만 한 번의 쿼리로 읽는다.
+     * 삭제된 댓글(목록에 없는 부모) 아래의 대댓글은 트리에 붙지 않는다.
      */
-    private CommentDTO convertToDTO(Comment comment, Users currentUser) {
-        long likeCount = commentLikeRepository.countByCommentId(comment.getId());
-        boolean isLiked = currentUser != null && commentLikeRepository.existsByCommentIdAndUserId(comment.getId(), currentUser.getId());
-
-        // 대댓글 목록 조회
-        List<Comment> replies = commentRepository.findAllByParentCommentIdAndNotDeleted(comment.getId());
-        List<CommentDTO> replyDTOs = replies.stream()
-                .map(reply -> convertToDTO(reply, currentUser))
-                .collect(Collectors.toList());
+    private Map<Long, CommentDTO> assembleTree(List<Comment> comments, Users currentUser) {
+        Map<Long, CommentDTO> nodes = toNodes(comments, currentUser);
+
+        // 대댓글은 작성 순으로 부모 노드에 붙임
+        comments.stream()
+                .filter(comment -> comment.getParentComment() != null)
+                .sorted(OLDEST_FIRST)
+                .forEach(reply -> {
+                    CommentDTO parent = nodes.get(reply.getParentComment().getId());
+                    if (parent != null) {
+                        parent.getReplies().add(nodes.get(reply.getId()));
+                    }
+                });
+        return nodes;
+    }
 
-        // postId 결정 (post 또는 groupPost 중 하나)
-        Long postIdValue = comment.getPost() != null ? comment.getPost().getId() : 
-                           (comment.getGroupPost() != null ? comment.getGroupPost().getId() : null);
-        
+    /** 댓글별 DTO (대댓글 비어 있음). 현재 사용자의 좋아요 여부는 한 번의 쿼리로 읽는다 */
+    private Map<Long, CommentDTO> toNodes(List<Comment> comments, Users currentUser) {
+        if (comments.isEmpty()) {
+            return new HashMap<>();
+        }
+        List<Long> commentIds = comments.stream().map(Comment::getId).collect(Collectors.toList());
+        Set<Long> likedIds = currentUser != null
+                ? new HashSet<>(commentLikeRepository.findLikedCommentIds(currentUser.getId(), commentIds))
+                : Set.of();
+
+        Map<Long, CommentDTO> nodes = new HashMap<>();
+        for (Comment comment : comments) {
+            nodes.put(comment.getId(), toNode(comment, likedIds.contains(comment.getId())));
+        }
+        return nodes;
+    }
+
+    /**
+     * 댓글 목록 커서 페이지 (최상위 댓글: 고정 댓글 먼저, 그다음 작성 순)
+     * 댓글마다 답글 수와 처음 replyPreviewSize 개 답글을 담고, 나머지는 repliesCursor 로 따로 조회한다.
+     * 스레드 크기와 관계없이 쿼리 수가 일정하다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentDTO> getCommentPage(Long postId, Comment.TargetType targetType, String cursor, int size, int replyPreviewSize) {
+        Users currentUser = getCurrentUserOrNull();
+        int pageSize = clampPageSize(size);
+        int previewSize = Math.max(0, Math.min(replyPreviewSize, MAX_REPLY_PREVIEW_SIZE));
+
+        CommentCursor.Position after = CommentCursor.decode(cursor, true);
+        List<Comment> rows = commentRepository.findTopLevelPage(resolveTargetType(postId, targetType), postId,
+                after.pinned(), after.createdTime(), after.id(), PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<Comment> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<Long> pageIds = page.stream().map(Comment::getId).collect(Collectors.toList());
+        List<Comment> previews = previewSize > 0 && !pageIds.isEmpty()
+                ? commentRepository.findAllWithUserByIdIn(commentRepository.findFirstReplyIds(pageIds, previewSize))
+                : List.of();
+
+        List<Comment> comments = new ArrayList<>(page);
+        comments.addAll(previews);
+        Map<Long, CommentDTO> nodes = toNodes(comments, currentUser);
+        previews.stream()
+                .sorted(OLDEST_FIRST)
+                .forEach(reply -> nodes.get(reply.getParentComment().getId()).getReplies().add(nodes.get(reply.getId())));
+
+        // 미리보기 뒤에 답글이 더 있으면 마지막 미리보기 다음부터 이어서 조회하는 커서
+        Map<Long, Comment> lastPreviews = previews.stream().collect(Collectors.toMap(
+                reply -> reply.getParentComment().getId(), reply -> reply, BinaryOperator.maxBy(OLDEST_FIRST)));
+        for (Comment comment : page) {
+            CommentDTO node = nodes.get(comment.getId());
+            if (node.getReplyCount() > node.getReplies().size()) {
+                Comment lastPreview = lastPreviews.get(comment.getId());
+                node.setRepliesCursor(lastPreview != null
+                        ? CommentCursor.encode(lastPreview, false)
+                        : CommentCursor.encode(CommentCursor.Position.START, false));
+            }
+        }
+        for (Comment reply : previews) {
+            CommentDTO node = nodes.get(reply.getId());
+            if (node.getReplyCount() > 0) {
+                node.setRepliesCursor(CommentCursor.encode(CommentCursor.Position.START, false));
+            }
+        }
+
+        List<CommentDTO> content = page.stream().map(comment -> nodes.get(comment.getId())).collect(Collectors.toList());
+        String nextCursor = hasNext ? CommentCursor.encode(page.get(page.size() - 1), true) : null;
+        return new CursorPageDTO<>(content, content.size(), nextCursor, hasNext);
+    }
+
+    /**
+     * 답글 커서 페이지 (작성 순)
+     * 답글마다 답글 수를 담고, 그 아래 답글은 각자의 repliesCursor 로 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentDTO> getReplyPage(Long commentId, String cursor, int size) {
+        Users currentUser = getCurrentUserOrNull();
+        int pageSize = clampPageSize(size);
+
+        Comment parent = commentRepository.findById(commentId)
+                .orElseThrow(() -> new ResourceNotFoundException("댓글을 찾을 수 없습니다."));
+        if (parent.isDeleted()) {
+            throw new ResourceNotFoundException("삭제된 댓글입니다.");
+        }
+
+        CommentCursor.Position after = CommentCursor.decode(cursor, false);
+        List<Comment> rows = commentRepository.findReplyPage(commentId, after.createdTime(), after.id(), PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<Comment> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        Map<Long, CommentDTO> nodes = toNodes(page, currentUser);
+        List<CommentDTO> content = page.stream().map(reply -> {
+            CommentDTO node = nodes.get(reply.getId());
+            if (node.getReplyCount() > 0) {
+                node.setRepliesCursor(CommentCursor.encode(CommentCursor.Position.START, false));
+            }
+            return node;
+        }).collect(Collectors.toList());
+        String nextCursor = hasNext ? CommentCursor.encode(page.get(page.size() - 1), false) : null;
+        return new CursorPageDTO<>(content, content.size(), nextCursor, hasNext);
+    }
+
+    /** targetType 을 생략한 이전 클라이언트: 댓글 작성과 같은 기준으로 posts 에 있으면 POST, 아니면 GROUP_POST */
+    private Comment.TargetType resolveTargetType(Long postId, Comment.TargetType targetType) {
+        if (targetType != null) {
+            return targetType;
+        }
+        return postRepository.existsById(postId) ? Comment.TargetType.POST : Comment.TargetType.GROUP_POST;
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static CommentDTO toNode(Comment comment, boolean isLiked) {
         return CommentDTO.builder()
                 .id(comment.getId())
                 .body(comment.getBody())
                 .username(comment.getUser().getUsername())
                 .userId(comment.getUser().getId())
-                .postId(postIdValue)
+                .postId(comment.getTargetId())
+                .targetType(comment.getTargetType().name())
                 .parentCommentId(comment.getParentComment() != null ? comment.getParentComment().getId() : null)
                 .isPinned(comment.isPinned())
-                .likeCount(likeCount)
+                .likeCount(comment.getLikeCount())
+                .replyCount(comment.getReplyCount())
                 .isLiked(isLiked)
                 .createDateTime(comment.getCreatedTime())
                 .updateDateTime(comment.getUpdatedTime())
-                .replies(replyDTOs)
+                .replies(new ArrayList<>())
+                .build();
+    }
+
+    /** 수정/좋아요/고정 응답: 바뀔 수 있는 필드만 (답글 트리를 다시 읽지 않음) */
+    private static CommentDeltaDTO toDelta(Comment comment, boolean isLiked) {
+        return CommentDeltaDTO.builder()
+                .id(comment.getId())
+                .body(comment.getBody())
+                .likeCount(comment.getLikeCount())
+                .isLiked(isLiked)
+                .isPinned(comment.isPinned())
+                .updateDateTime(comment.getUpdatedTime())
                 .build();
     }
 
     /**
      * 댓글 생성 - posts와 group_posts 모두 지원
+     * 새 댓글은 답글/좋아요가 없으므로 저장한 엔티티로 바로 응답을 만든다.
      */
     @Transactional
     public CommentDTO createComment(CreateCommentDTO dto) {
         Users currentUser = getCurrentUser();
 
-        // 먼저 posts 테이블에서 찾기
+        // targetType 이 없으면 posts 테이블에서 먼저 찾고, 없으면 group_posts에서 찾기
         Post post = null;
         GroupPost groupPost = null;
         
-        Optional<Post> postOpt = postRepository.findById(dto.getPostId());
-        if (postOpt.isPresent()) {
-            post = postOpt.get();
-            if (post.isDeleted()) {
-                throw new ResourceNotFoundException("삭제된 게시글입니다.");
-            }
-        } else {
-            // posts에서 찾지 못하면 group_posts에서 찾기
-            Optional<GroupPost> groupPostOpt = groupPostRepository.findByIdAndIsDeletedFalse(dto.getPostId());
-            if (groupPostOpt.isPresent()) {
-                groupPost = groupPostOpt.get();
-            } else {
+        if (dto.getTargetType() != Comment.TargetType.GROUP_POST) {
+            Optional<Post> postOpt = postRepository.findById(dto.getPostId());
+            if (postOpt.isPresent()) {
+                post = postOpt.get();
+                if (post.isDeleted()) {
+                    throw new ResourceNotFoundException("삭제된 게시글입니다.");
+                }
+            } else if (dto.getTargetType() == Comment.TargetType.POST) {
                 throw new ResourceNotFoundException("게시글을 찾을 수 없습니다.");
             }
         }
+        if (post == null) {
+            groupPost = groupPostRepository.findByIdAndIsDeletedFalse(dto.getPostId())
+                    .orElseThrow(() -> new ResourceNotFoundException("게시글을 찾을 수 없습니다."));
+        }
+        Comment.TargetType targetType = post != null ? Comment.TargetType.POST : Comment.TargetType.GROUP_POST;
 
         Comment parentComment = null;
         if (dto.getParentCommentId() != null) {
@@ -144,9 +303,7 @@ public class CommentService {
                 throw new ResourceNotFoundException("삭제된 댓글입니다.");
             }
             // 대댓글은 같은 게시글에만 작성 가능
-            Long parentPostId = parentComment.getPost() != null ? parentComment.getPost().getId() :
-                               (parentComment.getGroupPost() != null ? parentComment.getGroupPost().getId() : null);
-            if (parentPostId == null || !parentPostId.equals(dto.getPostId())) {
+            if (parentComment.getTargetType() != targetType || !dto.getPostId().equals(parentComment.getTargetId())) {
                 throw new ApplicationUnauthorizedException("같은 게시글에만 대댓글을 작성할 수 있습니다.");
             }
         }
@@ -154,7 +311,9 @@ public class CommentService {
         Comment.CommentBuilder commentBuilder = Comment.builder()
                 .body(dto.getBody())
                 .user(currentUser)
-                .parentComment(parentComment);
+                .parentComment(parentComment)
+                .targetType(targetType)
+                .targetId(dto.getPostId());
         
         if (post != null) {
             commentBuilder.post(post);
@@ -163,14 +322,16 @@ public class CommentService {
         }
 
         Comment saved = commentRepository.save(commentBuilder.build());
-        return convertToDTO(saved, currentUser);
+        adjustCommentCounts(saved, 1);
+        indexingPipeline.submit(SearchIndex.DocType.COMMENT, saved.getId());
+        return toNode(saved, false);
     }
 
     /**
-     * 댓글 수정 (댓글 작성자만 가능)
+     * 댓글 수정 (댓글 작성자만 가능), 바뀐 필드만 응답
      */
     @Transactional
-    public CommentDTO updateComment(Long commentId, UpdateCommentDTO dto) {
+    public CommentDeltaDTO updateComment(Long commentId, UpdateCommentDTO dto) {
         Users currentUser = getCurrentUser();
 
         Comment comment = commentRepository.findById(commentId)
@@ -186,8 +347,10 @@ public class CommentService {
         }
 
         comment.setBody(dto.getBody());
-        Comment updated = commentRepository.save(comment);
-        return convertToDTO(updated, currentUser);
+        // 응답에 수정 시각(@LastModifiedDate)을 담기 위해 바로 플러시
+        Comment updated = commentRepository.saveAndFlush(comment);
+        indexingPipeline.submit(SearchIndex.DocType.COMMENT, updated.getId());
+        return toDelta(updated, commentLikeRepository.existsByCommentIdAndUserId(commentId, currentUser.getId()));
     }
 
     /**
@@ -219,13 +382,15 @@ public class CommentService {
 
         comment.setDeleted(true);
         commentRepository.save(comment);
+        adjustCommentCounts(comment, -1);
+        indexingPipeline.submit(SearchIndex.DocType.COMMENT, comment.getId());
     }
 
     /**
-     * 댓글 좋아요/취소
+     * 댓글 좋아요/취소, 바뀐 필드만 응답
      */
     @Transactional
-    public CommentDTO toggleLike(Long commentId) {
+    public CommentDeltaDTO toggleLike(Long commentId) {
         Users currentUser = getCurrentUser();
 
         Comment comment = commentRepository.findById(commentId)
@@ -241,6 +406,7 @@ public class CommentService {
         if (existingLike != null) {
             // 좋아요 취소
             commentLikeRepository.delete(existingLike);
+            adjustLikeCount(comment, -1);
         } else {
             // 좋아요 추가
             CommentLike like = CommentLike.builder()
@@ -248,16 +414,39 @@ public class CommentService {
                     .user(currentUser)
                     .build();
             commentLikeRepository.save(like);
+            adjustLikeCount(comment, 1);
+        }
+
+        return toDelta(comment, existingLike == null);
+    }
+
+    /** 비정규화된 comment_count(게시글)와 reply_count(부모 댓글)를 같은 트랜잭션에서 원자적으로 증감 */
+    private void adjustCommentCounts(Comment comment, long delta) {
+        if (comment.getPost() != null) {
+            postRepository.addCommentCount(comment.getPost().getId(), delta);
+        } else if (comment.getGroupPost() != null) {
+            groupPostRepository.addCommentCount(comment.getGroupPost().getId(), delta);
+        }
+        Comment parent = comment.getParentComment();
+        if (parent != null) {
+            commentRepository.addReplyCount(parent.getId(), delta);
+            // 영속성 컨텍스트의 부모 엔티티는 UPDATE 이전 값이므로 응답용으로 증감분 반영 (updatable = false 라 저장되지 않음)
+            parent.setReplyCount(parent.getReplyCount() + delta);
         }
+    }
 
-        return convertToDTO(comment, currentUser);
+    /** 비정규화된 like_count를 같은 트랜잭션에서 원자적으로 증감 */
+    private void adjustLikeCount(Comment comment, long delta) {
+        commentRepository.addLikeCount(comment.getId(), delta);
+        // 엔티티의 likeCount는 UPDATE 이전 값이므로 응답용으로 증감분 반영 (updatable = false 라 저장되지 않음)
+        comment.setLikeCount(comment.getLikeCount() + delta);
     }
 
     /**
-     * 댓글 고정/고정 해제 (게시글 작성자만 가능)
+     * 댓글 고정/고정 해제 (게시글 작성자만 가능), 바뀐 필드만 응답
      */
     @Transactional
-    public CommentDTO togglePin(Long commentId) {
+    public CommentDeltaDTO togglePin(Long commentId) {
         Users currentUser = getCurrentUser();
 
         Comment comment = commentRepository.findByIdWithUserAndPost(commentId)
@@ -281,7 +470,7 @@ public class CommentService {
 
         comment.setPinned(!comment.isPinned());
         Comment updated = commentRepository.save(comment);
-        return convertToDTO(updated, currentUser);
+        return toDelta(updated, commentLikeRepository.existsByCommentIdAndUserId(commentId, currentUser.getId()));
     }
 }
 
@@ -0,0 +1,121 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.repository.GroupChatRoomRepository;
+import com.pgh.api_practice.repository.GroupMemberRepository;
+import com.pgh.api_practice.repository.GroupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 모임별 멤버십 캐시 (채팅 메시지 전송 경로용).
+ * 모임 하나당 주인 id, 멤버(관리자 여부, 별명, 작성자 표시용 프로필), 삭제되지 않은 채팅방(관리자방 여부)을
+ * 한 번에 읽어 불변 스냅샷으로 보관한다.
+ *
+ * 가입/탈퇴/권한 변경/별명 변경/채팅방 생성·삭제/모임 삭제 시 모임 단위로, 프로필 변경 시 해당 사용자가 속한 모임을 무효화한다.
+ * 무효화와 채우기가 엇갈려 예전 내용이 다시 들어가지 않도록, 조회 전에 받은 stamp 가 저장 시점까지 그대로일 때만 저장한다.
+ * 트랜잭션 안에서 무효화하면 커밋 후에 한 번 더 무효화한다.
+ */
+@Component
+public class GroupMembershipCache {
+
+    /** 멤버 한 명 (username/nickname/profileImageUrl 은 메시지 작성자 표시용) */
+    public record Member(long userId, String username, String nickname, String profileImageUrl,
+                         boolean admin, String displayName) {
+    }
+
+    /** 모임 하나의 멤버십 스냅샷 */
+    public record Snapshot(long ownerId, Map<Long, Member> membersById, Map<String, Member> membersByUsername,
+                           Map<Long, Boolean> adminRoomByRoomId) {
+
+        public Optional<Member> member(long userId) {
+            return Optional.ofNullable(membersById.get(userId));
+        }
+
+        public Optional<Member> member(String username) {
+            return Optional.ofNullable(membersByUsername.get(username));
+        }
+
+        /** 모임 주인은 항상 관리자 */
+        public boolean isAdmin(long userId) {
+            Member member = membersById.get(userId);
+            return userId == ownerId || (member != null && member.admin());
+        }
+
+        /** 모임의 삭제되지 않은 채팅방이면 관리자방 여부, 아니면 empty */
+        public Optional<Boolean> adminRoom(long roomId) {
+            return Optional.ofNullable(adminRoomByRoomId.get(roomId));
+        }
+    }
+
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupChatRoomRepository groupChatRoomRepository;
+
+    // 모임 수로 제한 (스냅샷 하나 = 1)
+    private final StampedLruCache<Snapshot> entries;
+
+    public GroupMembershipCache(GroupRepository groupRepository,
+                                GroupMemberRepository groupMemberRepository,
+                                GroupChatRoomRepository groupChatRoomRepository,
+                                @Value("${app.group-membership-cache.max-entries:5000}") int maxEntries) {
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.groupChatRoomRepository = groupChatRoomRepository;
+        this.entries = new StampedLruCache<>(snapshot -> 1, maxEntries);
+    }
+
+    /** 모임 스냅샷 (없으면 DB 에서 읽어 채움), 삭제되었거나 없는 모임이면 empty */
+    public Optional<Snapshot> get(long groupId) {
+        Optional<Snapshot> cached = entries.get(groupId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long stamp = entries.stamp(groupId);
+        Optional<Snapshot> loaded = load(groupId);
+        loaded.ifPresent(snapshot -> entries.put(groupId, stamp, snapshot));
+        return loaded;
+    }
+
+    /** 모임 하나 무효화 (멤버십, 채팅방, 모임 삭제) */
+    public void invalidate(long groupId) {
+        entries.invalidate(groupId);
+        AfterCommit.run(AfterCommit.NoTransaction.SKIP, () -> entries.invalidate(groupId));
+    }
+
+    /** 사용자 프로필(닉네임, 프로필 이미지) 변경: 그 사용자가 속한 모임 전체 무효화 */
+    public void invalidateUser(long userId) {
+        entries.invalidateIf(snapshot -> snapshot.membersById().containsKey(userId));
+        AfterCommit.run(AfterCommit.NoTransaction.SKIP,
+                () -> entries.invalidateIf(snapshot -> snapshot.membersById().containsKey(userId)));
+    }
+
+    private Optional<Snapshot> load(long groupId) {
+        Optional<Long> ownerId = groupRepository.findOwnerIdByIdAndIsDeletedFalse(groupId);
+        if (ownerId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Object[]> memberRows = groupMemberRepository.findMembershipRowsByGroupId(groupId);
+        Map<Long, Member> membersById = new HashMap<>(memberRows.size() * 2);
+        Map<String, Member> membersByUsername = new HashMap<>(memberRows.size() * 2);
+        for (Object[] row : memberRows) {
+            Member member = new Member((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (Boolean) row[4], (String) row[5]);
+            membersById.put(member.userId(), member);
+            membersByUsername.put(member.username(), member);
+        }
+
+        Map<Long, Boolean> rooms = new HashMap<>();
+        for (Object[] row : groupChatRoomRepository.findRoomFlagsByGroupId(groupId)) {
+            rooms.put((Long) row[0], (Boolean) row[1]);
+        }
+
+        return Optional.of(new Snapshot(ownerId.get(), Map.copyOf(membersById), Map.copyOf(membersByUsername),
+                Map.copyOf(rooms)));
+    }
+}
@@ -27,6 +27,9 @@ public class GroupPostService {
     private final GroupMemberRepository groupMemberRepository;
     private final UserRepository userRepository;
     private final PostLikeRepository postLikeRepository;
+    private final PostLeaderboard postLeaderboard;
+    private final ViewCountBuffer viewCountBuffer;
+    private final IndexingPipeline indexingPipeline;
 
     /** 현재 사용자 가져오기 */
     private Users getCurrentUser() {
@@ -63,6 +66,8 @@ public class GroupPostService {
                 .build();
 
         GroupPost created = groupPostRepository.save(post);
+        postLeaderboard.update(created, 0, 0);
+        indexingPipeline.submit(SearchIndex.DocType.GROUP_POST, created.getId());
         return created.getId();
     }
 
@@ -91,6 +96,8 @@ public class GroupPostService {
                     .createDateTime(post.getCreatedTime())
                     .updateDateTime(updateTime)
                     .profileImageUrl(post.getProfileImageUrl())
+                    .likeCount(post.getLikeCount())
+                    .commentCount(post.getCommentCount())
                     .build();
         }).collect(Collectors.toList());
 
@@ -98,7 +105,7 @@ public class GroupPostService {
     }
 
     /** 모임 활동 게시물 상세 조회 */
-    @Transactional
+    @Transactional(readOnly = true)
     public GroupPostDetailDTO getGroupPostDetail(Long groupId, Long postId) {
         Group group = groupRepository.findByIdAndIsDeletedFalse(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("모임을 찾을 수 없습니다."));
@@ -106,10 +113,9 @@ public class GroupPostService {
         GroupPost post = groupPostRepository.findByIdAndIsDeletedFalse(postId)
                 .orElseThrow(() -> new ResourceNotFoundException("게시물을 찾을 수 없습니다."));
 
-        // 조회수 증가
-        groupPostRepository.incrementViews(postId);
-        post = groupPostRepository.findByIdAndIsDeletedFalse(postId)
-                .orElseThrow(() -> new ResourceNotFoundException("게시물을 찾을 수 없습니다."));
+        // 조회수 증가 (메모리에 누적 후 주기적으로 일괄 반영, 응답에는 미반영분 포함)
+        long views = post.getViews() + viewCountBuffer.incrementGroupPost(postId);
+        postLeaderboard.update(post, views, post.getLikeCount());
 
         Users currentUser = getCurrentUser();
         boolean isAuthor = false;
@@ -145,7 +151,7 @@ public class GroupPostService {
                 .body(post.getBody())
                 .username(post.getUser().getUsername())
                 .nickname(post.getUser().getNickname())
-                .Views(String.valueOf(post.getViews()))
+                .Views(String.valueOf(views))
                 .createDateTime(post.getCreatedTime())
                 .updateDateTime(updateTime)
                 .profileImageUrl(post.getProfileImageUrl())
@@ -182,10 +188,18 @@ public class GroupPostService {
         if (dto.getProfileImageUrl() != null) {
             post.setProfileImageUrl(dto.getProfileImageUrl());
         }
+        boolean visibilityChanged = dto.getIsPublic() != null && dto.getIsPublic() != post.isPublic();
         if (dto.getIsPublic() != null) {
             post.setPublic(dto.getIsPublic());
+            postLeaderboard.update(post, post.getViews() + viewCountBuffer.pendingGroupPost(post.getId()), post.getLikeCount());
         }
         groupPostRepository.save(post);
+
+        indexingPipeline.submit(SearchIndex.DocType.GROUP_POST, post.getId());
+        if (visibilityChanged) {
+            // 댓글 문서도 게시물 공개 범위를 따라감
+            indexingPipeline.submitComments(SearchIndex.DocType.GROUP_POST, post.getId());
+        }
     }
 
     /** 모임 활동 게시물 삭제 */
@@ -213,5 +227,8 @@ public class GroupPostService {
 
         post.setDeleted(true);
         groupPostRepository.save(post);
+        postLeaderboard.remove(post);
+        indexingPipeline.submit(SearchIndex.DocType.GROUP_POST, post.getId());
+        indexingPipeline.submitComments(SearchIndex.DocType.GROUP_POST, post.getId());
     }
 }
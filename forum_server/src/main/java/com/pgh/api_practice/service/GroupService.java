@@ -9,6 +9,7 @@ import com.pgh.api_practice.repository.*;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -16,7 +17,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -31,6 +35,13 @@ public class GroupService {
     private final GroupChatMessageRepository groupChatMessageRepository;
     private final UserRepository userRepository;
     private final MessageReactionRepository messageReactionRepository;
+    private final PostDetailCache postDetailCache;
+    private final GroupMembershipCache groupMembershipCache;
+    private final ChatReadService chatReadService;
+    private final ChatBroadcastAggregator chatBroadcastAggregator;
+    private final ChatPresenceRegistry chatPresenceRegistry;
+
+    private static final int MAX_CHAT_PAGE_SIZE = 100;
 
     /** 현재 사용자 가져오기 */
     private Users getCurrentUser() {
@@ -91,6 +102,7 @@ public class GroupService {
                 .isAdminRoom(false)
                 .build();
         groupChatRoomRepository.save(generalRoom);
+        groupMembershipCache.invalidate(created.getId());
 
         return created.getId();
     }
@@ -260,6 +272,7 @@ public class GroupService {
                 .isAdmin(false)
                 .build();
         groupMemberRepository.save(member);
+        groupMembershipCache.invalidate(groupId);
     }
 
     /** 모임 탈퇴 */
@@ -279,6 +292,7 @@ public class GroupService {
         }
 
         groupMemberRepository.deleteByGroupIdAndUserId(groupId, currentUser.getId());
+        groupMembershipCache.invalidate(groupId);
     }
 
     /** 모임 수정 */
@@ -304,6 +318,8 @@ public class GroupService {
 
         if (dto.getName() != null && !dto.getName().trim().isEmpty()) {
             group.setName(dto.getName());
+            // 게시글 상세 캐시에 모임 이름이 포함되어 있음
+            postDetailCache.invalidateGroup(groupId);
         }
         if (dto.getDescription() != null) {
             group.setDescription(dto.getDescription());
@@ -400,6 +416,7 @@ public class GroupService {
         GroupMember member = memberOpt.get();
         member.setAdmin(isAdmin);
         groupMemberRepository.save(member);
+        groupMembershipCache.invalidate(groupId);
     }
 
     /** 멤버 별명 변경 */
@@ -433,6 +450,7 @@ public class GroupService {
         GroupMember member = memberOpt.get();
         member.setDisplayName(displayName != null && displayName.trim().isEmpty() ? null : displayName);
         groupMemberRepository.save(member);
+        groupMembershipCache.invalidate(groupId);
     }
 
     /** 모임 삭제 */
@@ -460,6 +478,7 @@ public class GroupService {
 
         group.setDeleted(true);
         groupRepository.save(group);
+        groupMembershipCache.invalidate(groupId);
     }
 
     /** 채팅방 목록 조회 */
@@ -489,8 +508,16 @@ public class GroupService {
         
         // 관리자가 아니면 관리자방 제외
         final boolean finalIsAdmin = isAdmin;
-        return rooms.stream()
+        List<GroupChatRoom> visibleRooms = rooms.stream()
                 .filter(room -> finalIsAdmin || !room.isAdminRoom())
+                .collect(Collectors.toList());
+
+        // 안 읽은 메시지 수 (로그인한 경우, 채팅방 전체를 한 번에)
+        Map<Long, Long> unreadCounts = currentUser != null
+                ? chatReadService.unreadCounts(currentUser.getId(), visibleRooms.stream().map(GroupChatRoom::getId).collect(Collectors.toList()))
+                : Map.of();
+
+        return visibleRooms.stream()
                 .map(room -> GroupChatRoomDTO.builder()
                         .id(room.getId())
                         .name(room.getName())
@@ -498,10 +525,50 @@ public class GroupService {
                         .profileImageUrl(room.getProfileImageUrl())
                         .isAdminRoom(room.isAdminRoom())
                         .createdTime(room.getCreatedTime())
+                        .unreadCount(unreadCounts.getOrDefault(room.getId(), 0L))
                         .build())
                 .collect(Collectors.toList());
     }
 
+    /** 모임 접속 현황 조회 (모임 멤버만, 관리자방 접속자는 관리자에게만) */
+    public GroupPresenceDTO getPresence(Long groupId) {
+        GroupMembershipCache.Snapshot membership = getPresenceMembership(groupId);
+        boolean isAdmin = currentMember(membership).admin();
+
+        GroupPresenceDTO presence = chatPresenceRegistry.getPresence(groupId);
+        presence.setRooms(presence.getRooms().stream()
+                .filter(room -> membership.adminRoom(room.getRoomId()).map(adminRoom -> isAdmin || !adminRoom).orElse(false))
+                .collect(Collectors.toList()));
+        return presence;
+    }
+
+    /** 채팅방 접속 멤버 조회 */
+    public List<String> getRoomPresence(Long groupId, Long roomId) {
+        GroupMembershipCache.Snapshot membership = getPresenceMembership(groupId);
+        boolean isAdminRoom = membership.adminRoom(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("채팅방을 찾을 수 없습니다."));
+        if (isAdminRoom && !currentMember(membership).admin()) {
+            throw new ApplicationUnauthorizedException("관리자만 관리자방을 볼 수 있습니다.");
+        }
+        return chatPresenceRegistry.getRoomPresence(groupId, roomId);
+    }
+
+    private GroupMembershipCache.Snapshot getPresenceMembership(Long groupId) {
+        GroupMembershipCache.Snapshot membership = groupMembershipCache.get(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("모임을 찾을 수 없습니다."));
+        currentMember(membership);
+        return membership;
+    }
+
+    private GroupMembershipCache.Member currentMember(GroupMembershipCache.Snapshot membership) {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null || "anonymousUser".equals(authentication.getName())) {
+            throw new ApplicationUnauthorizedException("인증이 필요합니다.");
+        }
+        return membership.member(authentication.getName())
+                .orElseThrow(() -> new ApplicationUnauthorizedException("모임 멤버만 접속 현황을 볼 수 있습니다."));
+    }
+
     /** 채팅방 생성 */
     @Transactional
     public Long createChatRoom(Long groupId, CreateGroupChatRoomDTO dto) {
@@ -527,6 +594,7 @@ public class GroupService {
                 .build();
 
         GroupChatRoom created = groupChatRoomRepository.save(room);
+        groupMembershipCache.invalidate(groupId);
         return created.getId();
     }
 
@@ -591,6 +659,7 @@ public class GroupService {
 
         room.setDeleted(true);
         groupChatRoomRepository.save(room);
+        groupMembershipCache.invalidate(groupId);
     }
 
     /** 채팅 메시지 전송 */
@@ -642,124 +711,104 @@ public class GroupService {
         return created.getId();
     }
 
-    /** 채팅 메시지 목록 조회 */
+    /**
+     * 채팅 메시지 목록 조회 (id 기준 keyset, 최신순)
+     * beforeId 가 있으면 그 이전 메시지, afterId 가 있으면 그 이후 메시지(재접속 후 따라잡기), 둘 다 없으면 최신 메시지.
+     * 작성자 별명/관리자 여부는 모임 멤버 스냅샷 하나에서, 반응 수와 내 반응은 페이지 전체를 한 번씩 조회한다.
+     */
     @Transactional(readOnly = true)
-    public List<GroupChatMessageDTO> getChatMessages(Long groupId, Long roomId, int page, int size) {
-        Group group = groupRepository.findByIdAndIsDeletedFalse(groupId)
+    public List<GroupChatMessageDTO> getChatMessages(Long groupId, Long roomId, Long beforeId, Long afterId, int size) {
+        GroupMembershipCache.Snapshot membership = groupMembershipCache.get(groupId)
                 .orElseThrow(() -> new ResourceNotFoundException("모임을 찾을 수 없습니다."));
-
-        GroupChatRoom room = groupChatRoomRepository.findByIdAndIsDeletedFalse(roomId)
+        boolean isAdminRoom = membership.adminRoom(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("채팅방을 찾을 수 없습니다."));
 
-        Users currentUser = getCurrentUser();
-        
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        String currentUsername = authentication == null || "anonymousUser".equals(authentication.getName())
+                ? null : authentication.getName();
+        Optional<GroupMembershipCache.Member> viewer = currentUsername != null
+                ? membership.member(currentUsername) : Optional.empty();
+
         // 관리자방은 관리자만 접근 가능
-        if (room.isAdminRoom()) {
-            if (currentUser == null) {
+        if (isAdminRoom) {
+            if (currentUsername == null) {
                 throw new ApplicationUnauthorizedException("인증이 필요합니다.");
             }
-            // 모임 주인인지 확인
-            boolean isOwner = group.getOwner().getId().equals(currentUser.getId());
-            if (!isOwner) {
-                // 멤버인지 확인
-                Optional<GroupMember> member = groupMemberRepository.findByGroupIdAndUserId(groupId, currentUser.getId());
-                if (member.isEmpty() || !member.get().isAdmin()) {
-                    throw new ApplicationUnauthorizedException("관리자만 관리자방을 볼 수 있습니다.");
-                }
+            if (viewer.isEmpty() || !membership.isAdmin(viewer.get().userId())) {
+                throw new ApplicationUnauthorizedException("관리자만 관리자방을 볼 수 있습니다.");
             }
         }
 
-        org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
-        List<GroupChatMessage> messages = groupChatMessageRepository.findRecentMessages(roomId, pageable);
+        int pageSize = Math.max(1, Math.min(size, MAX_CHAT_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize);
+        List<GroupChatMessage> messages;
+        if (afterId != null) {
+            // 오래된순으로 읽어 최신순으로 뒤집음 (응답 순서는 항상 최신순)
+            messages = new ArrayList<>(groupChatMessageRepository.findPageAfter(roomId, afterId, pageable));
+            Collections.reverse(messages);
+        } else {
+            messages = groupChatMessageRepository.findPageBefore(roomId, beforeId != null ? beforeId : Long.MAX_VALUE, pageable);
+        }
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> messageIds = messages.stream().map(GroupChatMessage::getId).collect(Collectors.toList());
 
-        // 모임 주인과 관리자 목록 확인
-        Long ownerId = group.getOwner().getId();
-        List<Long> adminIds = new ArrayList<>();
-        adminIds.add(ownerId); // 모임 주인은 항상 관리자
-        try {
-            List<GroupMember> members = groupMemberRepository.findByGroupId(groupId);
-            adminIds.addAll(members.stream()
-                    .filter(GroupMember::isAdmin)
-                    .map(m -> m.getUser().getId())
-                    .collect(Collectors.toList()));
-        } catch (Exception e) {
-            // 관리자 목록 조회 실패 시 모임 주인만 포함
+        // 반응 수 (페이지 전체 한 번에)
+        Map<Long, List<GroupChatMessageDTO.ReactionInfo>> reactionsByMessage = new HashMap<>();
+        for (Object[] row : messageReactionRepository.countByMessageIdInGroupByEmoji(messageIds)) {
+            reactionsByMessage.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                    .add(GroupChatMessageDTO.ReactionInfo.builder()
+                            .emoji((String) row[1])
+                            .count(((Number) row[2]).intValue())
+                            .build());
         }
 
-        final List<Long> finalAdminIds = adminIds;
-        return messages.stream().<GroupChatMessageDTO>map(msg -> {
-            Long userId = msg.getUser().getId();
-            boolean isAdmin = finalAdminIds.contains(userId);
-            
-            // 채팅방별 별명 조회
-            String displayName = null;
-            Optional<GroupMember> memberOpt = groupMemberRepository.findByGroupIdAndUserId(groupId, msg.getUser().getId());
-            if (memberOpt.isPresent()) {
-                displayName = memberOpt.get().getDisplayName();
+        // 현재 사용자가 추가한 반응 (반응은 멤버만 달 수 있으므로 멤버일 때만 조회)
+        Map<Long, List<String>> myReactionsByMessage = new HashMap<>();
+        viewer.ifPresent(member -> {
+            for (Object[] row : messageReactionRepository.findEmojisByMessageIdInAndUserId(messageIds, member.userId())) {
+                myReactionsByMessage.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
             }
-            
+        });
+
+        // 읽음 수는 채팅방 읽음 위치에서 계산 (페이지 전체를 한 번에)
+        Map<Long, Integer> readCounts = chatReadService.readCounts(roomId, messages);
+
+        return messages.stream().map(msg -> {
+            Users author = msg.getUser();
+            Optional<GroupMembershipCache.Member> authorMember = membership.member(author.getId());
+
             // 답장 정보 처리
             GroupChatMessageDTO.ReplyToMessageInfo replyToMessageInfo = null;
-            if (msg.getReplyToMessage() != null) {
-                GroupChatMessage replyTo = msg.getReplyToMessage();
+            GroupChatMessage replyTo = msg.getReplyToMessage();
+            if (replyTo != null) {
                 Users replyToUser = replyTo.getUser();
-                // 답장한 메시지 작성자의 displayName 조회
-                String replyToDisplayName = null;
-                Optional<GroupMember> replyToMemberOpt = groupMemberRepository.findByGroupIdAndUserId(groupId, replyToUser.getId());
-                if (replyToMemberOpt.isPresent()) {
-                    replyToDisplayName = replyToMemberOpt.get().getDisplayName();
-                }
-                
                 replyToMessageInfo = GroupChatMessageDTO.ReplyToMessageInfo.builder()
                         .id(replyTo.getId())
                         .message(replyTo.getMessage())
                         .username(replyToUser.getUsername())
                         .nickname(replyToUser.getNickname())
-                        .displayName(replyToDisplayName)
+                        .displayName(membership.member(replyToUser.getId()).map(GroupMembershipCache.Member::displayName).orElse(null))
                         .profileImageUrl(replyToUser.getProfileImageUrl())
                         .build();
             }
-            
-            // 반응 정보 조회
-            List<GroupChatMessageDTO.ReactionInfo> reactions = new ArrayList<>();
-            try {
-                List<Object[]> reactionCounts = messageReactionRepository.countByMessageIdGroupByEmoji(msg.getId());
-                for (Object[] row : reactionCounts) {
-                    String emoji = (String) row[0];
-                    Long count = ((Number) row[1]).longValue();
-                    reactions.add(GroupChatMessageDTO.ReactionInfo.builder()
-                            .emoji(emoji)
-                            .count(count.intValue())
-                            .build());
-                }
-            } catch (Exception e) {
-                // 반응 정보 조회 실패 시 빈 리스트
-            }
-
-            // 현재 사용자가 추가한 반응 목록
-            List<String> myReactions = new ArrayList<>();
-            try {
-                if (currentUser != null) {
-                    myReactions = messageReactionRepository.findEmojisByMessageIdAndUserId(msg.getId(), currentUser.getId());
-                }
-            } catch (Exception e) {
-                // 현재 사용자 반응 조회 실패 시 빈 리스트
-            }
 
             return GroupChatMessageDTO.builder()
                     .id(msg.getId())
                     .message(msg.getMessage())
-                    .username(msg.getUser().getUsername())
-                    .nickname(msg.getUser().getNickname())
-                    .displayName(displayName)  // 채팅방별 별명
-                    .profileImageUrl(msg.getUser().getProfileImageUrl())
-                    .isAdmin(isAdmin)
+                    .username(author.getUsername())
+                    .nickname(author.getNickname())
+                    .displayName(authorMember.map(GroupMembershipCache.Member::displayName).orElse(null))  // 채팅방별 별명
+                    .profileImageUrl(author.getProfileImageUrl())
+                    .isAdmin(membership.isAdmin(author.getId()))
                     .createdTime(msg.getCreatedTime())
-                    .readCount(msg.getReadCount())
-                    .replyToMessageId(msg.getReplyToMessage() != null ? msg.getReplyToMessage().getId() : null)
+                    .readCount(readCounts.getOrDefault(msg.getId(), 0))
+                    .replyToMessageId(replyTo != null ? replyTo.getId() : null)
                     .replyToMessage(replyToMessageInfo)
-                    .reactions(reactions)
-                    .myReactions(myReactions)
+                    .reactions(reactionsByMessage.getOrDefault(msg.getId(), List.of()))
+                    .myReactions(myReactionsByMessage.getOrDefault(msg.getId(), List.of()))
                     .build();
         }).collect(Collectors.toList());
     }
@@ -844,5 +893,8 @@ public class GroupService {
                     .build();
             messageReactionRepository.save(reaction);
         }
+
+        // 채팅방 구독자에게 반응 수 변경 알림 (커밋 후, 채팅방별로 모아서 전송)
+        chatBroadcastAggregator.submitReaction(groupId, roomId, messageId);
     }
 }
@@ -0,0 +1,265 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.service.SearchDocumentSource.Counts;
+import com.pgh.api_practice.service.SearchDocumentSource.Row;
+import com.pgh.api_practice.service.SearchIndex.DocType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 검색 색인 비동기 반영.
+ * 게시글/모임 게시글/댓글 쓰기는 커밋 후 (종류, id) 이벤트만 큐에 넣고,
+ * 색인 스레드가 묶음으로 꺼내 DB 의 현재 행을 다시 읽어 색인/삭제한다 (같은 문서의 연속 변경은 하나로 합쳐짐).
+ * 큐가 가득 차면 offer-timeout 만큼 기다린 뒤 요청 스레드가 직접 반영한다 (이벤트를 버리지 않고 쓰기 속도를 늦춤).
+ * 조회수/좋아요 수 변경은 게시글 id 만 따로 모아 두었다가 정렬값(doc values)만 교체한다 (본문은 다시 분석하지 않음).
+ */
+@Slf4j
+@Component
+public class IndexingPipeline {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 1000;
+
+    public record IndexEvent(DocType type, long id) {
+    }
+
+    /** 처리 현황 */
+    public record Stats(int queued, long processed, long callerRuns, long failed) {
+    }
+
+    private final SearchIndex searchIndex;
+    private final SearchDocumentSource documentSource;
+    private final SearchResultCache searchResultCache;
+    private final BlockingQueue<IndexEvent> queue;
+    private final long offerTimeoutMs;
+
+    // 큐에서 대기 중인 이벤트 (중복 투입 방지)
+    private final Set<IndexEvent> pending = ConcurrentHashMap.newKeySet();
+    // 정렬값을 다시 읽어야 하는 게시글 id
+    private final Set<Long> pendingCounts = ConcurrentHashMap.newKeySet();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    // 재색인 중 반영한 문서 (재색인이 먼저 읽은 옛 내용으로 덮일 수 있어 끝난 뒤 다시 반영)
+    private volatile Set<IndexEvent> touchedDuringReindex;
+
+    private volatile boolean running = true;
+    private Thread worker;
+
+    public IndexingPipeline(SearchIndex searchIndex,
+                            SearchDocumentSource documentSource,
+                            SearchResultCache searchResultCache,
+                            @Value("${app.indexing.queue-capacity:10000}") int queueCapacity,
+                            @Value("${app.indexing.offer-timeout-ms:200}") long offerTimeoutMs) {
+        this.searchIndex = searchIndex;
+        this.documentSource = documentSource;
+        this.searchResultCache = searchResultCache;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "search-indexer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** 종료 시 남은 이벤트를 모두 반영 (SearchIndex 가 닫히기 전에 호출됨) */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        List<IndexEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            process(remaining);
+        }
+        applyCounts();
+    }
+
+    /** 문서 변경 알림 (트랜잭션 커밋 후 큐에 넣음) */
+    public void submit(DocType type, long id) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> enqueue(new IndexEvent(type, id)));
+    }
+
+    /** 게시글/모임 게시글에 달린 댓글 전체 변경 알림 (부모 삭제, 노출 범위 변경) */
+    public void submitComments(DocType parentType, long parentId) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> documentSource.findCommentIds(parentType, parentId)
+                .forEach(id -> enqueue(new IndexEvent(DocType.COMMENT, id))));
+    }
+
+    /** 게시글 조회수/좋아요 수 변경 알림 (트랜잭션 커밋 후 모아 두고 색인 스레드가 묶어서 반영) */
+    public void submitCounts(Collection<Long> postIds) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> pendingCounts.addAll(postIds));
+    }
+
+    public Stats stats() {
+        return new Stats(queue.size(), processed.sum(), callerRuns.sum(), failed.sum());
+    }
+
+    /** 재색인 시작: 이후 반영하는 문서를 기록 */
+    void beginTracking() {
+        touchedDuringReindex = ConcurrentHashMap.newKeySet();
+    }
+
+    /** 재색인 종료: 재색인 중 반영한 문서를 다시 큐에 넣음 */
+    void replayTracked() {
+        Set<IndexEvent> touched = touchedDuringReindex;
+        touchedDuringReindex = null;
+        if (touched != null) {
+            touched.forEach(this::enqueue);
+        }
+    }
+
+    private void enqueue(IndexEvent event) {
+        // 이미 대기 중이면 처리 시점에 최신 행을 읽으므로 합쳐도 됨
+        if (!pending.add(event)) {
+            return;
+        }
+        boolean accepted;
+        try {
+            accepted = queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            // 큐가 가득 참: 요청 스레드가 직접 반영
+            pending.remove(event);
+            callerRuns.increment();
+            process(List.of(event));
+        }
+    }
+
+    private void run() {
+        List<IndexEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                IndexEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    process(batch);
+                }
+                applyCounts();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("검색 색인 반영 중 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** 이벤트 묶음 반영: 종류별로 현재 행을 한 번에 읽어 색인/삭제 */
+    private void process(List<IndexEvent> events) {
+        // 꺼낸 뒤 들어오는 변경은 다시 큐에 들어가야 함
+        events.forEach(pending::remove);
+        Set<IndexEvent> touched = touchedDuringReindex;
+        if (touched != null) {
+            touched.addAll(events);
+        }
+
+        Map<DocType, List<Long>> idsByType = events.stream().collect(Collectors.groupingBy(IndexEvent::type,
+                () -> new EnumMap<>(DocType.class), Collectors.mapping(IndexEvent::id, Collectors.toList())));
+        idsByType.forEach((type, ids) -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    apply(type, ids);
+                    processed.add(ids.size());
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    if (attempt >= MAX_ATTEMPTS || !sleep(RETRY_DELAY_MS * attempt)) {
+                        failed.add(ids.size());
+                        log.error("검색 색인 반영 실패: {} {}건 (다음 전체 재색인 때 반영됨)", type, ids.size(), e);
+                        return;
+                    }
+                    log.warn("검색 색인 반영 재시도 {}/{}: {}", attempt, MAX_ATTEMPTS, e.getMessage());
+                }
+            }
+        });
+
+        if (idsByType.containsKey(DocType.POST)) {
+            // 게시글 검색 결과가 바뀌는 시점: 바로 검색에 보이게 하고 결과 캐시를 비움
+            try {
+                searchIndex.refresh();
+            } catch (IOException e) {
+                log.warn("검색 색인 갱신 실패", e);
+            }
+            searchResultCache.invalidateAll();
+        }
+    }
+
+    /**
+     * 모아 둔 게시글의 정렬값 반영 (DB 의 현재 값으로 doc values 만 교체).
+     * 검색 결과 캐시는 비우지 않는다: 정렬값은 원래 몇 초 늦게 따라가고, 색인은 주기적 refresh 로 보이게 된다.
+     */
+    private void applyCounts() {
+        while (!pendingCounts.isEmpty()) {
+            List<Long> ids = new ArrayList<>(BATCH_SIZE);
+            for (Iterator<Long> iterator = pendingCounts.iterator(); iterator.hasNext() && ids.size() < BATCH_SIZE; ) {
+                ids.add(iterator.next());
+                iterator.remove();
+            }
+            Set<IndexEvent> touched = touchedDuringReindex;
+            if (touched != null) {
+                ids.forEach(id -> touched.add(new IndexEvent(DocType.POST, id)));
+            }
+            try {
+                for (Counts counts : documentSource.findPostCounts(ids)) {
+                    searchIndex.updateCounts(counts.id(), counts.views(), counts.likes());
+                }
+            } catch (IOException | RuntimeException e) {
+                // 다음 변경이나 전체 재색인 때 다시 반영됨
+                log.warn("검색 정렬값 반영 실패: {}건", ids.size(), e);
+            }
+        }
+    }
+
+    private void apply(DocType type, List<Long> ids) throws IOException {
+        Map<Long, Row> rows = documentSource.findByIds(type, ids).stream()
+                .collect(Collectors.toMap(row -> row.document().id(), Function.identity()));
+        for (Long id : ids) {
+            Row row = rows.get(id);
+            if (row == null || row.deleted()) {
+                searchIndex.delete(type, id);
+            } else {
+                searchIndex.update(row.document());
+            }
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.repository.GroupPostRepository;
+import com.pgh.api_practice.repository.PostLikeRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+/**
+ * posts / group_posts 의 비정규화된 like_count 를 post_likes 기준으로 보정하는 백그라운드 작업.
+ * id 순으로 청크 단위로 읽고, 청크마다 별도 트랜잭션에서 어긋난 행만 UPDATE 한다 (ChunkedReconciler).
+ */
+@Slf4j
+@Component
+public class LikeCountReconciler {
+
+    private final PostRepository postRepository;
+    private final GroupPostRepository groupPostRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final IndexingPipeline indexingPipeline;
+    private final PostDetailCache postDetailCache;
+    private final PostLeaderboard postLeaderboard;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ChunkedReconciler chunks;
+
+    public LikeCountReconciler(PostRepository postRepository,
+                               GroupPostRepository groupPostRepository,
+                               PostLikeRepository postLikeRepository,
+                               IndexingPipeline indexingPipeline,
+                               PostDetailCache postDetailCache,
+                               PostLeaderboard postLeaderboard,
+                               ViewCountBuffer viewCountBuffer,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.like-count.reconcile-chunk-size:500}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.groupPostRepository = groupPostRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.indexingPipeline = indexingPipeline;
+        this.postDetailCache = postDetailCache;
+        this.postLeaderboard = postLeaderboard;
+        this.viewCountBuffer = viewCountBuffer;
+        this.chunks = new ChunkedReconciler(transactionManager, chunkSize);
+    }
+
+    @Scheduled(initialDelayString = "${app.like-count.reconcile-initial-delay-ms:60000}",
+               fixedDelayString = "${app.like-count.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            int fixedPosts = reconcilePosts();
+            int fixedGroupPosts = reconcileGroupPosts();
+            if (fixedPosts > 0 || fixedGroupPosts > 0) {
+                log.info("like_count 보정 완료 - posts: {}건, group_posts: {}건", fixedPosts, fixedGroupPosts);
+            }
+        } catch (Exception e) {
+            log.error("like_count 보정 실패", e);
+        }
+    }
+
+    /** posts.like_count 보정, 수정된 행 수 반환 */
+    public int reconcilePosts() {
+        return chunks.run(postRepository::findLikeCountChunk, (rows, ids) -> ChunkedReconciler.fixCounts(rows, 1,
+                ChunkedReconciler.toCountMap(postLikeRepository.countGroupByPostIdIn(ids)), (id, stored, expected) -> {
+                    if (postRepository.updateLikeCount(id, stored, expected) == 0) {
+                        return 0;
+                    }
+                    // 좋아요 토글과 같은 경로로 상세 캐시/검색/리더보드에도 보정값 반영
+                    postDetailCache.invalidate(id);
+                    indexingPipeline.submitCounts(List.of(id));
+                    postRepository.findById(id).ifPresent(post -> postLeaderboard.update(
+                            post, post.getViews() + viewCountBuffer.pendingPost(id), expected));
+                    return 1;
+                }));
+    }
+
+    /** group_posts.like_count 보정, 수정된 행 수 반환 */
+    public int reconcileGroupPosts() {
+        return chunks.run(groupPostRepository::findLikeCountChunk, (rows, ids) -> ChunkedReconciler.fixCounts(rows, 1,
+                ChunkedReconciler.toCountMap(postLikeRepository.countGroupByGroupPostIdIn(ids)), (id, stored, expected) -> {
+                    if (groupPostRepository.updateLikeCount(id, stored, expected) == 0) {
+                        return 0;
+                    }
+                    groupPostRepository.findById(id).ifPresent(groupPost -> postLeaderboard.update(
+                            groupPost, groupPost.getViews() + viewCountBuffer.pendingGroupPost(id), expected));
+                    return 1;
+                }));
+    }
+}
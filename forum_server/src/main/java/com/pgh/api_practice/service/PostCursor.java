@@ -0,0 +1,183 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 게시글 목록 커서(keyset) 페이지네이션.
+ * 커서는 정렬 방식과 소스(posts, group_posts)별 마지막으로 내려준 (정렬 키, id)를 담은 불투명 문자열이다.
+ * 소스마다 위치를 따로 기억하므로 두 테이블의 id가 겹쳐도 누락/중복 없이 이어서 조회할 수 있다.
+ */
+final class PostCursor {
+
+    private static final String VERSION = "v1";
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    /** 소스별 다음 행 조회: after 보다 뒤에 오는 행을 limit 개까지 (키 DESC, id DESC) */
+    interface Source {
+        List<PostFeedEntry> fetch(Position after, Pageable limit);
+    }
+
+    /** 소스 내 위치 (key 가 비어 있으면 처음부터) */
+    record Position(String key, long id) {
+
+        static final Position START = new Position("", Long.MAX_VALUE);
+
+        LocalDateTime createdTime() {
+            return key.isEmpty() ? MAX_TIME : LocalDateTime.parse(key);
+        }
+
+        int views() {
+            return key.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(key);
+        }
+
+        long likeCount() {
+            return key.isEmpty() ? Long.MAX_VALUE : Long.parseLong(key);
+        }
+    }
+
+    /** 한 페이지 병합 결과 */
+    record Result(List<PostFeedEntry> content, String nextCursor) {
+    }
+
+    private final String sortType;
+    private final Position[] positions;
+
+    private PostCursor(String sortType, Position[] positions) {
+        this.sortType = sortType;
+        this.positions = positions;
+    }
+
+    static String normalizeSortType(String sortType) {
+        if ("HITS".equalsIgnoreCase(sortType)) {
+            return "HITS";
+        } else if ("LIKES".equalsIgnoreCase(sortType)) {
+            return "LIKES";
+        }
+        return "RESENT";
+    }
+
+    /** 빈 커서는 첫 페이지, 그 외에는 요청한 정렬 방식과 일치해야 함 */
+    static PostCursor decode(String token, String sortType, int sourceCount) {
+        String normalized = normalizeSortType(sortType);
+        Position[] positions = new Position[sourceCount];
+        if (token == null || token.isBlank()) {
+            Arrays.fill(positions, Position.START);
+            return new PostCursor(normalized, positions);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 2 + sourceCount * 2 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("bad cursor");
+            }
+            if (!normalized.equals(parts[1])) {
+                throw new ApplicationBadRequestException("커서의 정렬 방식이 요청과 다릅니다.");
+            }
+            for (int i = 0; i < sourceCount; i++) {
+                positions[i] = new Position(parts[2 + i * 2], Long.parseLong(parts[3 + i * 2]));
+                validateKey(normalized, positions[i]);
+            }
+            return new PostCursor(normalized, positions);
+        } catch (ApplicationBadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ApplicationBadRequestException("잘못된 커서입니다.");
+        }
+    }
+
+    String encode() {
+        StringBuilder raw = new StringBuilder(VERSION).append('|').append(sortType);
+        for (Position position : positions) {
+            raw.append('|').append(position.key()).append('|').append(position.id());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    String sortType() {
+        return sortType;
+    }
+
+    /**
+     * 소스마다 size + 1 개씩 읽어 병합하고 size 개를 반환한다. count 쿼리는 실행하지 않는다.
+     * sources 순서는 decode 할 때의 sourceCount 순서와 같아야 한다.
+     */
+    Result merge(List<Source> sources, int size) {
+        List<List<PostFeedEntry>> buffers = new ArrayList<>(sources.size());
+        for (int i = 0; i < sources.size(); i++) {
+            buffers.add(sources.get(i).fetch(positions[i], PageRequest.of(0, size + 1)));
+        }
+
+        Comparator<PostFeedEntry> comparator = comparatorOf(sortType);
+        int[] heads = new int[sources.size()];
+        Position[] next = positions.clone();
+        List<PostFeedEntry> content = new ArrayList<>(size);
+        while (content.size() < size) {
+            int best = -1;
+            for (int i = 0; i < buffers.size(); i++) {
+                if (heads[i] >= buffers.get(i).size()) {
+                    continue;
+                }
+                // 키가 같으면 앞 소스 우선
+                if (best < 0 || comparator.compare(buffers.get(i).get(heads[i]), buffers.get(best).get(heads[best])) < 0) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            PostFeedEntry entry = buffers.get(best).get(heads[best]++);
+            next[best] = new Position(keyOf(sortType, entry), entry.id());
+            content.add(entry);
+        }
+
+        boolean hasNext = false;
+        for (int i = 0; i < buffers.size(); i++) {
+            if (heads[i] < buffers.get(i).size()) {
+                hasNext = true;
+                break;
+            }
+        }
+        return new Result(content, hasNext ? new PostCursor(sortType, next).encode() : null);
+    }
+
+    private static String keyOf(String sortType, PostFeedEntry entry) {
+        if ("HITS".equals(sortType)) {
+            return String.valueOf(entry.views());
+        } else if ("LIKES".equals(sortType)) {
+            return String.valueOf(entry.likeCount());
+        }
+        return entry.createdTime().toString();
+    }
+
+    /** 정렬 방식에 맞는 키 형식인지 검증 (형식이 다르면 예외) */
+    private static void validateKey(String sortType, Position position) {
+        if ("HITS".equals(sortType)) {
+            position.views();
+        } else if ("LIKES".equals(sortType)) {
+            position.likeCount();
+        } else {
+            position.createdTime();
+        }
+    }
+
+    /** (정렬 키 DESC, id DESC) 순서 */
+    private static Comparator<PostFeedEntry> comparatorOf(String sortType) {
+        Comparator<PostFeedEntry> byId = Comparator.comparing(PostFeedEntry::id, Comparator.reverseOrder());
+        if ("HITS".equals(sortType)) {
+            return Comparator.comparingInt(PostFeedEntry::views).reversed().thenComparing(byId);
+        } else if ("LIKES".equals(sortType)) {
+            return Comparator.comparingLong(PostFeedEntry::likeCount).reversed().thenComparing(byId);
+        }
+        return Comparator.comparing(PostFeedEntry::createdTime).reversed().thenComparing(byId);
+    }
+}
@@ -0,0 +1,94 @@
+package com.pgh.api_practice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.pgh.api_practice.dto.PostDetailDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 게시글 상세 조회 캐시.
+ * 사용자와 무관한 상세 정보(제목, 본문, 작성자, 태그, 모임 정보, 좋아요 수)를 JSON 으로 직렬화해
+ * 힙 밖(direct ByteBuffer)에 보관한다. 조회수와 isLiked 는 응답 시점에 합친다.
+ *
+ * 무효화와 채우기가 엇갈려 예전 내용이 다시 들어가지 않도록, 조회 전에 받은 stamp 가
+ * 저장 시점까지 그대로일 때만 저장한다. 트랜잭션 안에서 무효화하면 커밋 후에 한 번 더 무효화한다.
+ */
+@Slf4j
+@Component
+public class PostDetailCache {
+
+    private record Entry(ByteBuffer json, Long groupId) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntryBytes;
+
+    // 크기는 직렬화된 JSON 바이트 수 합으로 제한
+    private final StampedLruCache<Entry> entries;
+
+    public PostDetailCache(ObjectMapper objectMapper,
+                           @Value("${app.post-detail-cache.max-bytes:67108864}") long maxBytes,
+                           @Value("${app.post-detail-cache.max-entry-bytes:1048576}") int maxEntryBytes) {
+        this.objectMapper = objectMapper;
+        this.maxEntryBytes = maxEntryBytes;
+        this.entries = new StampedLruCache<>(entry -> entry.json().capacity(), maxBytes);
+    }
+
+    /** DB 조회 전에 받아 두었다가 put 에 넘김 */
+    public long stamp(long postId) {
+        return entries.stamp(postId);
+    }
+
+    public Optional<PostDetailDTO> get(long postId) {
+        Optional<Entry> entry = entries.get(postId);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        ByteBuffer json = entry.get().json().duplicate();
+        try (InputStream in = new ByteBufferBackedInputStream(json)) {
+            return Optional.of(objectMapper.readValue(in, PostDetailDTO.class));
+        } catch (IOException e) {
+            log.warn("게시글 상세 캐시 역직렬화 실패 (postId={})", postId, e);
+            invalidate(postId);
+            return Optional.empty();
+        }
+    }
+
+    /** 사용자별 필드를 채우기 전의 상세 정보 저장 (stamp 가 바뀌었으면 저장하지 않음) */
+    public void put(long postId, long stamp, PostDetailDTO detail) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(detail);
+        } catch (IOException e) {
+            log.warn("게시글 상세 캐시 직렬화 실패 (postId={})", postId, e);
+            return;
+        }
+        if (bytes.length > maxEntryBytes) {
+            return;
+        }
+        ByteBuffer json = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+
+        entries.put(postId, stamp, new Entry(json, detail.getGroupId()));
+    }
+
+    /** 게시글 하나 무효화 (수정, 삭제, 좋아요 토글) */
+    public void invalidate(long postId) {
+        entries.invalidate(postId);
+        AfterCommit.run(AfterCommit.NoTransaction.SKIP, () -> entries.invalidate(postId));
+    }
+
+    /** 모임 정보가 바뀐 경우 해당 모임 게시글 전체 무효화 */
+    public void invalidateGroup(long groupId) {
+        entries.invalidateIf(entry -> Objects.equals(entry.groupId(), groupId));
+        AfterCommit.run(AfterCommit.NoTransaction.SKIP,
+                () -> entries.invalidateIf(entry -> Objects.equals(entry.groupId(), groupId)));
+    }
+}
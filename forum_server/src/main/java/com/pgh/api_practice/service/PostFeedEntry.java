@@ -0,0 +1,59 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostSummaryDTO;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/** posts / group_posts 통합 피드 병합용 항목 (groupPost 가 true 이면 group_posts 의 행) */
+record PostFeedEntry(boolean groupPost, PostSummaryDTO summary) {
+
+    static PostFeedEntry ofPost(PostSummaryDTO summary) {
+        return new PostFeedEntry(false, summary);
+    }
+
+    static PostFeedEntry ofGroupPost(PostSummaryDTO summary) {
+        return new PostFeedEntry(true, summary);
+    }
+
+    Long id() {
+        return summary.getId();
+    }
+
+    LocalDateTime createdTime() {
+        return summary.getCreatedTime();
+    }
+
+    int views() {
+        return summary.getViews();
+    }
+
+    long likeCount() {
+        return summary.getLikeCount();
+    }
+
+    /** sortType 에 해당하는 DB 정렬 (Post, GroupPost 공통 필드명) */
+    static Sort sortOf(String sortType) {
+        if ("HITS".equalsIgnoreCase(sortType)) {
+            return Sort.by(Sort.Direction.DESC, "views", "createdTime", "id");
+        } else if ("LIKES".equalsIgnoreCase(sortType)) {
+            return Sort.by(Sort.Direction.DESC, "likeCount", "createdTime", "id");
+        }
+        // RESENT 또는 기본값: 최신순
+        return Sort.by(Sort.Direction.DESC, "createdTime", "id");
+    }
+
+    /** sortOf 와 같은 순서의 메모리 비교자 */
+    static Comparator<PostFeedEntry> comparatorOf(String sortType) {
+        Comparator<PostFeedEntry> byCreatedTime = Comparator.comparing(PostFeedEntry::createdTime,
+                Comparator.nullsLast(Comparator.reverseOrder()));
+        Comparator<PostFeedEntry> byId = Comparator.comparing(PostFeedEntry::id, Comparator.reverseOrder());
+        if ("HITS".equalsIgnoreCase(sortType)) {
+            return Comparator.comparingInt(PostFeedEntry::views).reversed().thenComparing(byCreatedTime).thenComparing(byId);
+        } else if ("LIKES".equalsIgnoreCase(sortType)) {
+            return Comparator.comparingLong(PostFeedEntry::likeCount).reversed().thenComparing(byCreatedTime).thenComparing(byId);
+        }
+        return byCreatedTime.thenComparing(byId);
+    }
+}
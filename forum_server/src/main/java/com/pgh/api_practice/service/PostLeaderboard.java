@@ -0,0 +1,259 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostSummaryDTO;
+import com.pgh.api_practice.entity.GroupPost;
+import com.pgh.api_practice.entity.Post;
+import com.pgh.api_practice.repository.GroupPostRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
+
+/**
+ * 전체 피드(groupFilter=ALL)의 조회수순/좋아요순 상위 N개를 메모리에 유지하는 리더보드.
+ * 조회수 증가, 좋아요 토글, 작성/수정/삭제 시 증분 갱신되고, 시작 시와 주기적으로 DB에서 다시 만든다.
+ *
+ * 보드 밖 항목이 가질 수 있는 가장 높은 순위(ceiling)를 함께 기억해서,
+ * ceiling 보다 확실히 앞서는 구간만 응답에 사용한다. 요청 페이지가 그 구간을 벗어나면 DB 정렬로 처리한다.
+ * 그 구간의 크기는 갱신마다 증감해 두어 페이지 조회 때 보드 전체를 세지 않는다.
+ */
+@Slf4j
+@Component
+public class PostLeaderboard {
+
+    public enum Metric { VIEWS, LIKES }
+
+    /** 보드 항목 (groupPost 가 true 이면 group_posts 의 id) */
+    public record Item(boolean groupPost, long id) {
+    }
+
+    private record Key(Item item, long score, LocalDateTime createdTime) {
+    }
+
+    /** PostFeedEntry.comparatorOf(HITS/LIKES) 와 같은 순서: 점수 DESC, 작성 시간 DESC, id DESC */
+    private static final Comparator<Key> ORDER = Comparator.comparingLong(Key::score).reversed()
+            .thenComparing(Key::createdTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(k -> k.item().id(), Comparator.reverseOrder())
+            .thenComparing(k -> k.item().groupPost());
+
+    private final PostRepository postRepository;
+    private final GroupPostRepository groupPostRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final int capacity;
+    private final Board views;
+    private final Board likes;
+
+    public PostLeaderboard(PostRepository postRepository,
+                           GroupPostRepository groupPostRepository,
+                           ViewCountBuffer viewCountBuffer,
+                           @Value("${app.leaderboard.capacity:2000}") int capacity) {
+        this.postRepository = postRepository;
+        this.groupPostRepository = groupPostRepository;
+        this.viewCountBuffer = viewCountBuffer;
+        this.capacity = capacity;
+        this.views = new Board(capacity);
+        this.likes = new Board(capacity);
+    }
+
+    /** 시작 시 및 주기적으로 DB 기준 재구성 (증분 갱신 누락/롤백 보정) */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.leaderboard.rebuild-interval-ms:600000}",
+               fixedDelayString = "${app.leaderboard.rebuild-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try {
+            // 조회수는 아직 DB 에 반영되지 않은 버퍼 값까지 더해 증분 갱신과 같은 기준으로 맞춤
+            views.rebuild(load(Metric.VIEWS), item -> item.groupPost()
+                    ? viewCountBuffer.pendingGroupPost(item.id()) : viewCountBuffer.pendingPost(item.id()));
+            likes.rebuild(load(Metric.LIKES), item -> 0);
+        } catch (Exception e) {
+            log.error("리더보드 재구성 실패", e);
+        }
+    }
+
+    private List<List<Key>> load(Metric metric) {
+        Sort sort = PostFeedEntry.sortOf(metric == Metric.VIEWS ? "HITS" : "LIKES");
+        List<Key> posts = new ArrayList<>();
+        for (PostSummaryDTO post : postRepository.findPublicFeedChunk(true, true, PageRequest.of(0, capacity, sort))) {
+            posts.add(keyOf(new Item(false, post.getId()), metric == Metric.VIEWS ? post.getViews() : post.getLikeCount(), post.getCreatedTime()));
+        }
+        List<Key> groupPosts = new ArrayList<>();
+        for (PostSummaryDTO groupPost : groupPostRepository.findPublicFeedChunk(PageRequest.of(0, capacity, sort))) {
+            groupPosts.add(keyOf(new Item(true, groupPost.getId()), metric == Metric.VIEWS ? groupPost.getViews() : groupPost.getLikeCount(), groupPost.getCreatedTime()));
+        }
+        return List.of(posts, groupPosts);
+    }
+
+    /** 게시글의 현재 조회수/좋아요 수 반영 (전체 피드 노출 대상이 아니면 제거) */
+    public void update(Post post, long viewCount, long likeCount) {
+        boolean listed = !post.isDeleted() && (post.getGroup() == null || post.isPublic());
+        update(new Item(false, post.getId()), listed, post.getCreatedTime(), viewCount, likeCount);
+    }
+
+    public void update(GroupPost groupPost, long viewCount, long likeCount) {
+        boolean listed = !groupPost.isDeleted() && groupPost.isPublic();
+        update(new Item(true, groupPost.getId()), listed, groupPost.getCreatedTime(), viewCount, likeCount);
+    }
+
+    public void remove(Post post) {
+        remove(new Item(false, post.getId()));
+    }
+
+    public void remove(GroupPost groupPost) {
+        remove(new Item(true, groupPost.getId()));
+    }
+
+    /**
+     * 상위 페이지 조회. 보드만으로 정확한 순서를 보장할 수 없는 구간이면 empty.
+     */
+    public Optional<List<Item>> page(Metric metric, long offset, int size) {
+        return (metric == Metric.VIEWS ? views : likes).page(offset, size);
+    }
+
+    /** 엔티티 없이 갱신 (상세 캐시 적중 시) */
+    public void update(Item item, boolean listed, LocalDateTime createdTime, long viewCount, long likeCount) {
+        if (!listed) {
+            removeNow(item);
+            return;
+        }
+        views.put(keyOf(item, viewCount, createdTime));
+        likes.put(keyOf(item, likeCount, createdTime));
+    }
+
+    /**
+     * 보드에서 제거. 트랜잭션 안이면 커밋 후 한 번 더 제거한다
+     * (커밋 전에 읽은 조회/좋아요 갱신이 그 사이 다시 올려 놓을 수 있으므로).
+     */
+    public void remove(Item item) {
+        removeNow(item);
+        AfterCommit.run(AfterCommit.NoTransaction.SKIP, () -> removeNow(item));
+    }
+
+    private void removeNow(Item item) {
+        views.remove(item);
+        likes.remove(item);
+    }
+
+    private static Key keyOf(Item item, long score, LocalDateTime createdTime) {
+        return new Key(item, score, createdTime);
+    }
+
+    private static final class Board {
+        private final int capacity;
+        private final TreeSet<Key> ranking = new TreeSet<>(ORDER);
+        private final Map<Item, Key> keys = new HashMap<>();
+        // 보드 밖 항목이 가질 수 있는 가장 높은 순위의 키 (null 이면 보드 밖에 항목 없음)
+        private Key ceiling;
+        // ceiling 보다 앞서는 항목 수 (ceiling 이 null 이면 쓰지 않음)
+        private int reliable;
+
+        Board(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /** 소스별로 DB 점수 순으로 정렬된 상위 capacity 개 목록으로 재구성 (pending 은 항목별로 더할 점수) */
+        synchronized void rebuild(List<List<Key>> sources, ToLongFunction<Item> pending) {
+            ranking.clear();
+            keys.clear();
+            ceiling = null;
+            for (List<Key> source : sources) {
+                for (Key key : source) {
+                    Key current = keyOf(key.item(), key.score() + pending.applyAsLong(key.item()), key.createdTime());
+                    ranking.add(current);
+                    keys.put(current.item(), current);
+                }
+                // 가득 찬 소스는 마지막 행 뒤에도 행이 더 있을 수 있음
+                if (source.size() == capacity) {
+                    raiseCeiling(source.get(source.size() - 1));
+                }
+            }
+            trim();
+            // 재구성 때만 한 번 센다
+            reliable = ceiling == null ? 0 : ranking.headSet(ceiling, false).size();
+        }
+
+        synchronized void put(Key key) {
+            Key previous = keys.put(key.item(), key);
+            if (previous != null) {
+                ranking.remove(previous);
+                if (beforeCeiling(previous)) {
+                    reliable--;
+                }
+            }
+            ranking.add(key);
+            if (beforeCeiling(key)) {
+                reliable++;
+            }
+            trim();
+        }
+
+        synchronized void remove(Item item) {
+            Key previous = keys.remove(item);
+            if (previous != null) {
+                ranking.remove(previous);
+                if (beforeCeiling(previous)) {
+                    reliable--;
+                }
+            }
+        }
+
+        synchronized Optional<List<Item>> page(long offset, int size) {
+            // ceiling 보다 앞서는 항목만 순서가 확정됨
+            if (ceiling != null && offset + size > reliable) {
+                return Optional.empty();
+            }
+            List<Item> items = new ArrayList<>(size);
+            Iterator<Key> iterator = ranking.iterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (items.size() < size && iterator.hasNext()) {
+                items.add(iterator.next().item());
+            }
+            return Optional.of(items);
+        }
+
+        private void trim() {
+            while (ranking.size() > capacity) {
+                Key evicted = ranking.pollLast();
+                keys.remove(evicted.item());
+                if (beforeCeiling(evicted)) {
+                    reliable--;
+                }
+                if (raiseCeiling(evicted)) {
+                    // 보드의 마지막 항목이 새 ceiling: 남은 항목은 모두 그보다 앞섬
+                    reliable = ranking.size();
+                }
+            }
+        }
+
+        private boolean raiseCeiling(Key key) {
+            if (ceiling == null || ORDER.compare(key, ceiling) < 0) {
+                ceiling = key;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean beforeCeiling(Key key) {
+            return ceiling != null && ORDER.compare(key, ceiling) < 0;
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.pgh.api_practice.service;
 
 import com.pgh.api_practice.dto.CreatePost;
+import com.pgh.api_practice.dto.CursorPageDTO;
 import com.pgh.api_practice.dto.PatchPostDTO;
 import com.pgh.api_practice.dto.PostDetailDTO;
 import com.pgh.api_practice.dto.PostListDTO;
+import com.pgh.api_practice.dto.PostSummaryDTO;
+import com.pgh.api_practice.dto.SuggestDTO;
 import com.pgh.api_practice.entity.Group;
 import com.pgh.api_practice.entity.GroupPost;
 import com.pgh.api_practice.entity.Post;
 import com.pgh.api_practice.entity.PostLike;
-import com.pgh.api_practice.entity.PostTag;
-import com.pgh.api_practice.entity.Tag;
 import com.pgh.api_practice.entity.Users;
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
 import com.pgh.api_practice.exception.ApplicationUnauthorizedException;
 import com.pgh.api_practice.exception.ResourceNotFoundException;
 import com.pgh.api_practice.repository.GroupMemberRepository;
@@ -19,11 +21,13 @@ import com.pgh.api_practice.repository.GroupRepository;
 import com.pgh.api_practice.repository.PostLikeRepository;
 import com.pgh.api_practice.repository.PostRepository;
 import com.pgh.api_practice.repository.PostTagRepository;
-import com.pgh.api_practice.repository.TagRepository;
 import com.pgh.api_practice.repository.UserRepository;
 import lombok.AllArgsConstructor;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -31,8 +35,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,11 +54,28 @@ public class PostService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final PostLikeRepository postLikeRepository;
-    private final TagRepository tagRepository;
+    private final TagDictionary tagDictionary;
     private final PostTagRepository postTagRepository;
     private final GroupRepository groupRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final GroupPostRepository groupPostRepository;
+    private final PostLeaderboard postLeaderboard;
+    private final ViewCountBuffer viewCountBuffer;
+    private final PostDetailCache postDetailCache;
+    private final PostTagIndex postTagIndex;
+    private final SearchIndex searchIndex;
+    private final IndexingPipeline indexingPipeline;
+    private final SearchResultCache searchResultCache;
+    private final SuggestIndex suggestIndex;
+
+    /** 커서 페이지네이션 최대 페이지 크기 */
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /** 태그/검색 결과를 id IN 으로 정렬 조회할 최대 후보 수 (넘으면 다른 방식으로 페이지만 조회) */
+    private static final int MAX_TAG_ID_FILTER = 1000;
+
+    /** 자동완성 종류별 최대 개수 */
+    private static final int MAX_SUGGEST_SIZE = 20;
 
     /** ✅ 게시글 저장 */
     @Transactional
@@ -89,73 +118,85 @@ public class PostService {
         Post post = postBuilder.build();
 
         Post created = postRepository.save(post);
+        postLeaderboard.update(created, 0, 0);
         
         // 태그 저장
+        List<String> tagNames = new ArrayList<>();
         if (dto.getTags() != null && !dto.getTags().isEmpty()) {
-            saveTags(created, dto.getTags());
+            tagNames = saveTags(created, dto.getTags());
         }
+        postTagIndex.put(toIndexState(created, tagNames));
+        indexForSearch(created);
         
         return created.getId();
     }
     
-    /** 태그 저장 헬퍼 메서드 */
-    private void saveTags(Post post, List<String> tagNames) {
-        for (String tagName : tagNames) {
-            if (tagName == null || tagName.trim().isEmpty()) {
-                continue;
-            }
-            
-            String trimmedTagName = tagName.trim().toLowerCase();
-            
-            // 태그가 이미 존재하는지 확인
-            Tag tag = tagRepository.findByName(trimmedTagName)
-                    .orElseGet(() -> {
-                        Tag newTag = Tag.builder()
-                                .name(trimmedTagName)
-                                .build();
-                        return tagRepository.save(newTag);
-                    });
-            
-            // PostTag 관계 생성 (중복 체크)
-            boolean exists = postTagRepository.findByPostId(post.getId()).stream()
-                    .anyMatch(pt -> pt.getTag().getId().equals(tag.getId()));
-            
-            if (!exists) {
-                PostTag postTag = PostTag.builder()
-                        .post(post)
-                        .tag(tag)
-                        .build();
-                postTagRepository.save(postTag);
-            }
+    /** 태그 저장 헬퍼 메서드: 태그 id는 사전에서 찾고, 없는 태그와 post_tags는 각각 한 번에 INSERT (저장된 태그 이름 반환) */
+    private List<String> saveTags(Post post, List<String> tagNames) {
+        Map<String, Long> tagIds = tagDictionary.resolve(TagDictionary.normalize(tagNames));
+        tagDictionary.linkPost(post.getId(), tagIds.values());
+        return new ArrayList<>(tagIds.keySet());
+    }
+    
+    /** 검색 색인(비동기)/자동완성/검색 결과 캐시에 게시글 제목/본문 반영 (자동완성은 전체 피드 노출 게시글만) */
+    private void indexForSearch(Post post) {
+        PostTagIndex.Scope scope = PostTagIndex.scopeOf(post.getGroup() != null, post.isPublic());
+        indexingPipeline.submit(SearchIndex.DocType.POST, post.getId());
+        searchResultCache.invalidateAll();
+        if (scope == PostTagIndex.Scope.GROUP_PRIVATE) {
+            suggestIndex.removeTitle(post.getId());
+        } else {
+            suggestIndex.putTitle(post.getId(), post.getTitle(), post.getViews() + viewCountBuffer.pendingPost(post.getId()));
         }
     }
+    
+    /** 태그 색인에 넣을 게시글 상태 (tagNames 가 null 이면 색인의 기존 태그 유지) */
+    private PostTagIndex.PostState toIndexState(Post post, List<String> tagNames) {
+        return new PostTagIndex.PostState(post.getId(), post.getUser().getId(),
+                PostTagIndex.scopeOf(post.getGroup() != null, post.isPublic()), tagNames);
+    }
+    
+    /** 태그 수정: 기존/새 태그 집합을 비교해 빠진 것만 삭제, 추가된 것만 INSERT (변경 여부 반환) */
+    private boolean replaceTags(Post post, List<String> tagNames) {
+        Set<Long> newTagIds = new LinkedHashSet<>(tagDictionary.resolve(TagDictionary.normalize(tagNames)).values());
+        Set<Long> oldTagIds = new HashSet<>(postTagRepository.findTagIdsByPostId(post.getId()));
+        
+        List<Long> removed = oldTagIds.stream().filter(tagId -> !newTagIds.contains(tagId)).collect(Collectors.toList());
+        List<Long> added = newTagIds.stream().filter(tagId -> !oldTagIds.contains(tagId)).collect(Collectors.toList());
+        if (!removed.isEmpty()) {
+            postTagRepository.deleteByPostIdAndTagIdIn(post.getId(), removed);
+        }
+        tagDictionary.linkPost(post.getId(), added);
+        return !removed.isEmpty() || !added.isEmpty();
+    }
 
     /** ✅ 단건 조회 (조회수 증가 포함) */
-    @Transactional
+    @Transactional(readOnly = true)
     public PostDetailDTO getPostDetail(long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("게시글을 찾을 수 없습니다."));
-
-        if (post.isDeleted()) {
-            throw new ResourceNotFoundException("삭제된 게시글입니다.");
-        }
+        // 사용자와 무관한 부분은 캐시에서, 없으면 DB에서 조립해 캐시에 저장
+        long stamp = postDetailCache.stamp(id);
+        PostDetailDTO detail = postDetailCache.get(id).orElse(null);
+        long persistedViews;
+        if (detail != null) {
+            persistedViews = postRepository.findViewsById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("게시글을 찾을 수 없습니다."));
+        } else {
+            Post post = postRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("게시글을 찾을 수 없습니다."));
 
-        // 조회수 증가 (updatedTime은 변경하지 않음)
-        postRepository.incrementViews(id);
-        
-        // 조회수 증가 후 다시 조회하여 정확한 값 가져오기
-        post = postRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("게시글을 찾을 수 없습니다."));
+            if (post.isDeleted()) {
+                throw new ResourceNotFoundException("삭제된 게시글입니다.");
+            }
 
-        // updateDateTime이 null이거나 유효하지 않은 경우 createDateTime으로 설정
-        LocalDateTime updateTime = post.getUpdatedTime();
-        if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-            updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-            updateTime = post.getCreatedTime();
+            detail = buildPostDetail(post);
+            postDetailCache.put(id, stamp, detail);
+            persistedViews = post.getViews();
         }
 
-        // 좋아요 수 조회
-        long likeCount = postLikeRepository.countByPostId(post.getId());
+        // 조회수 증가 (메모리에 누적 후 주기적으로 일괄 반영, 응답에는 미반영분 포함)
+        long views = persistedViews + viewCountBuffer.incrementPost(id);
+        boolean listed = detail.getGroupId() == null || Boolean.TRUE.equals(detail.getIsPublic());
+        postLeaderboard.update(new PostLeaderboard.Item(false, id), listed, detail.getCreateDateTime(), views, detail.getLikeCount());
         
         // 현재 사용자가 좋아요를 눌렀는지 확인
         boolean isLiked = false;
@@ -164,10 +205,23 @@ public class PostService {
             String username = authentication.getName();
             Users user = userRepository.findByUsername(username).orElse(null);
             if (user != null) {
-                isLiked = postLikeRepository.existsByPostIdAndUserId(post.getId(), user.getId());
+                isLiked = postLikeRepository.existsByPostIdAndUserId(id, user.getId());
             }
         }
         
+        detail.setViews(String.valueOf(views));
+        detail.setLiked(isLiked);
+        return detail;
+    }
+
+    /** 상세 정보 중 사용자와 무관한 부분 (조회수, isLiked 제외) */
+    private PostDetailDTO buildPostDetail(Post post) {
+        // updateDateTime이 null이거나 유효하지 않은 경우 createDateTime으로 설정
+        LocalDateTime updateTime = resolveUpdateTime(post.getCreatedTime(), post.getUpdatedTime());
+
+        // 좋아요 수 조회
+        long likeCount = postLikeRepository.countByPostId(post.getId());
+        
         // 태그 조회
         List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
                 .map(pt -> pt.getTag().getName())
@@ -177,12 +231,10 @@ public class PostService {
                 .title(post.getTitle())
                 .body(post.getBody())
                 .username(post.getUser().getUsername())
-                .Views(String.valueOf(post.getViews()))
                 .createDateTime(post.getCreatedTime())
                 .updateDateTime(updateTime)
                 .profileImageUrl(post.getProfileImageUrl())
                 .likeCount(likeCount)
-                .isLiked(isLiked)
                 .tags(tags);
         
         // 모임 정보 추가
@@ -202,118 +254,82 @@ public class PostService {
         boolean filterGeneralOnly = "GENERAL".equalsIgnoreCase(groupFilter);
         boolean filterGroupOnly = "GROUP".equalsIgnoreCase(groupFilter);
         
-        // 1. posts 테이블에서 일반 게시글과 외부 공개 모임 게시글 조회
-        Page<Post> posts;
-        if ("RESENT".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllPublicPostsOrderByCreatedTimeDesc(pageable);
-        } else if ("HITS".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllPublicPostsOrderByViewsDesc(pageable);
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllPublicPostsOrderByLikesDesc(pageable);
-        } else {
-            posts = postRepository.findAllPublicPostsOrderByCreatedTimeDesc(pageable);
+        // 조회수순/좋아요순 상위 페이지는 메모리 리더보드로 순서를 정하고 해당 행만 조회
+        if (!filterGeneralOnly && !filterGroupOnly
+                && ("HITS".equalsIgnoreCase(sortType) || "LIKES".equalsIgnoreCase(sortType))) {
+            Optional<Page<PostListDTO>> top = findLeaderboardPage(pageable, sortType);
+            if (top.isPresent()) {
+                return top.get();
+            }
+        }
+        
+        // 1. posts(일반 게시글 + 외부 공개 모임 게시글)와 group_posts(외부 공개)를 정렬된 소스로 구성
+        boolean includeGeneral = !filterGroupOnly;
+        boolean includeGroup = !filterGeneralOnly;
+        List<SortedSourceMerger.Source<PostFeedEntry>> sources = new ArrayList<>();
+        sources.add(SortedSourceMerger.source(
+                chunk -> toFeedEntries(postRepository.findPublicFeedChunk(includeGeneral, includeGroup, chunk)),
+                () -> postRepository.countPublicFeed(includeGeneral, includeGroup)));
+        if (includeGroup) {
+            sources.add(SortedSourceMerger.source(
+                    chunk -> toGroupFeedEntries(groupPostRepository.findPublicFeedChunk(chunk)),
+                    () -> groupPostRepository.countPublicFeed()));
         }
+        
+        // 2. 소스마다 앞 offset + size 개만 한 번에 읽어 k-way 병합
+        Page<PostFeedEntry> merged = SortedSourceMerger.merge(sources,
+                PostFeedEntry.sortOf(sortType), PostFeedEntry.comparatorOf(sortType), pageable);
+        
+        // 3. 최종 페이지만 PostListDTO로 변환
+        return new PageImpl<>(toFeedListDTOs(merged.getContent()), pageable, merged.getTotalElements());
+    }
 
-        // 2. group_posts 테이블에서 외부 공개 게시글 조회 (필터링 필요 시)
-        Page<GroupPost> publicGroupPosts = null;
-        if (!filterGeneralOnly) {
-            publicGroupPosts = groupPostRepository.findByIsPublicAndIsDeletedFalseOrderByCreatedTimeDesc(Pageable.unpaged());
+    /** 리더보드 상위 구간 페이지 조립 (보드가 보장하지 못하는 구간이거나 행이 사라졌으면 empty) */
+    private Optional<Page<PostListDTO>> findLeaderboardPage(Pageable pageable, String sortType) {
+        PostLeaderboard.Metric metric = "HITS".equalsIgnoreCase(sortType)
+                ? PostLeaderboard.Metric.VIEWS : PostLeaderboard.Metric.LIKES;
+        Optional<List<PostLeaderboard.Item>> items = postLeaderboard.page(metric, pageable.getOffset(), pageable.getPageSize());
+        if (items.isEmpty()) {
+            return Optional.empty();
         }
         
-        // 3. 두 결과를 합쳐서 PostListDTO로 변환
-        List<PostListDTO> allPosts = new ArrayList<>();
+        List<Long> postIds = new ArrayList<>();
+        List<Long> groupPostIds = new ArrayList<>();
+        for (PostLeaderboard.Item item : items.get()) {
+            (item.groupPost() ? groupPostIds : postIds).add(item.id());
+        }
+        Map<Long, PostSummaryDTO> posts = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            postRepository.findSummariesByIdIn(postIds).forEach(post -> posts.put(post.getId(), post));
+        }
+        Map<Long, PostSummaryDTO> groupPosts = new HashMap<>();
+        if (!groupPostIds.isEmpty()) {
+            groupPostRepository.findSummariesByIdIn(groupPostIds).forEach(groupPost -> groupPosts.put(groupPost.getId(), groupPost));
+        }
         
-        // posts 테이블의 게시글 변환
-        posts.getContent().forEach(post -> {
-            // 필터링: 일반 게시글만 필터링하는 경우 모임 게시글 제외
-            if (filterGeneralOnly && post.getGroup() != null) {
-                return; // 모임 게시글은 제외
+        List<PostFeedEntry> entries = new ArrayList<>(items.get().size());
+        for (PostLeaderboard.Item item : items.get()) {
+            PostSummaryDTO summary = (item.groupPost() ? groupPosts : posts).get(item.id());
+            if (summary == null) {
+                // 삭제되었거나 사라진 행: 보드에서 빼고 이번 요청은 DB 정렬로 처리
+                postLeaderboard.remove(item);
+                return Optional.empty();
             }
-            // 필터링: 모임 게시글만 필터링하는 경우 일반 게시글 제외
-            if (filterGroupOnly && post.getGroup() == null) {
-                return; // 일반 게시글은 제외
-            }
-            
-            LocalDateTime updateTime = post.getUpdatedTime();
-            if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-                updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                updateTime = post.getCreatedTime();
-            }
-            
-            long likeCount = postLikeRepository.countByPostId(post.getId());
-            
-            // 태그 조회
-            List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
-                    .map(pt -> pt.getTag().getName())
-                    .collect(Collectors.toList());
-            
-            PostListDTO.PostListDTOBuilder builder = PostListDTO.builder()
-                    .id(post.getId())
-                    .title(post.getTitle())
-                    .username(post.getUser().getUsername())
-                    .views(post.getViews())
-                    .createDateTime(post.getCreatedTime())
-                    .updateDateTime(updateTime)
-                    .profileImageUrl(post.getProfileImageUrl())
-                    .likeCount(likeCount)
-                    .tags(tags);
-            
-            // 모임 정보 추가
-            if (post.getGroup() != null) {
-                builder.groupId(post.getGroup().getId())
-                       .groupName(post.getGroup().getName())
-                       .isPublic(post.isPublic());
-            }
-            
-            allPosts.add(builder.build());
-        });
-        
-        // group_posts 테이블의 외부 공개 게시글 변환 (모임 게시글만 필터링하거나 전체인 경우만)
-        if (publicGroupPosts != null && !filterGeneralOnly) {
-            publicGroupPosts.getContent().forEach(groupPost -> {
-                LocalDateTime updateTime = groupPost.getUpdatedTime();
-                if (updateTime == null || updateTime.isBefore(groupPost.getCreatedTime()) || 
-                    updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                    updateTime = groupPost.getCreatedTime();
-                }
-                
-                long likeCount = postLikeRepository.countByGroupPostId(groupPost.getId());
-                
-                PostListDTO dto = PostListDTO.builder()
-                        .id(groupPost.getId())
-                        .title(groupPost.getTitle())
-                        .username(groupPost.getUser().getUsername())
-                        .views(groupPost.getViews())
-                        .createDateTime(groupPost.getCreatedTime())
-                        .updateDateTime(updateTime)
-                        .profileImageUrl(groupPost.getProfileImageUrl())
-                        .likeCount(likeCount)
-                        .tags(new ArrayList<>()) // GroupPost는 태그가 없을 수 있음
-                        .groupId(groupPost.getGroup().getId())
-                        .groupName(groupPost.getGroup().getName())
-                        .isPublic(groupPost.isPublic())
-                        .build();
-                
-                allPosts.add(dto);
-            });
-        }
-        
-        // 정렬 (sortType에 따라)
-        if ("HITS".equalsIgnoreCase(sortType)) {
-            allPosts.sort((a, b) -> Integer.compare(b.getViews(), a.getViews()));
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            allPosts.sort((a, b) -> Long.compare(b.getLikeCount(), a.getLikeCount()));
-        } else {
-            // RESENT 또는 기본값: 최신순
-            allPosts.sort((a, b) -> b.getCreateDateTime().compareTo(a.getCreateDateTime()));
+            entries.add(new PostFeedEntry(item.groupPost(), summary));
         }
         
-        // 페이지네이션 적용
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), allPosts.size());
-        List<PostListDTO> pagedPosts = allPosts.subList(start, end);
+        // 보드는 미반영 조회수까지 포함한 값으로 정렬되어 있으므로 표시 값도 같은 기준으로 맞춤
+        List<PostListDTO> content = toFeedListDTOs(entries);
+        for (int i = 0; i < content.size(); i++) {
+            PostListDTO dto = content.get(i);
+            long pending = entries.get(i).groupPost()
+                    ? viewCountBuffer.pendingGroupPost(dto.getId())
+                    : viewCountBuffer.pendingPost(dto.getId());
+            dto.setViews((int) Math.min(Integer.MAX_VALUE, dto.getViews() + pending));
+        }
         
-        return new PageImpl<>(pagedPosts, pageable, allPosts.size());
+        long total = postRepository.countPublicFeed(true, true) + groupPostRepository.countPublicFeed();
+        return Optional.of(new PageImpl<>(content, pageable, total));
     }
 
     /** ✅ 내 게시글 목록 */
@@ -329,142 +345,32 @@ public class PostService {
         Users user = userRepository.findByUsername(requestUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("유저를 찾을 수 없습니다."));
 
-        Page<Post> posts;
+        Page<PostSummaryDTO> posts = postRepository.findUserPostSummaries(user.getId(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), PostFeedEntry.sortOf(sortType)));
 
-        if ("RESENT".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByCreatedTimeDesc(user.getId(), pageable);
-        } else if ("HITS".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByViewsDesc(user.getId(), pageable);
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByLikesDesc(user.getId(), pageable);
-        } else {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByCreatedTimeDesc(user.getId(), pageable);
-        }
-
-        return posts.map(post -> {
-            // updateDateTime이 null이거나 유효하지 않은 경우 createDateTime으로 설정
-            LocalDateTime updateTime = post.getUpdatedTime();
-            if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-                updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                updateTime = post.getCreatedTime();
-            }
-            
-            // 좋아요 수 조회
-            long likeCount = postLikeRepository.countByPostId(post.getId());
-            
-            // 태그 조회
-            List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
-                    .map(pt -> pt.getTag().getName())
-                    .collect(Collectors.toList());
-            
-            return PostListDTO.builder()
-                    .id(post.getId())
-                    .title(post.getTitle())
-                    .username(post.getUser().getUsername())
-                    .views(post.getViews())
-                    .createDateTime(post.getCreatedTime())
-                    .updateDateTime(updateTime)
-                    .profileImageUrl(post.getProfileImageUrl())
-                    .likeCount(likeCount)
-                    .tags(tags)
-                    .build();
-        });
+        return new PageImpl<>(toPostListDTOs(posts.getContent()), pageable, posts.getTotalElements());
     }
     
-    /** ✅ 태그로 게시글 목록 조회 */
+    /** ✅ 태그로 게시글 목록 조회 (여러 태그: mode=all 이면 모두 포함, any 면 하나라도 포함) */
     @Transactional(readOnly = true)
-    public Page<PostListDTO> getPostListByTag(Pageable pageable, String tagName, String sortType, String groupFilter) {
-        boolean filterGeneralOnly = "GENERAL".equalsIgnoreCase(groupFilter);
-        boolean filterGroupOnly = "GROUP".equalsIgnoreCase(groupFilter);
-        
-        List<Long> postIds = postTagRepository.findPostIdsByTagName(tagName);
-        
-        if (postIds.isEmpty()) {
-            return new PageImpl<>(new ArrayList<>(), pageable, 0);
-        }
-        
-        Page<Post> posts;
-        
-        if ("RESENT".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByCreatedTimeDesc(postIds, pageable);
-        } else if ("HITS".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByViewsDesc(postIds, pageable);
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByLikesDesc(postIds, pageable);
-        } else {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByCreatedTimeDesc(postIds, pageable);
-        }
-        
-        List<PostListDTO> filteredPosts = posts.getContent().stream()
-                .filter(post -> {
-                    // 필터링: 일반 게시글만 필터링하는 경우 모임 게시글 제외
-                    if (filterGeneralOnly && post.getGroup() != null) {
-                        return false;
-                    }
-                    // 필터링: 모임 게시글만 필터링하는 경우 일반 게시글 제외
-                    if (filterGroupOnly && post.getGroup() == null) {
-                        return false;
-                    }
-                    // 외부 공개 게시글만 포함 (모임 게시글인 경우)
-                    if (post.getGroup() != null && !post.isPublic()) {
-                        return false;
-                    }
-                    return true;
-                })
-                .map(post -> {
-                    LocalDateTime updateTime = post.getUpdatedTime();
-                    if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-                        updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                        updateTime = post.getCreatedTime();
-                    }
-                    
-                    long likeCount = postLikeRepository.countByPostId(post.getId());
-                    
-                    List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
-                            .map(pt -> pt.getTag().getName())
-                            .collect(Collectors.toList());
-                    
-                    PostListDTO.PostListDTOBuilder builder = PostListDTO.builder()
-                            .id(post.getId())
-                            .title(post.getTitle())
-                            .username(post.getUser().getUsername())
-                            .views(post.getViews())
-                            .createDateTime(post.getCreatedTime())
-                            .updateDateTime(updateTime)
-                            .profileImageUrl(post.getProfileImageUrl())
-                            .likeCount(likeCount)
-                            .tags(tags);
-                    
-                    if (post.getGroup() != null) {
-                        builder.groupId(post.getGroup().getId())
-                               .groupName(post.getGroup().getName())
-                               .isPublic(post.isPublic());
-                    }
-                    
-                    return builder.build();
-                })
-                .collect(Collectors.toList());
-        
-        // 정렬
-        if ("HITS".equalsIgnoreCase(sortType)) {
-            filteredPosts.sort((a, b) -> Integer.compare(b.getViews(), a.getViews()));
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            filteredPosts.sort((a, b) -> Long.compare(b.getLikeCount(), a.getLikeCount()));
-        } else {
-            filteredPosts.sort((a, b) -> b.getCreateDateTime().compareTo(a.getCreateDateTime()));
+    public Page<PostListDTO> getPostListByTags(Pageable pageable, List<String> tagNames, String mode, String sortType, String groupFilter) {
+        boolean includeGeneral = !"GROUP".equalsIgnoreCase(groupFilter);
+        boolean includeGroup = !"GENERAL".equalsIgnoreCase(groupFilter);
+        List<String> tags = TagDictionary.normalize(tagNames);
+        if (tags.isEmpty()) {
+            return getPostList(pageable, sortType, groupFilter);
         }
-        
-        // 페이지네이션 적용
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), filteredPosts.size());
-        List<PostListDTO> pagedPosts = filteredPosts.subList(start, end);
-        
-        return new PageImpl<>(pagedPosts, pageable, filteredPosts.size());
+        boolean matchAll = isMatchAll(mode);
+        long minMatches = matchAll ? tags.size() : 1;
+
+        return toMatchedPage(pageable, sortType, postTagIndex.findPublic(tags, matchAll, includeGeneral, includeGroup),
+                sorted -> postRepository.findPublicByTags(tags, minMatches, includeGeneral, includeGroup, sorted),
+                () -> postRepository.countPublicByTags(tags, minMatches, includeGeneral, includeGroup));
     }
     
-    /** ✅ 내 게시글 목록 - 태그 필터 */
+    /** ✅ 내 게시글 목록 - 태그 필터 (여러 태그, mode=all|any) */
     @Transactional(readOnly = true)
-    public Page<PostListDTO> getMyPostListByTag(Pageable pageable, String tagName, String sortType) {
+    public Page<PostListDTO> getMyPostListByTags(Pageable pageable, List<String> tagNames, String mode, String sortType) {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getName() == null || "anonymousUser".equals(authentication.getName())) {
             throw new ApplicationUnauthorizedException("인증이 필요합니다.");
@@ -474,49 +380,77 @@ public class PostService {
         Users user = userRepository.findByUsername(requestUsername)
                 .orElseThrow(() -> new ResourceNotFoundException("유저를 찾을 수 없습니다."));
         
-        List<Long> postIds = postTagRepository.findPostIdsByTagNameAndUserId(tagName, user.getId());
-        
-        if (postIds.isEmpty()) {
-            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        List<String> tags = TagDictionary.normalize(tagNames);
+        if (tags.isEmpty()) {
+            return getMyPostList(pageable, sortType);
         }
-        
-        Page<Post> posts;
-        
-        if ("RESENT".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByCreatedTimeDesc(postIds, pageable);
-        } else if ("HITS".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByViewsDesc(postIds, pageable);
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByLikesDesc(postIds, pageable);
-        } else {
-            posts = postRepository.findAllByIdInAndIsDeletedFalseOrderByCreatedTimeDesc(postIds, pageable);
+        boolean matchAll = isMatchAll(mode);
+        long minMatches = matchAll ? tags.size() : 1;
+
+        return toMatchedPage(pageable, sortType, postTagIndex.findByUser(user.getId(), tags, matchAll),
+                sorted -> postRepository.findUserPostsByTags(user.getId(), tags, minMatches, sorted),
+                () -> postRepository.countUserPostsByTags(user.getId(), tags, minMatches));
+    }
+
+    private boolean isMatchAll(String mode) {
+        if (mode == null || mode.isBlank() || "all".equalsIgnoreCase(mode)) {
+            return true;
         }
-        
-        return posts.map(post -> {
-            LocalDateTime updateTime = post.getUpdatedTime();
-            if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-                updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                updateTime = post.getCreatedTime();
+        if ("any".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        throw new ApplicationBadRequestException("mode 는 all 또는 any 만 가능합니다.");
+    }
+
+    /**
+     * 색인(태그/검색)으로 거른 결과 페이지 조립.
+     * 색인 결과(matched)가 있으면 전체 개수는 비트맵 크기로, 최신순은 id 역순으로 페이지 id 만 골라 그 행만 조회한다.
+     * 조회수/좋아요순은 후보가 적으면 id IN 정렬 조회, 많으면 query 로 페이지만 가져온다.
+     * 색인이 아직 준비되지 않았으면 query 와 count 로 처리한다.
+     */
+    private Page<PostListDTO> toMatchedPage(Pageable pageable, String sortType, Optional<RoaringBitmap> matched,
+                                        Function<Pageable, List<PostSummaryDTO>> query, LongSupplier count) {
+        Pageable sorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), PostFeedEntry.sortOf(sortType));
+        if (matched.isEmpty()) {
+            List<PostSummaryDTO> posts = query.apply(sorted);
+            return new PageImpl<>(toPostListDTOs(posts), pageable, count.getAsLong());
+        }
+
+        RoaringBitmap ids = matched.get();
+        long total = ids.getLongCardinality();
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(new ArrayList<>(), pageable, total);
+        }
+
+        List<PostSummaryDTO> posts;
+        if ("HITS".equalsIgnoreCase(sortType) || "LIKES".equalsIgnoreCase(sortType)) {
+            posts = total <= MAX_TAG_ID_FILTER
+                    ? postRepository.findSummariesByIdIn(toIdList(ids.getIntIterator(), Integer.MAX_VALUE), sorted)
+                    : query.apply(sorted);
+        } else {
+            // 최신순: id 는 작성 순서대로 증가하므로 비트맵을 역순으로 건너뛰어 이 페이지 id 만 조회
+            IntIterator reverse = ids.getReverseIntIterator();
+            for (long skipped = 0; skipped < pageable.getOffset() && reverse.hasNext(); skipped++) {
+                reverse.next();
             }
-            
-            long likeCount = postLikeRepository.countByPostId(post.getId());
-            
-            List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
-                    .map(pt -> pt.getTag().getName())
-                    .collect(Collectors.toList());
-            
-            return PostListDTO.builder()
-                    .id(post.getId())
-                    .title(post.getTitle())
-                    .username(post.getUser().getUsername())
-                    .views(post.getViews())
-                    .createDateTime(post.getCreatedTime())
-                    .updateDateTime(updateTime)
-                    .profileImageUrl(post.getProfileImageUrl())
-                    .likeCount(likeCount)
-                    .tags(tags)
-                    .build();
-        });
+            posts = findSummariesInOrder(toIdList(reverse, pageable.getPageSize()));
+        }
+        return new PageImpl<>(toPostListDTOs(posts), pageable, total);
+    }
+
+    /** id 목록 순서대로 목록 행 조회 (삭제된 게시글은 빠짐) */
+    private List<PostSummaryDTO> findSummariesInOrder(List<Long> ids) {
+        Map<Long, PostSummaryDTO> byId = new HashMap<>();
+        postRepository.findSummariesByIdIn(ids, Pageable.unpaged()).forEach(post -> byId.put(post.getId(), post));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private List<Long> toIdList(IntIterator iterator, int limit) {
+        List<Long> ids = new ArrayList<>();
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add((long) iterator.next());
+        }
+        return ids;
     }
 
     /** ✅ 게시글 좋아요 추가/삭제 */
@@ -561,6 +495,7 @@ public class PostService {
         if (existingLike.isPresent()) {
             // 좋아요 취소
             postLikeRepository.delete(existingLike.get());
+            adjustLikeCount(post, groupPost, -1);
             return false; // 좋아요 취소됨
         } else {
             // 좋아요 추가
@@ -572,11 +507,27 @@ public class PostService {
                 likeBuilder.groupPost(groupPost);
             }
             postLikeRepository.save(likeBuilder.build());
+            adjustLikeCount(post, groupPost, 1);
             return true; // 좋아요 추가됨
         }
     }
 
-    /** ✅ 게시글 삭제 */
+    /** 비정규화된 like_count를 같은 트랜잭션에서 원자적으로 증감 */
+    private void adjustLikeCount(Post post, GroupPost groupPost, long delta) {
+        // 엔티티의 likeCount는 UPDATE 이전 값이므로 증감분을 더해 반영
+        if (post != null) {
+            postRepository.addLikeCount(post.getId(), delta);
+            postDetailCache.invalidate(post.getId());
+            indexingPipeline.submitCounts(List.of(post.getId()));
+            postLeaderboard.update(post, post.getViews() + viewCountBuffer.pendingPost(post.getId()), post.getLikeCount() + delta);
+        } else {
+            groupPostRepository.addLikeCount(groupPost.getId(), delta);
+            postLeaderboard.update(groupPost, groupPost.getViews() + viewCountBuffer.pendingGroupPost(groupPost.getId()), groupPost.getLikeCount() + delta);
+        }
+    }
+
+    /** ✅ 게시글 삭제 (리더보드/상세 캐시는 커밋 후 한 번 더 정리) */
+    @Transactional
     public void deletePost(long id) {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getName() == null || "anonymousUser".equals(authentication.getName())) {
@@ -594,6 +545,13 @@ public class PostService {
 
         post.setDeleted(true);
         postRepository.save(post);
+        postLeaderboard.remove(post);
+        postDetailCache.invalidate(id);
+        postTagIndex.remove(id);
+        indexingPipeline.submit(SearchIndex.DocType.POST, id);
+        indexingPipeline.submitComments(SearchIndex.DocType.POST, id);
+        searchResultCache.invalidateAll();
+        suggestIndex.removeTitle(id);
     }
 
     /** ✅ 게시글 수정 */
@@ -619,33 +577,46 @@ public class PostService {
 
         // 내용이 실제로 변경되었는지 확인
         boolean isModified = false;
+        boolean textChanged = false;
         if (dto.getBody() != null && !dto.getBody().equals(post.getBody())) {
             post.setBody(dto.getBody());
             isModified = true;
+            textChanged = true;
         }
         if (dto.getTitle() != null && !dto.getTitle().equals(post.getTitle())) {
             post.setTitle(dto.getTitle());
             isModified = true;
+            textChanged = true;
         }
         if (dto.getProfileImageUrl() != null && !dto.getProfileImageUrl().equals(post.getProfileImageUrl())) {
             post.setProfileImageUrl(dto.getProfileImageUrl());
             isModified = true;
         }
 
-        // 태그 업데이트
-        if (dto.getTags() != null) {
-            // 기존 태그 삭제
-            postTagRepository.deleteByPostId(post.getId());
-            // 새 태그 저장
-            saveTags(post, dto.getTags());
+        // 태그 업데이트 (바뀐 태그만 반영)
+        boolean tagsChanged = dto.getTags() != null && replaceTags(post, dto.getTags());
+        if (tagsChanged) {
             isModified = true;
         }
         
         // 모임 게시글의 외부 노출 여부 업데이트
+        boolean visibilityChanged = false;
         if (post.getGroup() != null && dto.getIsPublic() != null) {
+            visibilityChanged = post.isPublic() != dto.getIsPublic();
             post.setPublic(dto.getIsPublic());
+            postLeaderboard.update(post, post.getViews() + viewCountBuffer.pendingPost(post.getId()), post.getLikeCount());
             isModified = true;
         }
+        if (tagsChanged || visibilityChanged) {
+            postTagIndex.put(toIndexState(post, tagsChanged ? TagDictionary.normalize(dto.getTags()) : null));
+        }
+        if (textChanged || visibilityChanged) {
+            indexForSearch(post);
+        }
+        if (visibilityChanged) {
+            // 댓글 문서도 게시글 노출 범위를 따라감
+            indexingPipeline.submitComments(SearchIndex.DocType.POST, post.getId());
+        }
         
         // 변경사항이 있을 때만 저장
         if (isModified) {
@@ -661,9 +632,30 @@ public class PostService {
             
             // 플러시하여 DB에 즉시 반영
             postRepository.flush();
+            postDetailCache.invalidate(id);
         }
     }
     
+    /** ✅ 검색어 자동완성 (메모리 색인만 사용, 종류별 가중치 상위 limit 개) */
+    public SuggestDTO suggest(String prefix, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_SUGGEST_SIZE));
+        return SuggestDTO.builder()
+                .posts(toSuggestItems(suggestIndex.suggest(SuggestIndex.Type.TITLE, prefix, size)))
+                .tags(toSuggestItems(suggestIndex.suggest(SuggestIndex.Type.TAG, prefix, size)))
+                .users(toSuggestItems(suggestIndex.suggest(SuggestIndex.Type.USER, prefix, size)))
+                .build();
+    }
+    
+    private List<SuggestDTO.Item> toSuggestItems(List<SuggestIndex.Suggestion> suggestions) {
+        return suggestions.stream()
+                .map(suggestion -> SuggestDTO.Item.builder()
+                        .text(suggestion.text())
+                        .value(suggestion.value())
+                        .weight(suggestion.weight())
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
     /** ✅ 내가 사용한 태그 목록 조회 */
     @Transactional(readOnly = true)
     public List<String> getMyTags() {
@@ -685,43 +677,10 @@ public class PostService {
         Users user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("유저를 찾을 수 없습니다."));
         
-        Page<Post> posts;
+        Page<PostSummaryDTO> posts = postRepository.findUserPostSummaries(user.getId(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), PostFeedEntry.sortOf(sortType)));
         
-        if ("RESENT".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByCreatedTimeDesc(user.getId(), pageable);
-        } else if ("HITS".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByViewsDesc(user.getId(), pageable);
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByLikesDesc(user.getId(), pageable);
-        } else {
-            posts = postRepository.findAllByUserIdAndIsDeletedFalseOrderByCreatedTimeDesc(user.getId(), pageable);
-        }
-        
-        return posts.map(post -> {
-            LocalDateTime updateTime = post.getUpdatedTime();
-            if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-                updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                updateTime = post.getCreatedTime();
-            }
-            
-            long likeCount = postLikeRepository.countByPostId(post.getId());
-            
-            List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
-                    .map(pt -> pt.getTag().getName())
-                    .collect(Collectors.toList());
-            
-            return PostListDTO.builder()
-                    .id(post.getId())
-                    .title(post.getTitle())
-                    .username(post.getUser().getUsername())
-                    .views(post.getViews())
-                    .createDateTime(post.getCreatedTime())
-                    .updateDateTime(updateTime)
-                    .profileImageUrl(post.getProfileImageUrl())
-                    .likeCount(likeCount)
-                    .tags(tags)
-                    .build();
-        });
+        return new PageImpl<>(toPostListDTOs(posts.getContent()), pageable, posts.getTotalElements());
     }
     
     /** ✅ 특정 사용자의 게시글 수 조회 */
@@ -730,11 +689,10 @@ public class PostService {
         Users user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("유저를 찾을 수 없습니다."));
         
-        return postRepository.findAllByUserIdAndIsDeletedFalseOrderByCreatedTimeDesc(user.getId(), 
-                org.springframework.data.domain.Pageable.unpaged()).getTotalElements();
+        return postRepository.countByUserIdAndIsDeletedFalse(user.getId());
     }
     
-    /** ✅ 게시글 검색 */
+    /** ✅ 게시글 검색 (전문 검색 색인, sortType=RELEVANCE 면 관련도순, 같은 검색은 결과 캐시에서) */
     @Transactional(readOnly = true)
     public Page<PostListDTO> searchPosts(Pageable pageable, String keyword, String sortType, String groupFilter) {
         if (keyword == null || keyword.trim().isEmpty()) {
@@ -742,84 +700,39 @@ public class PostService {
             return getPostList(pageable, sortType, groupFilter);
         }
         
-        boolean filterGeneralOnly = "GENERAL".equalsIgnoreCase(groupFilter);
-        boolean filterGroupOnly = "GROUP".equalsIgnoreCase(groupFilter);
-        
-        String searchKeyword = keyword.trim();
-        Page<Post> posts;
-        
-        if ("RESENT".equalsIgnoreCase(sortType)) {
-            posts = postRepository.searchPostsByKeyword(searchKeyword, pageable);
-        } else if ("HITS".equalsIgnoreCase(sortType)) {
-            posts = postRepository.searchPostsByKeywordOrderByViews(searchKeyword, pageable);
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            posts = postRepository.searchPostsByKeywordOrderByLikes(searchKeyword, pageable);
-        } else {
-            posts = postRepository.searchPostsByKeyword(searchKeyword, pageable);
+        SearchResultCache.Key cacheKey = SearchResultCache.Key.of(keyword, sortType, groupFilter,
+                pageable.getPageNumber(), pageable.getPageSize());
+        Optional<SearchResultCache.Result> cached = searchResultCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return new PageImpl<>(cached.get().content(), pageable, cached.get().total());
         }
+        long generation = searchResultCache.generation();
+        Page<PostListDTO> result = findSearchPage(pageable, keyword, sortType, groupFilter);
+        searchResultCache.put(cacheKey, generation, result.getContent(), result.getTotalElements());
+        return result;
+    }
+    
+    private Page<PostListDTO> findSearchPage(Pageable pageable, String keyword, String sortType, String groupFilter) {
+        boolean includeGeneral = !"GROUP".equalsIgnoreCase(groupFilter);
+        boolean includeGroup = !"GENERAL".equalsIgnoreCase(groupFilter);
+        String searchKeyword = keyword.trim();
         
-        List<PostListDTO> filteredPosts = posts.getContent().stream()
-                .filter(post -> {
-                    // 필터링: 일반 게시글만 필터링하는 경우 모임 게시글 제외
-                    if (filterGeneralOnly && post.getGroup() != null) {
-                        return false;
-                    }
-                    // 필터링: 모임 게시글만 필터링하는 경우 일반 게시글 제외
-                    if (filterGroupOnly && post.getGroup() == null) {
-                        return false;
-                    }
-                    return true;
-                })
-                .map(post -> {
-                    LocalDateTime updateTime = post.getUpdatedTime();
-                    if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-                        updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                        updateTime = post.getCreatedTime();
-                    }
-                    
-                    long likeCount = postLikeRepository.countByPostId(post.getId());
-                    
-                    List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
-                            .map(pt -> pt.getTag().getName())
-                            .collect(Collectors.toList());
-                    
-                    PostListDTO.PostListDTOBuilder builder = PostListDTO.builder()
-                            .id(post.getId())
-                            .title(post.getTitle())
-                            .username(post.getUser().getUsername())
-                            .views(post.getViews())
-                            .createDateTime(post.getCreatedTime())
-                            .updateDateTime(updateTime)
-                            .profileImageUrl(post.getProfileImageUrl())
-                            .likeCount(likeCount)
-                            .tags(tags);
-                    
-                    // 모임 정보 추가
-                    if (post.getGroup() != null) {
-                        builder.groupId(post.getGroup().getId())
-                               .groupName(post.getGroup().getName())
-                               .isPublic(post.isPublic());
-                    }
-                    
-                    return builder.build();
-                })
-                .collect(Collectors.toList());
-        
-        // 정렬
-        if ("HITS".equalsIgnoreCase(sortType)) {
-            filteredPosts.sort((a, b) -> Integer.compare(b.getViews(), a.getViews()));
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            filteredPosts.sort((a, b) -> Long.compare(b.getLikeCount(), a.getLikeCount()));
-        } else {
-            filteredPosts.sort((a, b) -> b.getCreateDateTime().compareTo(a.getCreateDateTime()));
+        RoaringBitmap matched = searchIndex.match(searchKeyword, includeGeneral, includeGroup);
+        if ("RELEVANCE".equalsIgnoreCase(sortType)) {
+            long total = matched.getLongCardinality();
+            if (pageable.getOffset() >= total) {
+                return new PageImpl<>(new ArrayList<>(), pageable, total);
+            }
+            List<Long> pageIds = searchIndex.findByRelevance(searchKeyword, includeGeneral, includeGroup,
+                    (int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(toPostListDTOs(findSummariesInOrder(pageIds)), pageable, total);
         }
         
-        // 페이지네이션 적용
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), filteredPosts.size());
-        List<PostListDTO> pagedPosts = filteredPosts.subList(start, end);
-        
-        return new PageImpl<>(pagedPosts, pageable, filteredPosts.size());
+        return toMatchedPage(pageable, sortType, Optional.of(matched),
+                sorted -> findSummariesInOrder(searchIndex.findBySort(searchKeyword, includeGeneral, includeGroup,
+                        "LIKES".equalsIgnoreCase(sortType) ? SearchIndex.SortKey.LIKES : SearchIndex.SortKey.VIEWS,
+                        (int) sorted.getOffset(), sorted.getPageSize())),
+                matched::getLongCardinality);
     }
     
     /** ✅ 모임별 게시글 목록 조회 */
@@ -832,20 +745,147 @@ public class PostService {
         }
         Group group = groupOpt.get();
         
+        boolean isMember = isGroupMember(group);
+        
+        // 비멤버인 경우 공개 게시글만 조회
+        boolean filterPublicOnly = !isMember;
+        if (filterPublicOnly) {
+            isPublicFilter = true; // 비멤버는 항상 공개 게시글만
+        }
+        
+        // 1. posts와 group_posts에서 group_id로 조회하는 정렬된 소스 구성 (isPublic 필터링 적용)
+        Boolean isPublic = isPublicFilter;
+        List<SortedSourceMerger.Source<PostFeedEntry>> sources = new ArrayList<>();
+        sources.add(SortedSourceMerger.source(
+                chunk -> toFeedEntries(postRepository.findGroupFeedChunk(groupId, isPublic, chunk)),
+                () -> postRepository.countGroupFeed(groupId, isPublic)));
+        sources.add(SortedSourceMerger.source(
+                chunk -> toGroupFeedEntries(groupPostRepository.findGroupFeedChunk(groupId, isPublic, chunk)),
+                () -> groupPostRepository.countGroupFeed(groupId, isPublic)));
+        
+        // 2. 소스마다 앞 offset + size 개만 한 번에 읽어 k-way 병합
+        Page<PostFeedEntry> merged = SortedSourceMerger.merge(sources,
+                PostFeedEntry.sortOf(sortType), PostFeedEntry.comparatorOf(sortType), pageable);
+        
+        // 3. 최종 페이지만 PostListDTO로 변환
+        return new PageImpl<>(toFeedListDTOs(merged.getContent()), pageable, merged.getTotalElements());
+    }
+    
+    /** ✅ 전체 게시글 목록 (커서 페이지네이션, count 쿼리 없음) */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PostListDTO> getPostListByCursor(String cursor, int size, String sortType, String groupFilter) {
+        boolean includeGeneral = !"GROUP".equalsIgnoreCase(groupFilter);
+        boolean includeGroup = !"GENERAL".equalsIgnoreCase(groupFilter);
+        
+        // 소스 순서: [posts, group_posts]
+        PostCursor postCursor = PostCursor.decode(cursor, sortType, 2);
+        String sort = postCursor.sortType();
+        List<PostCursor.Source> sources = new ArrayList<>();
+        sources.add((after, limit) -> toFeedEntries(switch (sort) {
+            case "HITS" -> postRepository.findPublicFeedAfterViews(includeGeneral, includeGroup, after.views(), after.id(), limit);
+            case "LIKES" -> postRepository.findPublicFeedAfterLikeCount(includeGeneral, includeGroup, after.likeCount(), after.id(), limit);
+            default -> postRepository.findPublicFeedAfterCreatedTime(includeGeneral, includeGroup, after.createdTime(), after.id(), limit);
+        }));
+        sources.add((after, limit) -> !includeGroup ? new ArrayList<>() : toGroupFeedEntries(switch (sort) {
+            case "HITS" -> groupPostRepository.findPublicFeedAfterViews(after.views(), after.id(), limit);
+            case "LIKES" -> groupPostRepository.findPublicFeedAfterLikeCount(after.likeCount(), after.id(), limit);
+            default -> groupPostRepository.findPublicFeedAfterCreatedTime(after.createdTime(), after.id(), limit);
+        }));
+        
+        return toCursorPage(postCursor.merge(sources, clampCursorPageSize(size)));
+    }
+    
+    /** ✅ 내 게시글 목록 (커서 페이지네이션) */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PostListDTO> getMyPostListByCursor(String cursor, int size, String sortType) {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null || "anonymousUser".equals(authentication.getName())) {
+            throw new ApplicationUnauthorizedException("인증이 필요합니다.");
+        }
+        
+        return getUserPostListByCursor(authentication.getName(), cursor, size, sortType);
+    }
+    
+    /** ✅ 특정 사용자의 게시글 목록 (커서 페이지네이션) */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PostListDTO> getUserPostListByCursor(String username, String cursor, int size, String sortType) {
+        Users user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("유저를 찾을 수 없습니다."));
+        
+        PostCursor postCursor = PostCursor.decode(cursor, sortType, 1);
+        String sort = postCursor.sortType();
+        List<PostCursor.Source> sources = List.of((after, limit) -> toFeedEntries(switch (sort) {
+            case "HITS" -> postRepository.findUserPostsAfterViews(user.getId(), after.views(), after.id(), limit);
+            case "LIKES" -> postRepository.findUserPostsAfterLikeCount(user.getId(), after.likeCount(), after.id(), limit);
+            default -> postRepository.findUserPostsAfterCreatedTime(user.getId(), after.createdTime(), after.id(), limit);
+        }));
+        
+        return toCursorPage(postCursor.merge(sources, clampCursorPageSize(size)));
+    }
+    
+    /** ✅ 모임별 게시글 목록 (커서 페이지네이션) */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PostListDTO> getGroupPostListByCursor(Long groupId, String cursor, int size, String sortType, Boolean isPublicFilter) {
+        Group group = groupRepository.findByIdAndIsDeletedFalse(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("모임을 찾을 수 없습니다."));
+        
+        // 비멤버는 항상 공개 게시글만
+        Boolean isPublic = isGroupMember(group) ? isPublicFilter : Boolean.TRUE;
+        
+        // 소스 순서: [posts, group_posts]
+        PostCursor postCursor = PostCursor.decode(cursor, sortType, 2);
+        String sort = postCursor.sortType();
+        List<PostCursor.Source> sources = new ArrayList<>();
+        sources.add((after, limit) -> toFeedEntries(switch (sort) {
+            case "HITS" -> postRepository.findGroupFeedAfterViews(groupId, isPublic, after.views(), after.id(), limit);
+            case "LIKES" -> postRepository.findGroupFeedAfterLikeCount(groupId, isPublic, after.likeCount(), after.id(), limit);
+            default -> postRepository.findGroupFeedAfterCreatedTime(groupId, isPublic, after.createdTime(), after.id(), limit);
+        }));
+        sources.add((after, limit) -> toGroupFeedEntries(switch (sort) {
+            case "HITS" -> groupPostRepository.findGroupFeedAfterViews(groupId, isPublic, after.views(), after.id(), limit);
+            case "LIKES" -> groupPostRepository.findGroupFeedAfterLikeCount(groupId, isPublic, after.likeCount(), after.id(), limit);
+            default -> groupPostRepository.findGroupFeedAfterCreatedTime(groupId, isPublic, after.createdTime(), after.id(), limit);
+        }));
+        
+        return toCursorPage(postCursor.merge(sources, clampCursorPageSize(size)));
+    }
+    
+    private int clampCursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+    
+    private CursorPageDTO<PostListDTO> toCursorPage(PostCursor.Result result) {
+        return CursorPageDTO.<PostListDTO>builder()
+                .content(toFeedListDTOs(result.content()))
+                .size(result.content().size())
+                .nextCursor(result.nextCursor())
+                .hasNext(result.nextCursor() != null)
+                .build();
+    }
+    
+    private List<PostFeedEntry> toFeedEntries(List<PostSummaryDTO> posts) {
+        return posts.stream().map(PostFeedEntry::ofPost).collect(Collectors.toList());
+    }
+    
+    private List<PostFeedEntry> toGroupFeedEntries(List<PostSummaryDTO> groupPosts) {
+        return groupPosts.stream().map(PostFeedEntry::ofGroupPost).collect(Collectors.toList());
+    }
+    
+    /** 현재 사용자가 모임 주인 또는 멤버인지 확인 (인증되지 않은 경우 false) */
+    private boolean isGroupMember(Group group) {
         // 현재 사용자 확인 (인증되지 않은 경우 null)
-        Users currentUser = null;
         boolean isMember = false;
         try {
             var authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication != null && authentication.getName() != null && !"anonymousUser".equals(authentication.getName())) {
-                currentUser = userRepository.findByUsername(authentication.getName()).orElse(null);
+                Users currentUser = userRepository.findByUsername(authentication.getName()).orElse(null);
                 if (currentUser != null) {
                     // 모임 주인 확인
                     if (group.getOwner().getId().equals(currentUser.getId())) {
                         isMember = true;
                     } else {
                         // 모임 멤버 확인
-                        isMember = groupMemberRepository.findByGroupIdAndUserId(groupId, currentUser.getId()).isPresent();
+                        isMember = groupMemberRepository.findByGroupIdAndUserId(group.getId(), currentUser.getId()).isPresent();
                     }
                 }
             }
@@ -853,129 +893,73 @@ public class PostService {
             // 인증되지 않은 사용자
         }
         
-        // 비멤버인 경우 공개 게시글만 조회
-        boolean filterPublicOnly = !isMember;
-        if (filterPublicOnly) {
-            isPublicFilter = true; // 비멤버는 항상 공개 게시글만
+        return isMember;
+    }
+    
+    /** 수정 시간이 null이거나 유효하지 않은 경우 작성 시간으로 대체 */
+    private LocalDateTime resolveUpdateTime(LocalDateTime createdTime, LocalDateTime updatedTime) {
+        if (updatedTime == null || updatedTime.isBefore(createdTime) || 
+            updatedTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
+            return createdTime;
         }
-        
-        // 1. posts 테이블에서 group_id로 조회 (isPublic 필터링 적용)
-        Page<Post> postsFromPostsTable;
-        if (isPublicFilter != null) {
-            // 공개/비공개 필터링
-            if ("RESENT".equalsIgnoreCase(sortType)) {
-                postsFromPostsTable = postRepository.findByGroupIdAndIsPublicOrderByCreatedTimeDesc(groupId, isPublicFilter, pageable);
-            } else if ("HITS".equalsIgnoreCase(sortType)) {
-                postsFromPostsTable = postRepository.findByGroupIdAndIsPublicOrderByViewsDesc(groupId, isPublicFilter, pageable);
-            } else if ("LIKES".equalsIgnoreCase(sortType)) {
-                postsFromPostsTable = postRepository.findByGroupIdAndIsPublicOrderByLikesDesc(groupId, isPublicFilter, pageable);
-            } else {
-                postsFromPostsTable = postRepository.findByGroupIdAndIsPublicOrderByCreatedTimeDesc(groupId, isPublicFilter, pageable);
-            }
-        } else {
-            // 필터링 없이 모든 게시글 조회 (멤버만)
-            if ("RESENT".equalsIgnoreCase(sortType)) {
-                postsFromPostsTable = postRepository.findByGroupIdOrderByCreatedTimeDesc(groupId, pageable);
-            } else if ("HITS".equalsIgnoreCase(sortType)) {
-                postsFromPostsTable = postRepository.findByGroupIdOrderByViewsDesc(groupId, pageable);
-            } else if ("LIKES".equalsIgnoreCase(sortType)) {
-                postsFromPostsTable = postRepository.findByGroupIdOrderByLikesDesc(groupId, pageable);
-            } else {
-                postsFromPostsTable = postRepository.findByGroupIdOrderByCreatedTimeDesc(groupId, pageable);
+        return updatedTime;
+    }
+    
+    /** posts 목록 변환 */
+    private List<PostListDTO> toPostListDTOs(List<PostSummaryDTO> posts) {
+        return toFeedListDTOs(toFeedEntries(posts));
+    }
+    
+    /**
+     * 피드 항목(프로젝션) 변환: posts 태그만 IN 조인 1회로 조회.
+     * 작성자/모임 정보와 좋아요/댓글 수(비정규화 컬럼)는 프로젝션 쿼리에서 함께 조회되므로 행마다 추가 조회가 없다.
+     */
+    private List<PostListDTO> toFeedListDTOs(List<PostFeedEntry> entries) {
+        if (entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<Long> postIds = new ArrayList<>();
+        for (PostFeedEntry entry : entries) {
+            if (!entry.groupPost()) {
+                postIds.add(entry.id());
             }
         }
-        
-        // 2. group_posts 테이블에서 조회 (isPublic 필터링 적용)
-        Page<GroupPost> groupPosts;
-        if (isPublicFilter != null) {
-            groupPosts = groupPostRepository.findByGroupIdAndIsPublicAndIsDeletedFalseOrderByCreatedTimeDesc(groupId, isPublicFilter, pageable);
-        } else {
-            groupPosts = groupPostRepository.findByGroupIdAndIsDeletedFalseOrderByCreatedTimeDesc(groupId, pageable);
-        }
-        
-        // 3. 두 결과를 합쳐서 PostListDTO로 변환
-        List<PostListDTO> allPosts = new ArrayList<>();
-        
-        // posts 테이블의 게시글 변환
-        postsFromPostsTable.getContent().forEach(post -> {
-            LocalDateTime updateTime = post.getUpdatedTime();
-            if (updateTime == null || updateTime.isBefore(post.getCreatedTime()) || 
-                updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                updateTime = post.getCreatedTime();
+        Map<Long, List<String>> tagsByPostId = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            for (Object[] row : postTagRepository.findTagNamesByPostIdIn(postIds)) {
+                tagsByPostId.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((String) row[1]);
             }
-            
-            long likeCount = postLikeRepository.countByPostId(post.getId());
-            
-            // 태그 조회
-            List<String> tags = postTagRepository.findByPostId(post.getId()).stream()
-                    .map(pt -> pt.getTag().getName())
-                    .collect(Collectors.toList());
-            
+        }
+
+        List<PostListDTO> result = new ArrayList<>(entries.size());
+        for (PostFeedEntry entry : entries) {
+            PostSummaryDTO summary = entry.summary();
             PostListDTO.PostListDTOBuilder builder = PostListDTO.builder()
-                    .id(post.getId())
-                    .title(post.getTitle())
-                    .username(post.getUser().getUsername())
-                    .views(post.getViews())
-                    .createDateTime(post.getCreatedTime())
-                    .updateDateTime(updateTime)
-                    .profileImageUrl(post.getProfileImageUrl())
-                    .likeCount(likeCount)
-                    .tags(tags);
-            
-            // 모임 정보 추가
-            if (post.getGroup() != null) {
-                builder.groupId(post.getGroup().getId())
-                       .groupName(post.getGroup().getName())
-                       .isPublic(post.isPublic());
+                    .id(summary.getId())
+                    .title(summary.getTitle())
+                    .username(summary.getUsername())
+                    .views(summary.getViews())
+                    .createDateTime(summary.getCreatedTime())
+                    .updateDateTime(resolveUpdateTime(summary.getCreatedTime(), summary.getUpdatedTime()))
+                    .profileImageUrl(summary.getProfileImageUrl())
+                    .likeCount(summary.getLikeCount())
+                    .commentCount(summary.getCommentCount());
+            if (entry.groupPost()) {
+                builder.tags(new ArrayList<>()); // GroupPost는 태그가 없을 수 있음
+            } else {
+                builder.tags(tagsByPostId.getOrDefault(summary.getId(), new ArrayList<>()));
             }
             
-            allPosts.add(builder.build());
-        });
-        
-        // group_posts 테이블의 게시글 변환
-        groupPosts.getContent().forEach(groupPost -> {
-            LocalDateTime updateTime = groupPost.getUpdatedTime();
-            if (updateTime == null || updateTime.isBefore(groupPost.getCreatedTime()) || 
-                updateTime.isBefore(LocalDateTime.of(1970, 1, 2, 0, 0))) {
-                updateTime = groupPost.getCreatedTime();
+            // 모임 정보 추가
+            if (summary.getGroupId() != null) {
+                builder.groupId(summary.getGroupId())
+                       .groupName(summary.getGroupName())
+                       .isPublic(summary.isPublic());
             }
             
-            // GroupPost의 좋아요 수 조회
-            long likeCount = postLikeRepository.countByGroupPostId(groupPost.getId());
-            
-            PostListDTO dto = PostListDTO.builder()
-                    .id(groupPost.getId())
-                    .title(groupPost.getTitle())
-                    .username(groupPost.getUser().getUsername())
-                    .views(groupPost.getViews())
-                    .createDateTime(groupPost.getCreatedTime())
-                    .updateDateTime(updateTime)
-                    .profileImageUrl(groupPost.getProfileImageUrl())
-                    .likeCount(likeCount)
-                    .tags(new ArrayList<>()) // GroupPost는 태그가 없을 수 있음
-                    .groupId(groupPost.getGroup().getId())
-                    .groupName(groupPost.getGroup().getName())
-                    .isPublic(groupPost.isPublic())
-                    .build();
-            
-            allPosts.add(dto);
-        });
-        
-        // 정렬 (sortType에 따라)
-        if ("HITS".equalsIgnoreCase(sortType)) {
-            allPosts.sort((a, b) -> Integer.compare(b.getViews(), a.getViews()));
-        } else if ("LIKES".equalsIgnoreCase(sortType)) {
-            allPosts.sort((a, b) -> Long.compare(b.getLikeCount(), a.getLikeCount()));
-        } else {
-            // RESENT 또는 기본값: 최신순
-            allPosts.sort((a, b) -> b.getCreateDateTime().compareTo(a.getCreateDateTime()));
+            result.add(builder.build());
         }
-        
-        // 페이지네이션 적용
-        int start = (int) pageable.getOffset();
-        int end = Math.min(start + pageable.getPageSize(), allPosts.size());
-        List<PostListDTO> pagedPosts = allPosts.subList(start, end);
-        
-        return new PageImpl<>(pagedPosts, pageable, allPosts.size());
+        return result;
     }
 }
@@ -0,0 +1,257 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.repository.PostRepository;
+import com.pgh.api_practice.repository.PostTagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 태그 → 게시글 id 역색인 (posts 테이블, 압축 비트맵).
+ * 태그별/작성자별/노출 범위별 비트맵을 메모리에 두고 여러 태그의 AND/OR 를 메모리에서 계산한다.
+ * 게시글 작성/수정/삭제가 커밋된 뒤 갱신되며, 시작 시와 주기적으로 DB에서 다시 만든다.
+ * 재구성 중 들어온 갱신은 기록해 두었다가 새 색인에 다시 적용한다 (갱신은 게시글 단위 전체 상태라 재적용해도 안전).
+ */
+@Slf4j
+@Component
+public class PostTagIndex {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    /** 게시글 노출 범위 */
+    public enum Scope { GENERAL, GROUP_PUBLIC, GROUP_PRIVATE }
+
+    /** 게시글 하나의 색인 상태 (tags 가 null 이면 기존 태그 유지) */
+    public record PostState(long postId, long userId, Scope scope, List<String> tags) {
+    }
+
+    private record Indexed(long userId, Scope scope, List<String> tags) {
+    }
+
+    private static final class State {
+        final Map<String, RoaringBitmap> postsByTag = new HashMap<>();
+        final Map<Long, RoaringBitmap> postsByUser = new HashMap<>();
+        final Map<Integer, Indexed> posts = new HashMap<>();
+        final RoaringBitmap general = new RoaringBitmap();
+        final RoaringBitmap groupPublic = new RoaringBitmap();
+
+        void put(PostState post) {
+            int id = Math.toIntExact(post.postId());
+            Indexed previous = posts.get(id);
+            List<String> tags = post.tags() != null ? post.tags() : previous != null ? previous.tags() : List.of();
+            remove(id);
+            posts.put(id, new Indexed(post.userId(), post.scope(), List.copyOf(tags)));
+            postsByUser.computeIfAbsent(post.userId(), k -> new RoaringBitmap()).add(id);
+            for (String tag : tags) {
+                postsByTag.computeIfAbsent(tag, k -> new RoaringBitmap()).add(id);
+            }
+            if (post.scope() == Scope.GENERAL) {
+                general.add(id);
+            } else if (post.scope() == Scope.GROUP_PUBLIC) {
+                groupPublic.add(id);
+            }
+        }
+
+        void remove(int id) {
+            Indexed previous = posts.remove(id);
+            if (previous == null) {
+                return;
+            }
+            removeFrom(postsByUser, previous.userId(), id);
+            for (String tag : previous.tags()) {
+                removeFrom(postsByTag, tag, id);
+            }
+            general.remove(id);
+            groupPublic.remove(id);
+        }
+
+        private static <K> void removeFrom(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(id);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        /** 태그 조건에 맞는 게시글 (matchAll 이면 교집합, 아니면 합집합) */
+        RoaringBitmap match(List<String> tags, boolean matchAll) {
+            List<RoaringBitmap> bitmaps = new ArrayList<>(tags.size());
+            for (String tag : tags) {
+                RoaringBitmap bitmap = postsByTag.get(tag);
+                if (bitmap == null) {
+                    if (matchAll) {
+                        return new RoaringBitmap();
+                    }
+                    continue;
+                }
+                bitmaps.add(bitmap);
+            }
+            if (bitmaps.isEmpty()) {
+                return new RoaringBitmap();
+            }
+            RoaringBitmap[] operands = bitmaps.toArray(new RoaringBitmap[0]);
+            return matchAll ? FastAggregation.and(operands) : FastAggregation.or(operands);
+        }
+    }
+
+    private final PostRepository postRepository;
+    private final PostTagRepository postTagRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 재구성이 끝나기 전에는 null (조회 측은 DB 로 처리)
+    private State state;
+    // 재구성 중 들어온 갱신 (재구성 중이 아니면 null)
+    private List<Update> replay;
+
+    public PostTagIndex(PostRepository postRepository, PostTagRepository postTagRepository) {
+        this.postRepository = postRepository;
+        this.postTagRepository = postTagRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.tag-index.rebuild-interval-ms:3600000}",
+               fixedDelayString = "${app.tag-index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State rebuilt = null;
+        try {
+            rebuilt = load();
+        } catch (Exception e) {
+            log.error("태그 색인 재구성 실패", e);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (rebuilt != null) {
+                for (Update update : replay) {
+                    update.applyTo(rebuilt);
+                }
+                state = rebuilt;
+            }
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private State load() {
+        State loaded = new State();
+        Map<Integer, List<String>> tagsByPost = new HashMap<>();
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = postTagRepository.findTagIndexChunk(afterId, PageRequest.of(0, CHUNK_SIZE));
+            for (Object[] row : rows) {
+                tagsByPost.computeIfAbsent(Math.toIntExact((Long) row[1]), k -> new ArrayList<>()).add((String) row[2]);
+            }
+            if (rows.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+
+        afterId = 0;
+        while (true) {
+            List<Object[]> rows = postRepository.findTagIndexChunk(afterId, PageRequest.of(0, CHUNK_SIZE));
+            for (Object[] row : rows) {
+                long postId = (Long) row[0];
+                Scope scope = scopeOf(row[2] != null, (Boolean) row[3]);
+                loaded.put(new PostState(postId, (Long) row[1], scope,
+                        tagsByPost.getOrDefault(Math.toIntExact(postId), List.of())));
+            }
+            if (rows.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        log.info("태그 색인 재구성 완료 (게시글 {}건, 태그 {}개)", loaded.posts.size(), loaded.postsByTag.size());
+        return loaded;
+    }
+
+    public static Scope scopeOf(boolean inGroup, boolean isPublic) {
+        if (!inGroup) {
+            return Scope.GENERAL;
+        }
+        return isPublic ? Scope.GROUP_PUBLIC : Scope.GROUP_PRIVATE;
+    }
+
+    /** 게시글 상태 반영 (트랜잭션 안이면 커밋 후) */
+    public void put(PostState post) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> apply(indexState -> indexState.put(post)));
+    }
+
+    /** 삭제된 게시글 제거 (트랜잭션 안이면 커밋 후) */
+    public void remove(long postId) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> apply(indexState -> indexState.remove(Math.toIntExact(postId))));
+    }
+
+    /** 전체 피드 노출 대상 중 태그 조건에 맞는 게시글. 색인이 아직 준비되지 않았으면 empty */
+    public Optional<RoaringBitmap> findPublic(List<String> tags, boolean matchAll, boolean includeGeneral, boolean includeGroup) {
+        lock.readLock().lock();
+        try {
+            if (state == null) {
+                return Optional.empty();
+            }
+            RoaringBitmap scope = includeGeneral && includeGroup ? RoaringBitmap.or(state.general, state.groupPublic)
+                    : includeGeneral ? state.general : includeGroup ? state.groupPublic : new RoaringBitmap();
+            return Optional.of(RoaringBitmap.and(state.match(tags, matchAll), scope));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 작성자의 (삭제되지 않은) 게시글 중 태그 조건에 맞는 게시글. 색인이 아직 준비되지 않았으면 empty */
+    public Optional<RoaringBitmap> findByUser(long userId, List<String> tags, boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            if (state == null) {
+                return Optional.empty();
+            }
+            RoaringBitmap userPosts = state.postsByUser.get(userId);
+            if (userPosts == null) {
+                return Optional.of(new RoaringBitmap());
+            }
+            return Optional.of(RoaringBitmap.and(state.match(tags, matchAll), userPosts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private interface Update {
+        void applyTo(State indexState);
+    }
+
+    private void apply(Update update) {
+        lock.writeLock().lock();
+        try {
+            if (state != null) {
+                update.applyTo(state);
+            }
+            if (replay != null) {
+                // 재구성 중인 새 색인에 교체 직전 다시 적용
+                replay.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.service.SearchDocumentSource.Row;
+import com.pgh.api_practice.service.SearchIndex.DocType;
+import com.pgh.api_practice.service.SearchIndex.SearchDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검색 색인 전체 재색인.
+ * 게시글 → 모임 게시글 → 댓글 순으로 MySQL 에서 id 순 스트리밍 조회(서버 측 커서)하며 chunk-size 개씩 묶어
+ * 색인 작업 스레드(workers)에 넘긴다. 처리 중인 청크 수를 제한해 조회가 색인보다 앞서 나가지 않게 한다.
+ * 앞에서부터 연속으로 끝난 청크의 마지막 id 를 진행 위치("TYPE:id")로 색인 커밋에 같이 저장하고,
+ * 중간에 종료되면 다음 기동 때 그 위치부터 이어서 한다.
+ * 새 색인(디렉토리가 비어 있음)이거나 진행 위치가 남아 있으면 기동 시 자동으로 시작한다.
+ */
+@Slf4j
+@Component
+public class ReindexJob {
+
+    /** 진행 로그 간격 (청크 수) */
+    private static final int LOG_EVERY_CHUNKS = 20;
+
+    /** 진행 현황 */
+    public record Status(boolean running, String position, long indexedRows, long elapsedMs, double rowsPerSecond) {
+    }
+
+    private final SearchIndex searchIndex;
+    private final SearchDocumentSource documentSource;
+    private final IndexingPipeline indexingPipeline;
+    private final SearchResultCache searchResultCache;
+    private final int chunkSize;
+    private final int workers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-reindex");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder indexedRows = new LongAdder();
+    private volatile String position;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    public ReindexJob(SearchIndex searchIndex,
+                      SearchDocumentSource documentSource,
+                      IndexingPipeline indexingPipeline,
+                      SearchResultCache searchResultCache,
+                      @Value("${app.reindex.chunk-size:1000}") int chunkSize,
+                      @Value("${app.reindex.workers:4}") int workers) {
+        this.searchIndex = searchIndex;
+        this.documentSource = documentSource;
+        this.indexingPipeline = indexingPipeline;
+        this.searchResultCache = searchResultCache;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeOrBuild() {
+        Optional<String> checkpoint = searchIndex.checkpoint();
+        if (checkpoint.isPresent()) {
+            log.info("중단된 검색 재색인 이어서 진행: {} 다음부터", checkpoint.get());
+            start(checkpoint.get());
+        } else if (searchIndex.isNew()) {
+            log.info("검색 색인이 없어 전체 재색인 시작");
+            start(null);
+        } else if (searchIndex.isOutdated()) {
+            log.info("검색 색인 필드 구성이 바뀌어 전체 재색인 시작");
+            start(null);
+        }
+    }
+
+    /** 재색인 시작 (from 이 null 이면 처음부터, 아니면 "TYPE:id" 다음부터). 이미 진행 중이면 false */
+    public boolean start(String from) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        indexedRows.reset();
+        startedAt = System.currentTimeMillis();
+        finishedAt = 0;
+        runner.execute(() -> {
+            try {
+                run(from);
+            } catch (Exception e) {
+                log.error("검색 재색인 중단 ({} 까지 저장됨, 재기동 시 이어서 진행)", position, e);
+            } finally {
+                finishedAt = System.currentTimeMillis();
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public Status status() {
+        long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+        long elapsedMs = startedAt > 0 ? end - startedAt : 0;
+        long rows = indexedRows.sum();
+        return new Status(running.get(), position, rows, elapsedMs, elapsedMs > 0 ? rows * 1000.0 / elapsedMs : 0);
+    }
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+    }
+
+    private void run(String from) throws IOException, InterruptedException {
+        DocType startType = DocType.values()[0];
+        long startId = 0;
+        if (from == null) {
+            searchIndex.beginReindex(startType.name() + ":0");
+        } else {
+            int separator = from.indexOf(':');
+            startType = DocType.valueOf(from.substring(0, separator));
+            startId = Long.parseLong(from.substring(separator + 1));
+        }
+        position = startType.name() + ":" + startId;
+
+        indexingPipeline.beginTracking();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            DocType[] types = DocType.values();
+            for (int i = startType.ordinal(); i < types.length; i++) {
+                reindex(types[i], types[i] == startType ? startId : 0, pool);
+                if (i + 1 < types.length) {
+                    searchIndex.markCheckpoint(types[i + 1].name() + ":0");
+                    searchIndex.commit();
+                }
+            }
+            searchIndex.finishReindex();
+            searchResultCache.invalidateAll();
+            position = null;
+            Status status = status();
+            log.info("검색 재색인 완료: {}건, {}ms ({}건/s)",
+                    status.indexedRows(), status.elapsedMs(), Math.round(status.rowsPerSecond()));
+        } finally {
+            pool.shutdownNow();
+            indexingPipeline.replayTracked();
+        }
+    }
+
+    /** 한 종류의 문서를 afterId 다음부터 스트리밍해 청크 단위로 병렬 색인 */
+    private void reindex(DocType type, long afterId, ExecutorService pool) throws IOException, InterruptedException {
+        int maxInFlight = workers * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Progress progress = new Progress(type);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        List<SearchDocument> chunk = new ArrayList<>(chunkSize);
+        long[] chunkState = {0, afterId, 0};   // [청크 번호, 청크 마지막 id, 청크 행 수]
+        documentSource.stream(type, afterId, row -> {
+            if (failure.get() != null) {
+                throw new IllegalStateException("색인 작업 실패로 재색인 중단", failure.get());
+            }
+            addRow(chunk, chunkState, row);
+            if (chunkState[2] >= chunkSize) {
+                dispatch(pool, inFlight, progress, failure, chunkState, new ArrayList<>(chunk));
+                chunk.clear();
+            }
+        });
+        if (chunkState[2] > 0) {
+            dispatch(pool, inFlight, progress, failure, chunkState, new ArrayList<>(chunk));
+        }
+
+        // 이 종류의 청크가 모두 끝날 때까지 대기
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        if (failure.get() != null) {
+            throw new IOException("검색 재색인 청크 처리 실패", failure.get());
+        }
+    }
+
+    private static void addRow(List<SearchDocument> chunk, long[] chunkState, Row row) {
+        // 부모가 삭제된 댓글처럼 색인하지 않을 행도 진행 위치에는 포함
+        if (!row.deleted()) {
+            chunk.add(row.document());
+        }
+        chunkState[1] = row.document().id();
+        chunkState[2]++;
+    }
+
+    private void dispatch(ExecutorService pool, Semaphore inFlight, Progress progress,
+                          AtomicReference<Exception> failure, long[] chunkState, List<SearchDocument> documents) {
+        long sequence = chunkState[0]++;
+        long lastId = chunkState[1];
+        long rows = chunkState[2];
+        chunkState[2] = 0;
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재색인 중단", e);
+        }
+        pool.execute(() -> {
+            try {
+                for (SearchDocument document : documents) {
+                    searchIndex.update(document);
+                }
+                indexedRows.add(rows);
+                progress.complete(sequence, lastId);
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /** 청크 완료 순서와 무관하게, 앞에서부터 연속으로 끝난 위치까지만 진행 위치로 기록 */
+    private class Progress {
+        private final DocType type;
+        private final TreeMap<Long, Long> completed = new TreeMap<>();
+        private long nextSequence;
+
+        Progress(DocType type) {
+            this.type = type;
+        }
+
+        synchronized void complete(long sequence, long lastId) {
+            completed.put(sequence, lastId);
+            Long contiguousLastId = null;
+            while (completed.containsKey(nextSequence)) {
+                contiguousLastId = completed.remove(nextSequence);
+                nextSequence++;
+                if (nextSequence % LOG_EVERY_CHUNKS == 0) {
+                    Status status = status();
+                    log.info("검색 재색인 진행: {} id {}까지, 누적 {}건 ({}건/s)",
+                            type, contiguousLastId, status.indexedRows(), Math.round(status.rowsPerSecond()));
+                }
+            }
+            if (contiguousLastId != null) {
+                position = type.name() + ":" + contiguousLastId;
+                searchIndex.markCheckpoint(position);
+            }
+        }
+    }
+}
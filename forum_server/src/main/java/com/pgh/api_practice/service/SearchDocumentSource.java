@@ -0,0 +1,133 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.service.SearchIndex.DocType;
+import com.pgh.api_practice.service.SearchIndex.SearchDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 검색 문서 원본 조회 (posts, group_posts, comments).
+ * IndexingPipeline 은 id 목록으로, ReindexJob 은 id 순 스트리밍(서버 측 커서)으로 읽는다.
+ * 댓글은 부모 게시글의 노출 범위/모임을 함께 읽어 권한 필터에 쓴다.
+ */
+@Component
+public class SearchDocumentSource {
+
+    private static final String POST_SELECT =
+            "SELECT p.id, p.group_id, p.is_public, p.is_deleted, p.title, p.body, p.views, p.like_count FROM posts p";
+    private static final String GROUP_POST_SELECT =
+            "SELECT gp.id, gp.group_id, gp.is_public, gp.is_deleted, gp.title, gp.body FROM group_posts gp";
+    private static final String COMMENT_SELECT =
+            "SELECT c.id, c.body, c.is_deleted, c.post_id, c.group_post_id, "
+            + "COALESCE(p.group_id, gp.group_id) AS group_id, "
+            + "COALESCE(p.is_public, gp.is_public) AS parent_public, "
+            + "COALESCE(p.is_deleted, gp.is_deleted, TRUE) AS parent_deleted "
+            + "FROM comments c LEFT JOIN posts p ON p.id = c.post_id LEFT JOIN group_posts gp ON gp.id = c.group_post_id";
+
+    /** 원본 행 (deleted 면 색인에서 빠져야 함) */
+    public record Row(SearchDocument document, boolean deleted) {
+    }
+
+    /** 게시글 정렬값 */
+    public record Counts(long id, long views, long likes) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingTemplate;
+
+    public SearchDocumentSource(JdbcTemplate jdbcTemplate,
+                                @Value("${app.reindex.fetch-size:-2147483648}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // MySQL 은 fetchSize 가 Integer.MIN_VALUE 면 결과를 한 번에 받지 않고 행 단위로 스트리밍한다
+        this.streamingTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingTemplate.setFetchSize(fetchSize);
+    }
+
+    /** id 목록의 현재 행 (없는 id 는 결과에서 빠짐) */
+    public List<Row> findByIds(DocType type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = selectOf(type) + " WHERE " + aliasOf(type) + ".id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> map(type, rs), ids.toArray());
+    }
+
+    /** afterId 다음부터 삭제되지 않은 행을 id 순으로 하나씩 전달 (전체를 메모리에 올리지 않음) */
+    public void stream(DocType type, long afterId, Consumer<Row> consumer) {
+        String alias = aliasOf(type);
+        String sql = selectOf(type) + " WHERE " + alias + ".id > ? AND " + alias + ".is_deleted = FALSE ORDER BY " + alias + ".id";
+        streamingTemplate.query(sql, rs -> {
+            consumer.accept(map(type, rs));
+        }, afterId);
+    }
+
+    /** 게시글 id 목록의 현재 조회수/좋아요 수 (삭제된 게시글은 빠짐) */
+    public List<Counts> findPostCounts(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String sql = "SELECT p.id, p.views, p.like_count FROM posts p WHERE p.is_deleted = FALSE AND p.id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Counts(rs.getLong("id"), rs.getLong("views"), rs.getLong("like_count")),
+                ids.toArray());
+    }
+
+    /** 게시글/모임 게시글에 달린 댓글 id (부모 노출 범위가 바뀌거나 삭제될 때 재색인용) */
+    public List<Long> findCommentIds(DocType parentType, long parentId) {
+        return jdbcTemplate.queryForList("SELECT c.id FROM comments c WHERE c.target_type = ? AND c.target_id = ?",
+                Long.class, parentType.name(), parentId);
+    }
+
+    private static String selectOf(DocType type) {
+        return switch (type) {
+            case POST -> POST_SELECT;
+            case GROUP_POST -> GROUP_POST_SELECT;
+            case COMMENT -> COMMENT_SELECT;
+        };
+    }
+
+    private static String aliasOf(DocType type) {
+        return switch (type) {
+            case POST -> "p";
+            case GROUP_POST -> "gp";
+            case COMMENT -> "c";
+        };
+    }
+
+    private static Row map(DocType type, ResultSet rs) throws SQLException {
+        long id = rs.getLong("id");
+        Long groupId = rs.getObject("group_id") != null ? rs.getLong("group_id") : null;
+        return switch (type) {
+            case POST -> new Row(new SearchDocument(DocType.POST, id,
+                    PostTagIndex.scopeOf(groupId != null, rs.getBoolean("is_public")), groupId,
+                    null, null, rs.getString("title"), rs.getString("body"),
+                    rs.getLong("views"), rs.getLong("like_count")),
+                    rs.getBoolean("is_deleted"));
+            case GROUP_POST -> new Row(new SearchDocument(DocType.GROUP_POST, id,
+                    PostTagIndex.scopeOf(true, rs.getBoolean("is_public")), groupId,
+                    null, null, rs.getString("title"), rs.getString("body"), 0, 0),
+                    rs.getBoolean("is_deleted"));
+            case COMMENT -> {
+                Long postId = rs.getObject("post_id") != null ? rs.getLong("post_id") : null;
+                Long groupPostId = rs.getObject("group_post_id") != null ? rs.getLong("group_post_id") : null;
+                boolean parentPublic = rs.getBoolean("parent_public");
+                DocType parentType = postId != null ? DocType.POST : DocType.GROUP_POST;
+                PostTagIndex.Scope scope = parentType == DocType.POST
+                        ? PostTagIndex.scopeOf(groupId != null, parentPublic)
+                        : PostTagIndex.scopeOf(true, parentPublic);
+                yield new Row(new SearchDocument(DocType.COMMENT, id, scope, groupId,
+                        parentType, postId != null ? postId : groupPostId, null, rs.getString("body"), 0, 0),
+                        rs.getBoolean("is_deleted") || rs.getBoolean("parent_deleted"));
+            }
+        };
+    }
+}
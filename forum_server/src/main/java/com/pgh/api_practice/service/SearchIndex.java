@@ -0,0 +1,499 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.CollectorManager;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 전문 검색 색인 (로컬 디스크의 Lucene 색인). 게시글, 모임 게시글, 댓글을 문서 종류(type)로 구분해 담는다.
+ * 한글은 형태소 분석 없이 글자 바이그램으로 나누고, 영문/숫자는 단어 단위로 색인한다.
+ * 문서 갱신은 IndexingPipeline(작성/수정/삭제)과 ReindexJob(전체 재색인)이 한다.
+ * 전체 재색인은 세대(generation)를 올려 다시 쓰고, 끝나면 이전 세대 문서만 지워서 그동안에도 검색이 된다.
+ * 재색인 진행 위치(checkpoint)는 Lucene 커밋 데이터에 같이 저장돼 재시작 시 이어서 한다.
+ * 검색 결과는 문서 id 만 돌려주고 행 조회는 호출 측에서 마지막 페이지만 한다.
+ * 게시글 문서는 조회수/좋아요 수를 정렬용 doc values 로 같이 가진다 (IndexingPipeline.submitCounts 로 값만 갱신).
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    public enum DocType { POST, GROUP_POST, COMMENT }
+
+    /** 색인 문서 (댓글의 scope/groupId 는 부모 게시글을 따름, 댓글에는 title 이 없음, views/likes 는 게시글만 씀) */
+    public record SearchDocument(DocType type, long id, PostTagIndex.Scope scope, Long groupId,
+                                 DocType parentType, Long parentId, String title, String body,
+                                 long views, long likes) {
+    }
+
+    /** 게시글 검색 정렬 기준 (관련도순 외) */
+    public enum SortKey { VIEWS, LIKES }
+
+    /** 통합 검색 결과 한 건 (댓글이면 parentType/parentId 가 달린 게시글) */
+    public record Hit(DocType type, long id, Long groupId, DocType parentType, Long parentId) {
+    }
+
+    /** 통합 검색 결과 페이지 (total 은 권한 필터 적용 후 전체 일치 수) */
+    public record HitPage(long total, List<Hit> hits) {
+    }
+
+    private static final String UID = "uid";
+    private static final String TYPE = "type";
+    private static final String DOC_ID = "doc_id";
+    private static final String SCOPE = "scope";
+    private static final String GROUP_ID = "group_id";
+    private static final String PARENT_TYPE = "parent_type";
+    private static final String PARENT_ID = "parent_id";
+    private static final String GENERATION = "generation";
+    private static final String TITLE = "title";
+    private static final String BODY = "body";
+    private static final String VIEWS = "views";
+    private static final String LIKES = "likes";
+
+    // 커밋 데이터 키
+    private static final String COMMIT_GENERATION = "generation";
+    private static final String COMMIT_CHECKPOINT = "reindex.checkpoint";
+    private static final String COMMIT_SCHEMA = "schema";
+
+    /** 문서 필드 구성 버전 (올리면 기동 시 전체 재색인, 2: 조회수/좋아요 정렬값 추가) */
+    private static final int SCHEMA_VERSION = 2;
+
+    /** 제목 일치 가중치 */
+    private static final float TITLE_BOOST = 2f;
+
+    /** 검색어 토큰 수 상한 (토큰마다 절이 최대 4개 생기므로 IndexSearcher 최대 절 수 1024 보다 충분히 작게) */
+    static final int MAX_QUERY_TOKENS = 64;
+
+    private final Path indexDir;
+
+    // 색인: 바이그램 + 단독 글자(한 글자 검색용), 검색어: 바이그램만 (한 글자 검색어는 그대로)
+    private final Analyzer indexAnalyzer = bigramAnalyzer(true);
+    private final Analyzer queryAnalyzer = bigramAnalyzer(false);
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private boolean existing;
+    // 지금 쓰는 문서의 세대 / 진행 중인 재색인 위치 (없으면 null) / 마지막 전체 재색인 때의 필드 구성 버전
+    private volatile long generation;
+    private volatile String checkpoint;
+    private volatile int schema;
+
+    public SearchIndex(@Value("${app.search.index-dir:./data/search-index}") String indexDir) {
+        this.indexDir = Path.of(indexDir);
+    }
+
+    private static Analyzer bigramAnalyzer(boolean outputUnigrams) {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer source = new StandardTokenizer();
+                TokenStream result = new CJKWidthFilter(source);
+                result = new LowerCaseFilter(result);
+                result = new CJKBigramFilter(result, CJKBigramFilter.HANGUL | CJKBigramFilter.HAN
+                        | CJKBigramFilter.HIRAGANA | CJKBigramFilter.KATAKANA, outputUnigrams);
+                return new TokenStreamComponents(source, result);
+            }
+        };
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+        existing = DirectoryReader.indexExists(directory);
+        writer = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (COMMIT_GENERATION.equals(entry.getKey())) {
+                    generation = Long.parseLong(entry.getValue());
+                } else if (COMMIT_CHECKPOINT.equals(entry.getKey())) {
+                    checkpoint = entry.getValue();
+                } else if (COMMIT_SCHEMA.equals(entry.getKey())) {
+                    schema = Integer.parseInt(entry.getValue());
+                }
+            }
+        }
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    /** 한 번도 커밋된 적 없는 (새로 만든) 색인인지 */
+    public boolean isNew() {
+        return !existing;
+    }
+
+    /** 이전 버전 필드 구성으로 만든 색인인지 (전체 재색인이 끝나면 false) */
+    public boolean isOutdated() {
+        return existing && schema < SCHEMA_VERSION;
+    }
+
+    /** 문서 추가/교체 */
+    public void update(SearchDocument document) throws IOException {
+        writer.updateDocument(uidOf(document.type(), document.id()), toDocument(document));
+    }
+
+    /** 문서 제거 */
+    public void delete(DocType type, long id) throws IOException {
+        writer.deleteDocuments(uidOf(type, id));
+    }
+
+    /** 게시글 정렬값(조회수/좋아요 수)만 교체 (문서가 없으면 아무것도 안 함) */
+    public void updateCounts(long postId, long views, long likes) throws IOException {
+        writer.updateDocValues(uidOf(DocType.POST, postId),
+                new NumericDocValuesField(VIEWS, views), new NumericDocValuesField(LIKES, likes));
+    }
+
+    private static Term uidOf(DocType type, long id) {
+        return new Term(UID, type.name() + ":" + id);
+    }
+
+    private Document toDocument(SearchDocument source) {
+        Document document = new Document();
+        document.add(new StringField(UID, source.type().name() + ":" + source.id(), Field.Store.NO));
+        document.add(new StringField(TYPE, source.type().name(), Field.Store.YES));
+        document.add(new NumericDocValuesField(DOC_ID, source.id()));
+        document.add(new StoredField(DOC_ID, source.id()));
+        document.add(new StringField(SCOPE, source.scope().name(), Field.Store.NO));
+        if (source.groupId() != null) {
+            document.add(new StringField(GROUP_ID, String.valueOf(source.groupId()), Field.Store.YES));
+        }
+        if (source.parentType() != null && source.parentId() != null) {
+            document.add(new StoredField(PARENT_TYPE, source.parentType().name()));
+            document.add(new StoredField(PARENT_ID, source.parentId()));
+        }
+        document.add(new LongPoint(GENERATION, generation));
+        document.add(new TextField(TITLE, source.title() != null ? source.title() : "", Field.Store.NO));
+        document.add(new TextField(BODY, source.body() != null ? source.body() : "", Field.Store.NO));
+        if (source.type() == DocType.POST) {
+            document.add(new NumericDocValuesField(VIEWS, source.views()));
+            document.add(new NumericDocValuesField(LIKES, source.likes()));
+        }
+        return document;
+    }
+
+    /** 진행 중이던 전체 재색인 위치 (없으면 empty) */
+    public Optional<String> checkpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+
+    /** 전체 재색인 시작: 이후 쓰는 문서는 새 세대가 된다 */
+    public synchronized void beginReindex(String start) throws IOException {
+        generation++;
+        checkpoint = start;
+        commit();
+    }
+
+    /** 재색인 진행 위치 기록 (다음 커밋 때 이 위치까지의 문서와 함께 저장) */
+    public void markCheckpoint(String position) {
+        checkpoint = position;
+    }
+
+    /** 전체 재색인 완료: 재색인 중 다시 쓰이지 않은 이전 세대 문서(DB에서 사라진 행) 제거 */
+    public synchronized void finishReindex() throws IOException {
+        writer.deleteDocuments(LongPoint.newRangeQuery(GENERATION, Long.MIN_VALUE, generation - 1));
+        checkpoint = null;
+        schema = SCHEMA_VERSION;
+        commit();
+        searcherManager.maybeRefresh();
+    }
+
+    /** 변경 사항을 검색에 반영 (near-real-time) */
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /** 바뀐 문서가 있으면 디스크에 커밋 */
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:10000}")
+    public void commitChanges() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            commit();
+        }
+    }
+
+    /** 디스크에 커밋 (세대, 재색인 위치 포함) */
+    public synchronized void commit() throws IOException {
+        Map<String, String> commitData = new HashMap<>();
+        commitData.put(COMMIT_GENERATION, String.valueOf(generation));
+        commitData.put(COMMIT_SCHEMA, String.valueOf(schema));
+        if (checkpoint != null) {
+            commitData.put(COMMIT_CHECKPOINT, checkpoint);
+        }
+        writer.setLiveCommitData(commitData.entrySet());
+        writer.commit();
+        existing = true;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /** 검색어에 맞는 전체 게시글 id (노출 범위 필터 포함) */
+    public RoaringBitmap match(String keyword, boolean includeGeneral, boolean includeGroup) {
+        Query query = buildQuery(keyword, includeGeneral, includeGroup);
+        if (query == null) {
+            return new RoaringBitmap();
+        }
+        return search(searcher -> searcher.search(query, new CollectorManager<IdCollector, RoaringBitmap>() {
+            @Override
+            public IdCollector newCollector() {
+                return new IdCollector();
+            }
+
+            @Override
+            public RoaringBitmap reduce(Collection<IdCollector> collectors) {
+                RoaringBitmap ids = new RoaringBitmap();
+                collectors.forEach(collector -> ids.or(collector.ids));
+                return ids;
+            }
+        }));
+    }
+
+    /** 관련도순 페이지의 게시글 id (BM25, 제목 가중치) */
+    public List<Long> findByRelevance(String keyword, boolean includeGeneral, boolean includeGroup, int offset, int size) {
+        Query query = buildQuery(keyword, includeGeneral, includeGroup);
+        if (query == null || size <= 0) {
+            return new ArrayList<>();
+        }
+        return search(searcher -> {
+            List<Long> ids = new ArrayList<>();
+            ScoreDoc[] hits = searcher.search(query, offset + size).scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            for (int i = offset; i < hits.length; i++) {
+                ids.add(storedFields.document(hits[i].doc).getField(DOC_ID).numericValue().longValue());
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * 조회수/좋아요순 페이지의 게시글 id (같은 값이면 id 역순, 피드 정렬과 같음).
+     * 정렬값은 조회수 버퍼 반영/좋아요 변경 뒤 갱신되므로 DB 보다 몇 초 늦을 수 있다.
+     */
+    public List<Long> findBySort(String keyword, boolean includeGeneral, boolean includeGroup, SortKey key, int offset, int size) {
+        Query query = buildQuery(keyword, includeGeneral, includeGroup);
+        if (query == null || size <= 0) {
+            return new ArrayList<>();
+        }
+        SortField value = new SortField(key == SortKey.LIKES ? LIKES : VIEWS, SortField.Type.LONG, true);
+        value.setMissingValue(0L);
+        Sort sort = new Sort(value, new SortField(DOC_ID, SortField.Type.LONG, true));
+        return search(searcher -> {
+            List<Long> ids = new ArrayList<>();
+            ScoreDoc[] hits = searcher.search(query, offset + size, sort).scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            for (int i = offset; i < hits.length; i++) {
+                ids.add(storedFields.document(hits[i].doc).getField(DOC_ID).numericValue().longValue());
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * 게시글/모임 게시글/댓글 통합 검색 (관련도순).
+     * 권한 필터도 색인에서 처리: 전체 피드 게시글과 외부 공개 모임 글은 모두, 비공개 모임 글은 memberGroupIds 모임만.
+     */
+    public HitPage searchAll(String keyword, Set<DocType> types, Collection<Long> memberGroupIds, int offset, int size) {
+        Query text = textQuery(keyword);
+        if (text == null || types.isEmpty()) {
+            return new HitPage(0, List.of());
+        }
+        BooleanQuery.Builder visible = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(SCOPE, PostTagIndex.Scope.GENERAL.name())), BooleanClause.Occur.SHOULD)
+                .add(new TermQuery(new Term(SCOPE, PostTagIndex.Scope.GROUP_PUBLIC.name())), BooleanClause.Occur.SHOULD);
+        if (!memberGroupIds.isEmpty()) {
+            visible.add(new TermInSetQuery(GROUP_ID, memberGroupIds.stream()
+                    .map(groupId -> new BytesRef(String.valueOf(groupId))).toList()), BooleanClause.Occur.SHOULD);
+        }
+        BooleanQuery.Builder typeFilter = new BooleanQuery.Builder();
+        types.forEach(type -> typeFilter.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.SHOULD));
+        Query query = new BooleanQuery.Builder()
+                .add(text, BooleanClause.Occur.MUST)
+                .add(visible.build(), BooleanClause.Occur.FILTER)
+                .add(typeFilter.build(), BooleanClause.Occur.FILTER)
+                .build();
+
+        return search(searcher -> {
+            long total = searcher.count(query);
+            List<Hit> hits = new ArrayList<>();
+            if (size > 0 && offset < total) {
+                ScoreDoc[] scoreDocs = searcher.search(query, offset + size).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    hits.add(toHit(storedFields.document(scoreDocs[i].doc)));
+                }
+            }
+            return new HitPage(total, hits);
+        });
+    }
+
+    private static Hit toHit(Document document) {
+        String groupId = document.get(GROUP_ID);
+        String parentType = document.get(PARENT_TYPE);
+        IndexableField parentId = document.getField(PARENT_ID);
+        return new Hit(DocType.valueOf(document.get(TYPE)),
+                document.getField(DOC_ID).numericValue().longValue(),
+                groupId != null ? Long.valueOf(groupId) : null,
+                parentType != null ? DocType.valueOf(parentType) : null,
+                parentId != null ? parentId.numericValue().longValue() : null);
+    }
+
+    /** 일치한 문서의 게시글 id 수집 */
+    private static final class IdCollector extends SimpleCollector {
+        private final RoaringBitmap ids = new RoaringBitmap();
+        private NumericDocValues postIds;
+
+        @Override
+        protected void doSetNextReader(LeafReaderContext context) throws IOException {
+            postIds = DocValues.getNumeric(context.reader(), DOC_ID);
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            if (postIds.advanceExact(doc)) {
+                ids.add(Math.toIntExact(postIds.longValue()));
+            }
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+    }
+
+    private interface SearchAction<T> {
+        T run(IndexSearcher searcher) throws IOException;
+    }
+
+    private <T> T search(SearchAction<T> action) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return action.run(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IndexSearcher.TooManyClauses e) {
+            throw new ApplicationBadRequestException("검색어가 너무 깁니다.");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 게시글 검색: 검색어 + 노출 범위 필터 */
+    private Query buildQuery(String keyword, boolean includeGeneral, boolean includeGroup) {
+        Query text = textQuery(keyword);
+        if (text == null || (!includeGeneral && !includeGroup)) {
+            return null;
+        }
+        BooleanQuery.Builder scopes = new BooleanQuery.Builder();
+        if (includeGeneral) {
+            scopes.add(new TermQuery(new Term(SCOPE, PostTagIndex.Scope.GENERAL.name())), BooleanClause.Occur.SHOULD);
+        }
+        if (includeGroup) {
+            scopes.add(new TermQuery(new Term(SCOPE, PostTagIndex.Scope.GROUP_PUBLIC.name())), BooleanClause.Occur.SHOULD);
+        }
+        return new BooleanQuery.Builder()
+                .add(text, BooleanClause.Occur.MUST)
+                .add(scopes.build(), BooleanClause.Occur.FILTER)
+                .add(new TermQuery(new Term(TYPE, DocType.POST.name())), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    /**
+     * 검색어의 모든 토큰이 제목 또는 본문에 있어야 일치 (영문/숫자 토큰은 앞부분 일치 허용).
+     * 토큰이 MAX_QUERY_TOKENS 개를 넘으면 400.
+     */
+    private Query textQuery(String keyword) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int tokenCount = 0;
+        try (TokenStream tokens = queryAnalyzer.tokenStream(BODY, keyword)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            TypeAttribute type = tokens.addAttribute(TypeAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                if (++tokenCount > MAX_QUERY_TOKENS) {
+                    throw new ApplicationBadRequestException("검색어가 너무 깁니다. (단어 " + MAX_QUERY_TOKENS + "개 이하)");
+                }
+                String token = term.toString();
+                BooleanQuery.Builder clause = new BooleanQuery.Builder()
+                        .add(new BoostQuery(new TermQuery(new Term(TITLE, token)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(BODY, token)), BooleanClause.Occur.SHOULD);
+                if (StandardTokenizer.TOKEN_TYPES[StandardTokenizer.ALPHANUM].equals(type.type())) {
+                    clause.add(new PrefixQuery(new Term(TITLE, token)), BooleanClause.Occur.SHOULD)
+                          .add(new PrefixQuery(new Term(BODY, token)), BooleanClause.Occur.SHOULD);
+                }
+                query.add(clause.build(), BooleanClause.Occur.MUST);
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokenCount > 0 ? query.build() : null;
+    }
+}
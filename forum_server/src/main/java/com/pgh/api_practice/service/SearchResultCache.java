@@ -0,0 +1,134 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostListDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 검색 결과 페이지 캐시 (검색어, 정렬, 모임 필터, 페이지 단위).
+ * 항목마다 채울 때의 콘텐츠 세대(generation)를 같이 저장하고, 세대가 바뀐 항목은 꺼낼 때 버린다.
+ * 세대는 게시글 작성/수정/삭제(커밋 전후 한 번씩)와 검색 색인에 게시글 변경이 보이게 된 시점에 올라가므로
+ * 삭제된 게시글이 캐시된 결과로 다시 나오지 않는다.
+ * 조회 전에 받은 세대가 저장 시점까지 그대로일 때만 저장한다.
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+
+    public record Key(String keyword, String sortType, String groupFilter, int page, int size) {
+
+        /** 검색어는 소문자 + 공백 정리 (색인 분석기와 같은 기준이라 결과가 같음) */
+        public static Key of(String keyword, String sortType, String groupFilter, int page, int size) {
+            return new Key(keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT),
+                    sortType != null ? sortType.toUpperCase(Locale.ROOT) : "",
+                    groupFilter != null ? groupFilter.toUpperCase(Locale.ROOT) : "",
+                    page, size);
+        }
+    }
+
+    /** 캐시된 페이지 내용과 전체 건수 */
+    public record Result(List<PostListDTO> content, long total) {
+    }
+
+    /** 크기 조정용 지표 (stale = 세대가 바뀌어 버린 항목) */
+    public record Stats(int size, long hits, long misses, long stale, long evictions, double hitRate) {
+    }
+
+    private record Entry(long generation, Result result) {
+    }
+
+    private final int maxEntries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // 접근 순서 LinkedHashMap: 용량 초과 시 가장 오래 안 쓴 항목부터 제거
+    private final LinkedHashMap<Key, Entry> entries;
+
+    public SearchResultCache(@Value("${app.search-cache.max-entries:2000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > SearchResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** 검색 실행 전에 받아 두었다가 put 에 넘김 */
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<Result> get(Key key) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.generation() == generation.get()) {
+                hits.increment();
+                return Optional.of(entry.result());
+            }
+            if (entry != null) {
+                entries.remove(key);
+                stale.increment();
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /** 검색 결과 저장 (그사이 세대가 바뀌었으면 저장하지 않음) */
+    public void put(Key key, long generation, List<PostListDTO> content, long total) {
+        Result result = new Result(List.copyOf(content), total);
+        synchronized (this) {
+            if (this.generation.get() != generation) {
+                return;
+            }
+            entries.put(key, new Entry(generation, result));
+        }
+    }
+
+    /** 게시글 변경: 지금까지의 캐시 결과 전체 무효화 (트랜잭션 안이면 커밋 후 한 번 더) */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        AfterCommit.run(AfterCommit.NoTransaction.SKIP, generation::incrementAndGet);
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return new Stats(size, hitCount, misses.sum(), stale.sum(), evictions.sum(),
+                lookups > 0 ? (double) hitCount / lookups : 0);
+    }
+
+    @Scheduled(initialDelayString = "${app.search-cache.stats-log-interval-ms:300000}",
+               fixedDelayString = "${app.search-cache.stats-log-interval-ms:300000}")
+    public void logStats() {
+        Stats stats = stats();
+        if (stats.hits() + stats.misses() > 0) {
+            log.info("검색 결과 캐시: {}/{}개, 적중률 {}% (적중 {}, 미스 {}, 세대 만료 {}, 용량 초과 제거 {})",
+                    stats.size(), maxEntries, Math.round(stats.hitRate() * 1000) / 10.0,
+                    stats.hits(), stats.misses(), stats.stale(), stats.evictions());
+        }
+    }
+}
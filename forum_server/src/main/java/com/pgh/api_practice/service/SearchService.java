@@ -0,0 +1,207 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.SearchResultDTO;
+import com.pgh.api_practice.entity.Comment;
+import com.pgh.api_practice.entity.GroupPost;
+import com.pgh.api_practice.entity.Post;
+import com.pgh.api_practice.entity.Users;
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
+import com.pgh.api_practice.repository.CommentRepository;
+import com.pgh.api_practice.repository.GroupMemberRepository;
+import com.pgh.api_practice.repository.GroupPostRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import com.pgh.api_practice.repository.UserRepository;
+import com.pgh.api_practice.service.SearchIndex.DocType;
+import com.pgh.api_practice.service.SearchIndex.Hit;
+import com.pgh.api_practice.service.SearchIndex.HitPage;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@AllArgsConstructor
+public class SearchService {
+
+    /** 검색 결과 본문 미리보기 길이 */
+    private static final int SNIPPET_LENGTH = 150;
+
+    private final SearchIndex searchIndex;
+    private final IndexingPipeline indexingPipeline;
+    private final PostRepository postRepository;
+    private final GroupPostRepository groupPostRepository;
+    private final CommentRepository commentRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final UserRepository userRepository;
+
+    /** 현재 사용자 가져오기 (비로그인이면 null) */
+    private Users getCurrentUser() {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getName() == null || "anonymousUser".equals(authentication.getName())) {
+            return null;
+        }
+        return userRepository.findByUsername(authentication.getName()).orElse(null);
+    }
+
+    /**
+     * ✅ 통합 검색 (게시글, 모임 게시글, 댓글 / 관련도순)
+     * 비공개 모임 글과 그 댓글은 가입한 모임 것만 나온다. types 가 비어 있으면 전체.
+     */
+    @Transactional(readOnly = true)
+    public Page<SearchResultDTO> search(String keyword, List<String> types, Pageable pageable) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            throw new ApplicationBadRequestException("검색어를 입력해주세요.");
+        }
+        Set<DocType> docTypes = toDocTypes(types);
+
+        Users currentUser = getCurrentUser();
+        Set<Long> memberGroupIds = currentUser != null
+                ? new HashSet<>(groupMemberRepository.findGroupIdsByUserId(currentUser.getId()))
+                : Set.of();
+
+        HitPage hitPage = searchIndex.searchAll(keyword.trim(), docTypes, memberGroupIds,
+                (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE), pageable.getPageSize());
+        List<Hit> stale = new ArrayList<>();
+        List<SearchResultDTO> results = toResults(hitPage.hits(), memberGroupIds, stale);
+        // 색인의 권한 필터는 DB 와 같은 규칙이라 여기서 빠지는 건 색인 반영이 늦은 문서뿐:
+        // 전체 개수에서도 빼고, 다시 색인해 다음 검색부터는 색인 단계에서 빠지게 한다
+        stale.forEach(hit -> indexingPipeline.submit(hit.type(), hit.id()));
+        return new PageImpl<>(results, pageable, Math.max(hitPage.total() - stale.size(), 0));
+    }
+
+    private static Set<DocType> toDocTypes(List<String> types) {
+        if (types == null || types.isEmpty()) {
+            return EnumSet.allOf(DocType.class);
+        }
+        Set<DocType> docTypes = EnumSet.noneOf(DocType.class);
+        for (String type : types) {
+            if (type == null || type.isBlank()) {
+                continue;
+            }
+            try {
+                docTypes.add(DocType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ApplicationBadRequestException("검색 대상은 POST, GROUP_POST, COMMENT 중에서 선택해주세요.");
+            }
+        }
+        return docTypes.isEmpty() ? EnumSet.allOf(DocType.class) : docTypes;
+    }
+
+    /** 검색 결과 id 를 종류별로 한 번씩 조회해 관련도 순서대로 조립 (걸러진 hit 은 stale 에 담음) */
+    private List<SearchResultDTO> toResults(List<Hit> hits, Set<Long> memberGroupIds, List<Hit> stale) {
+        Map<DocType, List<Long>> idsByType = hits.stream().collect(Collectors.groupingBy(Hit::type,
+                Collectors.mapping(Hit::id, Collectors.toList())));
+        Map<Long, Post> posts = byId(idsByType.get(DocType.POST), postRepository::findSearchResultsByIdIn, Post::getId);
+        Map<Long, GroupPost> groupPosts = byId(idsByType.get(DocType.GROUP_POST), groupPostRepository::findSearchResultsByIdIn, GroupPost::getId);
+        Map<Long, Comment> comments = byId(idsByType.get(DocType.COMMENT), commentRepository::findSearchResultsByIdIn, Comment::getId);
+
+        // 색인 반영 전에 삭제/비공개로 바뀐 글은 여기서 한 번 더 거른다
+        List<SearchResultDTO> results = new ArrayList<>();
+        for (Hit hit : hits) {
+            SearchResultDTO result = switch (hit.type()) {
+                case POST -> {
+                    Post post = posts.get(hit.id());
+                    yield post != null && isVisible(hit.groupId(), post.isPublic(), memberGroupIds) ? toResult(hit, post) : null;
+                }
+                case GROUP_POST -> {
+                    GroupPost groupPost = groupPosts.get(hit.id());
+                    yield groupPost != null && isVisible(hit.groupId(), groupPost.isPublic(), memberGroupIds) ? toResult(hit, groupPost) : null;
+                }
+                case COMMENT -> {
+                    Comment comment = comments.get(hit.id());
+                    yield comment != null && isParentVisible(hit, comment, memberGroupIds) ? toResult(hit, comment) : null;
+                }
+            };
+            if (result != null) {
+                results.add(result);
+            } else {
+                stale.add(hit);
+            }
+        }
+        return results;
+    }
+
+    private static <T> Map<Long, T> byId(List<Long> ids, Function<List<Long>, List<T>> query, Function<T, Long> idOf) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        return query.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private static boolean isVisible(Long groupId, boolean isPublic, Set<Long> memberGroupIds) {
+        return groupId == null || isPublic || memberGroupIds.contains(groupId);
+    }
+
+    private static boolean isParentVisible(Hit hit, Comment comment, Set<Long> memberGroupIds) {
+        if (comment.getPost() != null) {
+            return !comment.getPost().isDeleted() && isVisible(hit.groupId(), comment.getPost().isPublic(), memberGroupIds);
+        }
+        if (comment.getGroupPost() != null) {
+            return !comment.getGroupPost().isDeleted() && isVisible(hit.groupId(), comment.getGroupPost().isPublic(), memberGroupIds);
+        }
+        return false;
+    }
+
+    private static SearchResultDTO toResult(Hit hit, Post post) {
+        return SearchResultDTO.builder()
+                .type(DocType.POST.name())
+                .id(post.getId())
+                .title(post.getTitle())
+                .snippet(snippet(post.getBody()))
+                .username(post.getUser().getUsername())
+                .nickname(post.getUser().getNickname())
+                .groupId(hit.groupId())
+                .createDateTime(post.getCreatedTime())
+                .build();
+    }
+
+    private static SearchResultDTO toResult(Hit hit, GroupPost groupPost) {
+        return SearchResultDTO.builder()
+                .type(DocType.GROUP_POST.name())
+                .id(groupPost.getId())
+                .title(groupPost.getTitle())
+                .snippet(snippet(groupPost.getBody()))
+                .username(groupPost.getUser().getUsername())
+                .nickname(groupPost.getUser().getNickname())
+                .groupId(hit.groupId())
+                .createDateTime(groupPost.getCreatedTime())
+                .build();
+    }
+
+    private static SearchResultDTO toResult(Hit hit, Comment comment) {
+        boolean onPost = comment.getPost() != null;
+        return SearchResultDTO.builder()
+                .type(DocType.COMMENT.name())
+                .id(comment.getId())
+                .title(onPost ? comment.getPost().getTitle() : comment.getGroupPost().getTitle())
+                .snippet(snippet(comment.getBody()))
+                .username(comment.getUser().getUsername())
+                .nickname(comment.getUser().getNickname())
+                .groupId(hit.groupId())
+                .parentType(onPost ? DocType.POST.name() : DocType.GROUP_POST.name())
+                .parentId(onPost ? comment.getPost().getId() : comment.getGroupPost().getId())
+                .createDateTime(comment.getCreatedTime())
+                .build();
+    }
+
+    private static String snippet(String body) {
+        if (body == null) {
+            return "";
+        }
+        String text = body.strip();
+        return text.length() <= SNIPPET_LENGTH ? text : text.substring(0, SNIPPET_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,120 @@
+package com.pgh.api_practice.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 같은 기준으로 정렬된 여러 소스를 k-way 병합해 한 페이지를 만든다.
+ * 병합 결과의 앞 offset + size 개에 한 소스가 기여할 수 있는 행은 최대 offset + size 개이므로,
+ * 소스마다 "LIMIT offset + size" 쿼리 한 번만 실행하고 앞 페이지는 메모리에서 건너뛴다.
+ */
+final class SortedSourceMerger {
+
+    /** 정렬된 청크 조회와 전체 개수 조회를 제공하는 소스 */
+    interface Source<T> {
+        /** chunk 의 offset/limit/Sort 그대로 조회 (count 쿼리 없음, merge 는 항상 offset 0 으로 호출) */
+        List<T> fetch(Pageable chunk);
+
+        long count();
+    }
+
+    private SortedSourceMerger() {
+    }
+
+    static <T> Source<T> source(Function<Pageable, List<T>> fetch, LongSupplier count) {
+        return new Source<>() {
+            @Override
+            public List<T> fetch(Pageable chunk) {
+                return fetch.apply(chunk);
+            }
+
+            @Override
+            public long count() {
+                return count.getAsLong();
+            }
+        };
+    }
+
+    /**
+     * @param sort       DB 정렬 조건 (comparator 와 같은 순서여야 함)
+     * @param comparator 병합 시 사용할 비교자
+     */
+    static <T> Page<T> merge(List<Source<T>> sources, Sort sort, Comparator<? super T> comparator, Pageable pageable) {
+        int pageSize = pageable.getPageSize();
+        long offset = pageable.getOffset();
+        int limit = (int) Math.min(offset + pageSize, Integer.MAX_VALUE);
+
+        List<Cursor<T>> cursors = new ArrayList<>(sources.size());
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> comparator.compare(a.head(), b.head()));
+        for (Source<T> source : sources) {
+            Cursor<T> cursor = new Cursor<>(source, source.fetch(PageRequest.of(0, limit, sort)), limit);
+            cursors.add(cursor);
+            if (cursor.hasNext()) {
+                heap.add(cursor);
+            }
+        }
+
+        List<T> content = new ArrayList<>(pageSize);
+        for (long taken = 0; taken < limit; taken++) {
+            Cursor<T> cursor = heap.poll();
+            if (cursor == null) {
+                break;
+            }
+            T item = cursor.next();
+            if (cursor.hasNext()) {
+                heap.add(cursor);
+            }
+            // 앞 페이지는 건너뜀
+            if (taken >= offset) {
+                content.add(item);
+            }
+        }
+
+        long total = 0;
+        for (Cursor<T> cursor : cursors) {
+            total += cursor.total();
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static final class Cursor<T> {
+        private final Source<T> source;
+        private final List<T> rows;
+        private final int limit;
+        private int position;
+
+        Cursor(Source<T> source, List<T> rows, int limit) {
+            this.source = source;
+            this.rows = rows;
+            this.limit = limit;
+        }
+
+        boolean hasNext() {
+            return position < rows.size();
+        }
+
+        T head() {
+            return rows.get(position);
+        }
+
+        T next() {
+            return rows.get(position++);
+        }
+
+        /** limit 보다 적게 읽힌 소스는 그게 전부이므로 count 쿼리를 생략 */
+        long total() {
+            return rows.size() < limit ? rows.size() : source.count();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.pgh.api_practice.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * long 키 LRU 캐시 (무효화와 채우기가 엇갈려도 예전 값이 다시 들어가지 않음).
+ * 채우는 쪽은 DB 조회 전에 stamp(key) 를 받아 두었다가 put 에 넘기고,
+ * 그 사이 키(스트라이프) 단위 또는 전체(epoch) 무효화가 있었으면 저장하지 않는다.
+ *
+ * 용량은 항목 무게의 합(weigher)으로 제한하며 초과 시 가장 오래 안 쓴 항목부터 제거한다.
+ * 모든 메서드는 이 객체로 동기화된다.
+ */
+final class StampedLruCache<V> {
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private final ToLongFunction<V> weigher;
+    private final long maxWeight;
+
+    // 접근 순서 LinkedHashMap: 용량 초과 시 가장 오래 안 쓴 항목부터 제거
+    private final LinkedHashMap<Long, V> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedWeight;
+
+    // 키 별(스트라이프) 무효화 횟수와 전체 무효화 횟수
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+
+    StampedLruCache(ToLongFunction<V> weigher, long maxWeight) {
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+    }
+
+    /** DB 조회 전에 받아 두었다가 put 에 넘김 */
+    long stamp(long key) {
+        return stamps.get(stripe(key)) + epoch.get();
+    }
+
+    synchronized Optional<V> get(long key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    /** stamp 가 그대로일 때만 저장, 저장했으면 true */
+    synchronized boolean put(long key, long stamp, V value) {
+        if (stamp(key) != stamp) {
+            return false;
+        }
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            usedWeight -= weigher.applyAsLong(previous);
+        }
+        usedWeight += weigher.applyAsLong(value);
+        Iterator<V> eldest = entries.values().iterator();
+        while (usedWeight > maxWeight && eldest.hasNext()) {
+            usedWeight -= weigher.applyAsLong(eldest.next());
+            eldest.remove();
+        }
+        return true;
+    }
+
+    /** 키 하나 무효화 (같은 스트라이프의 진행 중인 채우기도 버려짐) */
+    synchronized void invalidate(long key) {
+        stamps.incrementAndGet(stripe(key));
+        V removed = entries.remove(key);
+        if (removed != null) {
+            usedWeight -= weigher.applyAsLong(removed);
+        }
+    }
+
+    /** 조건에 맞는 항목 전체 무효화 (진행 중인 채우기는 모두 버려짐) */
+    synchronized void invalidateIf(Predicate<V> condition) {
+        epoch.incrementAndGet();
+        Iterator<Map.Entry<Long, V>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            V value = iterator.next().getValue();
+            if (condition.test(value)) {
+                usedWeight -= weigher.applyAsLong(value);
+                iterator.remove();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static int stripe(long key) {
+        return (int) (key & (STAMP_STRIPES - 1));
+    }
+}
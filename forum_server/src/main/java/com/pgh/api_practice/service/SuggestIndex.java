@@ -0,0 +1,372 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.repository.FollowRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import com.pgh.api_practice.repository.TagRepository;
+import com.pgh.api_practice.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * 검색어 자동완성 (게시글 제목, 태그, 사용자) 메모리 색인.
+ * 정렬된 색인어 배열 + 구간 최대 가중치 트리로 접두어 구간의 상위 N 개를 DB 없이 바로 구한다.
+ * 가중치는 제목=조회수, 태그=사용 횟수, 사용자=팔로워 수이며 주기적 재구성 때 갱신된다.
+ * 그 사이의 작성/수정/삭제는 작은 변경분 맵에 반영했다가 재구성 후 정리한다.
+ */
+@Slf4j
+@Component
+public class SuggestIndex {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    /** 제목은 앞에서부터 이 단어 수까지 각 단어 위치를 색인어 시작점으로 사용 */
+    private static final int MAX_TITLE_WORDS = 4;
+
+    /** 색인어 최대 길이 */
+    private static final int MAX_TERM_LENGTH = 50;
+
+    public enum Type { TITLE, TAG, USER }
+
+    /** 추천 항목 (key 가 같으면 같은 대상: 게시글 id, 태그 이름, 사용자 id) */
+    public record Suggestion(Type type, String key, String text, String value, long weight) {
+    }
+
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final UserRepository userRepository;
+    private final FollowRepository followRepository;
+
+    private final Map<Type, Suggester> suggesters = new HashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SuggestIndex(PostRepository postRepository, TagRepository tagRepository,
+                        UserRepository userRepository, FollowRepository followRepository) {
+        this.postRepository = postRepository;
+        this.tagRepository = tagRepository;
+        this.userRepository = userRepository;
+        this.followRepository = followRepository;
+        for (Type type : Type.values()) {
+            suggesters.put(type, new Suggester());
+        }
+    }
+
+    /** 접두어로 시작하는 type 항목 중 가중치 상위 limit 개 */
+    public List<Suggestion> suggest(Type type, String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return suggesters.get(type).suggest(normalized, limit);
+    }
+
+    public void putTitle(long postId, String title, long views) {
+        Suggestion suggestion = new Suggestion(Type.TITLE, String.valueOf(postId), title, String.valueOf(postId), views);
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> suggesters.get(Type.TITLE).put(suggestion, titleTerms(title), sequence.incrementAndGet()));
+    }
+
+    public void removeTitle(long postId) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> suggesters.get(Type.TITLE).remove(String.valueOf(postId), sequence.incrementAndGet()));
+    }
+
+    public void putTag(String name, long usageCount) {
+        Suggestion suggestion = new Suggestion(Type.TAG, name, name, name, usageCount);
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> suggesters.get(Type.TAG).put(suggestion, List.of(normalize(name)), sequence.incrementAndGet()));
+    }
+
+    public void putUser(long userId, String username, String nickname, long followerCount) {
+        Suggestion suggestion = new Suggestion(Type.USER, String.valueOf(userId), displayName(username, nickname), username, followerCount);
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> suggesters.get(Type.USER).put(suggestion, userTerms(username, nickname), sequence.incrementAndGet()));
+    }
+
+    public void removeUser(long userId) {
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> suggesters.get(Type.USER).remove(String.valueOf(userId), sequence.incrementAndGet()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.suggest.rebuild-interval-ms:600000}",
+               fixedDelayString = "${app.suggest.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        // 이 시점까지 반영된 변경분은 DB 에 커밋된 상태이므로 새 사전에 포함된다
+        long startedAt = sequence.get();
+        try {
+            Dictionary titles = loadTitles();
+            Dictionary tags = loadTags();
+            Dictionary users = loadUsers();
+            suggesters.get(Type.TITLE).swap(titles, startedAt);
+            suggesters.get(Type.TAG).swap(tags, startedAt);
+            suggesters.get(Type.USER).swap(users, startedAt);
+            log.info("자동완성 색인 재구성 완료 (제목 {}, 태그 {}, 사용자 {})", titles.size(), tags.size(), users.size());
+        } catch (Exception e) {
+            log.error("자동완성 색인 재구성 실패", e);
+        }
+    }
+
+    private Dictionary loadTitles() {
+        List<Term> terms = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = postRepository.findSuggestChunk(afterId, PageRequest.of(0, CHUNK_SIZE));
+            for (Object[] row : rows) {
+                long postId = (Long) row[0];
+                String title = (String) row[1];
+                Suggestion suggestion = new Suggestion(Type.TITLE, String.valueOf(postId), title,
+                        String.valueOf(postId), ((Number) row[2]).longValue());
+                titleTerms(title).forEach(term -> terms.add(new Term(term, suggestion)));
+            }
+            if (rows.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        return new Dictionary(terms);
+    }
+
+    private Dictionary loadTags() {
+        List<Term> terms = new ArrayList<>();
+        for (Object[] row : tagRepository.findUsageCounts()) {
+            String name = (String) row[0];
+            terms.add(new Term(normalize(name), new Suggestion(Type.TAG, name, name, name, (Long) row[1])));
+        }
+        return new Dictionary(terms);
+    }
+
+    private Dictionary loadUsers() {
+        Map<Long, Long> followerCounts = new HashMap<>();
+        for (Object[] row : followRepository.countFollowersGroupByUser()) {
+            followerCounts.put((Long) row[0], (Long) row[1]);
+        }
+        List<Term> terms = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = userRepository.findSuggestChunk(afterId, PageRequest.of(0, CHUNK_SIZE));
+            for (Object[] row : rows) {
+                long userId = (Long) row[0];
+                String username = (String) row[1];
+                String nickname = (String) row[2];
+                Suggestion suggestion = new Suggestion(Type.USER, String.valueOf(userId), displayName(username, nickname), username,
+                        followerCounts.getOrDefault(userId, 0L));
+                userTerms(username, nickname).forEach(term -> terms.add(new Term(term, suggestion)));
+            }
+            if (rows.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        return new Dictionary(terms);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_TERM_LENGTH ? normalized.substring(0, MAX_TERM_LENGTH) : normalized;
+    }
+
+    /** 제목 전체 + 앞쪽 단어 위치에서 시작하는 부분 ("스프링 부트 입문" → "부트 입문", "입문") */
+    private static List<String> titleTerms(String title) {
+        String normalized = normalize(title);
+        List<String> terms = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return terms;
+        }
+        terms.add(normalized);
+        int start = 0;
+        for (int words = 1; words < MAX_TITLE_WORDS; words++) {
+            int space = normalized.indexOf(' ', start);
+            if (space < 0) {
+                break;
+            }
+            start = space + 1;
+            terms.add(normalized.substring(start));
+        }
+        return terms;
+    }
+
+    /** 닉네임이 없는 사용자는 아이디로 표시 */
+    private static String displayName(String username, String nickname) {
+        return nickname == null || nickname.isBlank() ? username : nickname;
+    }
+
+    private static List<String> userTerms(String username, String nickname) {
+        List<String> terms = new ArrayList<>();
+        terms.add(normalize(username));
+        String normalizedNickname = normalize(nickname);
+        if (!normalizedNickname.isEmpty() && !terms.contains(normalizedNickname)) {
+            terms.add(normalizedNickname);
+        }
+        return terms;
+    }
+
+    private record Term(String text, Suggestion suggestion) {
+    }
+
+    /**
+     * 재구성 때 만드는 읽기 전용 사전.
+     * 색인어를 정렬해 두면 접두어가 같은 색인어는 연속 구간이 되고,
+     * 구간 최대 트리(best)로 그 구간에서 가중치가 큰 순서대로 꺼낼 수 있다.
+     */
+    private static final class Dictionary {
+        private final String[] terms;
+        private final Suggestion[] suggestions;
+        // best[node] = 노드 구간에서 가중치가 가장 큰 위치 (리프는 size + i)
+        private final int[] best;
+        private final int size;
+
+        Dictionary(List<Term> rows) {
+            rows.sort(Comparator.comparing(Term::text));
+            size = rows.size();
+            terms = new String[size];
+            suggestions = new Suggestion[size];
+            for (int i = 0; i < size; i++) {
+                terms[i] = rows.get(i).text();
+                suggestions[i] = rows.get(i).suggestion();
+            }
+            best = new int[Math.max(2 * size, 1)];
+            for (int i = 0; i < size; i++) {
+                best[size + i] = i;
+            }
+            for (int node = size - 1; node > 0; node--) {
+                best[node] = heavier(best[2 * node], best[2 * node + 1]);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int heavier(int a, int b) {
+            return suggestions[a].weight() >= suggestions[b].weight() ? a : b;
+        }
+
+        /** [from, to) 구간에서 가중치가 가장 큰 위치 */
+        private int argMax(int from, int to) {
+            int result = from;
+            for (int lo = from + size, hi = to + size; lo < hi; lo >>= 1, hi >>= 1) {
+                if ((lo & 1) == 1) {
+                    result = heavier(result, best[lo++]);
+                }
+                if ((hi & 1) == 1) {
+                    result = heavier(result, best[--hi]);
+                }
+            }
+            return result;
+        }
+
+        private int lowerBound(String key) {
+            int index = Arrays.binarySearch(terms, key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /** 접두어 구간의 항목을 가중치 내림차순으로 방문 (visitor 가 false 를 돌려주면 중단) */
+        void visit(String prefix, Predicate<Suggestion> visitor) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            if (from >= to) {
+                return;
+            }
+            // 구간을 최대 위치 기준으로 쪼개며 큰 것부터 꺼냄 (꺼낸 수 k 에 대해 O(k log n))
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                    Comparator.comparingLong((int[] range) -> suggestions[range[2]].weight()).reversed());
+            ranges.add(new int[]{from, to, argMax(from, to)});
+            while (!ranges.isEmpty()) {
+                int[] range = ranges.poll();
+                int top = range[2];
+                if (!visitor.test(suggestions[top])) {
+                    return;
+                }
+                if (range[0] < top) {
+                    ranges.add(new int[]{range[0], top, argMax(range[0], top)});
+                }
+                if (top + 1 < range[1]) {
+                    ranges.add(new int[]{top + 1, range[1], argMax(top + 1, range[1])});
+                }
+            }
+        }
+    }
+
+    /** 재구성 이후 변경분 (key 별 최신 상태, suggestion 이 null 이면 삭제) */
+    private record Change(long sequence, Suggestion suggestion, List<String> terms) {
+    }
+
+    /** 항목 종류 하나의 사전 + 변경분 */
+    private static final class Suggester {
+        private volatile Dictionary dictionary = new Dictionary(new ArrayList<>());
+        private final Map<String, Change> changes = new ConcurrentHashMap<>();
+        // "색인어\0key" → 항목 (변경분의 접두어 검색용)
+        private final ConcurrentSkipListMap<String, Suggestion> changedTerms = new ConcurrentSkipListMap<>();
+
+        List<Suggestion> suggest(String prefix, int limit) {
+            Map<String, Suggestion> found = new LinkedHashMap<>();
+            dictionary.visit(prefix, suggestion -> {
+                if (!changes.containsKey(suggestion.key())) {
+                    found.putIfAbsent(suggestion.key(), suggestion);
+                }
+                return found.size() < limit;
+            });
+            // 변경분은 색인어 순서라 가중치 순으로 볼 수 없음: 짧은 접두어로 전체를 훑지 않도록 limit 개 모이면 중단
+            // (그 뒤의 변경분은 다음 재구성 때 사전에 들어가 가중치 순으로 나온다)
+            int overlay = 0;
+            for (Suggestion suggestion : changedTerms.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                if (found.putIfAbsent(suggestion.key(), suggestion) == null && ++overlay >= limit) {
+                    break;
+                }
+            }
+            return found.values().stream()
+                    .sorted(Comparator.comparingLong(Suggestion::weight).reversed())
+                    .limit(limit)
+                    .toList();
+        }
+
+        synchronized void put(Suggestion suggestion, List<String> terms, long sequence) {
+            removeTerms(suggestion.key());
+            changes.put(suggestion.key(), new Change(sequence, suggestion, terms));
+            for (String term : terms) {
+                changedTerms.put(term + '\0' + suggestion.key(), suggestion);
+            }
+        }
+
+        synchronized void remove(String key, long sequence) {
+            removeTerms(key);
+            changes.put(key, new Change(sequence, null, List.of()));
+        }
+
+        private void removeTerms(String key) {
+            Change previous = changes.get(key);
+            if (previous != null) {
+                previous.terms().forEach(term -> changedTerms.remove(term + '\0' + key));
+            }
+        }
+
+        /** 새 사전으로 교체하고, 새 사전에 이미 들어간 (재구성 시작 전) 변경분은 정리 */
+        synchronized void swap(Dictionary rebuilt, long rebuiltAt) {
+            dictionary = rebuilt;
+            List<String> applied = changes.entrySet().stream()
+                    .filter(entry -> entry.getValue().sequence() <= rebuiltAt)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            for (String key : applied) {
+                removeTerms(key);
+                changes.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.entity.Tag;
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
+import com.pgh.api_practice.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 태그 이름 → id 사전.
+ * 시작 시 전체 태그를 읽어 두고, 처음 보는 태그만 한 번의 다중 행 INSERT 로 생성한다.
+ * (tags / post_tags 는 IDENTITY 키라 JPA 배치 INSERT 가 되지 않으므로 JDBC 로 직접 실행)
+ */
+@Slf4j
+@Component
+public class TagDictionary {
+
+    private static final int MAX_TAG_LENGTH = 50;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SuggestIndex suggestIndex;
+    private final ConcurrentHashMap<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    public TagDictionary(TagRepository tagRepository, JdbcTemplate jdbcTemplate, SuggestIndex suggestIndex) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.suggestIndex = suggestIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            for (Object[] row : tagRepository.findAllIdAndName()) {
+                idsByName.put((String) row[1], (Long) row[0]);
+            }
+            log.info("태그 사전 로드 완료 ({}건)", idsByName.size());
+        } catch (Exception e) {
+            log.error("태그 사전 로드 실패, 요청 시 DB에서 조회합니다.", e);
+        }
+    }
+
+    /** 태그 이름 정규화 (공백 제거, 소문자, 빈 값/중복 제외, 입력 순서 유지) */
+    public static List<String> normalize(Collection<String> tagNames) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String tagName : tagNames) {
+            if (tagName == null || tagName.trim().isEmpty()) {
+                continue;
+            }
+            String name = tagName.trim().toLowerCase();
+            if (name.length() > MAX_TAG_LENGTH) {
+                throw new ApplicationBadRequestException("태그는 " + MAX_TAG_LENGTH + "자 이하여야 합니다.");
+            }
+            names.add(name);
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * 정규화된 태그 이름들의 id (입력 순서 유지). 없는 태그는 INSERT IGNORE 한 번으로 만들고 다시 조회한다.
+     * tags.name 은 대소문자/악센트를 구분하지 않는 collation 이라 "café" 가 이미 있는 "cafe" 행으로 무시될 수 있으므로
+     * 다시 읽은 행은 collationKey 로 맞추고, 그래도 못 찾은 이름은 findByName 으로 DB 비교에 맡긴다.
+     * 새로 만든 태그는 트랜잭션이 커밋된 뒤에 사전에 넣는다 (롤백되면 id 가 사라지므로).
+     */
+    public Map<String, Long> resolve(List<String> names) {
+        Map<String, Long> ids = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Long id = idsByName.get(name);
+            if (id != null) {
+                ids.put(name, id);
+            } else {
+                ids.put(name, null);
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        jdbcTemplate.update("INSERT IGNORE INTO tags (name) VALUES " + String.join(", ", Collections.nCopies(missing.size(), "(?)")),
+                missing.toArray());
+        Map<String, Object[]> rowsByKey = new HashMap<>();
+        for (Object[] row : tagRepository.findIdAndNameByNameIn(missing)) {
+            rowsByKey.put(collationKey((String) row[1]), row);
+        }
+        Map<String, Long> created = new LinkedHashMap<>();
+        for (String name : missing) {
+            Object[] row = rowsByKey.get(collationKey(name));
+            Long id;
+            String storedName;
+            if (row != null) {
+                id = (Long) row[0];
+                storedName = (String) row[1];
+            } else {
+                Tag tag = tagRepository.findByName(name)
+                        .orElseThrow(() -> new IllegalStateException("태그를 생성하지 못했습니다: " + name));
+                id = tag.getId();
+                storedName = tag.getName();
+            }
+            ids.put(name, id);
+            created.put(name, id);
+            // 새 태그는 다음 자동완성 재구성 전까지 사용 횟수 1로 노출
+            suggestIndex.putTag(storedName, 1);
+        }
+
+        AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW, () -> idsByName.putAll(created));
+        return ids;
+    }
+
+    /** DB collation(대소문자/악센트/전각 무시, 끝 공백 무시)에 가깝게 맞춘 비교 키 */
+    static String collationKey(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).stripTrailing();
+    }
+
+    /** post_tags 행을 한 번의 다중 행 INSERT 로 추가 (이미 있는 조합은 무시) */
+    public void linkPost(long postId, Collection<Long> tagIds) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(tagIds.size() * 2);
+        for (Long tagId : tagIds) {
+            args.add(postId);
+            args.add(tagId);
+        }
+        jdbcTemplate.update("INSERT IGNORE INTO post_tags (post_id, tag_id) VALUES "
+                + String.join(", ", Collections.nCopies(tagIds.size(), "(?, ?)")), args.toArray());
+    }
+}
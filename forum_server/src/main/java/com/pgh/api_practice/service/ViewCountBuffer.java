@@ -0,0 +1,188 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.repository.GroupPostRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 조회수 write-behind 버퍼.
+ * 상세 조회마다 행 UPDATE 를 실행하는 대신 게시글별 LongAdder 에 누적하고,
+ * 일정 주기와 종료 시점에 증가분이 같은 행끼리 묶어 "views = views + ?" UPDATE 로 반영한다.
+ * 반영 전에 누적 맵을 떼어 내고 커밋 직후 반영분을 차감하므로, 같은 조회수가 DB 와 버퍼에 동시에 잡히지 않는다.
+ * 반영에 실패하면 누적값을 그대로 두어 다음 주기에 다시 시도한다.
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counters postViews;
+    private final Counters groupPostViews;
+
+    public ViewCountBuffer(PostRepository postRepository,
+                           GroupPostRepository groupPostRepository,
+                           IndexingPipeline indexingPipeline,
+                           PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postViews = new Counters("posts", (delta, ids) -> {
+            postRepository.addViews(ids, delta);
+            // 검색 조회수순 정렬값도 커밋 후 갱신
+            indexingPipeline.submitCounts(ids);
+        });
+        this.groupPostViews = new Counters("group_posts", (delta, ids) -> groupPostRepository.addViews(ids, delta));
+    }
+
+    /** 조회수 1 증가, 아직 반영되지 않은 누적값 반환 */
+    public long incrementPost(long postId) {
+        return postViews.increment(postId);
+    }
+
+    public long incrementGroupPost(long groupPostId) {
+        return groupPostViews.increment(groupPostId);
+    }
+
+    /** 아직 DB 에 반영되지 않은 조회수 */
+    public long pendingPost(long postId) {
+        return postViews.pending(postId);
+    }
+
+    public long pendingGroupPost(long groupPostId) {
+        return groupPostViews.pending(groupPostId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        flush(postViews);
+        flush(groupPostViews);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private interface BatchUpdate {
+        void apply(long delta, List<Long> ids);
+    }
+
+    /**
+     * 증가분을 받는 live 맵과, 이전 주기에 떼어 낸(반영 중이거나 아직 잔여분이 있는) retired 맵들.
+     * flush 만 교체하고 조회/증가 쪽은 읽기만 한다.
+     */
+    private record State(ConcurrentHashMap<Long, LongAdder> live, List<Map<Long, LongAdder>> retired) {
+    }
+
+    /** 테이블별 카운터 */
+    private static final class Counters {
+        final String table;
+        final BatchUpdate update;
+        volatile State state = new State(new ConcurrentHashMap<>(), List.of());
+
+        Counters(String table, BatchUpdate update) {
+            this.table = table;
+            this.update = update;
+        }
+
+        long increment(long id) {
+            ConcurrentHashMap<Long, LongAdder> live = state.live();
+            LongAdder adder = live.get(id);
+            if (adder == null) {
+                adder = live.computeIfAbsent(id, k -> new LongAdder());
+            }
+            adder.increment();
+            return pending(id);
+        }
+
+        /** live 와 retired 를 모두 더한 값 (떼어 낸 맵의 증가분도 DB 반영 전까지는 pending) */
+        long pending(long id) {
+            State current = state;
+            long sum = sumOf(current.live(), id);
+            for (Map<Long, LongAdder> retired : current.retired()) {
+                sum += sumOf(retired, id);
+            }
+            return sum;
+        }
+
+        private static long sumOf(Map<Long, LongAdder> counters, long id) {
+            LongAdder adder = counters.get(id);
+            return adder == null ? 0 : adder.sum();
+        }
+    }
+
+    private void flush(Counters counters) {
+        // 반영 전에 live 맵을 떼어 retired 로 넘긴다: 이후 증가분은 새 맵에 쌓여 이번 스냅샷과 섞이지 않음
+        State previous = counters.state;
+        List<Map<Long, LongAdder>> detached = new ArrayList<>(previous.retired());
+        detached.add(previous.live());
+        counters.state = new State(new ConcurrentHashMap<>(), List.copyOf(detached));
+
+        // 떼어 낸 맵의 현재 누적값 스냅샷 (커밋 시점에 이 값만큼만 차감)
+        Map<LongAdder, Long> snapshot = new IdentityHashMap<>();
+        Map<Long, Long> deltaById = new HashMap<>();
+        for (Map<Long, LongAdder> map : detached) {
+            collect(map, snapshot, deltaById);
+        }
+
+        if (!deltaById.isEmpty()) {
+            // 증가분이 같은 행끼리 묶어 UPDATE ... WHERE id IN (...) 한 번에 처리
+            Map<Long, List<Long>> idsByDelta = new HashMap<>();
+            deltaById.forEach((id, delta) -> idsByDelta.computeIfAbsent(delta, k -> new ArrayList<>()).add(id));
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    idsByDelta.forEach((delta, ids) -> counters.update.apply(delta, ids));
+                    // 커밋 직후 바로 차감해 DB 값과 pending 에 같은 조회수가 겹쳐 보이는 구간을 없앰
+                    AfterCommit.run(AfterCommit.NoTransaction.RUN_NOW,
+                            () -> snapshot.forEach((adder, delta) -> adder.add(-delta)));
+                });
+            } catch (Exception e) {
+                // 떼어 낸 맵은 retired 에 남아 다음 주기에 다시 반영
+                log.error("{} 조회수 반영 실패 ({}건), 다음 주기에 재시도", counters.table, deltaById.size(), e);
+                return;
+            }
+        }
+
+        // 방금 떼어 낸 맵은 스냅샷 직전에 카운터를 잡은 요청이 있을 수 있어 한 주기 더 보관하고,
+        // 그보다 오래된 맵은 잔여분이 있는 카운터만 남긴다
+        List<Map<Long, LongAdder>> retired = new ArrayList<>();
+        for (Map<Long, LongAdder> map : previous.retired()) {
+            Map<Long, LongAdder> remaining = new HashMap<>();
+            map.forEach((id, adder) -> {
+                if (adder.sum() != 0) {
+                    remaining.put(id, adder);
+                }
+            });
+            if (!remaining.isEmpty()) {
+                retired.add(remaining);
+            }
+        }
+        if (!previous.live().isEmpty()) {
+            retired.add(previous.live());
+        }
+        counters.state = new State(counters.state.live(), List.copyOf(retired));
+    }
+
+    private static void collect(Map<Long, LongAdder> counters, Map<LongAdder, Long> snapshot, Map<Long, Long> deltaById) {
+        counters.forEach((id, adder) -> {
+            long delta = adder.sum();
+            if (delta > 0) {
+                snapshot.put(adder, delta);
+                deltaById.merge(id, delta, Long::sum);
+            }
+        });
+    }
+}
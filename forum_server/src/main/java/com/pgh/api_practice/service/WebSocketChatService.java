@@ -2,15 +2,11 @@ package com.pgh.api_practice.service;
 
 import com.pgh.api_practice.dto.GroupChatMessageDTO;
 import com.pgh.api_practice.entity.GroupChatMessage;
-import com.pgh.api_practice.entity.GroupChatRoom;
-import com.pgh.api_practice.entity.MessageRead;
 import com.pgh.api_practice.entity.Users;
 import com.pgh.api_practice.exception.ApplicationUnauthorizedException;
 import com.pgh.api_practice.exception.ResourceNotFoundException;
 import com.pgh.api_practice.repository.GroupChatMessageRepository;
 import com.pgh.api_practice.repository.GroupChatRoomRepository;
-import com.pgh.api_practice.repository.GroupMemberRepository;
-import com.pgh.api_practice.repository.MessageReadRepository;
 import com.pgh.api_practice.repository.MessageReactionRepository;
 import com.pgh.api_practice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -19,9 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -30,57 +24,42 @@ public class WebSocketChatService {
 
     private final GroupChatMessageRepository messageRepository;
     private final GroupChatRoomRepository roomRepository;
-    private final GroupMemberRepository groupMemberRepository;
-    private final MessageReadRepository readRepository;
     private final UserRepository userRepository;
     private final com.pgh.api_practice.repository.MessageReactionRepository reactionRepository;
+    private final GroupMembershipCache membershipCache;
 
-    /** 메시지 저장 및 DTO 반환 */
+    /**
+     * 메시지 저장 및 DTO 반환.
+     * 멤버/관리자/별명/채팅방 확인은 멤버십 캐시로 하고, DB 는 메시지 INSERT 만 한다 (답장이면 원본 메시지 조회 추가).
+     */
     @Transactional
     public GroupChatMessageDTO saveAndGetMessage(Long groupId, Long roomId, String messageText, String username, Long replyToMessageId) {
-        log.info("saveAndGetMessage 시작: groupId={}, roomId={}, messageText={}, username={}", 
-                groupId, roomId, messageText, username);
-        
         if (username == null || username.isEmpty()) {
             log.error("username이 null이거나 비어있습니다.");
             throw new ApplicationUnauthorizedException("인증이 필요합니다.");
         }
-        
-        Users currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> {
-                    log.error("사용자를 찾을 수 없습니다: username={}", username);
-                    return new ResourceNotFoundException("사용자를 찾을 수 없습니다.");
-                });
-        
-        log.info("현재 사용자: username={}, id={}", currentUser.getUsername(), currentUser.getId());
 
-        GroupChatRoom room = roomRepository.findByIdAndIsDeletedFalse(roomId)
+        GroupMembershipCache.Snapshot membership = membershipCache.get(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("모임을 찾을 수 없습니다."));
+
+        // 이 모임의 삭제되지 않은 채팅방인지 확인
+        boolean isAdminRoom = membership.adminRoom(roomId)
                 .orElseThrow(() -> {
-                    log.error("채팅방을 찾을 수 없습니다: roomId={}", roomId);
+                    log.error("채팅방을 찾을 수 없습니다: groupId={}, roomId={}", groupId, roomId);
                     return new ResourceNotFoundException("채팅방을 찾을 수 없습니다.");
                 });
-        
-        log.info("채팅방 조회 완료: roomId={}, name={}, isAdminRoom={}", roomId, room.getName(), room.isAdminRoom());
 
         // 모임 멤버인지 확인
-        boolean isMember = groupMemberRepository.existsByGroupIdAndUserId(groupId, currentUser.getId());
-        log.info("모임 멤버 확인: groupId={}, userId={}, isMember={}", groupId, currentUser.getId(), isMember);
-        
-        if (!isMember) {
-            log.error("모임 멤버가 아닙니다: groupId={}, userId={}", groupId, currentUser.getId());
-            throw new ApplicationUnauthorizedException("모임 멤버만 메시지를 전송할 수 있습니다.");
-        }
+        GroupMembershipCache.Member sender = membership.member(username)
+                .orElseThrow(() -> {
+                    log.error("모임 멤버가 아닙니다: groupId={}, username={}", groupId, username);
+                    return new ApplicationUnauthorizedException("모임 멤버만 메시지를 전송할 수 있습니다.");
+                });
 
         // 관리자방은 관리자만 접근 가능
-        if (room.isAdminRoom()) {
-            Optional<com.pgh.api_practice.entity.GroupMember> member = groupMemberRepository.findByGroupIdAndUserId(groupId, currentUser.getId());
-            boolean isAdmin = member.isPresent() && member.get().isAdmin();
-            log.info("관리자방 접근 확인: isAdminRoom={}, isAdmin={}", room.isAdminRoom(), isAdmin);
-            
-            if (!isAdmin) {
-                log.error("관리자가 아닙니다: groupId={}, userId={}", groupId, currentUser.getId());
-                throw new ApplicationUnauthorizedException("관리자만 관리자방에 메시지를 전송할 수 있습니다.");
-            }
+        if (isAdminRoom && !sender.admin()) {
+            log.error("관리자가 아닙니다: groupId={}, userId={}", groupId, sender.userId());
+            throw new ApplicationUnauthorizedException("관리자만 관리자방에 메시지를 전송할 수 있습니다.");
         }
 
         // 답장할 메시지 조회
@@ -95,157 +74,57 @@ public class WebSocketChatService {
         }
 
         GroupChatMessage message = GroupChatMessage.builder()
-                .chatRoom(room)
-                .user(currentUser)
+                .chatRoom(roomRepository.getReferenceById(roomId))
+                .user(userRepository.getReferenceById(sender.userId()))
                 .message(messageText)
                 .replyToMessage(replyToMessage)
-                .readCount(0)
                 .build();
 
-        log.info("메시지 저장 시작: message={}", message);
         GroupChatMessage saved = messageRepository.save(message);
-        log.info("메시지 저장 완료: messageId={}", saved.getId());
-        
-        GroupChatMessageDTO dto = convertToDTO(saved, groupId);
-        log.info("DTO 변환 완료: messageId={}, username={}, nickname={}", dto.getId(), dto.getUsername(), dto.getNickname());
-        
-        return dto;
-    }
-
-    /** 메시지 읽음 처리 */
-    @Transactional
-    public void markMessageAsRead(Long messageId, String username) {
-        GroupChatMessage message = messageRepository.findById(messageId)
-                .orElseThrow(() -> new ResourceNotFoundException("메시지를 찾을 수 없습니다."));
-
-        Users user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다."));
+        log.info("메시지 저장 완료: groupId={}, roomId={}, messageId={}, userId={}", groupId, roomId, saved.getId(), sender.userId());
 
-        // 이미 읽음 상태인지 확인
-        if (!readRepository.existsByMessageIdAndUserId(messageId, user.getId())) {
-            MessageRead read = MessageRead.builder()
-                    .message(message)
-                    .user(user)
-                    .build();
-            readRepository.save(read);
-
-            // 읽음 수 업데이트
-            message.setReadCount(message.getReadCount() + 1);
-            messageRepository.save(message);
-        }
+        return toNewMessageDTO(saved, sender, membership);
     }
 
-    /** 읽음 수 조회 */
-    public int getReadCount(Long messageId) {
-        return readRepository.countByMessageId(messageId);
-    }
-
-    /** 메시지를 DTO로 변환 */
-    private GroupChatMessageDTO convertToDTO(GroupChatMessage message, Long groupId) {
-        // 모임 주인과 관리자 목록 확인
-        com.pgh.api_practice.entity.Group group = message.getChatRoom().getGroup();
-        Long ownerId = group.getOwner().getId();
-        List<Long> adminIds = new ArrayList<>();
-        adminIds.add(ownerId); // 모임 주인은 항상 관리자
-        
-        try {
-            List<com.pgh.api_practice.entity.GroupMember> members = groupMemberRepository.findByGroupId(groupId);
-            adminIds.addAll(members.stream()
-                    .filter(com.pgh.api_practice.entity.GroupMember::isAdmin)
-                    .map(m -> m.getUser().getId())
-                    .collect(Collectors.toList()));
-        } catch (Exception e) {
-            log.warn("관리자 목록 조회 실패: {}", e.getMessage());
-        }
-
-        Long userId = message.getUser().getId();
-        boolean isAdmin = adminIds.contains(userId);
-
-        // 답장 정보 처리
+    /** 방금 저장한 메시지를 DTO로 변환 (새 메시지라 읽음 수 0, 반응 없음) */
+    private GroupChatMessageDTO toNewMessageDTO(GroupChatMessage message, GroupMembershipCache.Member sender,
+                                                GroupMembershipCache.Snapshot membership) {
+        // 답장 정보 처리: 원본 작성자가 아직 멤버면 캐시에서, 아니면 사용자 정보를 읽음
         GroupChatMessageDTO.ReplyToMessageInfo replyToMessageInfo = null;
-        if (message.getReplyToMessage() != null) {
-            GroupChatMessage replyTo = message.getReplyToMessage();
-            // 답장한 메시지의 작성자 정보 조회
-            Users replyToUser = replyTo.getUser();
-            // 답장한 메시지 작성자의 displayName 조회
-            String displayName = null;
-            try {
-                Optional<com.pgh.api_practice.entity.GroupMember> replyToMember = groupMemberRepository
-                        .findByGroupIdAndUserId(groupId, replyToUser.getId());
-                if (replyToMember.isPresent() && replyToMember.get().getDisplayName() != null) {
-                    displayName = replyToMember.get().getDisplayName();
-                }
-            } catch (Exception e) {
-                log.warn("답장 메시지 작성자의 displayName 조회 실패: {}", e.getMessage());
-            }
-            
-            replyToMessageInfo = GroupChatMessageDTO.ReplyToMessageInfo.builder()
+        GroupChatMessage replyTo = message.getReplyToMessage();
+        if (replyTo != null) {
+            Optional<GroupMembershipCache.Member> replyToMember = membership.member(replyTo.getUser().getId());
+            GroupChatMessageDTO.ReplyToMessageInfo.ReplyToMessageInfoBuilder builder = GroupChatMessageDTO.ReplyToMessageInfo.builder()
                     .id(replyTo.getId())
-                    .message(replyTo.getMessage())
-                    .username(replyToUser.getUsername())
-                    .nickname(replyToUser.getNickname())
-                    .displayName(displayName)
-                    .profileImageUrl(replyToUser.getProfileImageUrl())
-                    .build();
-        }
-
-        // 현재 메시지 작성자의 displayName 조회
-        String displayName = null;
-        try {
-            Optional<com.pgh.api_practice.entity.GroupMember> member = groupMemberRepository
-                    .findByGroupIdAndUserId(groupId, userId);
-            if (member.isPresent() && member.get().getDisplayName() != null) {
-                displayName = member.get().getDisplayName();
+                    .message(replyTo.getMessage());
+            if (replyToMember.isPresent()) {
+                builder.username(replyToMember.get().username())
+                        .nickname(replyToMember.get().nickname())
+                        .displayName(replyToMember.get().displayName())
+                        .profileImageUrl(replyToMember.get().profileImageUrl());
+            } else {
+                Users replyToUser = replyTo.getUser();
+                builder.username(replyToUser.getUsername())
+                        .nickname(replyToUser.getNickname())
+                        .profileImageUrl(replyToUser.getProfileImageUrl());
             }
-        } catch (Exception e) {
-            log.warn("현재 메시지 작성자의 displayName 조회 실패: {}", e.getMessage());
-        }
-
-        // 반응 정보 조회
-        List<GroupChatMessageDTO.ReactionInfo> reactions = new ArrayList<>();
-        try {
-            List<Object[]> reactionCounts = reactionRepository.countByMessageIdGroupByEmoji(message.getId());
-            for (Object[] row : reactionCounts) {
-                String emoji = (String) row[0];
-                Long count = ((Number) row[1]).longValue();
-                reactions.add(GroupChatMessageDTO.ReactionInfo.builder()
-                        .emoji(emoji)
-                        .count(count.intValue())
-                        .build());
-            }
-        } catch (Exception e) {
-            log.warn("반응 정보 조회 실패: {}", e.getMessage());
-        }
-
-        // 현재 사용자가 추가한 반응 목록 (username이 null이면 빈 리스트)
-        List<String> myReactions = new ArrayList<>();
-        try {
-            var authentication = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.getName() != null && !"anonymousUser".equals(authentication.getName())) {
-                String currentUsername = authentication.getName();
-                Optional<Users> currentUserOpt = userRepository.findByUsername(currentUsername);
-                if (currentUserOpt.isPresent()) {
-                    myReactions = reactionRepository.findEmojisByMessageIdAndUserId(message.getId(), currentUserOpt.get().getId());
-                }
-            }
-        } catch (Exception e) {
-            log.warn("현재 사용자 반응 조회 실패: {}", e.getMessage());
+            replyToMessageInfo = builder.build();
         }
 
         return GroupChatMessageDTO.builder()
                 .id(message.getId())
                 .message(message.getMessage())
-                .username(message.getUser().getUsername())
-                .nickname(message.getUser().getNickname())
-                .displayName(displayName)
-                .profileImageUrl(message.getUser().getProfileImageUrl())
-                .isAdmin(isAdmin)
+                .username(sender.username())
+                .nickname(sender.nickname())
+                .displayName(sender.displayName())
+                .profileImageUrl(sender.profileImageUrl())
+                .isAdmin(membership.isAdmin(sender.userId()))
                 .createdTime(message.getCreatedTime())
-                .readCount(message.getReadCount())
-                .replyToMessageId(message.getReplyToMessage() != null ? message.getReplyToMessage().getId() : null)
+                .readCount(0)
+                .replyToMessageId(replyTo != null ? replyTo.getId() : null)
                 .replyToMessage(replyToMessageInfo)
-                .reactions(reactions)
-                .myReactions(myReactions)
+                .reactions(new ArrayList<>())
+                .myReactions(new ArrayList<>())
                 .build();
     }
 
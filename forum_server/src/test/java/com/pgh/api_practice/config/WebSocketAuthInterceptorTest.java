@@ -0,0 +1,79 @@
+package com.pgh.api_practice.config;
+
+import com.pgh.api_practice.global.TokenProvider;
+import com.pgh.api_practice.service.CustomUserDetailsService;
+import com.pgh.api_practice.service.GroupMembershipCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WebSocketAuthInterceptorTest {
+
+    private final GroupMembershipCache membershipCache = mock(GroupMembershipCache.class);
+    private final WebSocketAuthInterceptor interceptor = new WebSocketAuthInterceptor(
+            mock(TokenProvider.class), mock(CustomUserDetailsService.class), membershipCache);
+
+    @BeforeEach
+    void setUp() {
+        GroupMembershipCache.Member admin = new GroupMembershipCache.Member(1L, "admin", null, null, true, "admin");
+        GroupMembershipCache.Member member = new GroupMembershipCache.Member(2L, "member", null, null, false, "member");
+        when(membershipCache.get(1L)).thenReturn(Optional.of(new GroupMembershipCache.Snapshot(1L,
+                Map.of(1L, admin, 2L, member), Map.of("admin", admin, "member", member),
+                Map.of(10L, false, 11L, true))));
+        when(membershipCache.get(2L)).thenReturn(Optional.empty());
+    }
+
+    /** 모임 접속 현황은 멤버만, 관리자 접속 현황은 관리자만 구독할 수 있다 */
+    @Test
+    void presenceTopicsRequireMembership() {
+        assertNotNull(subscribe("member", "/topic/group/1/presence"));
+        assertNull(subscribe("outsider", "/topic/group/1/presence"));
+        assertNull(subscribe(null, "/topic/group/1/presence"));
+        assertNull(subscribe("member", "/topic/group/2/presence"));
+
+        assertNotNull(subscribe("admin", "/topic/group/1/presence/admin"));
+        assertNull(subscribe("member", "/topic/group/1/presence/admin"));
+    }
+
+    /** 채팅방 토픽은 그 방을 볼 수 있는 멤버만 (관리자방은 관리자만) */
+    @Test
+    void roomTopicsFollowRoomVisibility() {
+        assertNotNull(subscribe("member", "/topic/chat/1/10"));
+        assertNotNull(subscribe("member", "/topic/chat/1/10/typing"));
+        assertNull(subscribe("outsider", "/topic/chat/1/10/updates"));
+        assertNull(subscribe("member", "/topic/chat/1/11"));
+        assertNull(subscribe("member", "/topic/chat/1/99"));
+        assertNotNull(subscribe("admin", "/topic/chat/1/11/typing"));
+    }
+
+    /** 모임 토픽이 아닌 구독은 그대로 통과 */
+    @Test
+    void otherDestinationsPassThrough() {
+        assertNotNull(subscribe("member", "/user/queue/errors"));
+    }
+
+    private Message<?> subscribe(String username, String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        if (username != null) {
+            accessor.setUser(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        }
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return interceptor.preSend(message, mock(MessageChannel.class));
+    }
+}
@@ -0,0 +1,30 @@
+package com.pgh.api_practice.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommentJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /** 목록 응답과 변경분 응답이 같은 이름(isLiked, isPinned)을 써야 프론트에서 그대로 덮어쓸 수 있다 */
+    @Test
+    void commentAndDeltaUseSameFlagNames() throws Exception {
+        JsonNode comment = objectMapper.valueToTree(CommentDTO.builder().id(1L).isLiked(true).isPinned(true).replies(List.of()).build());
+        JsonNode delta = objectMapper.valueToTree(CommentDeltaDTO.builder().id(1L).isLiked(true).isPinned(true).build());
+
+        for (JsonNode node : List.of(comment, delta)) {
+            assertTrue(node.get("isLiked").asBoolean());
+            assertTrue(node.get("isPinned").asBoolean());
+            assertFalse(node.has("liked"));
+            assertFalse(node.has("pinned"));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PresenceDiffDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatPresenceRegistryTest {
+
+    private static final long GROUP_ID = 1L;
+    private static final long ROOM_ID = 10L;
+    private static final long ADMIN_ROOM_ID = 11L;
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final GroupMembershipCache membershipCache = mock(GroupMembershipCache.class);
+    private final ChatPresenceRegistry registry = new ChatPresenceRegistry(messagingTemplate, membershipCache, 5000, 2000);
+
+    /** 관리자방 입장은 관리자 전용 토픽으로만, 일반 채팅방 입장은 모임 접속 현황 토픽으로 보낸다 */
+    @Test
+    void adminRoomDiffsGoOnlyToAdminTopic() {
+        GroupMembershipCache.Member admin = new GroupMembershipCache.Member(1L, "admin", null, null, true, "admin");
+        when(membershipCache.get(GROUP_ID)).thenReturn(Optional.of(new GroupMembershipCache.Snapshot(1L,
+                Map.of(1L, admin), Map.of("admin", admin), Map.of(ROOM_ID, false, ADMIN_ROOM_ID, true))));
+
+        registry.onSubscribe(subscribe("admin", "s1", "sub-1", "/topic/chat/" + GROUP_ID + "/" + ADMIN_ROOM_ID));
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/group/1/presence/admin"), roomDiff(ADMIN_ROOM_ID));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/group/1/presence"), roomDiff(ADMIN_ROOM_ID));
+
+        registry.onSubscribe(subscribe("admin", "s1", "sub-2", "/topic/chat/" + GROUP_ID + "/" + ROOM_ID));
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/group/1/presence"), roomDiff(ROOM_ID));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/group/1/presence/admin"), roomDiff(ROOM_ID));
+    }
+
+    /** 관리자가 아니면 관리자방 구독은 접속으로 세지 않는다 */
+    @Test
+    void nonAdminInAdminRoomIsNotCounted() {
+        GroupMembershipCache.Member member = new GroupMembershipCache.Member(2L, "member", null, null, false, "member");
+        when(membershipCache.get(GROUP_ID)).thenReturn(Optional.of(new GroupMembershipCache.Snapshot(1L,
+                Map.of(2L, member), Map.of("member", member), Map.of(ADMIN_ROOM_ID, true))));
+
+        registry.onSubscribe(subscribe("member", "s1", "sub-1", "/topic/chat/" + GROUP_ID + "/" + ADMIN_ROOM_ID));
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        assertEquals(List.of(), registry.getRoomPresence(GROUP_ID, ADMIN_ROOM_ID));
+    }
+
+    private static PresenceDiffDTO roomDiff(long roomId) {
+        return argThat(diff -> diff instanceof PresenceDiffDTO presence && Long.valueOf(roomId).equals(presence.getRoomId()));
+    }
+
+    private static SessionSubscribeEvent subscribe(String username, String sessionId, String subscriptionId, String destination) {
+        Principal user = new UsernamePasswordAuthenticationToken(username, null, List.of());
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionSubscribeEvent(new Object(), message, user);
+    }
+}
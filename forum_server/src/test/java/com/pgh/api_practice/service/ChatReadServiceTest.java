@@ -0,0 +1,100 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.entity.GroupChatMessage;
+import com.pgh.api_practice.entity.Users;
+import com.pgh.api_practice.repository.ChatReadWatermarkRepository;
+import com.pgh.api_practice.repository.GroupChatMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatReadServiceTest {
+
+    private static final long ROOM_ID = 3L;
+
+    private ChatReadWatermarkRepository watermarkRepository;
+    private ChatReadService chatReadService;
+
+    @BeforeEach
+    void setUp() {
+        watermarkRepository = mock(ChatReadWatermarkRepository.class);
+        chatReadService = new ChatReadService(watermarkRepository, mock(GroupChatMessageRepository.class),
+                mock(GroupMembershipCache.class));
+    }
+
+    /** 읽음 수 = 그 메시지 이후까지 읽은 사용자 수 (작성자 본인 제외), 읽음 위치는 가장 오래된 메시지 기준으로 한 번만 조회 */
+    @Test
+    void countsReadersAtOrAfterEachMessage() {
+        readers(row(1L, 12L), row(2L, 11L), row(3L, 10L));
+        List<GroupChatMessage> messages = List.of(message(12L, 4L), message(11L, 4L), message(10L, 4L));
+
+        Map<Long, Integer> counts = chatReadService.readCounts(ROOM_ID, messages);
+
+        assertEquals(Map.of(12L, 1, 11L, 2, 10L, 3), counts);
+        verify(watermarkRepository, times(1)).findReadersFrom(ROOM_ID, 10L);
+    }
+
+    /** 작성자가 자기 메시지 이후까지 읽었으면 그 메시지에서만 빠진다 */
+    @Test
+    void excludesAuthorWhoHasReadOwnMessage() {
+        readers(row(1L, 12L), row(2L, 11L), row(3L, 10L));
+        List<GroupChatMessage> messages = List.of(message(12L, 1L), message(11L, 2L), message(10L, 1L));
+
+        Map<Long, Integer> counts = chatReadService.readCounts(ROOM_ID, messages);
+
+        assertEquals(Map.of(12L, 0, 11L, 1, 10L, 2), counts);
+    }
+
+    /** 작성자의 읽음 위치가 메시지보다 앞이면(다른 기기에서 보내고 아직 안 읽음) 빼지 않는다 */
+    @Test
+    void keepsCountWhenAuthorWatermarkIsBehindMessage() {
+        readers(row(1L, 12L), row(3L, 10L));
+        List<GroupChatMessage> messages = List.of(message(12L, 3L), message(11L, 3L));
+
+        Map<Long, Integer> counts = chatReadService.readCounts(ROOM_ID, messages);
+
+        assertEquals(Map.of(12L, 1, 11L, 1), counts);
+    }
+
+    /** 아무도 읽지 않았으면 0 */
+    @Test
+    void noReadersMeansZero() {
+        readers();
+        Map<Long, Integer> counts = chatReadService.readCounts(ROOM_ID, List.of(message(5L, 1L)));
+
+        assertEquals(Map.of(5L, 0), counts);
+    }
+
+    /** 메시지가 없으면 읽음 위치를 조회하지 않는다 */
+    @Test
+    void emptyMessagesSkipQuery() {
+        assertEquals(Map.of(), chatReadService.readCounts(ROOM_ID, List.of()));
+
+        verify(watermarkRepository, never()).findReadersFrom(any(), anyLong());
+    }
+
+    private void readers(Object[]... rows) {
+        List<Object[]> result = new ArrayList<>(List.of(rows));
+        when(watermarkRepository.findReadersFrom(any(), anyLong())).thenReturn(result);
+    }
+
+    private static Object[] row(long userId, long lastReadMessageId) {
+        return new Object[]{userId, lastReadMessageId};
+    }
+
+    private static GroupChatMessage message(long id, long authorId) {
+        return GroupChatMessage.builder().id(id).user(Users.builder().id(authorId).build()).build();
+    }
+}
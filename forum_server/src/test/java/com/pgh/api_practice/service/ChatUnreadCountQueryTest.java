@@ -0,0 +1,104 @@
+package com.pgh.api_practice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 채팅방별 안 읽은 메시지 수 네이티브 쿼리 실행 검증 (H2 MySQL 모드).
+ * LATERAL 없이 상관 서브쿼리 + LIMIT 만 쓰므로 MySQL 8.0 이전 버전에서도 같은 SQL 이 실행된다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chat-unread;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(ChatReadService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChatUnreadCountQueryTest {
+
+    private static final long READER = 1L;
+    private static final long OTHER = 2L;
+
+    @MockitoBean private GroupMembershipCache membershipCache;
+
+    @Autowired private ChatReadService chatReadService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private long nextMessageId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.update("DELETE FROM chat_read_watermarks");
+        jdbcTemplate.update("DELETE FROM group_chat_messages");
+        jdbcTemplate.update("DELETE FROM group_chat_rooms");
+        for (long roomId = 1; roomId <= 4; roomId++) {
+            jdbcTemplate.update("INSERT INTO group_chat_rooms (id, group_id, name, is_admin_room, is_deleted) "
+                    + "VALUES (?, 1, ?, FALSE, FALSE)", roomId, "room " + roomId);
+        }
+        nextMessageId = 1;
+    }
+
+    /** 읽음 위치 이후의 남이 쓴 메시지만 세고, 삭제된 메시지는 빼며, 방마다 UNREAD_COUNT_CAP 에서 멈춘다 */
+    @Test
+    void countsUnreadMessagesPerRoomUpToCap() {
+        // 방 1: 읽음 위치 없음, 남의 메시지 3 + 내 메시지 1 + 삭제된 메시지 1
+        messages(1L, OTHER, 3, false);
+        messages(1L, READER, 1, false);
+        messages(1L, OTHER, 1, true);
+        // 방 2: 5개 중 앞의 2개까지 읽음
+        long firstInRoom2 = nextMessageId;
+        messages(2L, OTHER, 5, false);
+        watermark(2L, firstInRoom2 + 1);
+        // 방 3: 상한보다 많음
+        messages(3L, OTHER, ChatReadService.UNREAD_COUNT_CAP + 20, false);
+        // 방 4: 전부 읽음
+        messages(4L, OTHER, 2, false);
+        watermark(4L, nextMessageId - 1);
+
+        Map<Long, Long> counts = chatReadService.unreadCounts(READER, List.of(1L, 2L, 3L, 4L));
+
+        assertEquals(Map.of(1L, 3L, 2L, 3L, 3L, (long) ChatReadService.UNREAD_COUNT_CAP), counts);
+    }
+
+    /** 상한과 정확히 같은 수도 그대로 센다 */
+    @Test
+    void exactlyCapIsCap() {
+        messages(1L, OTHER, ChatReadService.UNREAD_COUNT_CAP, false);
+        messages(2L, OTHER, ChatReadService.UNREAD_COUNT_CAP - 1, false);
+
+        Map<Long, Long> counts = chatReadService.unreadCounts(READER, List.of(1L, 2L));
+
+        assertEquals(Map.of(1L, (long) ChatReadService.UNREAD_COUNT_CAP, 2L, (long) ChatReadService.UNREAD_COUNT_CAP - 1), counts);
+    }
+
+    private void messages(long roomId, long userId, int count, boolean deleted) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO group_chat_messages (id, chat_room_id, user_id, message, is_deleted) "
+                    + "VALUES (?, ?, ?, 'hi', ?)", nextMessageId++, roomId, userId, deleted);
+        }
+    }
+
+    private void watermark(long roomId, long lastReadMessageId) {
+        jdbcTemplate.update("INSERT INTO chat_read_watermarks (room_id, user_id, last_read_message_id) VALUES (?, ?, ?)",
+                roomId, READER, lastReadMessageId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.pgh.api_practice.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class ChunkedReconcilerTest {
+
+    private final ChunkedReconciler chunks = new ChunkedReconciler(mock(PlatformTransactionManager.class), 2);
+
+    /** id 순으로 청크를 넘기며 어긋난 행만 고치고, 마지막 청크가 덜 차면 멈춘다 */
+    @Test
+    void walksChunksAndFixesMismatchedRows() {
+        List<Object[]> table = List.of(
+                new Object[]{1L, 0L}, new Object[]{2L, 5L}, new Object[]{3L, 1L}, new Object[]{5L, 2L}, new Object[]{8L, 0L});
+        Map<Long, Long> actual = Map.of(1L, 0L, 2L, 4L, 5L, 2L, 8L, 3L);
+        List<Long> afterIds = new ArrayList<>();
+        List<Long> fixedIds = new ArrayList<>();
+
+        int fixed = chunks.run((afterId, chunk) -> {
+            afterIds.add(afterId);
+            return read(table, afterId, chunk);
+        }, (rows, ids) -> ChunkedReconciler.fixCounts(rows, 1, actual, (id, stored, expected) -> {
+            fixedIds.add(id);
+            return 1;
+        }));
+
+        assertEquals(3, fixed);
+        assertEquals(List.of(2L, 3L, 8L), fixedIds);
+        assertEquals(List.of(0L, 2L, 5L), afterIds);
+    }
+
+    /** 조건부 UPDATE 가 빗나간 행은 수정 수에 넣지 않는다 */
+    @Test
+    void countsOnlyAppliedUpdates() {
+        List<Object[]> table = List.<Object[]>of(new Object[]{1L, 3L, 1L});
+
+        int fixed = chunks.run((afterId, chunk) -> read(table, afterId, chunk), (rows, ids) ->
+                ChunkedReconciler.fixCounts(rows, 1, Map.of(), (id, stored, expected) -> 0)
+                + ChunkedReconciler.fixCounts(rows, 2, Map.of(), (id, stored, expected) -> 1));
+
+        assertEquals(1, fixed);
+    }
+
+    private static List<Object[]> read(List<Object[]> table, long afterId, Pageable chunk) {
+        return table.stream()
+                .filter(row -> (Long) row[0] > afterId)
+                .limit(chunk.getPageSize())
+                .toList();
+    }
+}
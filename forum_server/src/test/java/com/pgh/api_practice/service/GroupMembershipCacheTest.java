@@ -0,0 +1,76 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.repository.GroupChatRoomRepository;
+import com.pgh.api_practice.repository.GroupMemberRepository;
+import com.pgh.api_practice.repository.GroupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupMembershipCacheTest {
+
+    /** 스냅샷을 읽는 사이 멤버십이 바뀌면 그 스냅샷은 저장하지 않고 다음 조회에서 다시 읽는다 */
+    @Test
+    void membershipLoadRacingInvalidateIsNotCached() {
+        GroupRepository groupRepository = mock(GroupRepository.class);
+        GroupMemberRepository groupMemberRepository = mock(GroupMemberRepository.class);
+        GroupChatRoomRepository groupChatRoomRepository = mock(GroupChatRoomRepository.class);
+        GroupMembershipCache cache = new GroupMembershipCache(groupRepository, groupMemberRepository,
+                groupChatRoomRepository, 100);
+
+        List<Object[]> before = new ArrayList<>();
+        before.add(new Object[]{2L, "member", "별명", null, false, "별명"});
+        when(groupRepository.findOwnerIdByIdAndIsDeletedFalse(7L)).thenReturn(Optional.of(1L));
+        when(groupChatRoomRepository.findRoomFlagsByGroupId(7L)).thenReturn(List.of());
+        // 첫 조회 도중 탈퇴가 커밋되어 무효화됨
+        when(groupMemberRepository.findMembershipRowsByGroupId(7L))
+                .thenAnswer(invocation -> {
+                    cache.invalidate(7L);
+                    return before;
+                })
+                .thenReturn(List.of());
+
+        assertTrue(cache.get(7L).orElseThrow().member(2L).isPresent());
+        assertFalse(cache.get(7L).orElseThrow().member(2L).isPresent());
+        assertFalse(cache.get(7L).orElseThrow().member(2L).isPresent());
+
+        verify(groupMemberRepository, times(2)).findMembershipRowsByGroupId(7L);
+    }
+
+    /** 프로필 변경 무효화는 그 사용자가 속한 모임만 지운다 */
+    @Test
+    void invalidateUserDropsOnlyGroupsWithThatMember() {
+        GroupRepository groupRepository = mock(GroupRepository.class);
+        GroupMemberRepository groupMemberRepository = mock(GroupMemberRepository.class);
+        GroupChatRoomRepository groupChatRoomRepository = mock(GroupChatRoomRepository.class);
+        GroupMembershipCache cache = new GroupMembershipCache(groupRepository, groupMemberRepository,
+                groupChatRoomRepository, 100);
+
+        List<Object[]> group1 = new ArrayList<>();
+        group1.add(new Object[]{2L, "member", null, null, false, "member"});
+        when(groupRepository.findOwnerIdByIdAndIsDeletedFalse(1L)).thenReturn(Optional.of(9L));
+        when(groupRepository.findOwnerIdByIdAndIsDeletedFalse(2L)).thenReturn(Optional.of(9L));
+        when(groupMemberRepository.findMembershipRowsByGroupId(1L)).thenReturn(group1);
+        when(groupMemberRepository.findMembershipRowsByGroupId(2L)).thenReturn(List.of());
+        when(groupChatRoomRepository.findRoomFlagsByGroupId(1L)).thenReturn(List.of());
+        when(groupChatRoomRepository.findRoomFlagsByGroupId(2L)).thenReturn(List.of());
+
+        cache.get(1L);
+        cache.get(2L);
+        cache.invalidateUser(2L);
+        cache.get(1L);
+        cache.get(2L);
+
+        verify(groupMemberRepository, times(2)).findMembershipRowsByGroupId(1L);
+        verify(groupMemberRepository, times(1)).findMembershipRowsByGroupId(2L);
+    }
+}
@@ -0,0 +1,71 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.entity.Post;
+import com.pgh.api_practice.repository.PostLikeRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LikeCountReconcilerTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostLikeRepository postLikeRepository = mock(PostLikeRepository.class);
+    private final PostDetailCache postDetailCache = mock(PostDetailCache.class);
+    private final PostLeaderboard postLeaderboard = mock(PostLeaderboard.class);
+    private final ViewCountBuffer viewCountBuffer = mock(ViewCountBuffer.class);
+
+    private LikeCountReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = MockFixtures.create(LikeCountReconciler.class,
+                postRepository, postLikeRepository, postDetailCache, postLeaderboard, viewCountBuffer, 2);
+    }
+
+    /** 어긋난 행만 고치고, 고친 행은 상세 캐시 무효화와 리더보드 갱신까지 한다 */
+    @Test
+    void fixedPostsReachDetailCacheAndLeaderboard() {
+        when(postRepository.findLikeCountChunk(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new Object[]{1L, 3L}, new Object[]{2L, 5L}));
+        when(postRepository.findLikeCountChunk(2L, PageRequest.of(0, 2))).thenReturn(List.of());
+        when(postLikeRepository.countGroupByPostIdIn(List.of(1L, 2L)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 3L}, new Object[]{2L, 4L}));
+        when(postRepository.updateLikeCount(2L, 5L, 4L)).thenReturn(1);
+        Post post = Post.builder().id(2L).views(10).build();
+        when(postRepository.findById(2L)).thenReturn(Optional.of(post));
+        when(viewCountBuffer.pendingPost(2L)).thenReturn(7L);
+
+        assertEquals(1, reconciler.reconcilePosts());
+
+        verify(postRepository, never()).updateLikeCount(1L, 3L, 3L);
+        verify(postDetailCache).invalidate(2L);
+        verify(postDetailCache, never()).invalidate(1L);
+        verify(postLeaderboard).update(post, 17L, 4L);
+    }
+
+    /** 다른 트랜잭션이 먼저 바꿔 조건부 UPDATE 가 빗나가면 캐시/리더보드는 건드리지 않는다 */
+    @Test
+    void lostConditionalUpdateIsNotPropagated() {
+        when(postRepository.findLikeCountChunk(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 3L}));
+        when(postLikeRepository.countGroupByPostIdIn(List.of(1L))).thenReturn(List.of());
+        when(postRepository.updateLikeCount(1L, 3L, 0L)).thenReturn(0);
+
+        assertEquals(0, reconciler.reconcilePosts());
+
+        verify(postDetailCache, never()).invalidate(anyLong());
+        verify(postLeaderboard, never()).update(any(Post.class), anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,47 @@
+package com.pgh.api_practice.service;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static org.mockito.Mockito.mock;
+
+/** 서비스 단위 테스트 픽스처: 생성자 인자 중 넘긴 객체는 그대로, 나머지는 모두 mock 으로 채운다 */
+final class MockFixtures {
+
+    private MockFixtures() {
+    }
+
+    /** 생성자 인자가 늘어나도 테스트를 고칠 필요가 없도록 가장 인자가 많은 생성자를 쓴다 */
+    static <T> T create(Class<T> type, Object... provided) {
+        Constructor<?> constructor = Arrays.stream(type.getDeclaredConstructors())
+                .max(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElseThrow();
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            args[i] = argumentOf(parameterTypes[i], provided);
+        }
+        try {
+            constructor.setAccessible(true);
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(type.getSimpleName() + " 생성 실패", e);
+        }
+    }
+
+    private static Object argumentOf(Class<?> parameterType, Object[] provided) {
+        // 기본형 인자(@Value 설정값 등)는 박싱 타입으로 넘긴 값을 찾는다
+        Class<?> boxed = MethodType.methodType(parameterType).wrap().returnType();
+        for (Object candidate : provided) {
+            if (boxed.isInstance(candidate)) {
+                return candidate;
+            }
+        }
+        if (parameterType.isPrimitive()) {
+            return parameterType == boolean.class ? false : 0;
+        }
+        return mock(parameterType);
+    }
+}
@@ -0,0 +1,138 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostSummaryDTO;
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostCursorTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 9, 30, 15);
+
+    /** 빈 커서는 첫 페이지: 소스마다 처음 위치부터 조회 */
+    @Test
+    void blankCursorStartsFromBeginning() {
+        List<PostCursor.Position> requested = new ArrayList<>();
+        PostCursor.decode(" ", "HITS", 2).merge(List.of(
+                (after, limit) -> { requested.add(after); return List.of(); },
+                (after, limit) -> { requested.add(after); return List.of(); }), 10);
+
+        assertEquals(List.of(PostCursor.Position.START, PostCursor.Position.START), requested);
+    }
+
+    /** 다음 커서를 다시 decode/encode 해도 같은 값이고, 이어서 조회하면 두 소스 모두 빠짐/중복이 없다 */
+    @Test
+    void nextCursorRoundTripsAndContinuesEachSource() {
+        // 두 테이블의 id 가 겹쳐도 소스별 위치로 이어진다
+        List<PostFeedEntry> posts = List.of(post(false, 5, 30), post(false, 3, 20), post(false, 1, 10));
+        List<PostFeedEntry> groupPosts = List.of(post(true, 5, 25), post(true, 2, 20), post(true, 1, 5));
+        List<PostCursor.Source> sources = List.of(hitsSource(posts), hitsSource(groupPosts));
+
+        List<PostFeedEntry> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            PostCursor.Result result = PostCursor.decode(cursor, "hits", 2).merge(sources, 2);
+            seen.addAll(result.content());
+            cursor = result.nextCursor();
+            if (cursor != null) {
+                assertEquals(cursor, PostCursor.decode(cursor, "HITS", 2).encode());
+            }
+        } while (cursor != null);
+
+        assertEquals(List.of(
+                posts.get(0), groupPosts.get(0), posts.get(1), groupPosts.get(1), posts.get(2), groupPosts.get(2)), seen);
+    }
+
+    /** 최신순 커서는 작성 시각(초 단위 포함)을 그대로 보존한다 */
+    @Test
+    void createdTimeKeySurvivesRoundTrip() {
+        PostFeedEntry first = PostFeedEntry.ofPost(summary(7, 0, now));
+        PostFeedEntry second = PostFeedEntry.ofPost(summary(6, 0, now.minusSeconds(1)));
+        List<PostCursor.Position> requested = new ArrayList<>();
+
+        String cursor = PostCursor.decode(null, "RESENT", 1)
+                .merge(List.of((after, limit) -> List.of(first, second)), 1).nextCursor();
+        PostCursor.decode(cursor, "RESENT", 1).merge(List.of((after, limit) -> {
+            requested.add(after);
+            return List.of();
+        }), 1);
+
+        assertEquals(List.of(new PostCursor.Position(now.toString(), 7)), requested);
+        assertEquals(now, requested.get(0).createdTime());
+    }
+
+    /** 마지막 페이지에는 다음 커서가 없다 */
+    @Test
+    void lastPageHasNoNextCursor() {
+        PostCursor.Result result = PostCursor.decode(null, "LIKES", 1)
+                .merge(List.of((after, limit) -> List.of(PostFeedEntry.ofPost(summary(1, 0, now)))), 5);
+
+        assertEquals(1, result.content().size());
+        assertNull(result.nextCursor());
+    }
+
+    /** 형식이 깨진 커서는 400 */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "%%%",                       // base64 아님
+            "v1|HITS|10|5",              // 소스 수가 다름
+            "v2|HITS|10|5|3|2",          // 버전 다름
+            "v1|HITS|abc|5|3|2",         // 조회수 키가 숫자가 아님
+            "v1|HITS|10|x|3|2",          // id 가 숫자가 아님
+            "v1|RESENT|2024-13-01|5||1"  // 잘못된 시각
+    })
+    void malformedCursorIsRejected(String raw) {
+        String token = raw.startsWith("v") ? encode(raw) : raw;
+        String sortType = raw.contains("RESENT") ? "RESENT" : "HITS";
+
+        ApplicationBadRequestException e = assertThrows(ApplicationBadRequestException.class,
+                () -> PostCursor.decode(token, sortType, 2));
+        assertEquals("잘못된 커서입니다.", e.getMessage());
+    }
+
+    /** 다른 정렬 방식으로 만든 커서는 400 */
+    @Test
+    void sortTypeMismatchIsRejected() {
+        String cursor = PostCursor.decode(null, "HITS", 1)
+                .merge(List.of((after, limit) -> List.of(
+                        PostFeedEntry.ofPost(summary(2, 3, now)), PostFeedEntry.ofPost(summary(1, 1, now)))), 1)
+                .nextCursor();
+
+        ApplicationBadRequestException e = assertThrows(ApplicationBadRequestException.class,
+                () -> PostCursor.decode(cursor, "LIKES", 1));
+        assertEquals("커서의 정렬 방식이 요청과 다릅니다.", e.getMessage());
+    }
+
+    /** (조회수 DESC, id DESC) 로 정렬된 행 중 after 뒤의 것만 limit 개 */
+    private static PostCursor.Source hitsSource(List<PostFeedEntry> rows) {
+        return (after, limit) -> rows.stream()
+                .filter(entry -> entry.views() < after.views()
+                        || (entry.views() == after.views() && entry.id() < after.id()))
+                .limit(limit.getPageSize())
+                .toList();
+    }
+
+    private PostFeedEntry post(boolean groupPost, long id, int views) {
+        PostSummaryDTO summary = summary(id, views, now);
+        return groupPost ? PostFeedEntry.ofGroupPost(summary) : PostFeedEntry.ofPost(summary);
+    }
+
+    private static PostSummaryDTO summary(long id, int views, LocalDateTime createdTime) {
+        return new PostSummaryDTO(id, "title " + id, "writer", views, createdTime, createdTime, null, 0, 0, null, null, true);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostSummaryDTO;
+import com.pgh.api_practice.repository.GroupPostRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostLeaderboardTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final GroupPostRepository groupPostRepository = mock(GroupPostRepository.class);
+    private final ViewCountBuffer viewCountBuffer = mock(ViewCountBuffer.class);
+
+    /** 재구성 시 DB 조회수에 아직 flush 되지 않은 버퍼 조회수를 더한다 */
+    @Test
+    void rebuildAddsPendingViews() {
+        when(postRepository.findPublicFeedChunk(anyBoolean(), anyBoolean(), any()))
+                .thenReturn(List.of(summary(1L, 10), summary(2L, 5)));
+        when(groupPostRepository.findPublicFeedChunk(any())).thenReturn(List.of());
+        when(viewCountBuffer.pendingPost(anyLong())).thenReturn(0L);
+        when(viewCountBuffer.pendingPost(2L)).thenReturn(7L);
+
+        PostLeaderboard leaderboard = new PostLeaderboard(postRepository, groupPostRepository, viewCountBuffer, 10);
+        leaderboard.rebuild();
+
+        assertEquals(Optional.of(List.of(item(2L), item(1L))), leaderboard.page(PostLeaderboard.Metric.VIEWS, 0, 2));
+    }
+
+    /** 가득 찬 보드에서 밀려난 항목 뒤로는 페이지를 내주지 않고, 앞선 항목이 늘면 그만큼 더 내준다 */
+    @Test
+    void pagesOnlyAheadOfEvictedItems() {
+        when(postRepository.findPublicFeedChunk(anyBoolean(), anyBoolean(), any())).thenReturn(List.of());
+        when(groupPostRepository.findPublicFeedChunk(any())).thenReturn(List.of());
+        PostLeaderboard leaderboard = new PostLeaderboard(postRepository, groupPostRepository, viewCountBuffer, 3);
+        leaderboard.rebuild();
+
+        for (long id = 1; id <= 4; id++) {
+            leaderboard.update(item(id), true, TIME, id * 10, 0);
+        }
+        // 보드: 4, 3, 2 (1 은 밀려나 ceiling)
+        assertEquals(Optional.of(List.of(item(4L), item(3L), item(2L))), leaderboard.page(PostLeaderboard.Metric.VIEWS, 0, 3));
+
+        // 2 가 1 보다 뒤로 내려가면 1 이후 순서는 보드만으로 알 수 없음
+        leaderboard.update(item(2L), true, TIME, 5, 0);
+        assertEquals(Optional.empty(), leaderboard.page(PostLeaderboard.Metric.VIEWS, 0, 3));
+        assertEquals(Optional.of(List.of(item(3L))), leaderboard.page(PostLeaderboard.Metric.VIEWS, 1, 1));
+
+        leaderboard.remove(item(3L));
+        assertEquals(Optional.empty(), leaderboard.page(PostLeaderboard.Metric.VIEWS, 1, 1));
+
+        leaderboard.update(item(5L), true, TIME, 100, 0);
+        assertEquals(Optional.of(List.of(item(5L), item(4L))), leaderboard.page(PostLeaderboard.Metric.VIEWS, 0, 2));
+    }
+
+    private static PostLeaderboard.Item item(long id) {
+        return new PostLeaderboard.Item(false, id);
+    }
+
+    private static PostSummaryDTO summary(long id, int views) {
+        return new PostSummaryDTO(id, "title " + id, "writer", views, TIME, TIME, null, 0, 0, null, null, true);
+    }
+}
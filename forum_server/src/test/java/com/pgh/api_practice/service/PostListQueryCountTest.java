@@ -0,0 +1,94 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostListDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 게시글 목록 쿼리 수 검증 (H2, Hibernate 통계).
+ * 페이지 크기와 관계없이 사용자 조회 + 목록 + 개수 + 태그 한 번씩만 실행되어야 한다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:post-list;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(PostService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostListQueryCountTest {
+
+    private static final int POST_COUNT = 150;
+
+    @MockitoBean private TagDictionary tagDictionary;
+    @MockitoBean private PostLeaderboard postLeaderboard;
+    @MockitoBean private ViewCountBuffer viewCountBuffer;
+    @MockitoBean private PostDetailCache postDetailCache;
+    @MockitoBean private PostTagIndex postTagIndex;
+    @MockitoBean private SearchIndex searchIndex;
+    @MockitoBean private IndexingPipeline indexingPipeline;
+    @MockitoBean private SearchResultCache searchResultCache;
+    @MockitoBean private SuggestIndex suggestIndex;
+
+    @Autowired private PostService postService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        jdbcTemplate.update("DELETE FROM post_tags");
+        jdbcTemplate.update("DELETE FROM tags");
+        jdbcTemplate.update("DELETE FROM posts");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, username, password, nickname, email, is_deleted, created_datetime) "
+                + "VALUES (1, 'writer', 'x', 'writer', 'writer@test', FALSE, CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO tags (id, name) VALUES (1, 'java'), (2, 'spring')");
+        for (long id = 1; id <= POST_COUNT; id++) {
+            jdbcTemplate.update("INSERT INTO posts (id, title, body, user_id, is_public, views, like_count, comment_count, "
+                    + "is_deleted, create_datetime) VALUES (?, ?, 'body', 1, TRUE, 0, ?, ?, FALSE, CURRENT_TIMESTAMP)",
+                    id, "title " + id, id * 2, id * 3);
+            jdbcTemplate.update("INSERT INTO post_tags (post_id, tag_id) VALUES (?, 1), (?, 2)", id, id);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void userPostListRunsFixedNumberOfQueries(int pageSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<PostListDTO> page = postService.getUserPostList("writer", PageRequest.of(0, pageSize), "RESENT");
+
+        assertEquals(pageSize, page.getContent().size());
+        assertEquals(POST_COUNT, page.getTotalElements());
+        for (PostListDTO dto : page.getContent()) {
+            assertEquals(List.of("java", "spring"), dto.getTags());
+        }
+        // 사용자 조회, 목록, 개수, 태그
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+}
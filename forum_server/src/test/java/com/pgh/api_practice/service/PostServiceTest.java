@@ -0,0 +1,126 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostListDTO;
+import com.pgh.api_practice.dto.PostSummaryDTO;
+import com.pgh.api_practice.entity.Users;
+import com.pgh.api_practice.repository.PostLikeRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import com.pgh.api_practice.repository.PostTagRepository;
+import com.pgh.api_practice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostServiceTest {
+
+    private PostRepository postRepository;
+    private UserRepository userRepository;
+    private PostLikeRepository postLikeRepository;
+    private PostTagRepository postTagRepository;
+    private PostService postService;
+
+    private final Users author = Users.builder().id(1L).username("writer").build();
+
+    @BeforeEach
+    void setUp() {
+        postRepository = mock(PostRepository.class);
+        userRepository = mock(UserRepository.class);
+        postLikeRepository = mock(PostLikeRepository.class);
+        postTagRepository = mock(PostTagRepository.class);
+        postService = MockFixtures.create(PostService.class, postRepository, userRepository, postLikeRepository, postTagRepository);
+
+        when(userRepository.findByUsername("writer")).thenReturn(Optional.of(author));
+    }
+
+    /** 페이지 크기와 관계없이 태그 조회는 1회, 좋아요/댓글 수는 목록 컬럼을 그대로 쓴다 */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void userPostListLoadsTagsOnceAndUsesCounterColumns(int pageSize) {
+        Pageable pageable = PageRequest.of(0, pageSize);
+        List<PostSummaryDTO> posts = posts(pageSize);
+        when(postRepository.findUserPostSummaries(eq(1L), any()))
+                .thenReturn(new PageImpl<>(posts, pageable, 1000));
+
+        List<Object[]> tagRows = new ArrayList<>();
+        for (PostSummaryDTO post : posts) {
+            tagRows.add(new Object[]{post.getId(), "java"});
+            tagRows.add(new Object[]{post.getId(), "spring"});
+        }
+        when(postTagRepository.findTagNamesByPostIdIn(any())).thenReturn(tagRows);
+
+        Page<PostListDTO> page = postService.getUserPostList("writer", pageable, "RESENT");
+
+        assertEquals(pageSize, page.getContent().size());
+        assertEquals(1000, page.getTotalElements());
+        for (PostListDTO dto : page.getContent()) {
+            assertEquals(dto.getId() * 2, dto.getLikeCount());
+            assertEquals(dto.getId() * 3, dto.getCommentCount());
+            assertEquals(List.of("java", "spring"), dto.getTags());
+        }
+
+        verify(postLikeRepository, never()).countGroupByPostIdIn(any());
+        verify(postTagRepository, times(1)).findTagNamesByPostIdIn(any());
+        verify(postLikeRepository, never()).countByPostId(anyLong());
+        verify(postTagRepository, never()).findByPostId(anyLong());
+    }
+
+    /** 태그가 없는 게시글은 빈 목록으로 채워진다 */
+    @Test
+    void missingAggregatesDefaultToEmpty() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(postRepository.findUserPostSummaries(eq(1L), any()))
+                .thenReturn(new PageImpl<>(posts(2), pageable, 2));
+        when(postTagRepository.findTagNamesByPostIdIn(any())).thenReturn(new ArrayList<>());
+
+        Page<PostListDTO> page = postService.getUserPostList("writer", pageable, "RESENT");
+
+        for (PostListDTO dto : page.getContent()) {
+            assertEquals(List.of(), dto.getTags());
+        }
+    }
+
+    /** 빈 페이지는 집계 쿼리를 실행하지 않는다 */
+    @Test
+    void emptyPageSkipsAggregateQueries() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(postRepository.findUserPostSummaries(eq(1L), any()))
+                .thenReturn(new PageImpl<>(new ArrayList<>(), pageable, 0));
+
+        postService.getUserPostList("writer", pageable, "RESENT");
+
+        verify(postLikeRepository, never()).countGroupByPostIdIn(any());
+        verify(postTagRepository, never()).findTagNamesByPostIdIn(any());
+        verify(userRepository, times(1)).findByUsername(anyString());
+    }
+
+    private List<PostSummaryDTO> posts(int count) {
+        List<PostSummaryDTO> posts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= count; id++) {
+            posts.add(new PostSummaryDTO(id, "title " + id, author.getUsername(), 0,
+                    now.minusMinutes(id), now.minusMinutes(id), null, id * 2, id * 3, null, null, true));
+        }
+        return posts;
+    }
+}
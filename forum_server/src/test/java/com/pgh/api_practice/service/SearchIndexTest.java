@@ -0,0 +1,58 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.exception.ApplicationBadRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        searchIndex = new SearchIndex(indexDir.toString());
+        searchIndex.open();
+        String body = String.join(" ", Collections.nCopies(SearchIndex.MAX_QUERY_TOKENS, "spring"));
+        searchIndex.update(new SearchIndex.SearchDocument(SearchIndex.DocType.POST, 1L, PostTagIndex.Scope.GENERAL,
+                null, null, null, "title", body, 0, 0));
+        searchIndex.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        searchIndex.close();
+    }
+
+    /** 토큰 수가 상한 이하면 검색되고, 넘으면 Lucene 최대 절 수 예외 대신 400 */
+    @Test
+    void longKeywordIsRejectedAsBadRequest() {
+        String maxKeyword = String.join(" ", Collections.nCopies(SearchIndex.MAX_QUERY_TOKENS, "spring"));
+        assertEquals(List.of(1L), searchIndex.findByRelevance(maxKeyword, true, true, 0, 10));
+
+        String tooLong = maxKeyword + " spring";
+        assertThrows(ApplicationBadRequestException.class, () -> searchIndex.match(tooLong, true, true));
+        assertThrows(ApplicationBadRequestException.class,
+                () -> searchIndex.searchAll(tooLong, Set.of(SearchIndex.DocType.POST), List.of(), 0, 10));
+    }
+
+    /** 한글 장문도 바이그램 수로 제한된다 */
+    @Test
+    void longHangulKeywordIsRejectedAsBadRequest() {
+        String tooLong = "가나".repeat(SearchIndex.MAX_QUERY_TOKENS);
+        assertThrows(ApplicationBadRequestException.class, () -> searchIndex.match(tooLong, true, true));
+    }
+}
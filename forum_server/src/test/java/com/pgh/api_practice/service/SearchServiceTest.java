@@ -0,0 +1,48 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.SearchResultDTO;
+import com.pgh.api_practice.entity.Post;
+import com.pgh.api_practice.entity.Users;
+import com.pgh.api_practice.repository.PostRepository;
+import com.pgh.api_practice.service.SearchIndex.DocType;
+import com.pgh.api_practice.service.SearchIndex.Hit;
+import com.pgh.api_practice.service.SearchIndex.HitPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchServiceTest {
+
+    private final SearchIndex searchIndex = mock(SearchIndex.class);
+    private final IndexingPipeline indexingPipeline = mock(IndexingPipeline.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final SearchService searchService = MockFixtures.create(SearchService.class,
+            searchIndex, indexingPipeline, postRepository);
+
+    /** 색인 반영 전에 삭제된 글은 결과와 전체 개수에서 함께 빠지고 다시 색인된다 */
+    @Test
+    void totalExcludesHitsDroppedAfterIndexLookup() {
+        when(searchIndex.searchAll(eq("spring"), any(), any(), anyInt(), anyInt())).thenReturn(new HitPage(3, List.of(
+                new Hit(DocType.POST, 1L, null, null, null),
+                new Hit(DocType.POST, 2L, null, null, null))));
+        Users writer = Users.builder().username("writer").build();
+        when(postRepository.findSearchResultsByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(Post.builder().id(1L).title("spring").body("body").user(writer).build()));
+
+        Page<SearchResultDTO> page = searchService.search("spring", List.of(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(1L), page.getContent().stream().map(SearchResultDTO::getId).toList());
+        assertEquals(2, page.getTotalElements());
+        verify(indexingPipeline).submit(DocType.POST, 2L);
+    }
+}
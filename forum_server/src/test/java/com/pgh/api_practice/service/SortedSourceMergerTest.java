@@ -0,0 +1,134 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.dto.PostSummaryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SortedSourceMergerTest {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "value");
+
+    /** 여러 소스를 비교자 순서대로 합치고, limit 보다 적게 읽힌 소스는 count 쿼리를 생략한다 */
+    @Test
+    void mergesInComparatorOrder() {
+        FakeSource a = new FakeSource(List.of(9L, 7L, 3L), 3);
+        FakeSource b = new FakeSource(List.of(8L, 7L, 1L), 3);
+
+        Page<Long> page = SortedSourceMerger.merge(List.of(a.source(), b.source()), SORT,
+                Comparator.reverseOrder(), PageRequest.of(0, 4));
+
+        assertEquals(List.of(9L, 8L, 7L, 7L), page.getContent());
+        assertEquals(6, page.getTotalElements());
+        assertEquals(List.of(PageRequest.of(0, 4, SORT)), a.fetched);
+        assertEquals(0, a.counted + b.counted);
+    }
+
+    /** 뒤 페이지도 소스마다 LIMIT offset + size 쿼리 한 번, 앞 페이지는 메모리에서 건너뛴다 */
+    @Test
+    void skipsOffsetInMemory() {
+        FakeSource a = new FakeSource(List.of(10L, 8L, 6L, 4L, 2L, 1L), 50);
+        FakeSource b = new FakeSource(List.of(9L, 7L, 5L), 3);
+
+        Page<Long> page = SortedSourceMerger.merge(List.of(a.source(), b.source()), SORT,
+                Comparator.reverseOrder(), PageRequest.of(1, 3));
+
+        assertEquals(List.of(7L, 6L, 5L), page.getContent());
+        assertEquals(List.of(PageRequest.of(0, 6, SORT)), a.fetched);
+        assertEquals(List.of(PageRequest.of(0, 6, SORT)), b.fetched);
+        // a 는 limit 만큼 다 읽혀 count 쿼리, b 는 읽힌 행 수가 전체
+        assertEquals(1, a.counted);
+        assertEquals(0, b.counted);
+        assertEquals(53, page.getTotalElements());
+    }
+
+    /** 마지막 페이지를 넘어가면 빈 페이지와 전체 개수 */
+    @Test
+    void offsetPastEndReturnsEmptyPage() {
+        FakeSource a = new FakeSource(List.of(3L, 1L), 2);
+        FakeSource b = new FakeSource(List.of(2L), 1);
+
+        Page<Long> page = SortedSourceMerger.merge(List.of(a.source(), b.source()), SORT,
+                Comparator.reverseOrder(), PageRequest.of(2, 2));
+
+        assertEquals(List.of(), page.getContent());
+        assertEquals(3, page.getTotalElements());
+    }
+
+    /** 정렬 키와 id 가 모두 같은 posts / group_posts 행도 페이지를 넘기며 빠짐/중복 없이 나온다 */
+    @Test
+    void tiesAcrossSourcesArePagedWithoutLossOrDuplicates() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<PostFeedEntry> posts = List.of(
+                PostFeedEntry.ofPost(summary(3L, 5, time)),
+                PostFeedEntry.ofPost(summary(2L, 5, time)),
+                PostFeedEntry.ofPost(summary(1L, 1, time)));
+        List<PostFeedEntry> groupPosts = List.of(
+                PostFeedEntry.ofGroupPost(summary(3L, 5, time)),
+                PostFeedEntry.ofGroupPost(summary(2L, 5, time)));
+        Comparator<PostFeedEntry> comparator = PostFeedEntry.comparatorOf("HITS");
+
+        List<PostFeedEntry> seen = new ArrayList<>();
+        for (int pageNumber = 0; pageNumber < 5; pageNumber++) {
+            Page<PostFeedEntry> page = SortedSourceMerger.merge(List.of(
+                            SortedSourceMerger.source(chunk -> slice(posts, chunk), posts::size),
+                            SortedSourceMerger.source(chunk -> slice(groupPosts, chunk), groupPosts::size)),
+                    PostFeedEntry.sortOf("HITS"), comparator, PageRequest.of(pageNumber, 1));
+            assertEquals(5, page.getTotalElements());
+            seen.addAll(page.getContent());
+        }
+
+        assertEquals(5, seen.size());
+        assertEquals(5, new HashSet<>(seen).size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(comparator.compare(seen.get(i - 1), seen.get(i)) <= 0);
+        }
+        assertEquals(Set.of(3L, 2L), Set.of(seen.get(0).id(), seen.get(3).id()));
+        assertEquals(1L, seen.get(4).id());
+    }
+
+    private static PostSummaryDTO summary(long id, int views, LocalDateTime createdTime) {
+        return new PostSummaryDTO(id, "title " + id, "writer", views, createdTime, createdTime, null, 0, 0, null, null, true);
+    }
+
+    private static <T> List<T> slice(List<T> rows, Pageable chunk) {
+        int from = (int) Math.min(chunk.getOffset(), rows.size());
+        int to = (int) Math.min(chunk.getOffset() + chunk.getPageSize(), rows.size());
+        return rows.subList(from, to);
+    }
+
+    /** 정렬된 행 중 앞부분만 가진 소스 (total 은 실제 전체 개수) */
+    private static final class FakeSource {
+        final List<Long> rows;
+        final long total;
+        final List<Pageable> fetched = new ArrayList<>();
+        int counted;
+
+        FakeSource(List<Long> rows, long total) {
+            this.rows = rows;
+            this.total = total;
+        }
+
+        SortedSourceMerger.Source<Long> source() {
+            return SortedSourceMerger.source(chunk -> {
+                fetched.add(chunk);
+                return slice(rows, chunk);
+            }, () -> {
+                counted++;
+                return total;
+            });
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.pgh.api_practice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pgh.api_practice.dto.PostDetailDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StampedLruCacheTest {
+
+    /** 조회 전에 받은 stamp 이후 무효화가 있었으면 예전 값은 저장되지 않는다 */
+    @Test
+    void putAfterInvalidateIsRejected() {
+        StampedLruCache<String> cache = new StampedLruCache<>(value -> 1, 10);
+        long stamp = cache.stamp(1);
+        cache.invalidate(1);
+
+        assertFalse(cache.put(1, stamp, "stale"));
+        assertEquals(Optional.empty(), cache.get(1));
+
+        // 무효화 뒤에 받은 stamp 로는 저장된다
+        assertTrue(cache.put(1, cache.stamp(1), "fresh"));
+        assertEquals(Optional.of("fresh"), cache.get(1));
+    }
+
+    /** 스트라이프가 다른 키의 무효화는 진행 중인 채우기에 영향이 없다 */
+    @Test
+    void invalidateOfOtherStripeKeepsStamp() {
+        StampedLruCache<String> cache = new StampedLruCache<>(value -> 1, 10);
+        long stamp = cache.stamp(1);
+        cache.invalidate(2);
+
+        assertTrue(cache.put(1, stamp, "value"));
+    }
+
+    /** 조건 무효화는 전체 epoch 를 올려 모든 진행 중인 채우기를 버린다 */
+    @Test
+    void invalidateIfRejectsEveryPendingPut() {
+        StampedLruCache<String> cache = new StampedLruCache<>(value -> 1, 10);
+        cache.put(2, cache.stamp(2), "keep");
+        long stamp = cache.stamp(1);
+        cache.invalidateIf(value -> false);
+
+        assertFalse(cache.put(1, stamp, "stale"));
+        assertEquals(Optional.of("keep"), cache.get(2));
+    }
+
+    /** 무게 합이 넘치면 가장 오래 안 쓴 항목부터 제거 */
+    @Test
+    void evictsLeastRecentlyUsedByWeight() {
+        StampedLruCache<String> cache = new StampedLruCache<>(String::length, 4);
+        cache.put(1, cache.stamp(1), "aa");
+        cache.put(2, cache.stamp(2), "b");
+        cache.get(1);
+        cache.put(3, cache.stamp(3), "cc");
+
+        assertEquals(Optional.empty(), cache.get(2));
+        assertEquals(Optional.of("aa"), cache.get(1));
+        assertEquals(Optional.of("cc"), cache.get(3));
+        assertEquals(2, cache.size());
+    }
+
+    /** 상세 캐시: 조회 중 무효화(수정/좋아요)가 끼어들면 조회한 내용은 버려진다 */
+    @Test
+    void postDetailPutAfterInvalidateIsDropped() {
+        PostDetailCache cache = new PostDetailCache(new ObjectMapper(), 1 << 20, 1 << 16);
+        long stamp = cache.stamp(10);
+        cache.invalidate(10);
+        cache.put(10, stamp, PostDetailDTO.builder().title("old").build());
+
+        assertEquals(Optional.empty(), cache.get(10));
+
+        cache.put(10, cache.stamp(10), PostDetailDTO.builder().title("new").build());
+        assertEquals("new", cache.get(10).orElseThrow().getTitle());
+    }
+
+    /** 상세 캐시: 모임 무효화는 진행 중인 다른 게시글 채우기도 버린다 */
+    @Test
+    void postDetailGroupInvalidateDropsPendingPut() {
+        PostDetailCache cache = new PostDetailCache(new ObjectMapper(), 1 << 20, 1 << 16);
+        long stamp = cache.stamp(10);
+        cache.invalidateGroup(3);
+        cache.put(10, stamp, PostDetailDTO.builder().title("old").groupId(3L).build());
+
+        assertEquals(Optional.empty(), cache.get(10));
+    }
+}
@@ -0,0 +1,36 @@
+package com.pgh.api_practice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestIndexTest {
+
+    private final SuggestIndex suggestIndex = MockFixtures.create(SuggestIndex.class);
+
+    /** 닉네임이 없는 사용자는 아이디를 표시 문구로 쓴다 */
+    @Test
+    void userWithoutNicknameIsShownByUsername() {
+        suggestIndex.putUser(1L, "alice", null, 3);
+        suggestIndex.putUser(2L, "alex", "알렉스", 5);
+
+        List<SuggestIndex.Suggestion> suggestions = suggestIndex.suggest(SuggestIndex.Type.USER, "al", 10);
+
+        assertEquals(List.of("알렉스", "alice"), suggestions.stream().map(SuggestIndex.Suggestion::text).toList());
+    }
+
+    /** 재구성 이후 변경분도 limit 개까지만 나온다 (같은 항목의 여러 색인어는 한 번만 센다) */
+    @Test
+    void overlayStopsAtLimit() {
+        for (long id = 1; id <= 20; id++) {
+            suggestIndex.putTitle(id, "spring boot " + id, id);
+        }
+
+        List<SuggestIndex.Suggestion> suggestions = suggestIndex.suggest(SuggestIndex.Type.TITLE, "spring", 3);
+
+        assertEquals(3, suggestions.size());
+        assertEquals(3, suggestions.stream().map(SuggestIndex.Suggestion::key).distinct().count());
+    }
+}
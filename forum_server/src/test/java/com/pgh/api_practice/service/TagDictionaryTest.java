@@ -0,0 +1,48 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.entity.Tag;
+import com.pgh.api_practice.repository.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TagDictionaryTest {
+
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final SuggestIndex suggestIndex = mock(SuggestIndex.class);
+    private final TagDictionary tagDictionary = new TagDictionary(tagRepository, mock(JdbcTemplate.class), suggestIndex);
+
+    /** INSERT IGNORE 가 collation 상 같은 기존 행 때문에 무시돼도 그 행의 id 로 맞춘다 */
+    @Test
+    void resolvesNamesEqualUnderCollation() {
+        when(tagRepository.findIdAndNameByNameIn(any())).thenReturn(List.of(
+                new Object[]{1L, "cafe"}, new Object[]{2L, "java"}));
+
+        Map<String, Long> ids = tagDictionary.resolve(List.of("café", "ｊａｖａ"));
+
+        assertEquals(Map.of("café", 1L, "ｊａｖａ", 2L), ids);
+    }
+
+    /** 비교 키로도 못 찾은 이름은 예외 대신 findByName 으로 DB 비교에 맡긴다 */
+    @Test
+    void fallsBackToFindByName() {
+        when(tagRepository.findIdAndNameByNameIn(any())).thenReturn(List.of());
+        when(tagRepository.findByName("ß")).thenReturn(Optional.of(Tag.builder().id(3L).name("ss").build()));
+
+        assertEquals(Map.of("ß", 3L), tagDictionary.resolve(List.of("ß")));
+    }
+
+    @Test
+    void collationKeyIgnoresCaseAccentsWidthAndTrailingSpace() {
+        assertEquals("cafe", TagDictionary.collationKey("Café "));
+        assertEquals("java", TagDictionary.collationKey("ｊａｖａ"));
+    }
+}
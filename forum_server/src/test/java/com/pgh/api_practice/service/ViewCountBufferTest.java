@@ -0,0 +1,87 @@
+package com.pgh.api_practice.service;
+
+import com.pgh.api_practice.repository.GroupPostRepository;
+import com.pgh.api_practice.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ViewCountBufferTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final ViewCountBuffer buffer = new ViewCountBuffer(postRepository, mock(GroupPostRepository.class),
+            mock(IndexingPipeline.class), new NoOpTransactionManager());
+
+    /** 반영 중에 들어온 조회는 이번 UPDATE 에 섞이지 않고, 커밋 후에는 반영분만 pending 에서 빠진다 */
+    @Test
+    void viewsDuringFlushStayPendingForNextCycle() {
+        buffer.incrementPost(1L);
+        buffer.incrementPost(1L);
+        List<Long> pendingDuringUpdate = new ArrayList<>();
+        doAnswer(invocation -> {
+            // 커밋 전: DB 값에는 아직 없으므로 pending 에 남아 있어야 함
+            pendingDuringUpdate.add(buffer.pendingPost(1L));
+            buffer.incrementPost(1L);
+            return null;
+        }).when(postRepository).addViews(List.of(1L), 2L);
+
+        buffer.flush();
+
+        assertEquals(List.of(2L), pendingDuringUpdate);
+        assertEquals(1, buffer.pendingPost(1L));
+
+        doAnswer(invocation -> null).when(postRepository).addViews(any(), anyLong());
+        buffer.flush();
+
+        verify(postRepository).addViews(List.of(1L), 1L);
+        assertEquals(0, buffer.pendingPost(1L));
+    }
+
+    /** 반영에 실패하면 떼어 낸 카운터도 pending 으로 보이고 다음 주기에 한 번에 반영된다 */
+    @Test
+    void failedFlushKeepsDetachedCountersPending() {
+        buffer.incrementPost(1L);
+        doThrow(new IllegalStateException("db down")).when(postRepository).addViews(List.of(1L), 1L);
+
+        buffer.flush();
+        assertEquals(2, buffer.incrementPost(1L));
+
+        doAnswer(invocation -> null).when(postRepository).addViews(List.of(1L), 2L);
+        buffer.flush();
+
+        verify(postRepository).addViews(List.of(1L), 2L);
+        assertEquals(0, buffer.pendingPost(1L));
+    }
+
+    /** 커밋/롤백만 흉내 내는 트랜잭션 매니저 (동기화 콜백은 실제처럼 호출됨) */
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}